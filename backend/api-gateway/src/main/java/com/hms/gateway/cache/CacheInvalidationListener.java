@@ -0,0 +1,54 @@
+package com.hms.gateway.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Evicts cached gateway responses when a backing service publishes a change event.
+ *
+ * Events follow the services' {@code <TYPE>_<ACTION>:<id>} format (e.g. {@code PATIENT_UPDATED:42}).
+ * An event drops every cached response of the route: paths keyed by another identifier (MRN,
+ * email, nested resources) can embed the changed entity just as listings and searches do, so
+ * matching on the event's id alone would leave stale entries behind.
+ * Every gateway replica uses its own consumer group so each one sees every event.
+ */
+@Component
+@ConditionalOnProperty(name = "hms.gateway.response-cache.kafka-invalidation.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class CacheInvalidationListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    
+    private static final Map<String, String> ROUTES_BY_TOPIC = Map.of(
+            "patient-events", "patient-service",
+            "doctor-events", "doctor-service",
+            "appointment-events", "appointment-service");
+    
+    private final ResponseCacheStore cacheStore;
+    
+    @Autowired
+    public CacheInvalidationListener(ResponseCacheStore cacheStore) {
+        this.cacheStore = cacheStore;
+    }
+    
+    @KafkaListener(topics = {"patient-events", "doctor-events", "appointment-events"},
+            groupId = "api-gateway-cache-#{T(java.util.UUID).randomUUID().toString()}")
+    public void onChangeEvent(@Payload String event, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        String routeId = ROUTES_BY_TOPIC.get(topic);
+        if (routeId == null || event == null) {
+            return;
+        }
+        
+        logger.debug("Invalidating cached responses for route {} after event {}", routeId, event);
+        cacheStore.invalidate(routeId);
+    }
+}
@@ -0,0 +1,62 @@
+package com.hms.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+/**
+ * Immutable snapshot of a successful GET response held by the gateway
+ */
+public final class CachedResponseEntry {
+    
+    private final String routeId;
+    private final long generation;
+    private final String eTag;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final Duration timeToLive;
+    
+    public CachedResponseEntry(String routeId, long generation, String eTag, HttpHeaders headers,
+                               byte[] body, Duration timeToLive) {
+        this.routeId = routeId;
+        this.generation = generation;
+        this.eTag = eTag;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.timeToLive = timeToLive;
+    }
+    
+    public String getRouteId() {
+        return routeId;
+    }
+    
+    /**
+     * Route generation read before the request was forwarded, see {@link ResponseCacheStore#generation}
+     */
+    public long getGeneration() {
+        return generation;
+    }
+    
+    public String getETag() {
+        return eTag;
+    }
+    
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+    
+    public byte[] getBody() {
+        return body;
+    }
+    
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+    
+    /**
+     * Approximate heap cost used by the size-based eviction
+     */
+    public int weight() {
+        return body.length + 256;
+    }
+}
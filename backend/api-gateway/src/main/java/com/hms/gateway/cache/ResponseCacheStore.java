@@ -0,0 +1,171 @@
+package com.hms.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size and TTL bounded store shared by every route using the PrincipalResponseCache filter.
+ *
+ * Keys are built by the filter from route, principal scope and request URI, so one user never sees
+ * a response cached for another.
+ *
+ * Each route has a generation that every invalidation advances. A response is stamped with the
+ * generation read before its request was forwarded and is not stored once that generation has moved,
+ * so a miss in flight during an invalidation cannot cache the body from before the change.
+ */
+@Component
+public class ResponseCacheStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheStore.class);
+    
+    private final Cache<String, CachedResponseEntry> cache;
+    private final Map<String, RouteStats> routeStats = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    
+    @Autowired
+    public ResponseCacheStore(MeterRegistry meterRegistry,
+                              @Value("${hms.gateway.response-cache.max-size-bytes:67108864}") long maxSizeBytes) {
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher((String key, CachedResponseEntry entry) -> entry.weight())
+                .expireAfter(new Expiry<String, CachedResponseEntry>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponseEntry entry, long currentTime) {
+                        return entry.getTimeToLive().toNanos();
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponseEntry entry, long currentTime,
+                                                  long currentDuration) {
+                        return entry.getTimeToLive().toNanos();
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String key, CachedResponseEntry entry, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        Gauge.builder("gateway.cache.size.entries", cache, c -> c.estimatedSize())
+                .description("Entries held by the gateway response cache")
+                .register(meterRegistry);
+    }
+    
+    public CachedResponseEntry get(String key) {
+        return cache.getIfPresent(key);
+    }
+    
+    /**
+     * Current generation of a route; read it before forwarding a request whose response may be stored
+     */
+    public long generation(String routeId) {
+        return generationOf(routeId).get();
+    }
+    
+    /**
+     * Store the entry unless its route was invalidated after the entry's generation was read
+     *
+     * @return whether the entry was stored
+     */
+    public boolean put(String key, CachedResponseEntry entry) {
+        AtomicLong generation = generationOf(entry.getRouteId());
+        if (generation.get() != entry.getGeneration()) {
+            return false;
+        }
+        cache.put(key, entry);
+        // An invalidation between the check and the put advanced the generation before removing entries
+        if (generation.get() != entry.getGeneration()) {
+            cache.asMap().remove(key, entry);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Drop every entry of a route and refuse responses already in flight for it
+     */
+    public int invalidate(String routeId) {
+        generationOf(routeId).incrementAndGet();
+        int[] removed = {0};
+        cache.asMap().values().removeIf(entry -> {
+            boolean match = entry.getRouteId().equals(routeId);
+            if (match) {
+                removed[0]++;
+            }
+            return match;
+        });
+        logger.debug("Invalidated {} cached responses for route {}", removed[0], routeId);
+        return removed[0];
+    }
+    
+    public void recordHit(String routeId) {
+        statsFor(routeId).hits.increment();
+    }
+    
+    public void recordMiss(String routeId) {
+        statsFor(routeId).misses.increment();
+    }
+    
+    public void recordNotModified(String routeId) {
+        statsFor(routeId).hits.increment();
+        statsFor(routeId).notModified.increment();
+    }
+    
+    private AtomicLong generationOf(String routeId) {
+        return generations.computeIfAbsent(routeId, id -> new AtomicLong());
+    }
+    
+    private RouteStats statsFor(String routeId) {
+        return routeStats.computeIfAbsent(routeId, this::registerStats);
+    }
+    
+    private RouteStats registerStats(String routeId) {
+        RouteStats stats = new RouteStats();
+        FunctionCounter.builder("gateway.cache.requests", stats.hits, LongAdder::sum)
+                .tag("route", routeId)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.cache.requests", stats.misses, LongAdder::sum)
+                .tag("route", routeId)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.cache.not.modified", stats.notModified, LongAdder::sum)
+                .description("Cache hits answered with 304 Not Modified")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.cache.hit.ratio", stats, RouteStats::hitRatio)
+                .description("Share of cacheable GETs served without calling the backend")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return stats;
+    }
+    
+    private static final class RouteStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder notModified = new LongAdder();
+        
+        double hitRatio() {
+            long hitCount = hits.sum();
+            long total = hitCount + misses.sum();
+            return total == 0 ? 0.0 : (double) hitCount / total;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hms.gateway.config;
+
+import com.hms.gateway.filter.CoalesceRequestsGatewayFilterFactory;
+import com.hms.gateway.filter.PrincipalResponseCacheGatewayFilterFactory;
+import com.hms.gateway.ratelimit.InMemoryRateLimiter;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native image hints for the gateway's own filters.
+ *
+ * Route filter args are bound onto each factory's Config class by reflection when routes load.
+ * Spring Cloud Gateway registers hints for its built-in factories only, so ours are listed here.
+ */
+public class GatewayRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                CoalesceRequestsGatewayFilterFactory.Config.class,
+                PrincipalResponseCacheGatewayFilterFactory.Config.class,
+                InMemoryRateLimiter.Config.class);
+    }
+}
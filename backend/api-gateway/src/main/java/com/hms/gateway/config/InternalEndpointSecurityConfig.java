@@ -0,0 +1,68 @@
+package com.hms.gateway.config;
+
+import com.hms.gateway.ratelimit.RateLimitGossip;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Keeps the gateway's own {@code /internal/**} endpoints (replica-to-replica rate limit gossip)
+ * closed to clients: a request must carry the shared gossip secret, and everything else under
+ * {@code /internal/**} is denied.
+ */
+@Configuration
+public class InternalEndpointSecurityConfig {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityWebFilterChain internalEndpointFilterChain(
+            ServerHttpSecurity http,
+            @Value("${hms.gateway.rate-limit.gossip.shared-secret:}") String sharedSecret) {
+        return http
+                .securityMatcher(ServerWebExchangeMatchers.pathMatchers("/internal/**"))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers(HttpMethod.POST, RateLimitGossip.GOSSIP_PATH).access(sharedSecret(sharedSecret))
+                        .anyExchange().denyAll())
+                .build();
+    }
+
+    /**
+     * Everything else keeps Spring Boot's default chain, which declaring any chain would otherwise replace
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public SecurityWebFilterChain defaultFilterChain(ServerHttpSecurity http) {
+        return http
+                .authorizeExchange(exchanges -> exchanges.anyExchange().authenticated())
+                .httpBasic(Customizer.withDefaults())
+                .formLogin(Customizer.withDefaults())
+                .build();
+    }
+
+    private static ReactiveAuthorizationManager<AuthorizationContext> sharedSecret(String sharedSecret) {
+        byte[] expected = sharedSecret.getBytes(StandardCharsets.UTF_8);
+        return (authentication, context) -> {
+            String presented = context.getExchange().getRequest().getHeaders().getFirst(RateLimitGossip.SECRET_HEADER);
+            boolean granted = expected.length > 0 && presented != null
+                    && MessageDigest.isEqual(expected, presented.getBytes(StandardCharsets.UTF_8));
+            return Mono.just(new AuthorizationDecision(granted));
+        };
+    }
+}
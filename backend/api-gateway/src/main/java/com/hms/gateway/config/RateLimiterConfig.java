@@ -0,0 +1,32 @@
+package com.hms.gateway.config;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+@Configuration
+@EnableScheduling
+public class RateLimiterConfig {
+
+    /**
+     * Rate limit authenticated calls per principal and anonymous calls (e.g. login) per client address
+     */
+    @Bean
+    @Primary
+    public KeyResolver principalOrAddressKeyResolver() {
+        return exchange -> exchange.getPrincipal()
+                .map(Principal::getName)
+                .switchIfEmpty(Mono.defer(() -> {
+                    InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+                    return remoteAddress == null
+                            ? Mono.empty()
+                            : Mono.just("ip:" + remoteAddress.getAddress().getHostAddress());
+                }));
+    }
+}
@@ -0,0 +1,33 @@
+package com.hms.gateway.controller;
+
+import com.hms.gateway.ratelimit.InMemoryRateLimiter;
+import com.hms.gateway.ratelimit.RateLimitGossip;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@ConditionalOnProperty(name = "hms.gateway.rate-limit.gossip.enabled", havingValue = "true")
+public class RateLimitGossipController {
+
+    private final InMemoryRateLimiter rateLimiter;
+
+    @Autowired
+    public RateLimitGossipController(InMemoryRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Receive token consumption from a peer gateway replica
+     */
+    @PostMapping(RateLimitGossip.GOSSIP_PATH)
+    public ResponseEntity<Void> receive(@RequestBody Map<String, Long> consumed) {
+        consumed.forEach(rateLimiter::applyRemoteConsumption);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,199 @@
+package com.hms.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight filter: identical GETs (same route, principal and URI) that arrive while one
+ * is already in flight wait for that call and receive a copy of its response instead of going upstream.
+ *
+ * If the leading call fails, times out or produces a body too large to buffer, waiters fall back
+ * to calling the backend themselves, so coalescing never turns into an error of its own.
+ *
+ * Like the response cache, the filter is unordered and belongs after JwtAuthenticationFilter and
+ * RequestRateLimiter in the route's filter list, so every waiter is authenticated and counted.
+ */
+@Component
+public class CoalesceRequestsGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CoalesceRequestsGatewayFilterFactory.Config> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalesceRequestsGatewayFilterFactory.class);
+
+    private static final List<String> UNSHARED_HEADERS = List.of(
+            HttpHeaders.SET_COOKIE, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION);
+
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> deduplicated = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public CoalesceRequestsGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.coalesce.inflight", inFlight, Map::size)
+                .description("Distinct GETs currently in flight with coalescing enabled")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("waitTimeout", "maxBodyBytes");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String routeId = ExchangeKeys.routeId(exchange);
+            return ExchangeKeys.principal(exchange).flatMap(principal -> {
+                if (principal.isEmpty()) {
+                    return chain.filter(exchange);
+                }
+                String key = ExchangeKeys.requestKey(routeId, principal.get(), request);
+                Sinks.One<SharedResponse> sink = Sinks.one();
+                Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, sink);
+
+                if (leader != null) {
+                    deduplicatedCounter(routeId).increment();
+                    return leader.asMono()
+                            .timeout(config.getWaitTimeout())
+                            .map(Optional::of)
+                            .onErrorResume(e -> Mono.just(Optional.empty()))
+                            .defaultIfEmpty(Optional.empty())
+                            .flatMap(shared -> shared.isPresent()
+                                    ? write(exchange.getResponse(), shared.get())
+                                    : chain.filter(exchange));
+                }
+
+                // Wraps the response cache's decorator, if any, so the leader's response is still cached
+                DecoratableResponseFilter.decorate(exchange, response -> new SharingResponse(response, sink, config));
+                return chain.filter(exchange)
+                        .doFinally(signal -> {
+                            inFlight.remove(key, sink);
+                            // No-op if the response was already shared; releases waiters otherwise
+                            sink.tryEmitEmpty();
+                        });
+            });
+        };
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().set("X-Coalesced", "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private Counter deduplicatedCounter(String routeId) {
+        return deduplicated.computeIfAbsent(routeId, id -> Counter.builder("gateway.coalesce.deduplicated")
+                .description("GETs answered from an identical in-flight call instead of going upstream")
+                .tag("route", id)
+                .register(meterRegistry));
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * Buffers the leader's response once and publishes it to the waiters before writing it to the leader's client
+     */
+    private static class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final Sinks.One<SharedResponse> sink;
+        private final Config config;
+
+        SharingResponse(ServerHttpResponse delegate, Sinks.One<SharedResponse> sink, Config config) {
+            super(delegate);
+            this.sink = sink;
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getHeaders().getContentLength() > config.getMaxBodyBytes()) {
+                sink.tryEmitEmpty();
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(Flux.from(body))
+                    .flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        if (bytes.length <= config.getMaxBodyBytes() && getStatusCode() != null) {
+                            sink.tryEmitValue(new SharedResponse(getStatusCode(), sharedHeaders(getHeaders()), bytes));
+                        } else {
+                            sink.tryEmitEmpty();
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    })
+                    .doOnError(e -> {
+                        logger.debug("Coalesced call failed, waiters will retry upstream: {}", e.getMessage());
+                        sink.tryEmitEmpty();
+                    });
+        }
+
+        private static HttpHeaders sharedHeaders(HttpHeaders source) {
+            HttpHeaders copy = new HttpHeaders();
+            source.forEach((name, values) -> {
+                if (UNSHARED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                    copy.put(name, List.copyOf(values));
+                }
+            });
+            return HttpHeaders.readOnlyHttpHeaders(copy);
+        }
+    }
+
+    public static class Config {
+
+        private Duration waitTimeout = Duration.ofSeconds(5);
+
+        private int maxBodyBytes = 1024 * 1024;
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+
+        public int getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+    }
+}
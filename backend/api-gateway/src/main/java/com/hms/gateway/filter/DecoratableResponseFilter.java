@@ -0,0 +1,72 @@
+package com.hms.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Lets route filters that run after authentication and rate limiting still capture the response body.
+ *
+ * NettyWriteResponseFilter writes to the response of the exchange it was handed, so a decorator
+ * installed by a filter ordered after it is never written to. This filter runs just before it and
+ * installs a response whose decorators can be added later: the response cache and coalescing
+ * filters keep their place in the route's filter list (after JwtAuthenticationFilter and
+ * RequestRateLimiter) and call {@link #decorate} there.
+ */
+@Component
+public class DecoratableResponseFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new DecoratableResponse(exchange.getResponse())).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    /**
+     * Wrap the response that will be written with another decorator.
+     *
+     * @return false if the exchange did not pass through this filter, in which case nothing can be captured
+     */
+    static boolean decorate(ServerWebExchange exchange, UnaryOperator<ServerHttpResponse> decorator) {
+        if (exchange.getResponse() instanceof DecoratableResponse response) {
+            response.wrap(decorator);
+            return true;
+        }
+        return false;
+    }
+
+    private static class DecoratableResponse extends ServerHttpResponseDecorator {
+
+        private volatile ServerHttpResponse current;
+
+        DecoratableResponse(ServerHttpResponse delegate) {
+            super(delegate);
+            this.current = delegate;
+        }
+
+        synchronized void wrap(UnaryOperator<ServerHttpResponse> decorator) {
+            current = decorator.apply(current);
+        }
+
+        @Override
+        public ServerHttpResponse getDelegate() {
+            return current;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.hms.gateway.filter;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+/**
+ * Builds the route/principal/URI keys shared by the caching and coalescing filters
+ */
+final class ExchangeKeys {
+    
+    private ExchangeKeys() {}
+    
+    static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route == null ? "unknown" : route.getId();
+    }
+    
+    /**
+     * The authenticated principal, or an empty Optional when the request carries none
+     */
+    static Mono<Optional<String>> principal(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(p -> Optional.of("principal:" + p.getName()))
+                .defaultIfEmpty(Optional.empty());
+    }
+    
+    static String requestKey(String routeId, String scope, ServerHttpRequest request) {
+        URI uri = request.getURI();
+        return routeId + '\n' + scope + '\n' + uri.getRawPath() + '?' + (uri.getRawQuery() == null ? "" : uri.getRawQuery());
+    }
+    
+    static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.hms.gateway.filter;
+
+import com.hms.gateway.cache.CachedResponseEntry;
+import com.hms.gateway.cache.ResponseCacheStore;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches successful GET responses per route and per authenticated principal.
+ *
+ * Fresh entries are served without contacting the backend, and a matching
+ * {@code If-None-Match} is answered with 304. Entries expire after the route TTL, are evicted
+ * by total size, and are dropped early by {@link com.hms.gateway.cache.CacheInvalidationListener}.
+ *
+ * The filter is unordered so it keeps its place in the route's filter list: list it after
+ * JwtAuthenticationFilter and RequestRateLimiter so a hit is still authenticated and counted.
+ * Requests without an authenticated principal are never cached.
+ */
+@Component
+public class PrincipalResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<PrincipalResponseCacheGatewayFilterFactory.Config> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalResponseCacheGatewayFilterFactory.class);
+    
+    private static final List<String> UNCACHED_HEADERS = List.of(
+            HttpHeaders.SET_COOKIE, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.DATE);
+    
+    private final ResponseCacheStore cacheStore;
+    
+    @Autowired
+    public PrincipalResponseCacheGatewayFilterFactory(ResponseCacheStore cacheStore) {
+        super(Config.class);
+        this.cacheStore = cacheStore;
+    }
+    
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive", "maxBodyBytes");
+    }
+    
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || isNoStore(request.getHeaders())) {
+                return chain.filter(exchange);
+            }
+            
+            String routeId = ExchangeKeys.routeId(exchange);
+            String path = request.getURI().getRawPath();
+            
+            return ExchangeKeys.principal(exchange).flatMap(principal -> {
+                if (principal.isEmpty()) {
+                    return chain.filter(exchange);
+                }
+                String key = ExchangeKeys.requestKey(routeId, principal.get(), request);
+                
+                CachedResponseEntry cached = cacheStore.get(key);
+                if (cached != null) {
+                    return writeCached(exchange, routeId, cached);
+                }
+                
+                cacheStore.recordMiss(routeId);
+                // Read before forwarding: an invalidation from here on must keep this response out of the cache
+                long generation = cacheStore.generation(routeId);
+                // The response written by NettyWriteResponseFilter was installed by DecoratableResponseFilter
+                DecoratableResponseFilter.decorate(exchange, response ->
+                        new CapturingResponse(response, exchange, key, routeId, generation, path, config));
+                return chain.filter(exchange);
+            });
+        };
+    }
+    
+    private Mono<Void> writeCached(ServerWebExchange exchange, String routeId, CachedResponseEntry cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (matchesIfNoneMatch(exchange.getRequest(), cached.getETag())) {
+            cacheStore.recordNotModified(routeId);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(cached.getETag());
+            return response.setComplete();
+        }
+        
+        cacheStore.recordHit(routeId);
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().putAll(cached.getHeaders());
+        response.getHeaders().set("X-Cache", "HIT");
+        DataBuffer buffer = response.bufferFactory().wrap(cached.getBody());
+        return response.writeWith(Mono.just(buffer));
+    }
+    
+    private static boolean isNoStore(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return cacheControl != null && cacheControl.contains("no-store");
+    }
+    
+    private static boolean matchesIfNoneMatch(ServerHttpRequest request, String eTag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return eTag != null && (ifNoneMatch.contains(eTag) || ifNoneMatch.contains("*"));
+    }
+    
+    private static String eTagOf(byte[] body) {
+        byte[] hash = ExchangeKeys.sha256(body);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+    }
+    
+    /**
+     * Buffers a 200 response body so it can be stored, tagged with an ETag and, when the client
+     * already holds that version, collapsed to a 304. A body that grows past maxBodyBytes (one sent
+     * without Content-Length) stops being buffered and is passed through as it arrives.
+     */
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+        
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final String routeId;
+        private final long generation;
+        private final String path;
+        private final Config config;
+        
+        CapturingResponse(ServerHttpResponse delegate, ServerWebExchange exchange, String key, String routeId,
+                          long generation, String path, Config config) {
+            super(delegate);
+            this.exchange = exchange;
+            this.key = key;
+            this.routeId = routeId;
+            this.generation = generation;
+            this.path = path;
+            this.config = config;
+        }
+        
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable()) {
+                return super.writeWith(body);
+            }
+            
+            // One list holding the whole body if it fits; otherwise the buffers before the limit, then
+            // each later buffer on its own
+            AtomicLong received = new AtomicLong();
+            int maxBodyBytes = config.getMaxBodyBytes();
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> received.addAndGet(buffer.readableByteCount()) > maxBodyBytes, true)
+                    .switchOnFirst((first, chunks) -> {
+                        if (first.hasValue() && received.get() <= maxBodyBytes) {
+                            return writeCaptured(first.get());
+                        }
+                        if (first.hasValue()) {
+                            logger.debug("Response for {} exceeds cacheable size, not cached", path);
+                        }
+                        return super.writeWith(chunks.concatMapIterable(Function.identity()));
+                    })
+                    .then();
+        }
+        
+        private Mono<Void> writeCaptured(List<DataBuffer> buffers) {
+            DataBuffer joined = bufferFactory().join(buffers);
+            byte[] bytes = new byte[joined.readableByteCount()];
+            joined.read(bytes);
+            DataBufferUtils.release(joined);
+            
+            String eTag = eTagOf(bytes);
+            getHeaders().setETag(eTag);
+            if (!cacheStore.put(key, new CachedResponseEntry(routeId, generation, eTag,
+                    cacheableHeaders(getHeaders()), bytes, config.getTimeToLive()))) {
+                logger.debug("Route {} was invalidated while {} was in flight, not cached", routeId, path);
+            }
+            
+            if (matchesIfNoneMatch(exchange.getRequest(), eTag)) {
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                getHeaders().setContentLength(0);
+                return setComplete();
+            }
+            getHeaders().set("X-Cache", "MISS");
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+        
+        private boolean isCacheable() {
+            if (getStatusCode() == null || getStatusCode().value() != HttpStatus.OK.value()) {
+                return false;
+            }
+            long contentLength = getHeaders().getContentLength();
+            return contentLength <= config.getMaxBodyBytes() && !isNoStore(getHeaders());
+        }
+        
+        private HttpHeaders cacheableHeaders(HttpHeaders source) {
+            HttpHeaders copy = new HttpHeaders();
+            source.forEach((name, values) -> {
+                if (UNCACHED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                    copy.put(name, List.copyOf(values));
+                }
+            });
+            return copy;
+        }
+    }
+    
+    public static class Config {
+        
+        private Duration timeToLive = Duration.ofSeconds(30);
+        
+        private int maxBodyBytes = 512 * 1024;
+        
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+        
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+        
+        public int getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+        
+        public void setMaxBodyBytes(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.hms.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gateway rate limiter backed by per-key token buckets held in memory.
+ *
+ * Drop-in replacement for the Redis rate limiter: routes reference it with
+ * {@code rate-limiter: "#{@inMemoryRateLimiter}"} and configure it with
+ * {@code in-memory-rate-limiter.*} filter args. No network round trip is made on the request path.
+ */
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryRateLimiter.class);
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> localConsumption = new ConcurrentHashMap<>();
+    private final Map<String, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Config defaultConfig;
+    private final boolean gossipEnabled;
+
+    @Autowired
+    public InMemoryRateLimiter(ConfigurationService configurationService,
+                               MeterRegistry meterRegistry,
+                               @Value("${hms.gateway.rate-limit.default-replenish-rate:50}") int defaultReplenishRate,
+                               @Value("${hms.gateway.rate-limit.default-burst-capacity:100}") int defaultBurstCapacity,
+                               @Value("${hms.gateway.rate-limit.gossip.enabled:false}") boolean gossipEnabled) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.meterRegistry = meterRegistry;
+        this.defaultConfig = new Config()
+                .setReplenishRate(defaultReplenishRate)
+                .setBurstCapacity(defaultBurstCapacity);
+        this.gossipEnabled = gossipEnabled;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        long now = System.nanoTime();
+
+        TokenBucket bucket = bucketFor(routeId, id, config, now);
+        long remaining = bucket.tryConsume(config.getRequestedTokens(), now);
+        boolean allowed = remaining >= 0;
+
+        RouteMeters meters = metersFor(routeId);
+        if (allowed) {
+            meters.allowed.increment();
+            if (gossipEnabled) {
+                localConsumption.merge(bucketKey(routeId, id), (long) config.getRequestedTokens(), Long::sum);
+            }
+        } else {
+            meters.rejected.increment();
+            logger.debug("Rate limit exceeded for route {} and key {}", routeId, id);
+        }
+
+        return Mono.just(new Response(allowed, getHeaders(config, Math.max(remaining, 0L))));
+    }
+
+    /**
+     * Apply tokens consumed for a key on a peer gateway replica
+     */
+    public void applyRemoteConsumption(String bucketKey, long tokens) {
+        int separator = bucketKey.indexOf('|');
+        if (separator < 0 || tokens <= 0) {
+            return;
+        }
+        String routeId = bucketKey.substring(0, separator);
+        String id = bucketKey.substring(separator + 1);
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        long now = System.nanoTime();
+        bucketFor(routeId, id, config, now).debit(tokens, now);
+    }
+
+    /**
+     * Take and reset the tokens consumed locally since the previous call, keyed by bucket.
+     *
+     * Each entry is removed atomically with respect to {@code merge}, so a concurrent increment
+     * lands either in this drain or in a fresh entry for the next one, never in between.
+     */
+    public Map<String, Long> drainLocalConsumption() {
+        Map<String, Long> drained = new HashMap<>();
+        for (String key : localConsumption.keySet()) {
+            Long tokens = localConsumption.remove(key);
+            if (tokens != null && tokens > 0) {
+                drained.put(key, tokens);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Drop buckets that have fully refilled, they carry no state worth keeping
+     */
+    @Scheduled(fixedDelayString = "${hms.gateway.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        logger.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+
+    public Map<String, String> getHeaders(Config config, long tokensLeft) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(REMAINING_HEADER, String.valueOf(tokensLeft));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        headers.put(REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+        return headers;
+    }
+
+    private TokenBucket bucketFor(String routeId, String id, Config config, long now) {
+        String key = bucketKey(routeId, id);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null || !bucket.matches(config.getReplenishRate(), config.getBurstCapacity())) {
+            TokenBucket created = new TokenBucket(config.getReplenishRate(), config.getBurstCapacity(), now);
+            bucket = bucket == null ? buckets.computeIfAbsent(key, k -> created) : replace(key, bucket, created);
+        }
+        return bucket;
+    }
+
+    private TokenBucket replace(String key, TokenBucket stale, TokenBucket fresh) {
+        return buckets.replace(key, stale, fresh) ? fresh : buckets.getOrDefault(key, fresh);
+    }
+
+    private RouteMeters metersFor(String routeId) {
+        return routeMeters.computeIfAbsent(routeId, this::registerMeters);
+    }
+
+    private RouteMeters registerMeters(String routeId) {
+        Gauge.builder("gateway.ratelimit.buckets.saturated", buckets, b -> countSaturated(routeId))
+                .description("Rate limit buckets with no tokens left")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.ratelimit.buckets.active", buckets, b -> countActive(routeId))
+                .description("Rate limit buckets currently tracked")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return new RouteMeters(
+                Counter.builder("gateway.ratelimit.requests")
+                        .tag("route", routeId)
+                        .tag("outcome", "allowed")
+                        .register(meterRegistry),
+                Counter.builder("gateway.ratelimit.requests")
+                        .tag("route", routeId)
+                        .tag("outcome", "rejected")
+                        .register(meterRegistry));
+    }
+
+    private double countSaturated(String routeId) {
+        long now = System.nanoTime();
+        String prefix = routeId + "|";
+        return buckets.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix) && entry.getValue().isSaturated(now))
+                .count();
+    }
+
+    private double countActive(String routeId) {
+        String prefix = routeId + "|";
+        return buckets.keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .count();
+    }
+
+    private static String bucketKey(String routeId, String id) {
+        return routeId + "|" + id;
+    }
+
+    private record RouteMeters(Counter allowed, Counter rejected) {
+    }
+
+    /**
+     * Per-route rate limit configuration
+     */
+    @Validated
+    public static class Config {
+
+        @Min(1)
+        private int replenishRate;
+
+        @Min(0)
+        private int burstCapacity = 1;
+
+        @Min(1)
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Config{" +
+                    "replenishRate=" + replenishRate +
+                    ", burstCapacity=" + burstCapacity +
+                    ", requestedTokens=" + requestedTokens +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.hms.gateway.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically pushes the tokens consumed on this gateway replica to its peers, so that
+ * a client spreading requests across replicas is still held to roughly one shared limit.
+ *
+ * Gossip is best effort: a failed push is dropped, never retried, and never touches the request path.
+ * Pushes carry the shared secret that {@link com.hms.gateway.config.InternalEndpointSecurityConfig}
+ * checks, since the gossip endpoint is served on the public port.
+ */
+@Component
+@ConditionalOnProperty(name = "hms.gateway.rate-limit.gossip.enabled", havingValue = "true")
+public class RateLimitGossip {
+
+    public static final String GOSSIP_PATH = "/internal/rate-limit/gossip";
+
+    public static final String SECRET_HEADER = "X-Gateway-Gossip-Secret";
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitGossip.class);
+
+    private final InMemoryRateLimiter rateLimiter;
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final WebClient webClient;
+    private final String serviceId;
+    private final Duration timeout;
+    private final String sharedSecret;
+
+    @Autowired
+    public RateLimitGossip(InMemoryRateLimiter rateLimiter,
+                           DiscoveryClient discoveryClient,
+                           ObjectProvider<Registration> registration,
+                           WebClient.Builder webClientBuilder,
+                           @Value("${spring.application.name}") String serviceId,
+                           @Value("${hms.gateway.rate-limit.gossip.timeout-ms:500}") long timeoutMs,
+                           @Value("${hms.gateway.rate-limit.gossip.shared-secret:}") String sharedSecret) {
+        if (sharedSecret.isBlank()) {
+            throw new IllegalStateException("hms.gateway.rate-limit.gossip.shared-secret must be set when gossip is enabled");
+        }
+        this.rateLimiter = rateLimiter;
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.webClient = webClientBuilder.build();
+        this.serviceId = serviceId;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.sharedSecret = sharedSecret;
+    }
+
+    @Scheduled(fixedDelayString = "${hms.gateway.rate-limit.gossip.interval-ms:1000}")
+    public void publish() {
+        Map<String, Long> consumed = rateLimiter.drainLocalConsumption();
+        if (consumed.isEmpty()) {
+            return;
+        }
+
+        List<ServiceInstance> peers = discoveryClient.getInstances(serviceId).stream()
+                .filter(instance -> !isSelf(instance))
+                .toList();
+
+        Flux.fromIterable(peers)
+                .flatMap(peer -> webClient.post()
+                        .uri(peer.getUri().resolve(GOSSIP_PATH))
+                        .header(SECRET_HEADER, sharedSecret)
+                        .bodyValue(consumed)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .timeout(timeout)
+                        .doOnError(e -> logger.debug("Rate limit gossip to {} failed: {}", peer.getUri(), e.getMessage()))
+                        .onErrorResume(e -> Mono.empty()))
+                .subscribe();
+    }
+
+    private boolean isSelf(ServiceInstance instance) {
+        Registration self = registration.getIfAvailable();
+        return self != null
+                && self.getHost().equals(instance.getHost())
+                && self.getPort() == instance.getPort();
+    }
+}
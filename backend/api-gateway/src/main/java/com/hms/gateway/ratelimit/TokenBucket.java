@@ -0,0 +1,89 @@
+package com.hms.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket expressed as a generic cell rate algorithm (GCRA).
+ *
+ * The whole bucket state is a single "theoretical arrival time" in nanoseconds,
+ * so admission is one CAS on an AtomicLong with no allocation and no lock.
+ */
+final class TokenBucket {
+    
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    
+    private final int replenishRate;
+    private final int burstCapacity;
+    private final long emissionIntervalNanos;
+    private final long burstWindowNanos;
+    private final AtomicLong theoreticalArrival;
+    
+    TokenBucket(int replenishRate, int burstCapacity, long nowNanos) {
+        this.replenishRate = replenishRate;
+        this.burstCapacity = burstCapacity;
+        this.emissionIntervalNanos = Math.max(1L, NANOS_PER_SECOND / replenishRate);
+        this.burstWindowNanos = emissionIntervalNanos * burstCapacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+    
+    /**
+     * Try to take the given number of tokens.
+     *
+     * @return the tokens left after the take, or -1 if the request is rejected
+     */
+    long tryConsume(int tokens, long nowNanos) {
+        long cost = emissionIntervalNanos * tokens;
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long newTat = Math.max(tat, nowNanos) + cost;
+            long debt = newTat - nowNanos;
+            if (debt > burstWindowNanos) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return (burstWindowNanos - debt) / emissionIntervalNanos;
+            }
+        }
+    }
+    
+    /**
+     * Unconditionally debit tokens consumed elsewhere (e.g. on a peer gateway).
+     * The debt is capped at one full burst window so a noisy peer cannot lock a key out indefinitely.
+     */
+    void debit(long tokens, long nowNanos) {
+        long cost = emissionIntervalNanos * tokens;
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long newTat = Math.min(Math.max(tat, nowNanos) + cost, nowNanos + burstWindowNanos);
+            if (newTat <= tat || theoreticalArrival.compareAndSet(tat, newTat)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Tokens currently available
+     */
+    long available(long nowNanos) {
+        long debt = Math.max(0L, theoreticalArrival.get() - nowNanos);
+        return (burstWindowNanos - debt) / emissionIntervalNanos;
+    }
+    
+    /**
+     * A bucket is saturated when not even a single token is left
+     */
+    boolean isSaturated(long nowNanos) {
+        return available(nowNanos) < 1;
+    }
+    
+    /**
+     * A bucket is idle once it has fully refilled and can be dropped without losing state
+     */
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+    
+    boolean matches(int replenishRate, int burstCapacity) {
+        return this.replenishRate == replenishRate && this.burstCapacity == burstCapacity;
+    }
+}
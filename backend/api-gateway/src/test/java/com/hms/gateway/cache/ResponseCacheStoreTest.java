@@ -0,0 +1,44 @@
+package com.hms.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheStoreTest {
+    
+    private final ResponseCacheStore store = new ResponseCacheStore(new SimpleMeterRegistry(), 1024 * 1024);
+    
+    @Test
+    void invalidationDropsEveryEntryOfTheRouteOnly() {
+        store.put("patients-1", entry("patient-service", store.generation("patient-service")));
+        store.put("patients-2", entry("patient-service", store.generation("patient-service")));
+        store.put("doctors-1", entry("doctor-service", store.generation("doctor-service")));
+        
+        assertThat(store.invalidate("patient-service")).isEqualTo(2);
+        
+        assertThat(store.get("patients-1")).isNull();
+        assertThat(store.get("patients-2")).isNull();
+        assertThat(store.get("doctors-1")).isNotNull();
+    }
+    
+    @Test
+    void responseForwardedBeforeAnInvalidationIsNotStored() {
+        long generation = store.generation("patient-service");
+        store.invalidate("patient-service");
+        
+        assertThat(store.put("patients-1", entry("patient-service", generation))).isFalse();
+        assertThat(store.get("patients-1")).isNull();
+        
+        assertThat(store.put("patients-1", entry("patient-service", store.generation("patient-service")))).isTrue();
+        assertThat(store.get("patients-1")).isNotNull();
+    }
+    
+    private static CachedResponseEntry entry(String routeId, long generation) {
+        return new CachedResponseEntry(routeId, generation, "\"etag\"", new HttpHeaders(), new byte[16],
+                Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,109 @@
+package com.hms.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+    
+    private static final long START = 1_000_000_000L;
+    private static final long MILLIS = 1_000_000L;
+    
+    @Test
+    void allowsAFullBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        
+        for (long expectedLeft = 4; expectedLeft >= 0; expectedLeft--) {
+            assertThat(bucket.tryConsume(1, START)).isEqualTo(expectedLeft);
+        }
+        assertThat(bucket.tryConsume(1, START)).isEqualTo(-1);
+        assertThat(bucket.isSaturated(START)).isTrue();
+    }
+    
+    @Test
+    void rejectsARequestLargerThanWhatIsLeftWithoutConsumingAnything() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        
+        assertThat(bucket.tryConsume(3, START)).isEqualTo(2);
+        assertThat(bucket.tryConsume(3, START)).isEqualTo(-1);
+        assertThat(bucket.available(START)).isEqualTo(2);
+    }
+    
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryConsume(1, START);
+        }
+        
+        assertThat(bucket.tryConsume(1, START + 99 * MILLIS)).isEqualTo(-1);
+        assertThat(bucket.tryConsume(1, START + 100 * MILLIS)).isEqualTo(0);
+        assertThat(bucket.tryConsume(1, START + 100 * MILLIS)).isEqualTo(-1);
+        
+        long refilled = START + 100 * MILLIS + 500 * MILLIS;
+        assertThat(bucket.available(refilled)).isEqualTo(5);
+        assertThat(bucket.isIdle(refilled)).isTrue();
+    }
+    
+    @Test
+    void neverRefillsBeyondTheBurstCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        
+        assertThat(bucket.available(START + 60_000 * MILLIS)).isEqualTo(5);
+        assertThat(bucket.tryConsume(1, START + 60_000 * MILLIS)).isEqualTo(4);
+    }
+    
+    @Test
+    void peerDebitIsCappedAtOneBurstWindow() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        
+        bucket.debit(1_000, START);
+        
+        assertThat(bucket.available(START)).isZero();
+        assertThat(bucket.available(START + 500 * MILLIS)).isEqualTo(5);
+    }
+    
+    @Test
+    void concurrentConsumersNeverShareMoreThanTheBurst() throws Exception {
+        int burst = 500;
+        int threads = 8;
+        int attemptsPerThread = 1_000;
+        TokenBucket bucket = new TokenBucket(1, burst, START);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (bucket.tryConsume(1, START) >= 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+            
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(granted).isEqualTo(burst);
+            assertThat(bucket.available(START)).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
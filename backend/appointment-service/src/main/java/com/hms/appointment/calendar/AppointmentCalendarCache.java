@@ -0,0 +1,236 @@
+package com.hms.appointment.calendar;
+
+import com.hms.appointment.dto.CalendarEntry;
+import com.hms.appointment.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding window of the next {@code days} days of appointments per doctor, held in memory.
+ *
+ * A doctor's window is loaded the first time it is asked for (all missing doctors of a request in one
+ * query) and then kept current from booking changes, local ones and those published by other replicas.
+ * Each window is an immutable sorted list replaced as a whole, so readers never lock. A load that races
+ * with a change to the same doctor serves its result but does not cache it, rather than install a
+ * window that may predate the change.
+ */
+@Component
+public class AppointmentCalendarCache {
+    
+    // Upper bound on doctor IDs per IN query when loading windows
+    private static final int DOCTOR_CHUNK_SIZE = 500;
+    
+    private final AppointmentRepository appointmentRepository;
+    private final int days;
+    
+    private final Map<Long, DoctorWindow> windows = new ConcurrentHashMap<>();
+    // Which cached window holds an appointment, to move it when the doctor changes
+    private final Map<Long, Long> doctorByAppointment = new ConcurrentHashMap<>();
+    // Sequence number of the last change seen per doctor, checked before installing a loaded window
+    private final Map<Long, Long> lastChangeByDoctor = new ConcurrentHashMap<>();
+    private final AtomicLong changeSequence = new AtomicLong();
+    
+    private final Counter hits;
+    private final Counter misses;
+    
+    @Autowired
+    public AppointmentCalendarCache(AppointmentRepository appointmentRepository, MeterRegistry meterRegistry,
+                                    @Value("${hms.appointment.calendar.cache.days:14}") int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("hms.appointment.calendar.cache.days must be at least 1");
+        }
+        this.appointmentRepository = appointmentRepository;
+        this.days = days;
+        this.hits = Counter.builder("appointment.calendar.cache.requests")
+                .description("Doctor calendars served from the in-memory window")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("appointment.calendar.cache.requests")
+                .description("Doctor calendars that had to be loaded from the database")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("appointment.calendar.cache.doctors", windows, Map::size)
+                .description("Doctors with a cached calendar window")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * First day of the cached window: today
+     */
+    public LocalDate windowStart() {
+        return LocalDate.now();
+    }
+    
+    /**
+     * Last day of the cached window, inclusive
+     */
+    public LocalDate windowEnd() {
+        return windowStart().plusDays(days - 1L);
+    }
+    
+    /**
+     * Each doctor's entries between two dates inside the window, in calendar order. Doctors without
+     * a current window are loaded together in one query.
+     */
+    public Map<Long, List<CalendarEntry>> entries(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        Map<Long, List<CalendarEntry>> result = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long doctorId : doctorIds) {
+            DoctorWindow window = windows.get(doctorId);
+            if (window != null && window.covers(from, to)) {
+                result.put(doctorId, window.between(from, to));
+            } else {
+                missing.add(doctorId);
+            }
+        }
+        hits.increment(doctorIds.size() - missing.size());
+        
+        if (!missing.isEmpty()) {
+            misses.increment(missing.size());
+            load(missing).forEach((doctorId, window) -> result.put(doctorId, window.between(from, to)));
+        }
+        return result;
+    }
+    
+    /**
+     * Doctors that currently have a cached window
+     */
+    public List<Long> cachedDoctors() {
+        return new ArrayList<>(windows.keySet());
+    }
+    
+    /**
+     * Load the current window of the given doctors from the database and cache it, unless the doctor
+     * changed while the query ran
+     */
+    public Map<Long, DoctorWindow> load(Collection<Long> doctorIds) {
+        LocalDate start = windowStart();
+        LocalDate end = windowEnd();
+        long sequence = changeSequence.get();
+        
+        Map<Long, List<CalendarEntry>> byDoctor = new HashMap<>();
+        doctorIds.forEach(doctorId -> byDoctor.put(doctorId, new ArrayList<>()));
+        List<Long> ids = new ArrayList<>(byDoctor.keySet());
+        for (int i = 0; i < ids.size(); i += DOCTOR_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(i, Math.min(i + DOCTOR_CHUNK_SIZE, ids.size()));
+            for (CalendarEntry entry : appointmentRepository.findCalendars(chunk, start, end)) {
+                byDoctor.get(entry.getDoctorId()).add(entry);
+            }
+        }
+        
+        Map<Long, DoctorWindow> loaded = new HashMap<>();
+        byDoctor.forEach((doctorId, entries) -> {
+            // Already in calendar order from the query
+            DoctorWindow window = new DoctorWindow(start, end, List.copyOf(entries));
+            loaded.put(doctorId, window);
+            install(doctorId, window, sequence);
+        });
+        return loaded;
+    }
+    
+    /**
+     * Apply a booking change: the appointment as it is now, or null when it no longer exists
+     */
+    public synchronized void apply(long appointmentId, CalendarEntry current) {
+        long sequence = changeSequence.incrementAndGet();
+        
+        Long previousDoctor = doctorByAppointment.remove(appointmentId);
+        if (previousDoctor != null) {
+            lastChangeByDoctor.put(previousDoctor, sequence);
+            windows.computeIfPresent(previousDoctor, (doctorId, window) -> window.without(appointmentId));
+        }
+        if (current == null) {
+            return;
+        }
+        
+        Long doctorId = current.getDoctorId();
+        lastChangeByDoctor.put(doctorId, sequence);
+        DoctorWindow updated = windows.computeIfPresent(doctorId, (id, window) -> window.with(current));
+        if (updated != null && updated.contains(current.getAppointmentDate())) {
+            doctorByAppointment.put(appointmentId, doctorId);
+        }
+    }
+    
+    private synchronized void install(Long doctorId, DoctorWindow window, long loadedAtSequence) {
+        if (lastChangeByDoctor.getOrDefault(doctorId, 0L) > loadedAtSequence) {
+            return;
+        }
+        DoctorWindow previous = windows.put(doctorId, window);
+        if (previous != null) {
+            previous.entries().forEach(entry -> doctorByAppointment.remove(entry.getId(), doctorId));
+        }
+        window.entries().forEach(entry -> doctorByAppointment.put(entry.getId(), doctorId));
+    }
+    
+    /**
+     * One doctor's appointments from start to end inclusive, sorted with {@link CalendarEntry#CHRONOLOGICAL}
+     */
+    public record DoctorWindow(LocalDate start, LocalDate end, List<CalendarEntry> entries) {
+        
+        boolean covers(LocalDate from, LocalDate to) {
+            return !from.isBefore(start) && !to.isAfter(end);
+        }
+        
+        boolean contains(LocalDate date) {
+            return covers(date, date);
+        }
+        
+        List<CalendarEntry> between(LocalDate from, LocalDate to) {
+            int first = firstIndexOnOrAfter(from);
+            int last = firstIndexOnOrAfter(to.plusDays(1));
+            return first >= last ? Collections.emptyList() : entries.subList(first, last);
+        }
+        
+        DoctorWindow without(long appointmentId) {
+            if (entries.stream().noneMatch(entry -> entry.getId() == appointmentId)) {
+                return this;
+            }
+            return new DoctorWindow(start, end, entries.stream()
+                    .filter(entry -> entry.getId() != appointmentId)
+                    .toList());
+        }
+        
+        DoctorWindow with(CalendarEntry entry) {
+            DoctorWindow base = without(entry.getId());
+            if (!contains(entry.getAppointmentDate())) {
+                return base;
+            }
+            List<CalendarEntry> copy = new ArrayList<>(base.entries);
+            int position = Collections.binarySearch(copy, entry, CalendarEntry.CHRONOLOGICAL);
+            copy.add(position < 0 ? -position - 1 : position, entry);
+            return new DoctorWindow(start, end, List.copyOf(copy));
+        }
+        
+        /**
+         * Binary search on the date: index of the first entry on or after the date
+         */
+        private int firstIndexOnOrAfter(LocalDate date) {
+            int low = 0;
+            int high = entries.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entries.get(middle).getAppointmentDate().isBefore(date)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hms.appointment.calendar;
+
+import com.hms.appointment.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the {@link AppointmentCalendarCache} in step with the appointments table.
+ *
+ * Booking changes made on any replica arrive on appointment-events and are re-read by ID.
+ * Local writes are also applied directly by the service after commit. A periodic reload of every
+ * cached doctor moves the windows forward after midnight and repairs anything a lost event left behind.
+ */
+@Component
+public class CalendarCacheSynchronizer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CalendarCacheSynchronizer.class);
+    
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentCalendarCache cache;
+    
+    @Autowired
+    public CalendarCacheSynchronizer(AppointmentRepository appointmentRepository, AppointmentCalendarCache cache) {
+        this.appointmentRepository = appointmentRepository;
+        this.cache = cache;
+    }
+    
+    /**
+     * Apply booking changes published by any replica ({@code APPOINTMENT_<ACTION>:<id>})
+     */
+    @KafkaListener(topics = "appointment-events",
+            groupId = "appointment-calendar-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onAppointmentEvent(String event) {
+        int separator = event.lastIndexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        long appointmentId;
+        try {
+            appointmentId = Long.parseLong(event.substring(separator + 1).trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed appointment event: {}", event);
+            return;
+        }
+        cache.apply(appointmentId, appointmentRepository.findCalendarEntryById(appointmentId).orElse(null));
+    }
+    
+    @Scheduled(fixedDelayString = "${hms.appointment.calendar.cache.refresh-interval-ms:300000}",
+            initialDelayString = "${hms.appointment.calendar.cache.refresh-interval-ms:300000}")
+    public void reloadCachedDoctors() {
+        List<Long> doctorIds = cache.cachedDoctors();
+        if (doctorIds.isEmpty()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            cache.load(doctorIds);
+            logger.debug("Reloaded calendar windows of {} doctors in {} ms", doctorIds.size(),
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.warn("Failed to reload calendar windows, keeping the current ones: {}", e.getMessage());
+        }
+    }
+}
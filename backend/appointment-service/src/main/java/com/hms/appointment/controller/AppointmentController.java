@@ -0,0 +1,121 @@
+package com.hms.appointment.controller;
+
+import com.hms.appointment.dto.AppointmentDto;
+import com.hms.appointment.model.Appointment;
+import com.hms.appointment.service.AppointmentService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/appointments")
+@CrossOrigin(origins = "*")
+public class AppointmentController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentController.class);
+    
+    private final AppointmentService appointmentService;
+    
+    @Autowired
+    public AppointmentController(AppointmentService appointmentService) {
+        this.appointmentService = appointmentService;
+    }
+    
+    /**
+     * Book a new appointment
+     */
+    @PostMapping
+    public ResponseEntity<AppointmentDto> createAppointment(@Valid @RequestBody AppointmentDto appointmentDto) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(appointmentService.createAppointment(appointmentDto));
+        } catch (IllegalStateException e) {
+            logger.warn("Appointment not booked: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Get appointment by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<AppointmentDto> getAppointmentById(@PathVariable Long id) {
+        return appointmentService.getAppointmentById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Get all appointments with pagination
+     */
+    @GetMapping
+    public ResponseEntity<Page<AppointmentDto>> getAllAppointments(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Sort sort = Sort.by("appointmentDate", "appointmentTime", "id");
+        return ResponseEntity.ok(appointmentService.getAllAppointments(PageRequest.of(page, size, sort)));
+    }
+    
+    /**
+     * Get appointments by patient
+     */
+    @GetMapping("/patient/{patientId}")
+    public ResponseEntity<List<AppointmentDto>> getAppointmentsByPatient(@PathVariable Long patientId) {
+        return ResponseEntity.ok(appointmentService.getAppointmentsByPatient(patientId));
+    }
+    
+    /**
+     * Get appointments by doctor
+     */
+    @GetMapping("/doctor/{doctorId}")
+    public ResponseEntity<List<AppointmentDto>> getAppointmentsByDoctor(@PathVariable Long doctorId) {
+        return ResponseEntity.ok(appointmentService.getAppointmentsByDoctor(doctorId));
+    }
+    
+    /**
+     * Reschedule or edit an appointment
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<AppointmentDto> updateAppointment(@PathVariable Long id,
+                                                            @Valid @RequestBody AppointmentDto appointmentDto) {
+        try {
+            return appointmentService.updateAppointment(id, appointmentDto)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            logger.warn("Appointment {} not updated: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Cancel an appointment; the row is kept with status CANCELLED
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<AppointmentDto> cancelAppointment(@PathVariable Long id) {
+        return updateStatus(id, Appointment.Status.CANCELLED);
+    }
+    
+    /**
+     * Update appointment status
+     */
+    @PutMapping("/{id}/status")
+    public ResponseEntity<AppointmentDto> updateStatus(@PathVariable Long id, @RequestParam Appointment.Status status) {
+        try {
+            return appointmentService.updateStatus(id, status)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            logger.warn("Status of appointment {} not changed: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
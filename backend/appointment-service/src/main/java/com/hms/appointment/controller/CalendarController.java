@@ -0,0 +1,56 @@
+package com.hms.appointment.controller;
+
+import com.hms.appointment.dto.DepartmentWeek;
+import com.hms.appointment.dto.DoctorCalendar;
+import com.hms.appointment.service.CalendarService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/appointments/calendar")
+@CrossOrigin(origins = "*")
+public class CalendarController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CalendarController.class);
+    
+    private final CalendarService calendarService;
+    
+    @Autowired
+    public CalendarController(CalendarService calendarService) {
+        this.calendarService = calendarService;
+    }
+    
+    /**
+     * Get a doctor's appointments between two dates, inclusive (day view: from = to)
+     */
+    @GetMapping("/doctors/{doctorId}")
+    public ResponseEntity<DoctorCalendar> getDoctorCalendar(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeCancelled) {
+        try {
+            return ResponseEntity.ok(calendarService.getDoctorCalendar(doctorId, from, to, includeCancelled));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid calendar request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get a week of every doctor in a department; defaults to the current week
+     */
+    @GetMapping("/departments/{departmentId}/week")
+    public ResponseEntity<DepartmentWeek> getDepartmentWeek(
+            @PathVariable Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(defaultValue = "false") boolean includeCancelled) {
+        return ResponseEntity.ok(calendarService.getDepartmentWeek(departmentId, start, includeCancelled));
+    }
+}
@@ -0,0 +1,65 @@
+package com.hms.appointment.controller;
+
+import com.hms.appointment.dto.NoShowBackfillReport;
+import com.hms.appointment.dto.NoShowScore;
+import com.hms.appointment.service.NoShowService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@RestController
+@RequestMapping("/api/v1/appointments/no-show")
+@CrossOrigin(origins = "*")
+public class NoShowController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NoShowController.class);
+    
+    private final NoShowService noShowService;
+    
+    @Autowired
+    public NoShowController(NoShowService noShowService) {
+        this.noShowService = noShowService;
+    }
+    
+    /**
+     * Score a prospective booking before it is made
+     */
+    @GetMapping("/score")
+    public ResponseEntity<NoShowScore> score(
+            @RequestParam Long patientId,
+            @RequestParam Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time) {
+        return ResponseEntity.ok(noShowService.score(patientId, doctorId, date, time));
+    }
+    
+    /**
+     * Score an existing appointment
+     */
+    @GetMapping("/score/{appointmentId}")
+    public ResponseEntity<NoShowScore> scoreAppointment(@PathVariable Long appointmentId) {
+        return noShowService.scoreAppointment(appointmentId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Rebuild the counters from the appointment history
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<NoShowBackfillReport> backfill() {
+        try {
+            return ResponseEntity.ok(noShowService.backfill());
+        } catch (IllegalStateException e) {
+            logger.warn("No-show backfill not started: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
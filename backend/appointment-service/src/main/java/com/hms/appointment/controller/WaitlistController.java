@@ -0,0 +1,129 @@
+package com.hms.appointment.controller;
+
+import com.hms.appointment.dto.SlotOfferDto;
+import com.hms.appointment.dto.WaitlistEntryDto;
+import com.hms.appointment.model.SlotOffer;
+import com.hms.appointment.service.WaitlistService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/appointments/waitlist")
+@CrossOrigin(origins = "*")
+public class WaitlistController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistController.class);
+    
+    private final WaitlistService waitlistService;
+    
+    @Autowired
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+    
+    /**
+     * Join the waitlist of a doctor or a specialization
+     */
+    @PostMapping
+    public ResponseEntity<WaitlistEntryDto> join(@Valid @RequestBody WaitlistEntryDto entryDto) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(entryDto));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Waitlist entry rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            logger.warn("Waitlist entry not created: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Get waitlist entry by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistEntryDto> getEntry(@PathVariable Long id) {
+        return waitlistService.getEntry(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Get waitlist entries by patient
+     */
+    @GetMapping("/patient/{patientId}")
+    public ResponseEntity<List<WaitlistEntryDto>> getEntriesByPatient(@PathVariable Long patientId) {
+        return ResponseEntity.ok(waitlistService.getEntriesByPatient(patientId));
+    }
+    
+    /**
+     * Leave the waitlist; the entry is kept with status CANCELLED
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<WaitlistEntryDto> leave(@PathVariable Long id) {
+        try {
+            return waitlistService.leave(id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            logger.warn("Waitlist entry {} not removed: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Get slot offer by ID
+     */
+    @GetMapping("/offers/{id}")
+    public ResponseEntity<SlotOfferDto> getOffer(@PathVariable Long id) {
+        return waitlistService.getOffer(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Get slot offers by patient
+     */
+    @GetMapping("/offers/patient/{patientId}")
+    public ResponseEntity<List<SlotOfferDto>> getOffersByPatient(@PathVariable Long patientId) {
+        return ResponseEntity.ok(waitlistService.getOffersByPatient(patientId));
+    }
+    
+    /**
+     * Book the slot held by an offer
+     */
+    @PostMapping("/offers/{id}/confirm")
+    public ResponseEntity<SlotOfferDto> confirm(@PathVariable Long id) {
+        try {
+            return waitlistService.confirm(id)
+                    .map(offer -> offer.getStatus() == SlotOffer.Status.CONFIRMED
+                            ? ResponseEntity.ok(offer)
+                            : ResponseEntity.status(HttpStatus.CONFLICT).body(offer))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            logger.warn("Waitlist offer {} not confirmed: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Turn down the slot held by an offer
+     */
+    @PostMapping("/offers/{id}/decline")
+    public ResponseEntity<SlotOfferDto> decline(@PathVariable Long id) {
+        try {
+            return waitlistService.decline(id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            logger.warn("Waitlist offer {} not declined: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.hms.appointment.dto;
+
+import com.hms.appointment.model.Appointment;
+import jakarta.validation.constraints.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public class AppointmentDto {
+    
+    private Long id;
+    
+    @NotNull(message = "Patient ID is required")
+    private Long patientId;
+    
+    @NotNull(message = "Doctor ID is required")
+    private Long doctorId;
+    
+    @NotNull(message = "Appointment date is required")
+    private LocalDate appointmentDate;
+    
+    @NotNull(message = "Appointment time is required")
+    private LocalTime appointmentTime;
+    
+    private Appointment.Status status;
+    
+    private String reason;
+    
+    private String notes;
+    
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Default constructor
+    public AppointmentDto() {}
+    
+    // Constructor from Appointment entity
+    public AppointmentDto(Appointment appointment) {
+        this.id = appointment.getId();
+        this.patientId = appointment.getPatientId();
+        this.doctorId = appointment.getDoctorId();
+        this.appointmentDate = appointment.getAppointmentDate();
+        this.appointmentTime = appointment.getAppointmentTime();
+        this.status = appointment.getStatus();
+        this.reason = appointment.getReason();
+        this.notes = appointment.getNotes();
+        this.createdAt = appointment.getCreatedAt();
+        this.updatedAt = appointment.getUpdatedAt();
+    }
+    
+    // Convert to Appointment entity; new appointments always start out scheduled
+    public Appointment toEntity() {
+        Appointment appointment = new Appointment(patientId, doctorId, appointmentDate, appointmentTime);
+        appointment.setReason(reason);
+        appointment.setNotes(notes);
+        return appointment;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+    
+    public void setAppointmentDate(LocalDate appointmentDate) {
+        this.appointmentDate = appointmentDate;
+    }
+    
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+    
+    public void setAppointmentTime(LocalTime appointmentTime) {
+        this.appointmentTime = appointmentTime;
+    }
+    
+    public Appointment.Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Appointment.Status status) {
+        this.status = status;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+    
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
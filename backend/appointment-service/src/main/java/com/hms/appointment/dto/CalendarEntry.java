@@ -0,0 +1,81 @@
+package com.hms.appointment.dto;
+
+import com.hms.appointment.model.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+
+/**
+ * One appointment as shown in a calendar cell.
+ *
+ * Built directly by JPQL constructor expressions and immutable, so the same instances can be held
+ * by the calendar cache and handed to any number of readers.
+ */
+public class CalendarEntry {
+    
+    /**
+     * Calendar order: date, then time, then ID
+     */
+    public static final Comparator<CalendarEntry> CHRONOLOGICAL = Comparator
+            .comparing(CalendarEntry::getAppointmentDate)
+            .thenComparing(CalendarEntry::getAppointmentTime)
+            .thenComparing(CalendarEntry::getId);
+    
+    private final Long id;
+    private final Long doctorId;
+    private final Long patientId;
+    private final LocalDate appointmentDate;
+    private final LocalTime appointmentTime;
+    private final Appointment.Status status;
+    private final String reason;
+    
+    // Constructor used by JPQL projections
+    public CalendarEntry(Long id, Long doctorId, Long patientId, LocalDate appointmentDate, LocalTime appointmentTime,
+                         Appointment.Status status, String reason) {
+        this.id = id;
+        this.doctorId = doctorId;
+        this.patientId = patientId;
+        this.appointmentDate = appointmentDate;
+        this.appointmentTime = appointmentTime;
+        this.status = status;
+        this.reason = reason;
+    }
+    
+    // Calendar entry of an entity that was just written
+    public static CalendarEntry of(Appointment appointment) {
+        String reason = appointment.getReason();
+        return new CalendarEntry(appointment.getId(), appointment.getDoctorId(), appointment.getPatientId(),
+                appointment.getAppointmentDate(), appointment.getAppointmentTime(), appointment.getStatus(),
+                reason != null && reason.length() > 100 ? reason.substring(0, 100) : reason);
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+    
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+    
+    public Appointment.Status getStatus() {
+        return status;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+}
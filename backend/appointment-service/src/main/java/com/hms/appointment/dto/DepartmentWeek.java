@@ -0,0 +1,58 @@
+package com.hms.appointment.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Week view of a department: one calendar per doctor, ordered by doctor ID
+ */
+public class DepartmentWeek {
+    
+    private Long departmentId;
+    private LocalDate weekStart;
+    private LocalDate weekEnd;
+    private List<DoctorCalendar> doctors;
+    
+    // Default constructor
+    public DepartmentWeek() {}
+    
+    public DepartmentWeek(Long departmentId, LocalDate weekStart, LocalDate weekEnd, List<DoctorCalendar> doctors) {
+        this.departmentId = departmentId;
+        this.weekStart = weekStart;
+        this.weekEnd = weekEnd;
+        this.doctors = doctors;
+    }
+    
+    // Getters and Setters
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+    
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+    
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+    
+    public void setWeekStart(LocalDate weekStart) {
+        this.weekStart = weekStart;
+    }
+    
+    public LocalDate getWeekEnd() {
+        return weekEnd;
+    }
+    
+    public void setWeekEnd(LocalDate weekEnd) {
+        this.weekEnd = weekEnd;
+    }
+    
+    public List<DoctorCalendar> getDoctors() {
+        return doctors;
+    }
+    
+    public void setDoctors(List<DoctorCalendar> doctors) {
+        this.doctors = doctors;
+    }
+}
@@ -0,0 +1,58 @@
+package com.hms.appointment.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A doctor's appointments between two dates, inclusive, in calendar order
+ */
+public class DoctorCalendar {
+    
+    private Long doctorId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<CalendarEntry> entries;
+    
+    // Default constructor
+    public DoctorCalendar() {}
+    
+    public DoctorCalendar(Long doctorId, LocalDate from, LocalDate to, List<CalendarEntry> entries) {
+        this.doctorId = doctorId;
+        this.from = from;
+        this.to = to;
+        this.entries = entries;
+    }
+    
+    // Getters and Setters
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public LocalDate getFrom() {
+        return from;
+    }
+    
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+    
+    public LocalDate getTo() {
+        return to;
+    }
+    
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+    
+    public List<CalendarEntry> getEntries() {
+        return entries;
+    }
+    
+    public void setEntries(List<CalendarEntry> entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hms.appointment.dto;
+
+/**
+ * Outcome of a no-show counter backfill
+ */
+public class NoShowBackfillReport {
+    
+    private long appointments;
+    private int counterRows;
+    private int slices;
+    private long millis;
+    
+    // Default constructor
+    public NoShowBackfillReport() {}
+    
+    public NoShowBackfillReport(long appointments, int counterRows, int slices, long millis) {
+        this.appointments = appointments;
+        this.counterRows = counterRows;
+        this.slices = slices;
+        this.millis = millis;
+    }
+    
+    // Getters and Setters
+    public long getAppointments() {
+        return appointments;
+    }
+    
+    public void setAppointments(long appointments) {
+        this.appointments = appointments;
+    }
+    
+    public int getCounterRows() {
+        return counterRows;
+    }
+    
+    public void setCounterRows(int counterRows) {
+        this.counterRows = counterRows;
+    }
+    
+    public int getSlices() {
+        return slices;
+    }
+    
+    public void setSlices(int slices) {
+        this.slices = slices;
+    }
+    
+    public long getMillis() {
+        return millis;
+    }
+    
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+}
@@ -0,0 +1,79 @@
+package com.hms.appointment.dto;
+
+import com.hms.appointment.noshow.OutcomeScope;
+
+/**
+ * One input of a no-show score: the counters of a patient, doctor or slot and the rate derived from them
+ */
+public class NoShowFeature {
+    
+    private OutcomeScope scope;
+    private long key;
+    private long attended;
+    private long noShow;
+    private long cancelled;
+    
+    // No-show rate pulled towards the base rate in proportion to how little history there is
+    private double smoothedRate;
+    
+    // Default constructor
+    public NoShowFeature() {}
+    
+    public NoShowFeature(OutcomeScope scope, long key, long attended, long noShow, long cancelled, double smoothedRate) {
+        this.scope = scope;
+        this.key = key;
+        this.attended = attended;
+        this.noShow = noShow;
+        this.cancelled = cancelled;
+        this.smoothedRate = smoothedRate;
+    }
+    
+    // Getters and Setters
+    public OutcomeScope getScope() {
+        return scope;
+    }
+    
+    public void setScope(OutcomeScope scope) {
+        this.scope = scope;
+    }
+    
+    public long getKey() {
+        return key;
+    }
+    
+    public void setKey(long key) {
+        this.key = key;
+    }
+    
+    public long getAttended() {
+        return attended;
+    }
+    
+    public void setAttended(long attended) {
+        this.attended = attended;
+    }
+    
+    public long getNoShow() {
+        return noShow;
+    }
+    
+    public void setNoShow(long noShow) {
+        this.noShow = noShow;
+    }
+    
+    public long getCancelled() {
+        return cancelled;
+    }
+    
+    public void setCancelled(long cancelled) {
+        this.cancelled = cancelled;
+    }
+    
+    public double getSmoothedRate() {
+        return smoothedRate;
+    }
+    
+    public void setSmoothedRate(double smoothedRate) {
+        this.smoothedRate = smoothedRate;
+    }
+}
@@ -0,0 +1,103 @@
+package com.hms.appointment.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Estimated probability that a patient does not turn up for an appointment, with the features behind it
+ */
+public class NoShowScore {
+    
+    private Long appointmentId;
+    private Long patientId;
+    private Long doctorId;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private double probability;
+    
+    // No-show rate over all appointments, the starting point every feature adjusts
+    private double baseRate;
+    
+    private List<NoShowFeature> features;
+    
+    // Default constructor
+    public NoShowScore() {}
+    
+    public NoShowScore(Long appointmentId, Long patientId, Long doctorId, LocalDate appointmentDate,
+                       LocalTime appointmentTime, double probability, double baseRate, List<NoShowFeature> features) {
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.appointmentDate = appointmentDate;
+        this.appointmentTime = appointmentTime;
+        this.probability = probability;
+        this.baseRate = baseRate;
+        this.features = features;
+    }
+    
+    // Getters and Setters
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+    
+    public void setAppointmentDate(LocalDate appointmentDate) {
+        this.appointmentDate = appointmentDate;
+    }
+    
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+    
+    public void setAppointmentTime(LocalTime appointmentTime) {
+        this.appointmentTime = appointmentTime;
+    }
+    
+    public double getProbability() {
+        return probability;
+    }
+    
+    public void setProbability(double probability) {
+        this.probability = probability;
+    }
+    
+    public double getBaseRate() {
+        return baseRate;
+    }
+    
+    public void setBaseRate(double baseRate) {
+        this.baseRate = baseRate;
+    }
+    
+    public List<NoShowFeature> getFeatures() {
+        return features;
+    }
+    
+    public void setFeatures(List<NoShowFeature> features) {
+        this.features = features;
+    }
+}
@@ -0,0 +1,131 @@
+package com.hms.appointment.dto;
+
+import com.hms.appointment.model.SlotOffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A slot held for a waitlisted patient; appointmentId is set once they confirm
+ */
+public class SlotOfferDto {
+    
+    private Long id;
+    private Long entryId;
+    private Long patientId;
+    private Long doctorId;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private SlotOffer.Status status;
+    private LocalDateTime expiresAt;
+    private Long appointmentId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Default constructor
+    public SlotOfferDto() {}
+    
+    // Constructor from SlotOffer entity
+    public SlotOfferDto(SlotOffer offer) {
+        this.id = offer.getId();
+        this.entryId = offer.getEntryId();
+        this.patientId = offer.getPatientId();
+        this.doctorId = offer.getDoctorId();
+        this.appointmentDate = offer.getAppointmentDate();
+        this.appointmentTime = offer.getAppointmentTime();
+        this.status = offer.getStatus();
+        this.expiresAt = offer.getExpiresAt();
+        this.appointmentId = offer.getAppointmentId();
+        this.createdAt = offer.getCreatedAt();
+        this.updatedAt = offer.getUpdatedAt();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getEntryId() {
+        return entryId;
+    }
+    
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+    
+    public void setAppointmentDate(LocalDate appointmentDate) {
+        this.appointmentDate = appointmentDate;
+    }
+    
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+    
+    public void setAppointmentTime(LocalTime appointmentTime) {
+        this.appointmentTime = appointmentTime;
+    }
+    
+    public SlotOffer.Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(SlotOffer.Status status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,160 @@
+package com.hms.appointment.dto;
+
+import com.hms.appointment.model.WaitlistEntry;
+import jakarta.validation.constraints.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A place on the waitlist; give either a doctor or a specialization
+ */
+public class WaitlistEntryDto {
+    
+    private Long id;
+    
+    @NotNull(message = "Patient ID is required")
+    private Long patientId;
+    
+    private Long doctorId;
+    
+    @Size(max = 100, message = "Specialization must not exceed 100 characters")
+    private String specialization;
+    
+    @NotNull(message = "Earliest date is required")
+    private LocalDate earliestDate;
+    
+    @NotNull(message = "Latest date is required")
+    private LocalDate latestDate;
+    
+    // Higher is offered first, e.g. for urgent follow-ups
+    @Min(value = 0, message = "Priority must not be negative")
+    @Max(value = 100, message = "Priority must not exceed 100")
+    private int priority;
+    
+    private WaitlistEntry.Status status;
+    
+    private String reason;
+    
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Default constructor
+    public WaitlistEntryDto() {}
+    
+    // Constructor from WaitlistEntry entity
+    public WaitlistEntryDto(WaitlistEntry entry) {
+        this.id = entry.getId();
+        this.patientId = entry.getPatientId();
+        this.doctorId = entry.getDoctorId();
+        this.specialization = entry.getSpecialization();
+        this.earliestDate = entry.getEarliestDate();
+        this.latestDate = entry.getLatestDate();
+        this.priority = entry.getPriority();
+        this.status = entry.getStatus();
+        this.reason = entry.getReason();
+        this.createdAt = entry.getCreatedAt();
+        this.updatedAt = entry.getUpdatedAt();
+    }
+    
+    // Convert to WaitlistEntry entity; new entries always start out waiting
+    public WaitlistEntry toEntity() {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setPatientId(patientId);
+        entry.setDoctorId(doctorId);
+        entry.setSpecialization(specialization);
+        entry.setEarliestDate(earliestDate);
+        entry.setLatestDate(latestDate);
+        entry.setPriority(priority);
+        entry.setReason(reason);
+        return entry;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public String getSpecialization() {
+        return specialization;
+    }
+    
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+    
+    public LocalDate getEarliestDate() {
+        return earliestDate;
+    }
+    
+    public void setEarliestDate(LocalDate earliestDate) {
+        this.earliestDate = earliestDate;
+    }
+    
+    public LocalDate getLatestDate() {
+        return latestDate;
+    }
+    
+    public void setLatestDate(LocalDate latestDate) {
+        this.latestDate = latestDate;
+    }
+    
+    public int getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+    
+    public WaitlistEntry.Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(WaitlistEntry.Status status) {
+        this.status = status;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+    
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,207 @@
+package com.hms.appointment.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A freed slot held for a waitlisted patient until they confirm, decline or the hold expires.
+ *
+ * While the offer is HELD its hold key ({@code doctorId|date|time}) is set; the unique index on
+ * that column lets only one offer per slot be held at a time across all replicas. Settled offers
+ * clear the key so the slot can be offered again.
+ */
+@Entity
+@Table(name = "waitlist_offers")
+public class SlotOffer {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Column(name = "entry_id")
+    private Long entryId;
+    
+    @NotNull
+    @Column(name = "patient_id")
+    private Long patientId;
+    
+    @NotNull
+    @Column(name = "doctor_id")
+    private Long doctorId;
+    
+    @NotNull
+    @Column(name = "appointment_date")
+    private LocalDate appointmentDate;
+    
+    @NotNull
+    @Column(name = "appointment_time")
+    private LocalTime appointmentTime;
+    
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.HELD;
+    
+    @Column(name = "hold_key", unique = true, length = 64)
+    private String holdKey;
+    
+    @NotNull
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+    
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum Status {
+        HELD, CONFIRMED, DECLINED, EXPIRED, WITHDRAWN
+    }
+    
+    // Default constructor
+    public SlotOffer() {}
+    
+    // Constructor for a new hold
+    public SlotOffer(Long entryId, Long patientId, Long doctorId, LocalDate appointmentDate, LocalTime appointmentTime,
+                     LocalDateTime expiresAt) {
+        this.entryId = entryId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.appointmentDate = appointmentDate;
+        this.appointmentTime = appointmentTime;
+        this.expiresAt = expiresAt;
+        this.holdKey = holdKey(doctorId, appointmentDate, appointmentTime);
+    }
+    
+    public static String holdKey(Long doctorId, LocalDate appointmentDate, LocalTime appointmentTime) {
+        return doctorId + "|" + appointmentDate + "|" + appointmentTime;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getEntryId() {
+        return entryId;
+    }
+    
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+    
+    public void setAppointmentDate(LocalDate appointmentDate) {
+        this.appointmentDate = appointmentDate;
+    }
+    
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+    
+    public void setAppointmentTime(LocalTime appointmentTime) {
+        this.appointmentTime = appointmentTime;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public String getHoldKey() {
+        return holdKey;
+    }
+    
+    public void setHoldKey(String holdKey) {
+        this.holdKey = holdKey;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @Override
+    public String toString() {
+        return "SlotOffer{" +
+                "id=" + id +
+                ", entryId=" + entryId +
+                ", patientId=" + patientId +
+                ", doctorId=" + doctorId +
+                ", appointmentDate=" + appointmentDate +
+                ", appointmentTime=" + appointmentTime +
+                ", status=" + status +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
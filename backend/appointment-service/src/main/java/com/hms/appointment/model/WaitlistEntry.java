@@ -0,0 +1,173 @@
+package com.hms.appointment.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A patient waiting for an earlier slot with one doctor, or with any doctor of a specialization,
+ * between two dates. Higher priority is offered first, then the longest waiting.
+ */
+@Entity
+@Table(name = "waitlist_entries")
+public class WaitlistEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Column(name = "patient_id")
+    private Long patientId;
+    
+    @Column(name = "doctor_id")
+    private Long doctorId;
+    
+    @Column(length = 100)
+    private String specialization;
+    
+    @NotNull
+    @Column(name = "earliest_date")
+    private LocalDate earliestDate;
+    
+    @NotNull
+    @Column(name = "latest_date")
+    private LocalDate latestDate;
+    
+    private int priority;
+    
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.WAITING;
+    
+    @Column(columnDefinition = "TEXT")
+    private String reason;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum Status {
+        // OFFERED while a slot is held for the patient; back to WAITING if the offer is declined or expires
+        WAITING, OFFERED, BOOKED, CANCELLED, EXPIRED
+    }
+    
+    // Default constructor
+    public WaitlistEntry() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public String getSpecialization() {
+        return specialization;
+    }
+    
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+    
+    public LocalDate getEarliestDate() {
+        return earliestDate;
+    }
+    
+    public void setEarliestDate(LocalDate earliestDate) {
+        this.earliestDate = earliestDate;
+    }
+    
+    public LocalDate getLatestDate() {
+        return latestDate;
+    }
+    
+    public void setLatestDate(LocalDate latestDate) {
+        this.latestDate = latestDate;
+    }
+    
+    public int getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+    
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+                "id=" + id +
+                ", patientId=" + patientId +
+                ", doctorId=" + doctorId +
+                ", specialization='" + specialization + '\'' +
+                ", earliestDate=" + earliestDate +
+                ", latestDate=" + latestDate +
+                ", priority=" + priority +
+                ", status=" + status +
+                '}';
+    }
+}
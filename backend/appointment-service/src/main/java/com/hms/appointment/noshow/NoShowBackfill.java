@@ -0,0 +1,170 @@
+package com.hms.appointment.noshow;
+
+import com.hms.appointment.dto.NoShowBackfillReport;
+import com.hms.appointment.repository.AppointmentRepository;
+import com.hms.appointment.repository.OutcomeStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rebuilds the no-show counters from the appointments table in one pass.
+ *
+ * The ID range is cut into slices of {@code chunk-size} IDs, which keeps every read bounded without
+ * relying on driver-specific streaming. {@code parallelism} workers read the slices on their own
+ * connections and add up counters in private maps, so nothing is shared until the slices are
+ * merged. The result replaces the table in a single transaction.
+ *
+ * Meant for first deployment and for repairs. A status change committed while the workers read
+ * may or may not be included, so run it when few appointments are being closed.
+ */
+@Component
+public class NoShowBackfill {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NoShowBackfill.class);
+    
+    private final AppointmentRepository appointmentRepository;
+    private final OutcomeStatsRepository outcomeStatsRepository;
+    private final NoShowFeatures features;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int parallelism;
+    private final long chunkSize;
+    private final boolean runWhenEmpty;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    @Autowired
+    public NoShowBackfill(AppointmentRepository appointmentRepository, OutcomeStatsRepository outcomeStatsRepository,
+                          NoShowFeatures features, PlatformTransactionManager transactionManager,
+                          @Value("${hms.appointment.no-show.backfill.parallelism:4}") int parallelism,
+                          @Value("${hms.appointment.no-show.backfill.chunk-size:50000}") long chunkSize,
+                          @Value("${hms.appointment.no-show.backfill.when-empty:true}") boolean runWhenEmpty) {
+        this.appointmentRepository = appointmentRepository;
+        this.outcomeStatsRepository = outcomeStatsRepository;
+        this.features = features;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.runWhenEmpty = runWhenEmpty;
+    }
+    
+    /**
+     * Fill the counters in the background on a fresh deployment, where the table is still empty
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!runWhenEmpty) {
+            return;
+        }
+        Thread backfill = new Thread(() -> {
+            try {
+                if (outcomeStatsRepository.isEmpty()) {
+                    rebuild();
+                }
+            } catch (Exception e) {
+                logger.error("No-show backfill failed, counters only reflect transitions from now on", e);
+            }
+        }, "no-show-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+    }
+    
+    /**
+     * Recount every closed appointment and replace the counters
+     */
+    public NoShowBackfillReport rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A no-show backfill is already running");
+        }
+        long started = System.currentTimeMillis();
+        ExecutorService workers = null;
+        try {
+            AppointmentRepository.IdRange range = appointmentRepository.findIdRange();
+            Map<OutcomeKey, long[]> merged = new HashMap<>();
+            long appointments = 0;
+            int slices = 0;
+            
+            if (range != null && range.getLowest() != null) {
+                long lowest = range.getLowest();
+                long highest = range.getHighest();
+                slices = (int) ((highest - lowest) / chunkSize + 1);
+                
+                AtomicInteger threadNumber = new AtomicInteger();
+                workers = Executors.newFixedThreadPool(Math.min(parallelism, slices), runnable -> {
+                    Thread thread = new Thread(runnable, "no-show-backfill-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                
+                List<CompletableFuture<Slice>> pending = new ArrayList<>(slices);
+                for (int i = 0; i < slices; i++) {
+                    long fromId = lowest + i * chunkSize;
+                    long toId = Math.min(highest, fromId + chunkSize - 1);
+                    pending.add(CompletableFuture.supplyAsync(() -> countSlice(fromId, toId), workers));
+                }
+                for (CompletableFuture<Slice> future : pending) {
+                    Slice slice = future.join();
+                    appointments += slice.appointments();
+                    slice.counts().forEach((key, counts) -> merged.merge(key, counts, NoShowBackfill::add));
+                }
+            }
+            
+            Map<OutcomeKey, OutcomeCounts> rows = new HashMap<>(merged.size());
+            merged.forEach((key, counts) -> rows.put(key, new OutcomeCounts(counts[0], counts[1], counts[2])));
+            writeTransaction.executeWithoutResult(status -> outcomeStatsRepository.replaceAll(rows));
+            features.invalidateAll();
+            
+            long millis = System.currentTimeMillis() - started;
+            logger.info("No-show backfill counted {} closed appointments in {} slices into {} counter rows in {} ms",
+                    appointments, slices, rows.size(), millis);
+            return new NoShowBackfillReport(appointments, rows.size(), slices, millis);
+        } finally {
+            if (workers != null) {
+                workers.shutdown();
+            }
+            running.set(false);
+        }
+    }
+    
+    private Slice countSlice(long fromId, long toId) {
+        Map<OutcomeKey, long[]> counts = new HashMap<>();
+        List<OutcomeRow> rows = readTransaction.execute(status -> appointmentRepository.findOutcomes(fromId, toId,
+                AppointmentRepository.OUTCOME_STATUSES));
+        for (OutcomeRow row : rows) {
+            OutcomeCounts outcome = OutcomeCounts.of(row.status());
+            long slotKey = OutcomeScope.slotKey(row.appointmentDate(), row.appointmentTime());
+            for (OutcomeKey key : NoShowFeatures.keysOf(row.patientId(), row.doctorId(), slotKey)) {
+                long[] total = counts.computeIfAbsent(key, k -> new long[3]);
+                total[0] += outcome.attended();
+                total[1] += outcome.noShow();
+                total[2] += outcome.cancelled();
+            }
+        }
+        return new Slice(counts, rows.size());
+    }
+    
+    private static long[] add(long[] a, long[] b) {
+        return new long[] {a[0] + b[0], a[1] + b[1], a[2] + b[2]};
+    }
+    
+    private record Slice(Map<OutcomeKey, long[]> counts, long appointments) {
+    }
+}
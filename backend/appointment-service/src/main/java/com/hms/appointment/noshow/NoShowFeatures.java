@@ -0,0 +1,136 @@
+package com.hms.appointment.noshow;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.hms.appointment.model.Appointment;
+import com.hms.appointment.repository.OutcomeStatsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * No-show features: attended, no-show and cancelled counts per patient, per doctor and per
+ * weekday/hour slot.
+ *
+ * Counters move on every status transition, in the transaction that makes it, so they always agree
+ * with the appointments table without rescanning it. Reads go through a short-lived local cache;
+ * the overall rate is the sum of the slot rows, which avoids a single row every transition would lock.
+ */
+@Component
+public class NoShowFeatures {
+    
+    private final OutcomeStatsRepository outcomeStatsRepository;
+    private final LoadingCache<OutcomeKey, OutcomeCounts> counts;
+    private final Duration ttl;
+    private volatile CachedTotals totals;
+    
+    @Autowired
+    public NoShowFeatures(OutcomeStatsRepository outcomeStatsRepository, MeterRegistry meterRegistry,
+                          @Value("${hms.appointment.no-show.stats-ttl:60s}") Duration ttl,
+                          @Value("${hms.appointment.no-show.stats-cache-size:100000}") long cacheSize) {
+        this.outcomeStatsRepository = outcomeStatsRepository;
+        this.ttl = ttl;
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public OutcomeCounts load(OutcomeKey key) {
+                        return outcomeStatsRepository.findAll(List.of(key)).getOrDefault(key, OutcomeCounts.ZERO);
+                    }
+                    
+                    @Override
+                    public Map<OutcomeKey, OutcomeCounts> loadAll(Set<? extends OutcomeKey> keys) {
+                        Map<OutcomeKey, OutcomeCounts> found = new HashMap<>(outcomeStatsRepository.findAll(List.copyOf(keys)));
+                        keys.forEach(key -> found.putIfAbsent(key, OutcomeCounts.ZERO));
+                        return found;
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "appointment-no-show-stats");
+    }
+    
+    /**
+     * Move the counters of an appointment from its previous status to its new one. Runs in the
+     * caller's transaction; the cached rows are dropped once it commits.
+     */
+    public void recordTransition(Appointment appointment, Appointment.Status from, Appointment.Status to) {
+        OutcomeCounts delta = OutcomeCounts.of(to).minus(OutcomeCounts.of(from));
+        if (delta.isZero()) {
+            return;
+        }
+        List<OutcomeKey> keys = keysOf(appointment);
+        Map<OutcomeKey, OutcomeCounts> deltas = new HashMap<>();
+        keys.forEach(key -> deltas.put(key, delta));
+        outcomeStatsRepository.add(deltas);
+        afterCommit(() -> counts.invalidateAll(keys));
+    }
+    
+    /**
+     * Counters of the given rows, zero for rows never written
+     */
+    public Map<OutcomeKey, OutcomeCounts> counts(List<OutcomeKey> keys) {
+        return counts.getAll(keys);
+    }
+    
+    /**
+     * Counters over all appointments, refreshed at most once per TTL
+     */
+    public OutcomeCounts totals() {
+        CachedTotals current = totals;
+        if (current == null || System.nanoTime() - current.loadedAtNanos() > ttl.toNanos()) {
+            current = new CachedTotals(outcomeStatsRepository.sum(OutcomeScope.SLOT), System.nanoTime());
+            totals = current;
+        }
+        return current.value();
+    }
+    
+    /**
+     * Drop everything cached, e.g. after a backfill replaced the counters
+     */
+    public void invalidateAll() {
+        counts.invalidateAll();
+        totals = null;
+    }
+    
+    /**
+     * The patient, doctor and slot rows an appointment counts towards
+     */
+    public static List<OutcomeKey> keysOf(Appointment appointment) {
+        return keysOf(appointment.getPatientId(), appointment.getDoctorId(),
+                OutcomeScope.slotKey(appointment.getAppointmentDate(), appointment.getAppointmentTime()));
+    }
+    
+    public static List<OutcomeKey> keysOf(long patientId, long doctorId, long slotKey) {
+        return List.of(new OutcomeKey(OutcomeScope.PATIENT, patientId),
+                new OutcomeKey(OutcomeScope.DOCTOR, doctorId),
+                new OutcomeKey(OutcomeScope.SLOT, slotKey));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private record CachedTotals(OutcomeCounts value, long loadedAtNanos) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.hms.appointment.noshow;
+
+import com.hms.appointment.model.Appointment;
+
+/**
+ * Appointments that ended attended, as a no-show or cancelled. Also used for the change a status
+ * transition makes, where a count can be -1.
+ */
+public record OutcomeCounts(long attended, long noShow, long cancelled) {
+    
+    public static final OutcomeCounts ZERO = new OutcomeCounts(0, 0, 0);
+    
+    /**
+     * The single outcome a status counts as; scheduled and confirmed appointments have none yet
+     */
+    public static OutcomeCounts of(Appointment.Status status) {
+        if (status == null) {
+            return ZERO;
+        }
+        return switch (status) {
+            case COMPLETED -> new OutcomeCounts(1, 0, 0);
+            case NO_SHOW -> new OutcomeCounts(0, 1, 0);
+            case CANCELLED -> new OutcomeCounts(0, 0, 1);
+            case SCHEDULED, CONFIRMED -> ZERO;
+        };
+    }
+    
+    public OutcomeCounts plus(OutcomeCounts other) {
+        return new OutcomeCounts(attended + other.attended, noShow + other.noShow, cancelled + other.cancelled);
+    }
+    
+    public OutcomeCounts minus(OutcomeCounts other) {
+        return new OutcomeCounts(attended - other.attended, noShow - other.noShow, cancelled - other.cancelled);
+    }
+    
+    public boolean isZero() {
+        return attended == 0 && noShow == 0 && cancelled == 0;
+    }
+    
+    /**
+     * Appointments whose attendance is known: attended or no-show. Cancellations say nothing about it.
+     */
+    public long decided() {
+        return attended + noShow;
+    }
+}
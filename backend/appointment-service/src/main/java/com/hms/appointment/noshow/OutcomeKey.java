@@ -0,0 +1,7 @@
+package com.hms.appointment.noshow;
+
+/**
+ * Identifies one row of outcome counters
+ */
+public record OutcomeKey(OutcomeScope scope, long key) {
+}
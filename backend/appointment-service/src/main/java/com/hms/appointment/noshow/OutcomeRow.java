@@ -0,0 +1,13 @@
+package com.hms.appointment.noshow;
+
+import com.hms.appointment.model.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The columns of an appointment the backfill needs, built by a JPQL constructor expression
+ */
+public record OutcomeRow(Long patientId, Long doctorId, LocalDate appointmentDate, LocalTime appointmentTime,
+                         Appointment.Status status) {
+}
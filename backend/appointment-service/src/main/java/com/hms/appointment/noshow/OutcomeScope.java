@@ -0,0 +1,18 @@
+package com.hms.appointment.noshow;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * What a row of outcome counters is kept for; the key is a patient ID, a doctor ID or a slot key
+ */
+public enum OutcomeScope {
+    PATIENT, DOCTOR, SLOT;
+    
+    /**
+     * Weekday and hour of an appointment as one number: ISO day of week * 100 + hour, e.g. 109 for Monday 09:xx
+     */
+    public static long slotKey(LocalDate date, LocalTime time) {
+        return date.getDayOfWeek().getValue() * 100L + time.getHour();
+    }
+}
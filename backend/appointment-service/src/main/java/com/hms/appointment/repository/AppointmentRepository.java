@@ -0,0 +1,129 @@
+package com.hms.appointment.repository;
+
+import com.hms.appointment.dto.CalendarEntry;
+import com.hms.appointment.model.Appointment;
+import com.hms.appointment.noshow.OutcomeRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Calendar queries filter on doctor_id and a date range and order by date, time so that they are
+ * range scans of the idx_doctor_date_time (doctor_id, appointment_date, appointment_time) index.
+ */
+@Repository
+public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+    
+    /**
+     * Select list for calendar entries; reads the first 100 characters of the reason only
+     */
+    String CALENDAR_SELECT = "SELECT new com.hms.appointment.dto.CalendarEntry(a.id, a.doctorId, a.patientId, "
+            + "a.appointmentDate, a.appointmentTime, a.status, SUBSTRING(a.reason, 1, 100)) FROM Appointment a";
+    
+    /**
+     * Statuses that hold a slot
+     */
+    List<Appointment.Status> ACTIVE_STATUSES = List.of(Appointment.Status.SCHEDULED, Appointment.Status.CONFIRMED);
+    
+    /**
+     * Statuses that end an appointment
+     */
+    List<Appointment.Status> OUTCOME_STATUSES = List.of(Appointment.Status.COMPLETED, Appointment.Status.NO_SHOW,
+            Appointment.Status.CANCELLED);
+    
+    /**
+     * Find a doctor's calendar entries between two dates, inclusive
+     */
+    @Query(CALENDAR_SELECT + " WHERE a.doctorId = :doctorId AND a.appointmentDate BETWEEN :from AND :to"
+            + " ORDER BY a.appointmentDate, a.appointmentTime, a.id")
+    List<CalendarEntry> findCalendar(@Param("doctorId") Long doctorId,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+    
+    /**
+     * Find the calendar entries of several doctors between two dates in one query
+     */
+    @Query(CALENDAR_SELECT + " WHERE a.doctorId IN :doctorIds AND a.appointmentDate BETWEEN :from AND :to"
+            + " ORDER BY a.doctorId, a.appointmentDate, a.appointmentTime, a.id")
+    List<CalendarEntry> findCalendars(@Param("doctorIds") Collection<Long> doctorIds,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+    
+    /**
+     * Find one appointment as a calendar entry
+     */
+    @Query(CALENDAR_SELECT + " WHERE a.id = :id")
+    Optional<CalendarEntry> findCalendarEntryById(@Param("id") Long id);
+    
+    /**
+     * Whether the doctor has an appointment in one of the statuses in the slot, other than the given one
+     */
+    @Query("SELECT COUNT(a) > 0 FROM Appointment a WHERE a.doctorId = :doctorId AND a.appointmentDate = :date"
+            + " AND a.appointmentTime = :time AND a.status IN :statuses AND (:excludeId IS NULL OR a.id <> :excludeId)")
+    boolean existsInSlot(@Param("doctorId") Long doctorId,
+                         @Param("date") LocalDate date,
+                         @Param("time") LocalTime time,
+                         @Param("statuses") Collection<Appointment.Status> statuses,
+                         @Param("excludeId") Long excludeId);
+    
+    /**
+     * Whether the doctor already has a scheduled or confirmed appointment in the slot, other than the given one
+     */
+    default boolean existsActiveInSlot(Long doctorId, LocalDate date, LocalTime time, Long excludeId) {
+        return existsInSlot(doctorId, date, time, ACTIVE_STATUSES, excludeId);
+    }
+    
+    /**
+     * Find appointments by patient, oldest first
+     */
+    List<Appointment> findByPatientIdOrderByAppointmentDateAscAppointmentTimeAsc(Long patientId);
+    
+    /**
+     * Find appointments by doctor, oldest first
+     */
+    List<Appointment> findByDoctorIdOrderByAppointmentDateAscAppointmentTimeAsc(Long doctorId);
+    
+    /**
+     * IDs of the doctors in a department. The doctors table belongs to doctor-service but lives in the
+     * same schema; reading the one column here saves a remote call per department view.
+     */
+    @Query(value = "SELECT d.id FROM doctors d WHERE d.department_id = :departmentId ORDER BY d.id", nativeQuery = true)
+    List<Long> findDoctorIdsByDepartment(@Param("departmentId") Long departmentId);
+    
+    /**
+     * Specialization of a doctor, read from doctor-service's table like the department above
+     */
+    @Query(value = "SELECT d.specialization FROM doctors d WHERE d.id = :doctorId", nativeQuery = true)
+    String findDoctorSpecialization(@Param("doctorId") Long doctorId);
+    
+    /**
+     * Lowest and highest appointment ID, both null when there are no appointments
+     */
+    @Query("SELECT MIN(a.id) AS lowest, MAX(a.id) AS highest FROM Appointment a")
+    IdRange findIdRange();
+    
+    /**
+     * Outcome columns of the closed appointments in an ID range, for the no-show backfill.
+     * The caller keeps the range small enough to hold in memory.
+     */
+    @Query("SELECT new com.hms.appointment.noshow.OutcomeRow(a.patientId, a.doctorId, a.appointmentDate,"
+            + " a.appointmentTime, a.status) FROM Appointment a WHERE a.id BETWEEN :fromId AND :toId"
+            + " AND a.status IN :statuses")
+    List<OutcomeRow> findOutcomes(@Param("fromId") Long fromId,
+                                   @Param("toId") Long toId,
+                                   @Param("statuses") Collection<Appointment.Status> statuses);
+    
+    interface IdRange {
+        
+        Long getLowest();
+        
+        Long getHighest();
+    }
+}
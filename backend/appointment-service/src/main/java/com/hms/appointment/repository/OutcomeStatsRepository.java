@@ -0,0 +1,113 @@
+package com.hms.appointment.repository;
+
+import com.hms.appointment.noshow.OutcomeCounts;
+import com.hms.appointment.noshow.OutcomeKey;
+import com.hms.appointment.noshow.OutcomeScope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome counters in appointment_outcome_stats, one row per (scope, scope_key).
+ *
+ * Plain JDBC: every write is an increment done by the database (INSERT ... ON DUPLICATE KEY UPDATE),
+ * so concurrent transitions on different replicas never lose an update the way read-modify-write would.
+ */
+@Repository
+public class OutcomeStatsRepository {
+    
+    private static final String UPSERT = "INSERT INTO appointment_outcome_stats (scope, scope_key, attended, no_show, cancelled)"
+            + " VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE"
+            + " attended = GREATEST(0, attended + VALUES(attended)),"
+            + " no_show = GREATEST(0, no_show + VALUES(no_show)),"
+            + " cancelled = GREATEST(0, cancelled + VALUES(cancelled))";
+    
+    private static final String INSERT = "INSERT INTO appointment_outcome_stats (scope, scope_key, attended, no_show, cancelled)"
+            + " VALUES (?, ?, ?, ?, ?)";
+    
+    // Same order for every writer, so two transitions touching the same rows cannot deadlock
+    private static final Comparator<OutcomeKey> LOCK_ORDER = Comparator
+            .comparing(OutcomeKey::scope)
+            .thenComparingLong(OutcomeKey::key);
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public OutcomeStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Counters of the given rows; rows that do not exist yet are left out
+     */
+    public Map<OutcomeKey, OutcomeCounts> findAll(Collection<OutcomeKey> keys) {
+        Map<OutcomeKey, OutcomeCounts> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        StringBuilder sql = new StringBuilder("SELECT scope, scope_key, attended, no_show, cancelled"
+                + " FROM appointment_outcome_stats WHERE (scope, scope_key) IN (");
+        List<Object> args = new ArrayList<>(keys.size() * 2);
+        for (OutcomeKey key : keys) {
+            sql.append(args.isEmpty() ? "(?, ?)" : ", (?, ?)");
+            args.add(key.scope().name());
+            args.add(key.key());
+        }
+        sql.append(')');
+        jdbcTemplate.query(sql.toString(), rs -> {
+            result.put(new OutcomeKey(OutcomeScope.valueOf(rs.getString(1)), rs.getLong(2)),
+                    new OutcomeCounts(rs.getLong(3), rs.getLong(4), rs.getLong(5)));
+        }, args.toArray());
+        return result;
+    }
+    
+    /**
+     * Sum over every row of a scope
+     */
+    public OutcomeCounts sum(OutcomeScope scope) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(attended), 0), COALESCE(SUM(no_show), 0),"
+                        + " COALESCE(SUM(cancelled), 0) FROM appointment_outcome_stats WHERE scope = ?",
+                (rs, row) -> new OutcomeCounts(rs.getLong(1), rs.getLong(2), rs.getLong(3)), scope.name());
+    }
+    
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM appointment_outcome_stats)", Boolean.class));
+    }
+    
+    /**
+     * Add the deltas to their rows, creating missing rows; counters never go below zero
+     */
+    public void add(Map<OutcomeKey, OutcomeCounts> deltas) {
+        write(UPSERT, deltas);
+    }
+    
+    /**
+     * Replace every row with the given counters; call inside a transaction
+     */
+    public void replaceAll(Map<OutcomeKey, OutcomeCounts> counts) {
+        jdbcTemplate.update("DELETE FROM appointment_outcome_stats");
+        write(INSERT, counts);
+    }
+    
+    private void write(String sql, Map<OutcomeKey, OutcomeCounts> rows) {
+        List<Map.Entry<OutcomeKey, OutcomeCounts>> ordered = new ArrayList<>(rows.entrySet());
+        ordered.sort(Map.Entry.comparingByKey(LOCK_ORDER));
+        jdbcTemplate.batchUpdate(sql, ordered, BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, row.getKey().scope().name());
+            ps.setLong(2, row.getKey().key());
+            ps.setLong(3, row.getValue().attended());
+            ps.setLong(4, row.getValue().noShow());
+            ps.setLong(5, row.getValue().cancelled());
+        });
+    }
+}
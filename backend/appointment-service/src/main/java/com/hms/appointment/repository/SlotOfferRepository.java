@@ -0,0 +1,60 @@
+package com.hms.appointment.repository;
+
+import com.hms.appointment.model.SlotOffer;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SlotOfferRepository extends JpaRepository<SlotOffer, Long> {
+    
+    /**
+     * Offer row locked until the end of the transaction. Lock the entry first (see
+     * {@link WaitlistEntryRepository#findByIdForUpdate}) so that every path takes the two rows in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM SlotOffer o WHERE o.id = :id")
+    Optional<SlotOffer> findByIdForUpdate(@Param("id") Long id);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM SlotOffer o WHERE o.entryId = :entryId AND o.status = :status")
+    Optional<SlotOffer> findByEntryIdAndStatusForUpdate(@Param("entryId") Long entryId,
+                                                       @Param("status") SlotOffer.Status status);
+    
+    /**
+     * Entry an offer belongs to, read without loading the offer so it can still be locked fresh afterwards
+     */
+    @Query("SELECT o.entryId FROM SlotOffer o WHERE o.id = :id")
+    Optional<Long> findEntryIdById(@Param("id") Long id);
+    
+    List<SlotOffer> findByPatientIdOrderByCreatedAtDesc(Long patientId);
+    
+    /**
+     * Whether the slot is held for a patient other than the given one
+     */
+    boolean existsByHoldKeyAndPatientIdNot(String holdKey, Long patientId);
+    
+    @Query("SELECT o.id FROM SlotOffer o WHERE o.status = :status AND o.expiresAt < :now ORDER BY o.expiresAt")
+    List<Long> findIdsExpiredBefore(@Param("status") SlotOffer.Status status,
+                                    @Param("now") LocalDateTime now,
+                                    Pageable pageable);
+    
+    /**
+     * Entries that have already been offered the slot, so a re-offer moves on to someone new
+     */
+    @Query("SELECT o.entryId FROM SlotOffer o WHERE o.doctorId = :doctorId AND o.appointmentDate = :date"
+            + " AND o.appointmentTime = :time")
+    List<Long> findEntryIdsOfferedSlot(@Param("doctorId") Long doctorId,
+                                       @Param("date") LocalDate date,
+                                       @Param("time") LocalTime time);
+}
@@ -0,0 +1,66 @@
+package com.hms.appointment.repository;
+
+import com.hms.appointment.model.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    /**
+     * Entry row locked until the end of the transaction; holds and bookings change only under this lock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM WaitlistEntry e WHERE e.id = :id")
+    Optional<WaitlistEntry> findByIdForUpdate(@Param("id") Long id);
+    
+    List<WaitlistEntry> findByStatus(WaitlistEntry.Status status);
+    
+    List<WaitlistEntry> findByPatientIdOrderByCreatedAtDesc(Long patientId);
+    
+    /**
+     * Whether the patient is already on the list for the doctor or the specialization
+     */
+    @Query("SELECT COUNT(e) > 0 FROM WaitlistEntry e WHERE e.patientId = :patientId AND e.status IN :statuses"
+            + " AND (e.doctorId = :doctorId OR e.specialization = :specialization)")
+    boolean existsForTarget(@Param("patientId") Long patientId,
+                            @Param("doctorId") Long doctorId,
+                            @Param("specialization") String specialization,
+                            @Param("statuses") Collection<WaitlistEntry.Status> statuses);
+    
+    /**
+     * Move an entry from one status to another without loading it; returns 0 if it was no longer in
+     * the expected status, which is how replicas racing for the same entry find out they lost
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WaitlistEntry e SET e.status = :to, e.updatedAt = :now WHERE e.id = :id AND e.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") WaitlistEntry.Status from,
+                   @Param("to") WaitlistEntry.Status to,
+                   @Param("now") LocalDateTime now);
+    
+    /**
+     * Close waiting entries whose window has passed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WaitlistEntry e SET e.status = :to, e.updatedAt = :now"
+            + " WHERE e.status = :from AND e.latestDate < :today")
+    int expireBefore(@Param("today") LocalDate today,
+                     @Param("from") WaitlistEntry.Status from,
+                     @Param("to") WaitlistEntry.Status to,
+                     @Param("now") LocalDateTime now);
+}
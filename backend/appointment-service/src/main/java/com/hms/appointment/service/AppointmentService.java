@@ -0,0 +1,48 @@
+package com.hms.appointment.service;
+
+import com.hms.appointment.dto.AppointmentDto;
+import com.hms.appointment.model.Appointment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AppointmentService {
+    
+    /**
+     * Book an appointment; fails if the doctor already has an active appointment in the slot
+     * or the slot is held for another patient from the waitlist
+     */
+    AppointmentDto createAppointment(AppointmentDto appointmentDto);
+    
+    /**
+     * Get appointment by ID
+     */
+    Optional<AppointmentDto> getAppointmentById(Long id);
+    
+    /**
+     * Get all appointments with pagination
+     */
+    Page<AppointmentDto> getAllAppointments(Pageable pageable);
+    
+    /**
+     * Get appointments by patient, oldest first
+     */
+    List<AppointmentDto> getAppointmentsByPatient(Long patientId);
+    
+    /**
+     * Get appointments by doctor, oldest first
+     */
+    List<AppointmentDto> getAppointmentsByDoctor(Long doctorId);
+    
+    /**
+     * Move an active appointment to another slot or doctor and update its reason and notes
+     */
+    Optional<AppointmentDto> updateAppointment(Long id, AppointmentDto appointmentDto);
+    
+    /**
+     * Set the status of an appointment
+     */
+    Optional<AppointmentDto> updateStatus(Long id, Appointment.Status status);
+}
@@ -0,0 +1,20 @@
+package com.hms.appointment.service;
+
+import com.hms.appointment.dto.DepartmentWeek;
+import com.hms.appointment.dto.DoctorCalendar;
+
+import java.time.LocalDate;
+
+public interface CalendarService {
+    
+    /**
+     * Get a doctor's appointments between two dates, inclusive, in calendar order
+     */
+    DoctorCalendar getDoctorCalendar(Long doctorId, LocalDate from, LocalDate to, boolean includeCancelled);
+    
+    /**
+     * Get the week starting on the given date for every doctor of a department, in one call.
+     * A null week start means the Monday of the current week.
+     */
+    DepartmentWeek getDepartmentWeek(Long departmentId, LocalDate weekStart, boolean includeCancelled);
+}
@@ -0,0 +1,26 @@
+package com.hms.appointment.service;
+
+import com.hms.appointment.dto.NoShowBackfillReport;
+import com.hms.appointment.dto.NoShowScore;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+public interface NoShowService {
+    
+    /**
+     * Score a prospective booking: the patient with the doctor on the date and time
+     */
+    NoShowScore score(Long patientId, Long doctorId, LocalDate date, LocalTime time);
+    
+    /**
+     * Score an existing appointment
+     */
+    Optional<NoShowScore> scoreAppointment(Long appointmentId);
+    
+    /**
+     * Rebuild all no-show counters from the appointment history
+     */
+    NoShowBackfillReport backfill();
+}
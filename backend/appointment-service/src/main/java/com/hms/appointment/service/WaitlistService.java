@@ -0,0 +1,56 @@
+package com.hms.appointment.service;
+
+import com.hms.appointment.dto.SlotOfferDto;
+import com.hms.appointment.dto.WaitlistEntryDto;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistService {
+    
+    /**
+     * Put a patient on the waitlist of a doctor or a specialization between two dates
+     */
+    WaitlistEntryDto join(WaitlistEntryDto entryDto);
+    
+    /**
+     * Get waitlist entry by ID
+     */
+    Optional<WaitlistEntryDto> getEntry(Long id);
+    
+    /**
+     * Get the waitlist entries of a patient, newest first
+     */
+    List<WaitlistEntryDto> getEntriesByPatient(Long patientId);
+    
+    /**
+     * Take an entry off the waitlist, releasing any slot held for it
+     */
+    Optional<WaitlistEntryDto> leave(Long id);
+    
+    /**
+     * Get slot offer by ID
+     */
+    Optional<SlotOfferDto> getOffer(Long id);
+    
+    /**
+     * Get the slot offers made to a patient, newest first
+     */
+    List<SlotOfferDto> getOffersByPatient(Long patientId);
+    
+    /**
+     * Book the held slot. The result is WITHDRAWN instead of CONFIRMED if the slot was lost meanwhile,
+     * in which case the entry goes back to waiting
+     */
+    Optional<SlotOfferDto> confirm(Long offerId);
+    
+    /**
+     * Turn the held slot down; the entry keeps its place and the slot goes to the next patient
+     */
+    Optional<SlotOfferDto> decline(Long offerId);
+    
+    /**
+     * Release holds past their expiry, as if declined; returns how many were released
+     */
+    int expireHolds();
+}
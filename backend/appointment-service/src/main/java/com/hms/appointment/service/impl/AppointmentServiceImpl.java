@@ -0,0 +1,231 @@
+package com.hms.appointment.service.impl;
+
+import com.hms.appointment.calendar.AppointmentCalendarCache;
+import com.hms.appointment.dto.AppointmentDto;
+import com.hms.appointment.dto.CalendarEntry;
+import com.hms.appointment.model.Appointment;
+import com.hms.appointment.model.SlotOffer;
+import com.hms.appointment.noshow.NoShowFeatures;
+import com.hms.appointment.repository.AppointmentRepository;
+import com.hms.appointment.repository.SlotOfferRepository;
+import com.hms.appointment.service.AppointmentService;
+import com.hms.appointment.waitlist.WaitlistMatcher;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class AppointmentServiceImpl implements AppointmentService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentServiceImpl.class);
+    
+    private static final String EVENTS_TOPIC = "appointment-events";
+    
+    // Events are keyed by doctor for calendar ordering; the patient rides along for patient-service's overview cache
+    private static final String PATIENT_ID_HEADER = "patientId";
+    
+    private final AppointmentRepository appointmentRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final AppointmentCalendarCache calendarCache;
+    private final NoShowFeatures noShowFeatures;
+    private final SlotOfferRepository slotOfferRepository;
+    private final WaitlistMatcher waitlistMatcher;
+    
+    @Autowired
+    public AppointmentServiceImpl(AppointmentRepository appointmentRepository, KafkaTemplate<String, String> kafkaTemplate,
+                                  AppointmentCalendarCache calendarCache, NoShowFeatures noShowFeatures,
+                                  SlotOfferRepository slotOfferRepository, WaitlistMatcher waitlistMatcher) {
+        this.appointmentRepository = appointmentRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.calendarCache = calendarCache;
+        this.noShowFeatures = noShowFeatures;
+        this.slotOfferRepository = slotOfferRepository;
+        this.waitlistMatcher = waitlistMatcher;
+    }
+    
+    @Override
+    public AppointmentDto createAppointment(AppointmentDto appointmentDto) {
+        logger.info("Booking appointment for patient {} with doctor {} on {} at {}", appointmentDto.getPatientId(),
+                appointmentDto.getDoctorId(), appointmentDto.getAppointmentDate(), appointmentDto.getAppointmentTime());
+        
+        Appointment appointment = appointmentDto.toEntity();
+        checkSlotFree(appointment, null);
+        Appointment saved = saveHoldingSlot(appointment);
+        publish("APPOINTMENT_CREATED", saved);
+        
+        logger.info("Appointment booked successfully with ID: {}", saved.getId());
+        return new AppointmentDto(saved);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AppointmentDto> getAppointmentById(Long id) {
+        logger.debug("Fetching appointment by ID: {}", id);
+        return appointmentRepository.findById(id).map(AppointmentDto::new);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AppointmentDto> getAllAppointments(Pageable pageable) {
+        logger.debug("Fetching all appointments with pagination");
+        return appointmentRepository.findAll(pageable).map(AppointmentDto::new);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentDto> getAppointmentsByPatient(Long patientId) {
+        logger.debug("Fetching appointments of patient: {}", patientId);
+        return appointmentRepository.findByPatientIdOrderByAppointmentDateAscAppointmentTimeAsc(patientId).stream()
+                .map(AppointmentDto::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentDto> getAppointmentsByDoctor(Long doctorId) {
+        logger.debug("Fetching appointments of doctor: {}", doctorId);
+        return appointmentRepository.findByDoctorIdOrderByAppointmentDateAscAppointmentTimeAsc(doctorId).stream()
+                .map(AppointmentDto::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public Optional<AppointmentDto> updateAppointment(Long id, AppointmentDto appointmentDto) {
+        logger.info("Updating appointment with ID: {}", id);
+        
+        return appointmentRepository.findById(id).map(existing -> {
+            if (!isActive(existing.getStatus())) {
+                throw new IllegalStateException("Appointment " + id + " is " + existing.getStatus() + " and cannot be changed");
+            }
+            Long previousDoctorId = existing.getDoctorId();
+            LocalDate previousDate = existing.getAppointmentDate();
+            LocalTime previousTime = existing.getAppointmentTime();
+            existing.setDoctorId(appointmentDto.getDoctorId());
+            existing.setAppointmentDate(appointmentDto.getAppointmentDate());
+            existing.setAppointmentTime(appointmentDto.getAppointmentTime());
+            existing.setReason(appointmentDto.getReason());
+            existing.setNotes(appointmentDto.getNotes());
+            checkSlotFree(existing, id);
+            
+            Appointment updated = saveHoldingSlot(existing);
+            publish("APPOINTMENT_UPDATED", updated);
+            if (!previousDoctorId.equals(updated.getDoctorId()) || !previousDate.equals(updated.getAppointmentDate())
+                    || !previousTime.equals(updated.getAppointmentTime())) {
+                waitlistMatcher.offerAfterCommit(previousDoctorId, previousDate, previousTime);
+            }
+            
+            logger.info("Appointment updated successfully with ID: {}", id);
+            return new AppointmentDto(updated);
+        });
+    }
+    
+    @Override
+    public Optional<AppointmentDto> updateStatus(Long id, Appointment.Status status) {
+        logger.info("Setting status of appointment {} to {}", id, status);
+        
+        return appointmentRepository.findById(id).map(existing -> {
+            if (existing.getStatus() == status) {
+                return new AppointmentDto(existing);
+            }
+            Appointment.Status previous = existing.getStatus();
+            existing.setStatus(status);
+            if (isActive(status) && !isActive(previous)) {
+                // Takes the slot back, which someone else may have booked meanwhile
+                checkSlotFree(existing, id);
+            }
+            // Same transaction as the status change, so the counters cannot drift from the table
+            noShowFeatures.recordTransition(existing, previous, status);
+            
+            Appointment updated = saveHoldingSlot(existing);
+            publish("APPOINTMENT_" + status.name(), updated);
+            if (status == Appointment.Status.CANCELLED && isActive(previous)) {
+                waitlistMatcher.offerAfterCommit(updated.getDoctorId(), updated.getAppointmentDate(),
+                        updated.getAppointmentTime());
+            }
+            return new AppointmentDto(updated);
+        });
+    }
+    
+    private void checkSlotFree(Appointment appointment, Long excludeId) {
+        if (appointmentRepository.existsActiveInSlot(appointment.getDoctorId(), appointment.getAppointmentDate(),
+                appointment.getAppointmentTime(), excludeId)) {
+            throw new IllegalStateException("Doctor " + appointment.getDoctorId() + " already has an appointment on "
+                    + appointment.getAppointmentDate() + " at " + appointment.getAppointmentTime());
+        }
+        if (slotOfferRepository.existsByHoldKeyAndPatientIdNot(SlotOffer.holdKey(appointment.getDoctorId(),
+                appointment.getAppointmentDate(), appointment.getAppointmentTime()), appointment.getPatientId())) {
+            throw new IllegalStateException("Slot of doctor " + appointment.getDoctorId() + " on "
+                    + appointment.getAppointmentDate() + " at " + appointment.getAppointmentTime()
+                    + " is held for a waitlisted patient");
+        }
+    }
+    
+    /**
+     * checkSlotFree is only a read: two bookings can both pass it. The uk_active_slot unique key on
+     * (doctor, date, time) of active appointments decides the race at flush, and the loser gets a conflict.
+     */
+    private Appointment saveHoldingSlot(Appointment appointment) {
+        try {
+            return appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Doctor " + appointment.getDoctorId() + " was booked on "
+                    + appointment.getAppointmentDate() + " at " + appointment.getAppointmentTime() + " concurrently", e);
+        }
+    }
+    
+    private static boolean isActive(Appointment.Status status) {
+        return AppointmentRepository.ACTIVE_STATUSES.contains(status);
+    }
+    
+    /**
+     * Apply the change to the local calendar and publish it keyed by doctor, both after commit:
+     * replicas re-read the row when the event arrives and must not see the state before it
+     */
+    private void publish(String action, Appointment appointment) {
+        Long id = appointment.getId();
+        CalendarEntry entry = CalendarEntry.of(appointment);
+        afterCommit(() -> {
+            calendarCache.apply(id, entry);
+            try {
+                ProducerRecord<String, String> event = new ProducerRecord<>(EVENTS_TOPIC,
+                        String.valueOf(appointment.getDoctorId()), action + ":" + id);
+                event.headers().add(PATIENT_ID_HEADER,
+                        String.valueOf(appointment.getPatientId()).getBytes(StandardCharsets.UTF_8));
+                kafkaTemplate.send(event);
+            } catch (RuntimeException e) {
+                // Already committed; other replicas catch up on their next calendar reload
+                logger.warn("Failed to publish {} for appointment {}: {}", action, id, e.getMessage());
+            }
+        });
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
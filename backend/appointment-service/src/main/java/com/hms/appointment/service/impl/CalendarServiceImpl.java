@@ -0,0 +1,132 @@
+package com.hms.appointment.service.impl;
+
+import com.hms.appointment.calendar.AppointmentCalendarCache;
+import com.hms.appointment.dto.CalendarEntry;
+import com.hms.appointment.dto.DepartmentWeek;
+import com.hms.appointment.dto.DoctorCalendar;
+import com.hms.appointment.model.Appointment;
+import com.hms.appointment.repository.AppointmentRepository;
+import com.hms.appointment.service.CalendarService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Calendar views assembled from the in-memory window for the next days and from range scans of the
+ * (doctor_id, appointment_date, appointment_time) index for whatever lies outside it.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CalendarServiceImpl implements CalendarService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CalendarServiceImpl.class);
+    
+    // Longest range a single calendar request may span
+    private static final int MAX_RANGE_DAYS = 62;
+    
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentCalendarCache calendarCache;
+    
+    @Autowired
+    public CalendarServiceImpl(AppointmentRepository appointmentRepository, AppointmentCalendarCache calendarCache) {
+        this.appointmentRepository = appointmentRepository;
+        this.calendarCache = calendarCache;
+    }
+    
+    @Override
+    public DoctorCalendar getDoctorCalendar(Long doctorId, LocalDate from, LocalDate to, boolean includeCancelled) {
+        checkRange(from, to);
+        logger.debug("Fetching calendar of doctor {} from {} to {}", doctorId, from, to);
+        
+        List<CalendarEntry> entries = calendars(List.of(doctorId), from, to).get(doctorId);
+        return new DoctorCalendar(doctorId, from, to, visible(entries, includeCancelled));
+    }
+    
+    @Override
+    public DepartmentWeek getDepartmentWeek(Long departmentId, LocalDate weekStart, boolean includeCancelled) {
+        LocalDate start = weekStart != null ? weekStart
+                : LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate end = start.plusDays(6);
+        logger.debug("Fetching week of department {} starting {}", departmentId, start);
+        
+        List<Long> doctorIds = appointmentRepository.findDoctorIdsByDepartment(departmentId);
+        List<DoctorCalendar> doctors = new ArrayList<>(doctorIds.size());
+        calendars(doctorIds, start, end).forEach((doctorId, entries) ->
+                doctors.add(new DoctorCalendar(doctorId, start, end, visible(entries, includeCancelled))));
+        return new DepartmentWeek(departmentId, start, end, doctors);
+    }
+    
+    /**
+     * Entries of each doctor in calendar order: days before and after the cached window are read from
+     * the database in one query per side, days inside it come from the cache
+     */
+    private Map<Long, List<CalendarEntry>> calendars(List<Long> doctorIds, LocalDate from, LocalDate to) {
+        Map<Long, List<CalendarEntry>> result = new LinkedHashMap<>();
+        doctorIds.forEach(doctorId -> result.put(doctorId, new ArrayList<>()));
+        if (doctorIds.isEmpty()) {
+            return result;
+        }
+        
+        LocalDate windowStart = calendarCache.windowStart();
+        LocalDate windowEnd = calendarCache.windowEnd();
+        
+        if (from.isBefore(windowStart)) {
+            addFromDatabase(result, doctorIds, from, min(to, windowStart.minusDays(1)));
+        }
+        LocalDate cachedFrom = max(from, windowStart);
+        LocalDate cachedTo = min(to, windowEnd);
+        if (!cachedFrom.isAfter(cachedTo)) {
+            calendarCache.entries(doctorIds, cachedFrom, cachedTo)
+                    .forEach((doctorId, entries) -> result.get(doctorId).addAll(entries));
+        }
+        if (to.isAfter(windowEnd)) {
+            addFromDatabase(result, doctorIds, max(from, windowEnd.plusDays(1)), to);
+        }
+        return result;
+    }
+    
+    private void addFromDatabase(Map<Long, List<CalendarEntry>> result, List<Long> doctorIds, LocalDate from, LocalDate to) {
+        List<CalendarEntry> rows = doctorIds.size() == 1
+                ? appointmentRepository.findCalendar(doctorIds.get(0), from, to)
+                : appointmentRepository.findCalendars(doctorIds, from, to);
+        rows.forEach(entry -> result.get(entry.getDoctorId()).add(entry));
+    }
+    
+    private static List<CalendarEntry> visible(List<CalendarEntry> entries, boolean includeCancelled) {
+        if (includeCancelled) {
+            return entries;
+        }
+        return entries.stream()
+                .filter(entry -> entry.getStatus() != Appointment.Status.CANCELLED)
+                .collect(Collectors.toList());
+    }
+    
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Calendar range ends before it starts");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Calendar range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+    
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+    
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
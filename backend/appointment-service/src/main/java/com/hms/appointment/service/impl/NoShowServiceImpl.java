@@ -0,0 +1,104 @@
+package com.hms.appointment.service.impl;
+
+import com.hms.appointment.dto.NoShowBackfillReport;
+import com.hms.appointment.dto.NoShowFeature;
+import com.hms.appointment.dto.NoShowScore;
+import com.hms.appointment.noshow.NoShowBackfill;
+import com.hms.appointment.noshow.NoShowFeatures;
+import com.hms.appointment.noshow.OutcomeCounts;
+import com.hms.appointment.noshow.OutcomeKey;
+import com.hms.appointment.noshow.OutcomeScope;
+import com.hms.appointment.repository.AppointmentRepository;
+import com.hms.appointment.service.NoShowService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Scores combine the patient, doctor and slot rates as in naive Bayes: each feature shifts the log-odds
+ * of the base rate by how far its own rate is from it. Rates are smoothed towards the base rate with
+ * {@code prior-weight} pseudo-appointments, so a patient with one missed visit is not scored as a
+ * certain no-show. The base rate itself is smoothed the same way towards {@code default-base-rate}.
+ */
+@Service
+public class NoShowServiceImpl implements NoShowService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NoShowServiceImpl.class);
+    
+    // Keeps log-odds finite
+    private static final double MIN_PROBABILITY = 0.001;
+    private static final double MAX_PROBABILITY = 0.999;
+    
+    private final AppointmentRepository appointmentRepository;
+    private final NoShowFeatures features;
+    private final NoShowBackfill backfill;
+    private final double priorWeight;
+    private final double defaultBaseRate;
+    
+    @Autowired
+    public NoShowServiceImpl(AppointmentRepository appointmentRepository, NoShowFeatures features, NoShowBackfill backfill,
+                             @Value("${hms.appointment.no-show.prior-weight:10}") double priorWeight,
+                             @Value("${hms.appointment.no-show.default-base-rate:0.1}") double defaultBaseRate) {
+        this.appointmentRepository = appointmentRepository;
+        this.features = features;
+        this.backfill = backfill;
+        this.priorWeight = priorWeight;
+        this.defaultBaseRate = defaultBaseRate;
+    }
+    
+    @Override
+    public NoShowScore score(Long patientId, Long doctorId, LocalDate date, LocalTime time) {
+        return score(null, patientId, doctorId, date, time);
+    }
+    
+    @Override
+    public Optional<NoShowScore> scoreAppointment(Long appointmentId) {
+        return appointmentRepository.findById(appointmentId).map(appointment -> score(appointment.getId(),
+                appointment.getPatientId(), appointment.getDoctorId(), appointment.getAppointmentDate(),
+                appointment.getAppointmentTime()));
+    }
+    
+    @Override
+    public NoShowBackfillReport backfill() {
+        logger.info("Rebuilding no-show counters on request");
+        return backfill.rebuild();
+    }
+    
+    private NoShowScore score(Long appointmentId, Long patientId, Long doctorId, LocalDate date, LocalTime time) {
+        OutcomeCounts totals = features.totals();
+        double baseRate = clamp((totals.noShow() + priorWeight * defaultBaseRate) / (totals.decided() + priorWeight));
+        
+        List<OutcomeKey> keys = NoShowFeatures.keysOf(patientId, doctorId, OutcomeScope.slotKey(date, time));
+        Map<OutcomeKey, OutcomeCounts> counts = features.counts(keys);
+        
+        double logOdds = logit(baseRate);
+        List<NoShowFeature> used = new ArrayList<>(keys.size());
+        for (OutcomeKey key : keys) {
+            OutcomeCounts feature = counts.getOrDefault(key, OutcomeCounts.ZERO);
+            double rate = clamp((feature.noShow() + priorWeight * baseRate) / (feature.decided() + priorWeight));
+            logOdds += logit(rate) - logit(baseRate);
+            used.add(new NoShowFeature(key.scope(), key.key(), feature.attended(), feature.noShow(),
+                    feature.cancelled(), rate));
+        }
+        
+        double probability = clamp(1 / (1 + Math.exp(-logOdds)));
+        return new NoShowScore(appointmentId, patientId, doctorId, date, time, probability, baseRate, used);
+    }
+    
+    private static double logit(double p) {
+        return Math.log(p / (1 - p));
+    }
+    
+    private static double clamp(double p) {
+        return Math.max(MIN_PROBABILITY, Math.min(MAX_PROBABILITY, p));
+    }
+}
@@ -0,0 +1,248 @@
+package com.hms.appointment.service.impl;
+
+import com.hms.appointment.dto.AppointmentDto;
+import com.hms.appointment.dto.SlotOfferDto;
+import com.hms.appointment.dto.WaitlistEntryDto;
+import com.hms.appointment.model.SlotOffer;
+import com.hms.appointment.model.WaitlistEntry;
+import com.hms.appointment.repository.AppointmentRepository;
+import com.hms.appointment.repository.SlotOfferRepository;
+import com.hms.appointment.repository.WaitlistEntryRepository;
+import com.hms.appointment.service.AppointmentService;
+import com.hms.appointment.service.WaitlistService;
+import com.hms.appointment.waitlist.WaitlistEvents;
+import com.hms.appointment.waitlist.WaitlistMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Every change to a held offer locks the entry row and then the offer row, in that order, so confirming,
+ * declining, leaving and the expiry sweep serialize on the same entry without deadlocking each other.
+ */
+@Service
+@Transactional
+public class WaitlistServiceImpl implements WaitlistService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+    
+    private static final List<WaitlistEntry.Status> OPEN_STATUSES =
+            List.of(WaitlistEntry.Status.WAITING, WaitlistEntry.Status.OFFERED);
+    
+    private final WaitlistEntryRepository entryRepository;
+    private final SlotOfferRepository offerRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentService appointmentService;
+    private final WaitlistMatcher matcher;
+    private final WaitlistEvents events;
+    private final int expiryBatchSize;
+    
+    @Autowired
+    public WaitlistServiceImpl(WaitlistEntryRepository entryRepository, SlotOfferRepository offerRepository,
+                               AppointmentRepository appointmentRepository, AppointmentService appointmentService,
+                               WaitlistMatcher matcher, WaitlistEvents events,
+                               @Value("${hms.appointment.waitlist.expiry-batch-size:100}") int expiryBatchSize) {
+        this.entryRepository = entryRepository;
+        this.offerRepository = offerRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentService = appointmentService;
+        this.matcher = matcher;
+        this.events = events;
+        this.expiryBatchSize = expiryBatchSize;
+    }
+    
+    @Override
+    public WaitlistEntryDto join(WaitlistEntryDto entryDto) {
+        boolean byDoctor = entryDto.getDoctorId() != null;
+        boolean bySpecialization = entryDto.getSpecialization() != null && !entryDto.getSpecialization().isBlank();
+        if (byDoctor == bySpecialization) {
+            throw new IllegalArgumentException("Give either a doctor or a specialization");
+        }
+        if (entryDto.getLatestDate().isBefore(entryDto.getEarliestDate())) {
+            throw new IllegalArgumentException("Latest date is before earliest date");
+        }
+        if (entryDto.getLatestDate().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Latest date is in the past");
+        }
+        
+        WaitlistEntry entry = entryDto.toEntity();
+        if (bySpecialization) {
+            entry.setSpecialization(entry.getSpecialization().trim());
+        }
+        if (entryRepository.existsForTarget(entry.getPatientId(), entry.getDoctorId(), entry.getSpecialization(),
+                OPEN_STATUSES)) {
+            throw new IllegalStateException("Patient " + entry.getPatientId() + " is already on this waitlist");
+        }
+        
+        WaitlistEntry saved = entryRepository.save(entry);
+        events.entryChanged("JOINED", saved);
+        logger.info("Patient {} joined the waitlist of {} with entry {}", saved.getPatientId(),
+                byDoctor ? "doctor " + saved.getDoctorId() : saved.getSpecialization(), saved.getId());
+        return new WaitlistEntryDto(saved);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<WaitlistEntryDto> getEntry(Long id) {
+        return entryRepository.findById(id).map(WaitlistEntryDto::new);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDto> getEntriesByPatient(Long patientId) {
+        return entryRepository.findByPatientIdOrderByCreatedAtDesc(patientId).stream()
+                .map(WaitlistEntryDto::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public Optional<WaitlistEntryDto> leave(Long id) {
+        logger.info("Removing waitlist entry {}", id);
+        
+        return entryRepository.findByIdForUpdate(id).map(entry -> {
+            if (!OPEN_STATUSES.contains(entry.getStatus())) {
+                throw new IllegalStateException("Waitlist entry " + id + " is already " + entry.getStatus());
+            }
+            if (entry.getStatus() == WaitlistEntry.Status.OFFERED) {
+                offerRepository.findByEntryIdAndStatusForUpdate(id, SlotOffer.Status.HELD)
+                        .ifPresent(offer -> release(offer, SlotOffer.Status.WITHDRAWN, true));
+            }
+            entry.setStatus(WaitlistEntry.Status.CANCELLED);
+            events.entryChanged("LEFT", entry);
+            return new WaitlistEntryDto(entry);
+        });
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SlotOfferDto> getOffer(Long id) {
+        return offerRepository.findById(id).map(SlotOfferDto::new);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<SlotOfferDto> getOffersByPatient(Long patientId) {
+        return offerRepository.findByPatientIdOrderByCreatedAtDesc(patientId).stream()
+                .map(SlotOfferDto::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public Optional<SlotOfferDto> confirm(Long offerId) {
+        logger.info("Confirming waitlist offer {}", offerId);
+        
+        return lock(offerId).map(locked -> {
+            WaitlistEntry entry = locked.entry();
+            SlotOffer offer = locked.offer();
+            checkHeld(offer, LocalDateTime.now());
+            
+            if (appointmentRepository.existsActiveInSlot(offer.getDoctorId(), offer.getAppointmentDate(),
+                    offer.getAppointmentTime(), null)) {
+                // Only possible if a booking slipped in while the hold was being placed
+                logger.warn("Slot of waitlist offer {} was booked meanwhile, returning entry {} to the queue",
+                        offerId, entry.getId());
+                release(offer, SlotOffer.Status.WITHDRAWN, false);
+                requeue(entry);
+                return new SlotOfferDto(offer);
+            }
+            
+            AppointmentDto request = new AppointmentDto();
+            request.setPatientId(offer.getPatientId());
+            request.setDoctorId(offer.getDoctorId());
+            request.setAppointmentDate(offer.getAppointmentDate());
+            request.setAppointmentTime(offer.getAppointmentTime());
+            request.setReason(entry.getReason());
+            request.setNotes("Booked from waitlist offer " + offerId);
+            AppointmentDto booked = appointmentService.createAppointment(request);
+            
+            offer.setStatus(SlotOffer.Status.CONFIRMED);
+            offer.setHoldKey(null);
+            offer.setAppointmentId(booked.getId());
+            entry.setStatus(WaitlistEntry.Status.BOOKED);
+            events.offerChanged(offer);
+            events.entryChanged("BOOKED", entry);
+            
+            logger.info("Waitlist offer {} confirmed as appointment {}", offerId, booked.getId());
+            return new SlotOfferDto(offer);
+        });
+    }
+    
+    @Override
+    public Optional<SlotOfferDto> decline(Long offerId) {
+        logger.info("Declining waitlist offer {}", offerId);
+        
+        return lock(offerId).map(locked -> {
+            SlotOffer offer = locked.offer();
+            checkHeld(offer, null);
+            release(offer, SlotOffer.Status.DECLINED, true);
+            requeue(locked.entry());
+            return new SlotOfferDto(offer);
+        });
+    }
+    
+    @Override
+    public int expireHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        for (Long offerId : offerRepository.findIdsExpiredBefore(SlotOffer.Status.HELD, now,
+                PageRequest.of(0, expiryBatchSize))) {
+            Optional<Locked> locked = lock(offerId);
+            // Another replica or the patient may have settled it since the IDs were read
+            if (locked.isEmpty() || locked.get().offer().getStatus() != SlotOffer.Status.HELD
+                    || !locked.get().offer().getExpiresAt().isBefore(now)) {
+                continue;
+            }
+            release(locked.get().offer(), SlotOffer.Status.EXPIRED, true);
+            requeue(locked.get().entry());
+            expired++;
+        }
+        return expired;
+    }
+    
+    private Optional<Locked> lock(Long offerId) {
+        return offerRepository.findEntryIdById(offerId)
+                .flatMap(entryRepository::findByIdForUpdate)
+                .flatMap(entry -> offerRepository.findByIdForUpdate(offerId).map(offer -> new Locked(entry, offer)));
+    }
+    
+    private static void checkHeld(SlotOffer offer, LocalDateTime now) {
+        if (offer.getStatus() != SlotOffer.Status.HELD) {
+            throw new IllegalStateException("Waitlist offer " + offer.getId() + " is " + offer.getStatus());
+        }
+        if (now != null && offer.getExpiresAt().isBefore(now)) {
+            throw new IllegalStateException("Waitlist offer " + offer.getId() + " expired at " + offer.getExpiresAt());
+        }
+    }
+    
+    /**
+     * Settle a held offer, free its slot and, if asked, offer the slot to the next patient after commit
+     */
+    private void release(SlotOffer offer, SlotOffer.Status status, boolean offerToNext) {
+        offer.setStatus(status);
+        offer.setHoldKey(null);
+        events.offerChanged(offer);
+        if (offerToNext) {
+            matcher.offerAfterCommit(offer.getDoctorId(), offer.getAppointmentDate(), offer.getAppointmentTime());
+        }
+    }
+    
+    private void requeue(WaitlistEntry entry) {
+        if (entry.getStatus() == WaitlistEntry.Status.OFFERED) {
+            entry.setStatus(WaitlistEntry.Status.WAITING);
+            events.entryChanged("REQUEUED", entry);
+        }
+    }
+    
+    private record Locked(WaitlistEntry entry, SlotOffer offer) {
+    }
+}
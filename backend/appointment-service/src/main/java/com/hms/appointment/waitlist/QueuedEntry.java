@@ -0,0 +1,31 @@
+package com.hms.appointment.waitlist;
+
+import com.hms.appointment.model.WaitlistEntry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * What the matcher needs of a waiting entry, copied out of the entity so the queue holds no managed state
+ */
+public record QueuedEntry(Long id, Long patientId, Long doctorId, String specialization, LocalDate earliestDate,
+                          LocalDate latestDate, int priority, LocalDateTime createdAt) {
+    
+    /**
+     * Higher priority first, then first come first served
+     */
+    public static final Comparator<QueuedEntry> PRIORITY_ORDER = Comparator.comparingInt(QueuedEntry::priority)
+            .reversed()
+            .thenComparing(QueuedEntry::createdAt)
+            .thenComparing(QueuedEntry::id);
+    
+    public static QueuedEntry of(WaitlistEntry entry) {
+        return new QueuedEntry(entry.getId(), entry.getPatientId(), entry.getDoctorId(), entry.getSpecialization(),
+                entry.getEarliestDate(), entry.getLatestDate(), entry.getPriority(), entry.getCreatedAt());
+    }
+    
+    public boolean covers(LocalDate date) {
+        return !date.isBefore(earliestDate) && !date.isAfter(latestDate);
+    }
+}
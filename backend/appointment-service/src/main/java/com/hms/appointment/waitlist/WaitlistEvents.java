@@ -0,0 +1,84 @@
+package com.hms.appointment.waitlist;
+
+import com.hms.appointment.model.SlotOffer;
+import com.hms.appointment.model.WaitlistEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes waitlist changes on waitlist-events, keyed by patient, once the change has committed.
+ *
+ * {@code WAITLIST_<ACTION>:<entryId>} keeps the queues of the other replicas current.
+ * {@code OFFER_<STATUS>:<offerId>} is the notification feed: OFFER_HELD tells the patient a slot is
+ * being held for them and until when (read the offer by ID).
+ */
+@Component
+public class WaitlistEvents {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistEvents.class);
+    
+    public static final String TOPIC = "waitlist-events";
+    
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final WaitlistQueue queue;
+    
+    @Autowired
+    public WaitlistEvents(KafkaTemplate<String, String> kafkaTemplate, WaitlistQueue queue) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.queue = queue;
+    }
+    
+    /**
+     * Update the local queue with the entry as it is now and tell the other replicas, after commit
+     */
+    public void entryChanged(String action, WaitlistEntry entry) {
+        QueuedEntry queued = entry.getStatus() == WaitlistEntry.Status.WAITING ? QueuedEntry.of(entry) : null;
+        entryChanged(action, entry.getId(), entry.getPatientId(), queued);
+    }
+    
+    /**
+     * Same for an entry that was changed without loading it; {@code queued} is null unless it is waiting
+     */
+    public void entryChanged(String action, Long entryId, Long patientId, QueuedEntry queued) {
+        afterCommit(() -> {
+            queue.apply(entryId, queued);
+            send(String.valueOf(patientId), "WAITLIST_" + action + ":" + entryId);
+        });
+    }
+    
+    /**
+     * Publish the offer's new status for notification, after commit
+     */
+    public void offerChanged(SlotOffer offer) {
+        String event = "OFFER_" + offer.getStatus().name() + ":" + offer.getId();
+        String patientId = String.valueOf(offer.getPatientId());
+        afterCommit(() -> send(patientId, event));
+    }
+    
+    private void send(String key, String event) {
+        try {
+            kafkaTemplate.send(TOPIC, key, event);
+        } catch (RuntimeException e) {
+            // Already committed; replicas catch up on their next queue reload
+            logger.warn("Failed to publish {}: {}", event, e.getMessage());
+        }
+    }
+    
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,158 @@
+package com.hms.appointment.waitlist;
+
+import com.hms.appointment.model.SlotOffer;
+import com.hms.appointment.model.WaitlistEntry;
+import com.hms.appointment.repository.AppointmentRepository;
+import com.hms.appointment.repository.SlotOfferRepository;
+import com.hms.appointment.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Offers a freed slot to the best waiting patient and holds it for them.
+ *
+ * Candidates come from the in-memory {@link WaitlistQueue}; the first one whose entry can still be moved
+ * from WAITING to OFFERED gets a held {@link SlotOffer}. Both happen in one transaction, and the unique
+ * hold key stops a second replica from holding the same slot, so a slot is never offered twice at once.
+ * Runs in its own transaction because it is triggered after the freeing change has committed.
+ */
+@Component
+public class WaitlistMatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistMatcher.class);
+    
+    // Candidates tried per freed slot before giving up; losing an entry to another replica is rare
+    private static final int CANDIDATE_LIMIT = 10;
+    
+    private final AppointmentRepository appointmentRepository;
+    private final WaitlistEntryRepository entryRepository;
+    private final SlotOfferRepository offerRepository;
+    private final WaitlistQueue queue;
+    private final WaitlistEvents events;
+    private final TransactionTemplate transaction;
+    private final Duration holdDuration;
+    private final MeterRegistry meterRegistry;
+    
+    @Autowired
+    public WaitlistMatcher(AppointmentRepository appointmentRepository, WaitlistEntryRepository entryRepository,
+                           SlotOfferRepository offerRepository, WaitlistQueue queue, WaitlistEvents events,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${hms.appointment.waitlist.hold-duration:15m}") Duration holdDuration) {
+        this.appointmentRepository = appointmentRepository;
+        this.entryRepository = entryRepository;
+        this.offerRepository = offerRepository;
+        this.queue = queue;
+        this.events = events;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.holdDuration = holdDuration;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Offer the slot once the current transaction commits; a failure is logged and never undoes the caller's change
+     */
+    public void offerAfterCommit(Long doctorId, LocalDate date, LocalTime time) {
+        WaitlistEvents.afterCommit(() -> {
+            try {
+                offerSlot(doctorId, date, time);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to offer freed slot of doctor {} on {} at {} from the waitlist: {}",
+                        doctorId, date, time, e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Hold the slot for the best waiting patient who has not been offered it yet
+     */
+    public Optional<SlotOffer> offerSlot(Long doctorId, LocalDate date, LocalTime time) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "no-candidate";
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            // The patient needs the whole hold to answer before the appointment starts
+            if (!LocalDateTime.of(date, time).isAfter(now.plus(holdDuration))) {
+                outcome = "too-late";
+                return Optional.empty();
+            }
+            
+            Lookup lookup = transaction.execute(status -> new Lookup(appointmentRepository.findDoctorSpecialization(doctorId),
+                    new HashSet<>(offerRepository.findEntryIdsOfferedSlot(doctorId, date, time))));
+            List<QueuedEntry> candidates = queue.candidates(doctorId, lookup.specialization(), date, lookup.offered(),
+                    CANDIDATE_LIMIT);
+            
+            for (QueuedEntry candidate : candidates) {
+                Claim claim;
+                try {
+                    claim = transaction.execute(status -> claim(candidate, doctorId, date, time, now));
+                } catch (DataIntegrityViolationException e) {
+                    // Unique hold key: another replica is holding the slot already
+                    claim = Claim.SLOT_TAKEN;
+                }
+                if (claim == Claim.ENTRY_TAKEN) {
+                    queue.remove(candidate.id());
+                    continue;
+                }
+                if (claim == Claim.SLOT_TAKEN) {
+                    outcome = "slot-taken";
+                    return Optional.empty();
+                }
+                outcome = "offered";
+                return Optional.of(claim.offer());
+            }
+            return Optional.empty();
+        } finally {
+            sample.stop(Timer.builder("appointment.waitlist.match")
+                    .description("Time from a freed slot to holding it for a waiting patient")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            logger.debug("Waitlist match for doctor {} on {} at {}: {}", doctorId, date, time, outcome);
+        }
+    }
+    
+    private Claim claim(QueuedEntry candidate, Long doctorId, LocalDate date, LocalTime time, LocalDateTime now) {
+        if (appointmentRepository.existsActiveInSlot(doctorId, date, time, null)) {
+            return Claim.SLOT_TAKEN;
+        }
+        if (entryRepository.transition(candidate.id(), WaitlistEntry.Status.WAITING, WaitlistEntry.Status.OFFERED,
+                now) == 0) {
+            return Claim.ENTRY_TAKEN;
+        }
+        SlotOffer offer = offerRepository.saveAndFlush(new SlotOffer(candidate.id(), candidate.patientId(), doctorId,
+                date, time, now.plus(holdDuration)));
+        
+        events.entryChanged("OFFERED", candidate.id(), candidate.patientId(), null);
+        events.offerChanged(offer);
+        logger.info("Holding slot of doctor {} on {} at {} for patient {} (waitlist entry {}) until {}",
+                doctorId, date, time, candidate.patientId(), candidate.id(), offer.getExpiresAt());
+        return new Claim(offer);
+    }
+    
+    private record Claim(SlotOffer offer) {
+        
+        static final Claim ENTRY_TAKEN = new Claim(null);
+        static final Claim SLOT_TAKEN = new Claim(null);
+    }
+    
+    private record Lookup(String specialization, Set<Long> offered) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.hms.appointment.waitlist;
+
+import com.hms.appointment.model.WaitlistEntry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Waiting entries held in memory as priority queues, one per doctor and one per specialization.
+ *
+ * Each queue is a sorted set in {@link QueuedEntry#PRIORITY_ORDER}, so finding the best patients for a
+ * freed slot walks the head of at most two queues instead of querying the waitlist table. The queue is
+ * only a fast index: whoever wins the entry is decided by a conditional update in the database, and a
+ * stale entry here simply loses that update and is dropped.
+ */
+@Component
+public class WaitlistQueue {
+    
+    private final Map<Long, QueuedEntry> byId = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<QueuedEntry>> byDoctor = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<QueuedEntry>> bySpecialization = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public WaitlistQueue(MeterRegistry meterRegistry) {
+        Gauge.builder("appointment.waitlist.waiting", byId, Map::size)
+                .description("Waitlist entries queued for a freed slot on this replica")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Best waiting entries for a slot of the doctor on the date: those for the doctor and those for
+     * the doctor's specialization, merged in priority order
+     */
+    public List<QueuedEntry> candidates(Long doctorId, String specialization, LocalDate date, Set<Long> excluded,
+                                        int limit) {
+        List<QueuedEntry> matches = new ArrayList<>();
+        collect(byDoctor.get(doctorId), date, excluded, limit, matches);
+        if (specialization != null) {
+            collect(bySpecialization.get(specializationKey(specialization)), date, excluded, limit, matches);
+        }
+        matches.sort(QueuedEntry.PRIORITY_ORDER);
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+    
+    /**
+     * Queue the entry if it is waiting, otherwise take it out
+     */
+    public synchronized void apply(Long entryId, QueuedEntry entry) {
+        QueuedEntry previous = entry != null ? byId.put(entryId, entry) : byId.remove(entryId);
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (entry != null) {
+            index(entry);
+        }
+    }
+    
+    public void apply(WaitlistEntry entry) {
+        apply(entry.getId(), entry.getStatus() == WaitlistEntry.Status.WAITING ? QueuedEntry.of(entry) : null);
+    }
+    
+    public void remove(Long entryId) {
+        apply(entryId, null);
+    }
+    
+    /**
+     * Bring the queue in line with the full list of waiting entries, one entry at a time so that
+     * matching carries on against a complete queue while it runs
+     */
+    public synchronized void replaceAll(Collection<WaitlistEntry> waiting) {
+        Set<Long> current = new HashSet<>();
+        for (WaitlistEntry entry : waiting) {
+            current.add(entry.getId());
+            QueuedEntry queued = QueuedEntry.of(entry);
+            if (!queued.equals(byId.get(entry.getId()))) {
+                apply(entry.getId(), queued);
+            }
+        }
+        for (Long entryId : List.copyOf(byId.keySet())) {
+            if (!current.contains(entryId)) {
+                apply(entryId, null);
+            }
+        }
+    }
+    
+    public int size() {
+        return byId.size();
+    }
+    
+    private void index(QueuedEntry entry) {
+        if (entry.doctorId() != null) {
+            byDoctor.computeIfAbsent(entry.doctorId(), id -> new ConcurrentSkipListSet<>(QueuedEntry.PRIORITY_ORDER))
+                    .add(entry);
+        }
+        if (entry.specialization() != null) {
+            bySpecialization.computeIfAbsent(specializationKey(entry.specialization()),
+                    key -> new ConcurrentSkipListSet<>(QueuedEntry.PRIORITY_ORDER)).add(entry);
+        }
+    }
+    
+    private void unindex(QueuedEntry entry) {
+        if (entry.doctorId() != null) {
+            removeFrom(byDoctor, entry.doctorId(), entry);
+        }
+        if (entry.specialization() != null) {
+            removeFrom(bySpecialization, specializationKey(entry.specialization()), entry);
+        }
+    }
+    
+    private static <K> void removeFrom(Map<K, NavigableSet<QueuedEntry>> queues, K key, QueuedEntry entry) {
+        NavigableSet<QueuedEntry> queue = queues.get(key);
+        if (queue != null) {
+            queue.remove(entry);
+            if (queue.isEmpty()) {
+                queues.remove(key, queue);
+            }
+        }
+    }
+    
+    private static void collect(NavigableSet<QueuedEntry> queue, LocalDate date, Set<Long> excluded, int limit,
+                                List<QueuedEntry> matches) {
+        if (queue == null) {
+            return;
+        }
+        int found = 0;
+        for (QueuedEntry entry : queue) {
+            if (found == limit) {
+                return;
+            }
+            if (entry.covers(date) && !excluded.contains(entry.id())) {
+                matches.add(entry);
+                found++;
+            }
+        }
+    }
+    
+    private static String specializationKey(String specialization) {
+        return specialization.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,97 @@
+package com.hms.appointment.waitlist;
+
+import com.hms.appointment.model.WaitlistEntry;
+import com.hms.appointment.repository.WaitlistEntryRepository;
+import com.hms.appointment.service.WaitlistService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the {@link WaitlistQueue} in step with the waitlist table and expires holds nobody answered.
+ *
+ * Entry changes made on any replica arrive on waitlist-events and are re-read by ID. Local changes
+ * are applied by the service after commit. A periodic reload closes entries whose window has passed
+ * and repairs anything a lost event left behind.
+ */
+@Component
+public class WaitlistSynchronizer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistSynchronizer.class);
+    
+    private final WaitlistEntryRepository entryRepository;
+    private final WaitlistQueue queue;
+    private final WaitlistService waitlistService;
+    
+    @Autowired
+    public WaitlistSynchronizer(WaitlistEntryRepository entryRepository, WaitlistQueue queue,
+                                WaitlistService waitlistService) {
+        this.entryRepository = entryRepository;
+        this.queue = queue;
+        this.waitlistService = waitlistService;
+    }
+    
+    /**
+     * Apply entry changes published by any replica ({@code WAITLIST_<ACTION>:<entryId>}); offer events are for notification
+     */
+    @KafkaListener(topics = WaitlistEvents.TOPIC,
+            groupId = "appointment-waitlist-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onWaitlistEvent(String event) {
+        int separator = event.lastIndexOf(':');
+        if (!event.startsWith("WAITLIST_") || separator < 0) {
+            return;
+        }
+        long entryId;
+        try {
+            entryId = Long.parseLong(event.substring(separator + 1).trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed waitlist event: {}", event);
+            return;
+        }
+        entryRepository.findById(entryId).ifPresentOrElse(queue::apply, () -> queue.remove(entryId));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+    
+    @Scheduled(fixedDelayString = "${hms.appointment.waitlist.reload-interval-ms:300000}",
+            initialDelayString = "${hms.appointment.waitlist.reload-interval-ms:300000}")
+    public void reload() {
+        long started = System.currentTimeMillis();
+        try {
+            int expired = entryRepository.expireBefore(LocalDate.now(), WaitlistEntry.Status.WAITING,
+                    WaitlistEntry.Status.EXPIRED, LocalDateTime.now());
+            queue.replaceAll(entryRepository.findByStatus(WaitlistEntry.Status.WAITING));
+            logger.debug("Reloaded {} waiting entries ({} expired) in {} ms", queue.size(), expired,
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.warn("Failed to reload the waitlist, keeping the current queue: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Release holds past their expiry and offer those slots to the next patient in line
+     */
+    @Scheduled(fixedDelayString = "${hms.appointment.waitlist.expiry-sweep-interval-ms:30000}")
+    public void expireHolds() {
+        try {
+            int expired = waitlistService.expireHolds();
+            if (expired > 0) {
+                logger.info("Released {} expired waitlist holds", expired);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to expire waitlist holds: {}", e.getMessage());
+        }
+    }
+}
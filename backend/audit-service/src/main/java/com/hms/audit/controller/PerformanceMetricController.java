@@ -0,0 +1,83 @@
+package com.hms.audit.controller;
+
+import com.hms.audit.dto.MetricPoint;
+import com.hms.audit.service.PerformanceMetricService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query API over the metric rollups written from metric-rollups
+ */
+@RestController
+@RequestMapping("/api/v1/metrics")
+@CrossOrigin(origins = "*")
+public class PerformanceMetricController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceMetricController.class);
+    
+    private final PerformanceMetricService metricService;
+    
+    @Autowired
+    public PerformanceMetricController(PerformanceMetricService metricService) {
+        this.metricService = metricService;
+    }
+    
+    /**
+     * Get the metric names a service has reported
+     */
+    @GetMapping("/{service}")
+    public ResponseEntity<List<String>> getMetricNames(@PathVariable String service,
+                                                       @RequestParam(defaultValue = "1h") String resolution) {
+        try {
+            return ResponseEntity.ok(metricService.getMetricNames(service, resolution));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get the history of one metric of a service, with count, mean, max and p50/p90/p95/p99 per
+     * period. Tags filter the series as {@code tag=key:value} and may be repeated; without a range
+     * the last day is returned.
+     */
+    @GetMapping("/{service}/history")
+    public ResponseEntity<List<MetricPoint>> getHistory(
+            @PathVariable String service,
+            @RequestParam String metric,
+            @RequestParam(defaultValue = "1m") String resolution,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) List<String> tag) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        
+        Map<String, String> tags = new LinkedHashMap<>();
+        if (tag != null) {
+            for (String filter : tag) {
+                int separator = filter.indexOf(':');
+                // Keys become field paths in the Mongo query, so only plain tag names are accepted
+                if (separator <= 0 || !filter.substring(0, separator).matches("[\\w.-]+")) {
+                    return ResponseEntity.badRequest().build();
+                }
+                tags.put(filter.substring(0, separator), filter.substring(separator + 1));
+            }
+        }
+        
+        try {
+            return ResponseEntity.ok(metricService.getHistory(service, metric, resolution, start, end, tags));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid metric history query for {}: {}", service, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
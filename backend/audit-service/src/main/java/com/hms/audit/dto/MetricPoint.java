@@ -0,0 +1,98 @@
+package com.hms.audit.dto;
+
+import java.time.Instant;
+
+/**
+ * One period of a metric history, merged over the instances and tag values that matched the query.
+ *
+ * For timers and summaries {@code value} is the mean and the percentiles are the upper bounds of
+ * the histogram buckets holding them; for gauges it is the mean sample; for counters the increase.
+ */
+public class MetricPoint {
+    
+    private Instant timestamp;
+    private long count;
+    private double value;
+    private double max;
+    private Double p50;
+    private Double p90;
+    private Double p95;
+    private Double p99;
+    private int series;
+    
+    // Default constructor
+    public MetricPoint() {}
+    
+    // Getters and Setters
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    public double getValue() {
+        return value;
+    }
+    
+    public void setValue(double value) {
+        this.value = value;
+    }
+    
+    public double getMax() {
+        return max;
+    }
+    
+    public void setMax(double max) {
+        this.max = max;
+    }
+    
+    public Double getP50() {
+        return p50;
+    }
+    
+    public void setP50(Double p50) {
+        this.p50 = p50;
+    }
+    
+    public Double getP90() {
+        return p90;
+    }
+    
+    public void setP90(Double p90) {
+        this.p90 = p90;
+    }
+    
+    public Double getP95() {
+        return p95;
+    }
+    
+    public void setP95(Double p95) {
+        this.p95 = p95;
+    }
+    
+    public Double getP99() {
+        return p99;
+    }
+    
+    public void setP99(Double p99) {
+        this.p99 = p99;
+    }
+    
+    public int getSeries() {
+        return series;
+    }
+    
+    public void setSeries(int series) {
+        this.series = series;
+    }
+}
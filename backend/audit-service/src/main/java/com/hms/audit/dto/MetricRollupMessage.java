@@ -0,0 +1,177 @@
+package com.hms.audit.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A rollup as published by a service on metric-rollups; timestamp is the start of the period in epoch millis
+ */
+public class MetricRollupMessage {
+    
+    private String service;
+    private String instance;
+    private String metric;
+    private String kind;
+    private String unit;
+    private Map<String, String> tags;
+    private String resolution;
+    private long timestamp;
+    private long count;
+    private double sum;
+    private double max;
+    private double value;
+    private Double p50;
+    private Double p90;
+    private Double p95;
+    private Double p99;
+    private List<Double> bucketBounds;
+    private List<Long> bucketCounts;
+    
+    // Default constructor
+    public MetricRollupMessage() {}
+    
+    // Getters and Setters
+    public String getService() {
+        return service;
+    }
+    
+    public void setService(String service) {
+        this.service = service;
+    }
+    
+    public String getInstance() {
+        return instance;
+    }
+    
+    public void setInstance(String instance) {
+        this.instance = instance;
+    }
+    
+    public String getMetric() {
+        return metric;
+    }
+    
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+    
+    public String getKind() {
+        return kind;
+    }
+    
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+    
+    public String getUnit() {
+        return unit;
+    }
+    
+    public void setUnit(String unit) {
+        this.unit = unit;
+    }
+    
+    public Map<String, String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(Map<String, String> tags) {
+        this.tags = tags;
+    }
+    
+    public String getResolution() {
+        return resolution;
+    }
+    
+    public void setResolution(String resolution) {
+        this.resolution = resolution;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    public double getSum() {
+        return sum;
+    }
+    
+    public void setSum(double sum) {
+        this.sum = sum;
+    }
+    
+    public double getMax() {
+        return max;
+    }
+    
+    public void setMax(double max) {
+        this.max = max;
+    }
+    
+    public double getValue() {
+        return value;
+    }
+    
+    public void setValue(double value) {
+        this.value = value;
+    }
+    
+    public Double getP50() {
+        return p50;
+    }
+    
+    public void setP50(Double p50) {
+        this.p50 = p50;
+    }
+    
+    public Double getP90() {
+        return p90;
+    }
+    
+    public void setP90(Double p90) {
+        this.p90 = p90;
+    }
+    
+    public Double getP95() {
+        return p95;
+    }
+    
+    public void setP95(Double p95) {
+        this.p95 = p95;
+    }
+    
+    public Double getP99() {
+        return p99;
+    }
+    
+    public void setP99(Double p99) {
+        this.p99 = p99;
+    }
+    
+    public List<Double> getBucketBounds() {
+        return bucketBounds;
+    }
+    
+    public void setBucketBounds(List<Double> bucketBounds) {
+        this.bucketBounds = bucketBounds;
+    }
+    
+    public List<Long> getBucketCounts() {
+        return bucketCounts;
+    }
+    
+    public void setBucketCounts(List<Long> bucketCounts) {
+        this.bucketCounts = bucketCounts;
+    }
+}
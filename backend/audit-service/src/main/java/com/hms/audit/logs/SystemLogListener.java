@@ -0,0 +1,50 @@
+package com.hms.audit.logs;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.audit.model.SystemLog;
+import com.hms.audit.repository.SystemLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumes system-logs in batches and writes each poll to system_logs with a single insertMany
+ */
+@Component
+public class SystemLogListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SystemLogListener.class);
+    
+    private static final TypeReference<List<SystemLog>> LOGS = new TypeReference<>() {};
+    
+    private final SystemLogRepository systemLogRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Autowired
+    public SystemLogListener(SystemLogRepository systemLogRepository, ObjectMapper objectMapper) {
+        this.systemLogRepository = systemLogRepository;
+        this.objectMapper = objectMapper;
+    }
+    
+    @KafkaListener(topics = "system-logs", groupId = "audit-service-logs", batch = "true")
+    public void onLogs(List<String> messages) {
+        List<SystemLog> logs = new ArrayList<>();
+        for (String message : messages) {
+            try {
+                logs.addAll(objectMapper.readValue(message, LOGS));
+            } catch (IOException e) {
+                logger.warn("Skipping unreadable system log message: {}", e.getMessage());
+            }
+        }
+        if (!logs.isEmpty()) {
+            systemLogRepository.insert(logs);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.hms.audit.metrics;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.audit.dto.MetricRollupMessage;
+import com.hms.audit.service.PerformanceMetricService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumes metric-rollups in batches, so one poll from every service becomes one bulk insert per collection
+ */
+@Component
+public class MetricRollupListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MetricRollupListener.class);
+    
+    private static final TypeReference<List<MetricRollupMessage>> ROLLUPS = new TypeReference<>() {};
+    
+    private final PerformanceMetricService metricService;
+    private final ObjectMapper objectMapper;
+    
+    @Autowired
+    public MetricRollupListener(PerformanceMetricService metricService, ObjectMapper objectMapper) {
+        this.metricService = metricService;
+        this.objectMapper = objectMapper;
+    }
+    
+    @KafkaListener(topics = "metric-rollups", groupId = "audit-service-metrics", batch = "true")
+    public void onRollups(List<String> messages) {
+        List<MetricRollupMessage> rollups = new ArrayList<>();
+        for (String message : messages) {
+            try {
+                rollups.addAll(objectMapper.readValue(message, ROLLUPS));
+            } catch (IOException e) {
+                logger.warn("Skipping unreadable metric rollup message: {}", e.getMessage());
+            }
+        }
+        if (!rollups.isEmpty()) {
+            metricService.store(rollups);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hms.audit.metrics;
+
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-series collections for metric rollups, one per resolution so each gets its own retention.
+ *
+ * Minute rollups go to performance_metrics and hour rollups to performance_metrics_hourly. Both are
+ * created on startup when missing; expiry is handled by Mongo, per bucket, without a cleanup job.
+ */
+@Component
+public class PerformanceMetricCollections {
+    
+    public static final String MINUTE_COLLECTION = "performance_metrics";
+    public static final String HOUR_COLLECTION = "performance_metrics_hourly";
+    
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceMetricCollections.class);
+    
+    private final MongoTemplate mongoTemplate;
+    private final Duration minuteRetention;
+    private final Duration hourRetention;
+    
+    @Autowired
+    public PerformanceMetricCollections(MongoTemplate mongoTemplate,
+                                        @Value("${hms.metrics.storage.minute-retention:14d}") Duration minuteRetention,
+                                        @Value("${hms.metrics.storage.hour-retention:400d}") Duration hourRetention) {
+        this.mongoTemplate = mongoTemplate;
+        this.minuteRetention = minuteRetention;
+        this.hourRetention = hourRetention;
+    }
+    
+    /**
+     * Collection holding rollups of the given resolution
+     */
+    public static String collectionFor(String resolution) {
+        return switch (resolution) {
+            case "1m" -> MINUTE_COLLECTION;
+            case "1h" -> HOUR_COLLECTION;
+            default -> throw new IllegalArgumentException("Unsupported resolution: " + resolution);
+        };
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void createCollections() {
+        try {
+            create(MINUTE_COLLECTION, TimeSeriesGranularity.MINUTES, minuteRetention);
+            create(HOUR_COLLECTION, TimeSeriesGranularity.HOURS, hourRetention);
+        } catch (RuntimeException e) {
+            logger.warn("Could not prepare performance metric collections: {}", e.getMessage());
+        }
+    }
+    
+    private void create(String name, TimeSeriesGranularity granularity, Duration retention) {
+        if (!mongoTemplate.collectionExists(name)) {
+            mongoTemplate.getDb().createCollection(name, new CreateCollectionOptions()
+                    .timeSeriesOptions(new TimeSeriesOptions("timestamp")
+                            .metaField("meta")
+                            .granularity(granularity))
+                    .expireAfter(retention.toSeconds(), TimeUnit.SECONDS));
+            logger.info("Created time-series collection {} with {} retention", name, retention);
+        }
+        mongoTemplate.indexOps(name).ensureIndex(new Index()
+                .on("meta.service", Sort.Direction.ASC)
+                .on("meta.metric", Sort.Direction.ASC)
+                .on("timestamp", Sort.Direction.DESC));
+    }
+}
@@ -0,0 +1,215 @@
+package com.hms.audit.model;
+
+import org.springframework.data.annotation.Id;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One rollup of one meter series, stored in the performance_metrics time-series collections.
+ *
+ * Everything that identifies the series sits in {@code meta}, the collection's meta field, so Mongo
+ * buckets the measurements of a series together. The collection is chosen by resolution; see
+ * {@link com.hms.audit.metrics.PerformanceMetricCollections}.
+ */
+public class PerformanceMetric {
+    
+    @Id
+    private String id;
+    
+    private Meta meta;
+    private Instant timestamp;
+    private String unit;
+    private Long count;
+    private Double sum;
+    private Double max;
+    private Double value;
+    private Double p50;
+    private Double p90;
+    private Double p95;
+    private Double p99;
+    private List<Double> bucketBounds;
+    private List<Long> bucketCounts;
+    
+    // Default constructor
+    public PerformanceMetric() {}
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Meta getMeta() {
+        return meta;
+    }
+    
+    public void setMeta(Meta meta) {
+        this.meta = meta;
+    }
+    
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+    
+    public String getUnit() {
+        return unit;
+    }
+    
+    public void setUnit(String unit) {
+        this.unit = unit;
+    }
+    
+    public Long getCount() {
+        return count;
+    }
+    
+    public void setCount(Long count) {
+        this.count = count;
+    }
+    
+    public Double getSum() {
+        return sum;
+    }
+    
+    public void setSum(Double sum) {
+        this.sum = sum;
+    }
+    
+    public Double getMax() {
+        return max;
+    }
+    
+    public void setMax(Double max) {
+        this.max = max;
+    }
+    
+    public Double getValue() {
+        return value;
+    }
+    
+    public void setValue(Double value) {
+        this.value = value;
+    }
+    
+    public Double getP50() {
+        return p50;
+    }
+    
+    public void setP50(Double p50) {
+        this.p50 = p50;
+    }
+    
+    public Double getP90() {
+        return p90;
+    }
+    
+    public void setP90(Double p90) {
+        this.p90 = p90;
+    }
+    
+    public Double getP95() {
+        return p95;
+    }
+    
+    public void setP95(Double p95) {
+        this.p95 = p95;
+    }
+    
+    public Double getP99() {
+        return p99;
+    }
+    
+    public void setP99(Double p99) {
+        this.p99 = p99;
+    }
+    
+    public List<Double> getBucketBounds() {
+        return bucketBounds;
+    }
+    
+    public void setBucketBounds(List<Double> bucketBounds) {
+        this.bucketBounds = bucketBounds;
+    }
+    
+    public List<Long> getBucketCounts() {
+        return bucketCounts;
+    }
+    
+    public void setBucketCounts(List<Long> bucketCounts) {
+        this.bucketCounts = bucketCounts;
+    }
+    
+    /**
+     * Series identity: service, instance, meter name, meter kind, resolution and meter tags
+     */
+    public static class Meta {
+        
+        private String service;
+        private String instance;
+        private String metric;
+        private String kind;
+        private String resolution;
+        private Map<String, String> tags;
+        
+        // Default constructor
+        public Meta() {}
+        
+        // Getters and Setters
+        public String getService() {
+            return service;
+        }
+        
+        public void setService(String service) {
+            this.service = service;
+        }
+        
+        public String getInstance() {
+            return instance;
+        }
+        
+        public void setInstance(String instance) {
+            this.instance = instance;
+        }
+        
+        public String getMetric() {
+            return metric;
+        }
+        
+        public void setMetric(String metric) {
+            this.metric = metric;
+        }
+        
+        public String getKind() {
+            return kind;
+        }
+        
+        public void setKind(String kind) {
+            this.kind = kind;
+        }
+        
+        public String getResolution() {
+            return resolution;
+        }
+        
+        public void setResolution(String resolution) {
+            this.resolution = resolution;
+        }
+        
+        public Map<String, String> getTags() {
+            return tags;
+        }
+        
+        public void setTags(Map<String, String> tags) {
+            this.tags = tags;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.hms.audit.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Structured log event shipped by a service, stored in the Mongo system_logs collection
+ */
+@Document(collection = "system_logs")
+public class SystemLog {
+    
+    @Id
+    private String id;
+    
+    private String level;
+    private String message;
+    private String service;
+    private String className;
+    private String methodName;
+    private Integer lineNumber;
+    private String stackTrace;
+    private Long userId;
+    private String requestId;
+    private Instant timestamp;
+    private Map<String, String> metadata;
+    
+    // Default constructor
+    public SystemLog() {}
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getLevel() {
+        return level;
+    }
+    
+    public void setLevel(String level) {
+        this.level = level;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public String getService() {
+        return service;
+    }
+    
+    public void setService(String service) {
+        this.service = service;
+    }
+    
+    public String getClassName() {
+        return className;
+    }
+    
+    public void setClassName(String className) {
+        this.className = className;
+    }
+    
+    public String getMethodName() {
+        return methodName;
+    }
+    
+    public void setMethodName(String methodName) {
+        this.methodName = methodName;
+    }
+    
+    public Integer getLineNumber() {
+        return lineNumber;
+    }
+    
+    public void setLineNumber(Integer lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+    
+    public String getStackTrace() {
+        return stackTrace;
+    }
+    
+    public void setStackTrace(String stackTrace) {
+        this.stackTrace = stackTrace;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getRequestId() {
+        return requestId;
+    }
+    
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+    
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+    
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+    
+    public void setMetadata(Map<String, String> metadata) {
+        this.metadata = metadata;
+    }
+}
@@ -0,0 +1,9 @@
+package com.hms.audit.repository;
+
+import com.hms.audit.model.SystemLog;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SystemLogRepository extends MongoRepository<SystemLog, String> {
+}
@@ -0,0 +1,27 @@
+package com.hms.audit.service;
+
+import com.hms.audit.dto.MetricPoint;
+import com.hms.audit.dto.MetricRollupMessage;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public interface PerformanceMetricService {
+    
+    /**
+     * Bulk-write rollups, one insert per resolution
+     */
+    void store(List<MetricRollupMessage> rollups);
+    
+    /**
+     * History of a metric of one service, merged over instances and the series matching {@code tags}
+     */
+    List<MetricPoint> getHistory(String service, String metric, String resolution, Instant from, Instant to,
+                                 Map<String, String> tags);
+    
+    /**
+     * Metric names a service has reported at the given resolution
+     */
+    List<String> getMetricNames(String service, String resolution);
+}
@@ -0,0 +1,181 @@
+package com.hms.audit.service.impl;
+
+import com.hms.audit.dto.MetricPoint;
+import com.hms.audit.dto.MetricRollupMessage;
+import com.hms.audit.metrics.PerformanceMetricCollections;
+import com.hms.audit.model.PerformanceMetric;
+import com.hms.audit.service.PerformanceMetricService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+public class PerformanceMetricServiceImpl implements PerformanceMetricService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceMetricServiceImpl.class);
+    
+    private final MongoTemplate mongoTemplate;
+    private final int maxPoints;
+    
+    @Autowired
+    public PerformanceMetricServiceImpl(MongoTemplate mongoTemplate,
+                                        @Value("${hms.metrics.query.max-points:10080}") int maxPoints) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxPoints = maxPoints;
+    }
+    
+    @Override
+    public void store(List<MetricRollupMessage> rollups) {
+        Map<String, List<PerformanceMetric>> byCollection = new LinkedHashMap<>();
+        for (MetricRollupMessage rollup : rollups) {
+            String collection;
+            try {
+                collection = PerformanceMetricCollections.collectionFor(rollup.getResolution());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Dropping rollup of {} from {}: {}", rollup.getMetric(), rollup.getService(), e.getMessage());
+                continue;
+            }
+            byCollection.computeIfAbsent(collection, c -> new ArrayList<>()).add(toDocument(rollup));
+        }
+        byCollection.forEach((collection, documents) -> {
+            mongoTemplate.insert(documents, collection);
+            logger.debug("Stored {} rollups in {}", documents.size(), collection);
+        });
+    }
+    
+    @Override
+    public List<MetricPoint> getHistory(String service, String metric, String resolution, Instant from, Instant to,
+                                        Map<String, String> tags) {
+        String collection = PerformanceMetricCollections.collectionFor(resolution);
+        Duration step = "1h".equals(resolution) ? Duration.ofHours(1) : Duration.ofMinutes(1);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (Duration.between(from, to).dividedBy(step) > maxPoints) {
+            throw new IllegalArgumentException("Range spans more than " + maxPoints + " points at " + resolution);
+        }
+        
+        Criteria criteria = Criteria.where("meta.service").is(service)
+                .and("meta.metric").is(metric)
+                .and("timestamp").gte(from).lt(to);
+        tags.forEach((key, value) -> criteria.and("meta.tags." + key).is(value));
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "timestamp"));
+        
+        // Rollups of every instance and matching tag combination, merged per period
+        Map<Instant, Merged> merged = new LinkedHashMap<>();
+        for (PerformanceMetric rollup : mongoTemplate.find(query, PerformanceMetric.class, collection)) {
+            merged.computeIfAbsent(rollup.getTimestamp(), t -> new Merged(rollup.getMeta().getKind())).add(rollup);
+        }
+        return merged.entrySet().stream()
+                .map(entry -> entry.getValue().toPoint(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<String> getMetricNames(String service, String resolution) {
+        return mongoTemplate.findDistinct(new Query(Criteria.where("meta.service").is(service)), "meta.metric",
+                PerformanceMetricCollections.collectionFor(resolution), String.class);
+    }
+    
+    private PerformanceMetric toDocument(MetricRollupMessage rollup) {
+        PerformanceMetric.Meta meta = new PerformanceMetric.Meta();
+        meta.setService(rollup.getService());
+        meta.setInstance(rollup.getInstance());
+        meta.setMetric(rollup.getMetric());
+        meta.setKind(rollup.getKind());
+        meta.setResolution(rollup.getResolution());
+        meta.setTags(rollup.getTags());
+        
+        PerformanceMetric document = new PerformanceMetric();
+        document.setMeta(meta);
+        document.setTimestamp(Instant.ofEpochMilli(rollup.getTimestamp()));
+        document.setUnit(rollup.getUnit());
+        document.setCount(rollup.getCount());
+        document.setSum(rollup.getSum());
+        document.setMax(rollup.getMax());
+        document.setValue(rollup.getValue());
+        document.setP50(rollup.getP50());
+        document.setP90(rollup.getP90());
+        document.setP95(rollup.getP95());
+        document.setP99(rollup.getP99());
+        document.setBucketBounds(rollup.getBucketBounds());
+        document.setBucketCounts(rollup.getBucketCounts());
+        return document;
+    }
+    
+    /**
+     * Sums counts, totals and histogram buckets of several rollups of one period; percentiles are
+     * recomputed from the merged buckets, since percentiles themselves cannot be averaged
+     */
+    private static class Merged {
+        
+        private final String kind;
+        private final TreeMap<Double, Long> buckets = new TreeMap<>();
+        private long count;
+        private double sum;
+        private double max;
+        private int series;
+        
+        Merged(String kind) {
+            this.kind = kind;
+        }
+        
+        void add(PerformanceMetric rollup) {
+            series++;
+            count += rollup.getCount() == null ? 0L : rollup.getCount();
+            sum += rollup.getSum() == null ? 0.0 : rollup.getSum();
+            max = Math.max(max, rollup.getMax() == null ? 0.0 : rollup.getMax());
+            List<Double> bounds = rollup.getBucketBounds();
+            List<Long> counts = rollup.getBucketCounts();
+            if (bounds != null && counts != null) {
+                for (int i = 0; i < Math.min(bounds.size(), counts.size()); i++) {
+                    buckets.merge(bounds.get(i), counts.get(i), Long::sum);
+                }
+            }
+        }
+        
+        MetricPoint toPoint(Instant timestamp) {
+            MetricPoint point = new MetricPoint();
+            point.setTimestamp(timestamp);
+            point.setCount(count);
+            point.setMax(max);
+            point.setSeries(series);
+            point.setValue("COUNTER".equals(kind) ? sum : count == 0 ? 0.0 : sum / count);
+            if (!buckets.isEmpty() && count > 0) {
+                point.setP50(percentile(0.5));
+                point.setP90(percentile(0.9));
+                point.setP95(percentile(0.95));
+                point.setP99(percentile(0.99));
+            }
+            return point;
+        }
+        
+        private double percentile(double quantile) {
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0L;
+            for (Map.Entry<Double, Long> bucket : buckets.entrySet()) {
+                seen += bucket.getValue();
+                if (seen >= rank) {
+                    return bucket.getKey();
+                }
+            }
+            // Ranks beyond the last bucket fall in the overflow, bounded only by the max
+            return max;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.hms.benchmarks.data;
+
+import com.hms.appointment.model.Appointment;
+import com.hms.patient.model.Patient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic records: the same seed always yields the same data, so results of
+ * different runs are comparable. Field lengths and value mixes follow the MySQL schema.
+ */
+public final class SyntheticData {
+    
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin"};
+    private static final String[] BLOOD_GROUPS = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
+    private static final String[] INSURERS = {"BlueCross", "Aetna", "Cigna", "UnitedHealth", null};
+    private static final String[] ALLERGIES = {"penicillin", "peanuts", "latex", "sulfa drugs", "shellfish"};
+    private static final String[] CONDITIONS = {
+            "Hypertension, on lisinopril since 2019.", "Type 2 diabetes, diet controlled.",
+            "Asthma, seasonal, uses albuterol as needed.", "Appendectomy in 2012, no complications.",
+            "Migraine with aura, follows up with neurology yearly."};
+    private static final String[] REASONS = {
+            "Annual check-up", "Follow-up on blood test results", "Persistent cough for two weeks",
+            "Lower back pain", "Medication review"};
+    
+    private final SplittableRandom random;
+    
+    public SyntheticData(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+    
+    /**
+     * Patients with IDs {@code 1..count} and user IDs equal to their IDs
+     */
+    public List<Patient> patients(int count) {
+        List<Patient> patients = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            patients.add(patient(i));
+        }
+        return patients;
+    }
+    
+    public Patient patient(long id) {
+        Patient patient = new Patient();
+        patient.setId(id);
+        patient.setUserId(id);
+        patient.setFirstName(pick(FIRST_NAMES));
+        patient.setLastName(pick(LAST_NAMES));
+        patient.setDateOfBirth(LocalDate.of(1940, 1, 1).plusDays(random.nextInt(30_000)));
+        patient.setGender(Patient.Gender.values()[random.nextInt(Patient.Gender.values().length)]);
+        patient.setPhone(String.format("+1-555-%07d", id % 10_000_000));
+        patient.setAddress(random.nextInt(9999) + " Main Street, Springfield, IL 62704");
+        patient.setEmergencyContact(String.format("+1-555-%07d", (id * 7) % 10_000_000));
+        patient.setBloodGroup(pick(BLOOD_GROUPS));
+        patient.setAllergies(random.nextInt(3) == 0 ? pick(ALLERGIES) + ", " + pick(ALLERGIES) : null);
+        patient.setMedicalHistory(clinicalText(1 + random.nextInt(4)));
+        String insurer = pick(INSURERS);
+        patient.setInsuranceProvider(insurer);
+        patient.setInsuranceNumber(insurer == null ? null : "INS-" + id);
+        LocalDateTime created = LocalDateTime.of(2020, 1, 1, 8, 0).plusMinutes(random.nextInt(2_000_000));
+        patient.setCreatedAt(created);
+        patient.setUpdatedAt(created.plusDays(random.nextInt(365)));
+        return patient;
+    }
+    
+    /**
+     * Appointments spread over a year of working days, 15-minute slots from 09:00
+     */
+    public List<Appointment> appointments(int count, int patients, int doctors) {
+        List<Appointment> appointments = new ArrayList<>(count);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 1; i <= count; i++) {
+            Appointment appointment = new Appointment(
+                    1L + random.nextInt(patients),
+                    1L + random.nextInt(doctors),
+                    start.plusDays(random.nextInt(365)),
+                    LocalTime.of(9, 0).plusMinutes(15L * random.nextInt(32)));
+            appointment.setId((long) i);
+            appointment.setStatus(Appointment.Status.values()[random.nextInt(Appointment.Status.values().length)]);
+            appointment.setReason(pick(REASONS));
+            appointment.setNotes(random.nextInt(2) == 0 ? null : clinicalText(1));
+            appointment.setCreatedAt(LocalDateTime.of(2023, 12, 1, 8, 0).plusMinutes(random.nextInt(500_000)));
+            appointment.setUpdatedAt(appointment.getCreatedAt());
+            appointments.add(appointment);
+        }
+        return appointments;
+    }
+    
+    private String clinicalText(int sentences) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(pick(CONDITIONS));
+        }
+        return text.toString();
+    }
+    
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
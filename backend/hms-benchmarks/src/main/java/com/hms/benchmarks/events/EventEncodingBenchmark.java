@@ -0,0 +1,92 @@
+package com.hms.benchmarks.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.common.logging.LogRecord;
+import com.hms.common.metrics.MetricRollup;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of the Kafka payloads the services publish: string entity events, metric rollup
+ * batches and log record batches, up to the bytes handed to the producer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventEncodingBenchmark {
+    
+    private final StringSerializer serializer = new StringSerializer();
+    private ObjectMapper objectMapper;
+    private List<MetricRollup> rollups;
+    private List<LogRecord> logRecords;
+    private long patientId;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        
+        rollups = new ArrayList<>();
+        double[] bounds = {1.0, 2.0, 5.0, 10.0, 25.0, 50.0, 100.0, 250.0};
+        long[] counts = {40, 120, 300, 220, 90, 20, 6, 1};
+        for (int i = 0; i < 200; i++) {
+            rollups.add(new MetricRollup("patient-service", "host-1:8082", "http.server.requests", "TIMER",
+                    "milliseconds", Map.of("method", "GET", "uri", "/api/v1/patients/{id}", "status", "200"),
+                    "1m", 1_700_000_000_000L + i * 60_000L, 797, 6420.5, 212.0, 8.05,
+                    5.0, 25.0, 50.0, 100.0, bounds, counts));
+        }
+        
+        logRecords = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            logRecords.add(new LogRecord("INFO", "Fetching patient with ID: " + i, "patient-service",
+                    "com.hms.patient.service.impl.PatientServiceImpl", null, null,
+                    "6f1c2d0e9a8b7c6d", Instant.ofEpochMilli(1_700_000_000_000L + i), Map.of("thread", "http-nio-8082-exec-7")));
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+    }
+    
+    @Benchmark
+    public byte[] entityEvent() {
+        return serializer.serialize("patient-events", "PATIENT_UPDATED:" + (++patientId));
+    }
+    
+    /**
+     * One metric-rollups message of the default batch size
+     */
+    @Benchmark
+    public byte[] metricRollupBatch() throws JsonProcessingException {
+        return serializer.serialize("metric-rollups", objectMapper.writeValueAsString(rollups));
+    }
+    
+    /**
+     * One system-logs message of the default batch size
+     */
+    @Benchmark
+    public byte[] logRecordBatch() throws JsonProcessingException {
+        return serializer.serialize("system-logs", objectMapper.writeValueAsString(logRecords));
+    }
+}
@@ -0,0 +1,96 @@
+package com.hms.benchmarks.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.hms.appointment.model.Appointment;
+import com.hms.benchmarks.data.SyntheticData;
+import com.hms.patient.dto.PatientDto;
+import com.hms.patient.dto.PatientSummaryDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the bodies the services exchange most, with the ObjectMapper
+ * configuration Spring Boot applies (java.time module, ISO dates), with and without the Blackbird
+ * module hms-common registers
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+    
+    @Param({"true", "false"})
+    private boolean blackbird;
+    
+    private ObjectMapper objectMapper;
+    private PatientDto patient;
+    private byte[] patientJson;
+    private Appointment appointment;
+    private byte[] appointmentJson;
+    private List<PatientSummaryDto> summaryPage;
+    
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        SyntheticData data = new SyntheticData(42L);
+        
+        patient = new PatientDto(data.patient(1L));
+        patientJson = objectMapper.writeValueAsBytes(patient);
+        appointment = data.appointments(1, 1000, 50).get(0);
+        appointmentJson = objectMapper.writeValueAsBytes(appointment);
+        summaryPage = data.patients(20).stream()
+                .map(p -> new PatientSummaryDto(p.getId(), p.getUserId(), p.getFirstName(), p.getLastName(),
+                        p.getDateOfBirth(), p.getGender(), p.getPhone(), p.getBloodGroup(), p.getInsuranceProvider()))
+                .toList();
+    }
+    
+    @Benchmark
+    public byte[] serializePatient() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(patient);
+    }
+    
+    @Benchmark
+    public PatientDto deserializePatient() throws IOException {
+        return objectMapper.readValue(patientJson, PatientDto.class);
+    }
+    
+    @Benchmark
+    public byte[] serializeAppointment() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointment);
+    }
+    
+    @Benchmark
+    public Appointment deserializeAppointment() throws IOException {
+        return objectMapper.readValue(appointmentJson, Appointment.class);
+    }
+    
+    /**
+     * One default-sized page of the patient listing
+     */
+    @Benchmark
+    public byte[] serializeSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+}
@@ -0,0 +1,68 @@
+package com.hms.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one operation, in microseconds.
+ *
+ * Response time runs from the request's intended start on the arrival schedule to its completion,
+ * so time spent waiting for a free connection or a stalled generator is counted (coordinated
+ * omission corrected). Service time runs from the actual send and shows what a closed-loop
+ * tool would have reported.
+ */
+final class EndpointStats {
+    
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+    
+    final String operation;
+    private final Recorder responseRecorder = new Recorder(HIGHEST_MICROS, 3);
+    private final Recorder serviceRecorder = new Recorder(HIGHEST_MICROS, 3);
+    private final Histogram responseTotal = new Histogram(HIGHEST_MICROS, 3);
+    private final Histogram serviceTotal = new Histogram(HIGHEST_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    
+    EndpointStats(String operation) {
+        this.operation = operation;
+    }
+    
+    void record(long intendedNanos, long sentNanos, long completedNanos, boolean success, boolean timedOut) {
+        responseRecorder.recordValue(Math.min(HIGHEST_MICROS, TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedNanos)));
+        serviceRecorder.recordValue(Math.min(HIGHEST_MICROS, TimeUnit.NANOSECONDS.toMicros(completedNanos - sentNanos)));
+        if (timedOut) {
+            timeouts.increment();
+        } else if (!success) {
+            errors.increment();
+        }
+    }
+    
+    /**
+     * Response times since the previous call, also folded into the run totals; one thread at a time
+     */
+    Histogram interval() {
+        Histogram interval = responseRecorder.getIntervalHistogram();
+        responseTotal.add(interval);
+        serviceTotal.add(serviceRecorder.getIntervalHistogram());
+        return interval;
+    }
+    
+    Histogram responseTotal() {
+        return responseTotal;
+    }
+    
+    Histogram serviceTotal() {
+        return serviceTotal;
+    }
+    
+    long errors() {
+        return errors.sum();
+    }
+    
+    long timeouts() {
+        return timeouts.sum();
+    }
+}
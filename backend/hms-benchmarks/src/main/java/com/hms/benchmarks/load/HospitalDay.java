@@ -0,0 +1,79 @@
+package com.hms.benchmarks.load;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A hospital day compressed into the run duration: a sequence of phases, each with its own
+ * arrival rate (requests per second at multiplier 1) for every operation.
+ */
+final class HospitalDay {
+    
+    /**
+     * A slice of the day; {@code share} is its fraction of the run duration
+     */
+    record Phase(String name, double share, Map<String, Double> rates) {
+    }
+    
+    private static final String[] NAME_PREFIXES = {"Smi", "Joh", "Wil", "Bro", "Gar", "Mil", "Dav", "Mar"};
+    private static final String[] REASONS = {"Check-up", "Follow-up", "Lab results", "Back pain", "Medication review"};
+    
+    final List<Operation> operations;
+    final List<Phase> phases;
+    
+    HospitalDay(long patientIds, long doctorIds) {
+        operations = List.of(
+                Operation.post("register-patient", "patients", (r, n) -> "",
+                        (r, n) -> "{\"userId\":" + (patientIds + n) + ",\"firstName\":\"Load\",\"lastName\":\"Patient" + n
+                                + "\",\"dateOfBirth\":\"" + LocalDate.of(1950, 1, 1).plusDays(r.nextInt(25_000))
+                                + "\",\"gender\":\"" + (r.nextBoolean() ? "MALE" : "FEMALE")
+                                + "\",\"phone\":\"+15559" + String.format("%06d", n % 1_000_000) + "\"}"),
+                Operation.get("get-patient", "patients", (r, n) -> "/" + (1 + r.nextLong(patientIds))),
+                Operation.get("search-patients", "patients",
+                        (r, n) -> "/search?name=" + NAME_PREFIXES[r.nextInt(NAME_PREFIXES.length)]),
+                Operation.get("list-patients", "patients", (r, n) -> "/keyset?size=20"),
+                Operation.get("patient-overview", "patients", (r, n) -> "/" + (1 + r.nextLong(patientIds)) + "/overview"),
+                Operation.get("list-doctors", "doctors", (r, n) -> "?page=" + r.nextInt(10) + "&size=20"),
+                Operation.get("get-doctor", "doctors", (r, n) -> "/" + (1 + r.nextLong(doctorIds))),
+                Operation.post("book-appointment", "appointments", (r, n) -> "",
+                        (r, n) -> "{\"patientId\":" + (1 + r.nextLong(patientIds)) + ",\"doctorId\":" + (1 + r.nextLong(doctorIds))
+                                + ",\"appointmentDate\":\"" + LocalDate.now().plusDays(1 + r.nextInt(14))
+                                + "\",\"appointmentTime\":\"" + LocalTime.of(9, 0).plusMinutes(15L * r.nextInt(32))
+                                + "\",\"reason\":\"" + REASONS[r.nextInt(REASONS.length)] + "\"}"),
+                Operation.get("patient-appointments", "appointments", (r, n) -> "/patient/" + (1 + r.nextLong(patientIds))),
+                Operation.post("create-bill", "bills", (r, n) -> "",
+                        (r, n) -> "{\"patientId\":" + (1 + r.nextLong(patientIds)) + ",\"totalAmount\":"
+                                + (50 + r.nextInt(950)) + ".00}"),
+                Operation.post("pay-bill", "bills", (r, n) -> "/" + (1 + r.nextLong(patientIds)) + "/pay",
+                        (r, n) -> "{\"paymentMethod\":\"CARD\"}"),
+                Operation.get("patient-bills", "bills", (r, n) -> "/patient/" + (1 + r.nextLong(patientIds))),
+                Operation.post("send-notification", "notifications", (r, n) -> "",
+                        (r, n) -> "{\"userId\":" + (1 + r.nextLong(patientIds))
+                                + ",\"type\":\"REMINDER\",\"title\":\"Appointment tomorrow\",\"message\":\"See you at 09:30\"}"));
+        
+        phases = List.of(
+                new Phase("opening", 0.15, Map.of(
+                        "register-patient", 5.0, "get-patient", 20.0, "search-patients", 10.0,
+                        "list-doctors", 10.0, "patient-appointments", 5.0)),
+                new Phase("booking-rush", 0.15, Map.of(
+                        "book-appointment", 40.0, "list-doctors", 30.0, "get-doctor", 20.0, "get-patient", 20.0,
+                        "search-patients", 15.0, "patient-appointments", 20.0)),
+                new Phase("clinic-hours", 0.40, Map.of(
+                        "get-patient", 40.0, "patient-overview", 15.0, "search-patients", 10.0, "list-patients", 5.0,
+                        "patient-appointments", 15.0, "book-appointment", 5.0, "create-bill", 5.0, "get-doctor", 5.0)),
+                new Phase("billing-close", 0.15, Map.of(
+                        "create-bill", 25.0, "pay-bill", 15.0, "patient-bills", 20.0, "get-patient", 10.0)),
+                new Phase("reminder-burst", 0.15, Map.of(
+                        "send-notification", 80.0, "patient-appointments", 20.0, "get-patient", 5.0)));
+    }
+    
+    /**
+     * Random source for one operation, derived from the run seed so each operation's stream is reproducible
+     */
+    static SplittableRandom randomFor(long seed, int operationIndex) {
+        return new SplittableRandom(seed * 31 + operationIndex);
+    }
+}
@@ -0,0 +1,66 @@
+package com.hms.benchmarks.load;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+
+/**
+ * Entry point of the load generator: {@code mvn exec:exec@load -Dload.args="--duration=PT5M --label=baseline"}.
+ *
+ * Drives a synthetic hospital day against the gateway (or individual services and stand-ins) on
+ * an open-loop schedule, prints per-operation latencies and writes them to
+ * {@code <report-dir>/<label>-<timestamp>.json}. With {@code --compare=before.json,after.json} it
+ * only prints the difference between two earlier reports.
+ */
+public final class LoadGeneratorMain {
+    
+    private LoadGeneratorMain() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            if (arg.startsWith("--compare=")) {
+                String[] files = arg.substring("--compare=".length()).split(",");
+                if (files.length != 2) {
+                    throw new IllegalArgumentException("--compare expects two report files");
+                }
+                LoadReport.compare(LoadReport.read(Path.of(files[0])), LoadReport.read(Path.of(files[1])));
+                return;
+            }
+        }
+        
+        LoadOptions options = LoadOptions.parse(args);
+        HospitalDay day = new HospitalDay(options.patientIds, options.doctorIds);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+        
+        System.out.printf("Load generator: %s warm-up, %s measured, rate x%.2f, stand-ins %s%n",
+                options.warmup, options.duration, options.rateMultiplier,
+                options.standIns.isEmpty() ? "none" : options.standIns);
+        
+        Instant startedAt = Instant.now();
+        OpenLoopRunner runner = new OpenLoopRunner(day, options, client);
+        if (options.standIns.isEmpty()) {
+            runner.run();
+        } else {
+            try (StandInServer ignored = new StandInServer(options)) {
+                runner.run();
+            }
+        }
+        
+        LoadReport report = LoadReport.of(options, startedAt, runner.stats());
+        report.print();
+        Path file = options.reportDirectory.resolve(options.label + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        report.write(file);
+        System.out.println("\nReport written to " + file.toAbsolutePath());
+        System.exit(0);
+    }
+}
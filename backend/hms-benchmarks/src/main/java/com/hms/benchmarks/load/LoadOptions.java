@@ -0,0 +1,94 @@
+package com.hms.benchmarks.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line of the load generator, as {@code --name=value} pairs.
+ *
+ * Requests go through the gateway by default (paths {@code /api/<resource>/...}). Per-service URLs
+ * ({@code --patients-url=...}) send a resource straight to a service instead (paths
+ * {@code /api/v1/<resource>/...}), and {@code --stand-ins=doctors,bills} serves resources from
+ * the built-in stand-in server.
+ */
+final class LoadOptions {
+    
+    static final List<String> RESOURCES = List.of("patients", "doctors", "appointments", "bills", "notifications");
+    
+    final String gatewayUrl;
+    final Map<String, String> directUrls = new LinkedHashMap<>();
+    final Set<String> standIns;
+    final int standInPort;
+    final int standInThreads;
+    final double standInMedianMillis;
+    final Duration duration;
+    final Duration warmup;
+    final double rateMultiplier;
+    final int maxInFlight;
+    final Duration requestTimeout;
+    final String token;
+    final long seed;
+    final long patientIds;
+    final long doctorIds;
+    final Path reportDirectory;
+    final String label;
+    
+    private LoadOptions(Map<String, String> args) {
+        gatewayUrl = args.getOrDefault("gateway", "http://localhost:8080");
+        for (String resource : RESOURCES) {
+            String url = args.get(resource + "-url");
+            if (url != null) {
+                directUrls.put(resource, url);
+            }
+        }
+        standIns = Set.copyOf(List.of(args.getOrDefault("stand-ins", "").split(",")).stream()
+                .filter(resource -> !resource.isBlank())
+                .toList());
+        for (String resource : standIns) {
+            if (!RESOURCES.contains(resource)) {
+                throw new IllegalArgumentException("Unknown stand-in resource: " + resource);
+            }
+        }
+        standInPort = Integer.parseInt(args.getOrDefault("stand-in-port", "18080"));
+        standInThreads = Integer.parseInt(args.getOrDefault("stand-in-threads", "64"));
+        standInMedianMillis = Double.parseDouble(args.getOrDefault("stand-in-median-ms", "8"));
+        duration = Duration.parse(args.getOrDefault("duration", "PT10M"));
+        warmup = Duration.parse(args.getOrDefault("warmup", "PT30S"));
+        rateMultiplier = Double.parseDouble(args.getOrDefault("rate-multiplier", "1.0"));
+        maxInFlight = Integer.parseInt(args.getOrDefault("max-in-flight", "512"));
+        requestTimeout = Duration.parse(args.getOrDefault("request-timeout", "PT10S"));
+        token = args.get("token");
+        seed = Long.parseLong(args.getOrDefault("seed", "42"));
+        patientIds = Long.parseLong(args.getOrDefault("patient-ids", "10000"));
+        doctorIds = Long.parseLong(args.getOrDefault("doctor-ids", "200"));
+        reportDirectory = Path.of(args.getOrDefault("report-dir", "target/load-reports"));
+        label = args.getOrDefault("label", "run");
+    }
+    
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadOptions(values);
+    }
+    
+    /**
+     * Base URL and path prefix for requests to a resource
+     */
+    String baseFor(String resource) {
+        if (standIns.contains(resource)) {
+            return "http://localhost:" + standInPort + "/api/v1/" + resource;
+        }
+        String direct = directUrls.get(resource);
+        return direct != null ? direct + "/api/v1/" + resource : gatewayUrl + "/api/" + resource;
+    }
+}
@@ -0,0 +1,133 @@
+package com.hms.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of one run, written as JSON so runs can be compared with {@code --compare=before.json,after.json}.
+ *
+ * Latencies are in milliseconds. Each endpoint also carries its full response-time histogram
+ * (HdrHistogram compressed, base64) for merging or plotting elsewhere.
+ */
+record LoadReport(
+        String label,
+        Instant startedAt,
+        long durationSeconds,
+        double rateMultiplier,
+        long seed,
+        Map<String, String> targets,
+        List<Endpoint> endpoints) {
+    
+    record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+        
+        static Latency of(Histogram histogram) {
+            return new Latency(millis(histogram.getValueAtPercentile(50.0)), millis(histogram.getValueAtPercentile(90.0)),
+                    millis(histogram.getValueAtPercentile(99.0)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()), Math.round(histogram.getMean()) / 1000.0);
+        }
+        
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+    
+    record Endpoint(
+            String operation,
+            long count,
+            long errors,
+            long timeouts,
+            double throughput,
+            Latency responseTime,
+            Latency serviceTime,
+            String responseHistogram) {
+    }
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    
+    static LoadReport of(LoadOptions options, Instant startedAt, Map<String, EndpointStats> stats) {
+        Map<String, String> targets = new LinkedHashMap<>();
+        for (String resource : LoadOptions.RESOURCES) {
+            targets.put(resource, options.standIns.contains(resource) ? "stand-in" : options.baseFor(resource));
+        }
+        List<Endpoint> endpoints = new ArrayList<>();
+        double seconds = options.duration.toMillis() / 1000.0;
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram response = endpoint.responseTotal();
+            if (response.getTotalCount() == 0) {
+                continue;
+            }
+            endpoints.add(new Endpoint(endpoint.operation, response.getTotalCount(), endpoint.errors(),
+                    endpoint.timeouts(), Math.round(response.getTotalCount() / seconds * 10) / 10.0,
+                    Latency.of(response), Latency.of(endpoint.serviceTotal()), encode(response)));
+        }
+        return new LoadReport(options.label, startedAt, options.duration.toSeconds(), options.rateMultiplier,
+                options.seed, targets, endpoints);
+    }
+    
+    static LoadReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+    
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        MAPPER.writeValue(path.toFile(), this);
+    }
+    
+    void print() {
+        System.out.printf("%n%s: %d s at x%.2f%n", label, durationSeconds, rateMultiplier);
+        System.out.printf("%-22s %9s %7s %8s %9s %9s %9s %9s | %9s %9s%n", "operation", "count", "errors",
+                "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "svc p50", "svc p99");
+        for (Endpoint e : endpoints) {
+            System.out.printf("%-22s %9d %7d %8.1f %9.2f %9.2f %9.2f %9.2f | %9.2f %9.2f%n", e.operation(), e.count(),
+                    e.errors() + e.timeouts(), e.throughput(), e.responseTime().p50(), e.responseTime().p99(),
+                    e.responseTime().p999(), e.responseTime().max(), e.serviceTime().p50(), e.serviceTime().p99());
+        }
+    }
+    
+    /**
+     * Print response-time deltas of {@code after} against {@code before}, per operation present in both
+     */
+    static void compare(LoadReport before, LoadReport after) {
+        System.out.printf("%n%s -> %s (response time, ms)%n", before.label(), after.label());
+        System.out.printf("%-22s %9s %9s %8s | %9s %9s %8s | %8s%n", "operation", "p50", "p50'", "change",
+                "p99", "p99'", "change", "errors'");
+        Map<String, Endpoint> baseline = new LinkedHashMap<>();
+        before.endpoints().forEach(e -> baseline.put(e.operation(), e));
+        for (Endpoint e : after.endpoints()) {
+            Endpoint b = baseline.get(e.operation());
+            if (b == null) {
+                continue;
+            }
+            System.out.printf("%-22s %9.2f %9.2f %7.1f%% | %9.2f %9.2f %7.1f%% | %8d%n", e.operation(),
+                    b.responseTime().p50(), e.responseTime().p50(), change(b.responseTime().p50(), e.responseTime().p50()),
+                    b.responseTime().p99(), e.responseTime().p99(), change(b.responseTime().p99(), e.responseTime().p99()),
+                    e.errors() + e.timeouts());
+        }
+    }
+    
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+    
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
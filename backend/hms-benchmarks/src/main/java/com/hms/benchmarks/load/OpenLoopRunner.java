@@ -0,0 +1,209 @@
+package com.hms.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Issues requests on a Poisson arrival schedule that does not depend on how fast responses come back.
+ *
+ * One thread walks the merged schedule of all operations and sends asynchronously. When
+ * {@code max-in-flight} requests are outstanding it waits for a slot; requests it could not send on
+ * time still have their latency measured from the scheduled instant.
+ */
+final class OpenLoopRunner {
+    
+    private record Arrival(long atNanos, int operation) {
+    }
+    
+    private final HospitalDay day;
+    private final LoadOptions options;
+    private final HttpClient client;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final Semaphore inFlight;
+    private final SplittableRandom arrivals;
+    private final SplittableRandom[] requestRandoms;
+    private final long[] sequence;
+    
+    private long measureFromNanos;
+    private long endNanos;
+    
+    OpenLoopRunner(HospitalDay day, LoadOptions options, HttpClient client) {
+        this.day = day;
+        this.options = options;
+        this.client = client;
+        this.inFlight = new Semaphore(options.maxInFlight);
+        this.arrivals = new SplittableRandom(options.seed);
+        this.requestRandoms = new SplittableRandom[day.operations.size()];
+        this.sequence = new long[day.operations.size()];
+        for (int i = 0; i < day.operations.size(); i++) {
+            requestRandoms[i] = HospitalDay.randomFor(options.seed, i);
+            stats.put(day.operations.get(i).name(), new EndpointStats(day.operations.get(i).name()));
+        }
+    }
+    
+    Map<String, EndpointStats> stats() {
+        return stats;
+    }
+    
+    /**
+     * Run the warm-up and the measured day, then wait for outstanding requests
+     */
+    void run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        measureFromNanos = startNanos + options.warmup.toNanos();
+        endNanos = measureFromNanos + options.duration.toNanos();
+        
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(this::printInterval, 10, 10, TimeUnit.SECONDS);
+        
+        PriorityQueue<Arrival> schedule = new PriorityQueue<>((a, b) -> Long.compare(a.atNanos(), b.atNanos()));
+        for (int i = 0; i < day.operations.size(); i++) {
+            long first = nextArrival(i, startNanos);
+            if (first < endNanos) {
+                schedule.add(new Arrival(first, i));
+            }
+        }
+        
+        while (!schedule.isEmpty()) {
+            Arrival arrival = schedule.poll();
+            long wait = arrival.atNanos() - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(arrival);
+            long next = nextArrival(arrival.operation(), arrival.atNanos());
+            if (next < endNanos) {
+                schedule.add(new Arrival(next, arrival.operation()));
+            }
+        }
+        
+        // Let outstanding requests complete or time out
+        inFlight.tryAcquire(options.maxInFlight, options.requestTimeout.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        reporter.shutdownNow();
+        // The run totals are plain Histograms: fold the last interval only once a running report has finished
+        if (!reporter.awaitTermination(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Interval reporter did not stop");
+        }
+        stats.values().forEach(EndpointStats::interval);
+    }
+    
+    private void send(Arrival arrival) throws InterruptedException {
+        Operation operation = day.operations.get(arrival.operation());
+        SplittableRandom random = requestRandoms[arrival.operation()];
+        long n = ++sequence[arrival.operation()];
+        
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create(options.baseFor(operation.resource()) + operation.path().apply(random, n)))
+                .timeout(options.requestTimeout)
+                .header("Accept", "application/json");
+        if (options.token != null) {
+            request.header("Authorization", "Bearer " + options.token);
+        }
+        if (operation.body() != null) {
+            request.header("Content-Type", "application/json")
+                    .method(operation.method(), HttpRequest.BodyPublishers.ofString(operation.body().apply(random, n)));
+        } else {
+            request.method(operation.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        
+        boolean measured = arrival.atNanos() >= measureFromNanos;
+        EndpointStats endpoint = stats.get(operation.name());
+        inFlight.acquire();
+        long sentNanos = System.nanoTime();
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long completedNanos = System.nanoTime();
+                    if (measured) {
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        endpoint.record(arrival.atNanos(), sentNanos, completedNanos,
+                                response != null && response.statusCode() < 400,
+                                cause instanceof HttpTimeoutException);
+                    }
+                    // Released after recording, so draining the permits at the end waits for the last record
+                    inFlight.release();
+                });
+    }
+    
+    /**
+     * Next Poisson arrival of an operation after {@code fromNanos}. Rates are piecewise constant over
+     * the phases; as arrivals are memoryless, a gap crossing a phase boundary is redrawn from there.
+     */
+    private long nextArrival(int operation, long fromNanos) {
+        String name = day.operations.get(operation).name();
+        long at = fromNanos;
+        while (at < endNanos) {
+            int phase = phaseAt(at);
+            double rate = day.phases.get(phase).rates().getOrDefault(name, 0.0) * options.rateMultiplier;
+            long phaseEnd = phaseEnd(phase, at);
+            if (rate > 0) {
+                long gap = (long) (-Math.log(1.0 - arrivals.nextDouble()) / rate * 1_000_000_000L);
+                if (at + gap < phaseEnd) {
+                    return at + gap;
+                }
+            }
+            at = phaseEnd;
+        }
+        return endNanos;
+    }
+    
+    /**
+     * Phase at a point in time; the warm-up runs at the rates of the first phase
+     */
+    private int phaseAt(long nanos) {
+        if (nanos < measureFromNanos) {
+            return 0;
+        }
+        double elapsed = (double) (nanos - measureFromNanos) / (endNanos - measureFromNanos);
+        double boundary = 0.0;
+        for (int i = 0; i < day.phases.size(); i++) {
+            boundary += day.phases.get(i).share();
+            if (elapsed < boundary) {
+                return i;
+            }
+        }
+        return day.phases.size() - 1;
+    }
+    
+    private long phaseEnd(int phase, long nanos) {
+        if (nanos < measureFromNanos) {
+            return measureFromNanos;
+        }
+        double boundary = 0.0;
+        for (int i = 0; i <= phase; i++) {
+            boundary += day.phases.get(i).share();
+        }
+        return Math.min(endNanos, measureFromNanos + (long) (boundary * (endNanos - measureFromNanos)));
+    }
+    
+    private void printInterval() {
+        long now = System.nanoTime();
+        String stage = now < measureFromNanos ? "warm-up" : day.phases.get(phaseAt(now)).name();
+        StringBuilder line = new StringBuilder(String.format("[%-14s] in flight %4d |", stage,
+                options.maxInFlight - inFlight.availablePermits()));
+        List<EndpointStats> active = stats.values().stream().toList();
+        for (EndpointStats endpoint : active) {
+            Histogram interval = endpoint.interval();
+            if (interval.getTotalCount() > 0) {
+                line.append(String.format(" %s %.0f/s p99 %.1fms |", endpoint.operation,
+                        interval.getTotalCount() / 10.0, interval.getValueAtPercentile(99.0) / 1000.0));
+            }
+        }
+        System.out.println(line);
+    }
+}
@@ -0,0 +1,25 @@
+package com.hms.benchmarks.load;
+
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * One kind of request in the simulated day. The path (relative to the resource) and body are built
+ * from the generator's random source, so a seed reproduces the same request mix.
+ */
+record Operation(
+        String name,
+        String resource,
+        String method,
+        BiFunction<SplittableRandom, Long, String> path,
+        BiFunction<SplittableRandom, Long, String> body) {
+    
+    static Operation get(String name, String resource, BiFunction<SplittableRandom, Long, String> path) {
+        return new Operation(name, resource, "GET", path, null);
+    }
+    
+    static Operation post(String name, String resource, BiFunction<SplittableRandom, Long, String> path,
+                          BiFunction<SplittableRandom, Long, String> body) {
+        return new Operation(name, resource, "POST", path, body);
+    }
+}
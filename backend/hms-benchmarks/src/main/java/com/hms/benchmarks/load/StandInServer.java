@@ -0,0 +1,81 @@
+package com.hms.benchmarks.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal HTTP server standing in for services that have no endpoints yet (or are not running).
+ *
+ * Answers every {@code /api/v1/<resource>} request with plausible JSON after a log-normal delay
+ * around the configured median, served by a fixed thread pool like a servlet container, so a
+ * stand-in saturates and queues under load instead of answering instantly.
+ */
+final class StandInServer implements AutoCloseable {
+    
+    /** Spread of the log-normal service time; sigma 0.5 puts p99 at about 3.2x the median */
+    private static final double SIGMA = 0.5;
+    
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final double medianMillis;
+    private final AtomicLong ids = new AtomicLong(1_000_000);
+    
+    StandInServer(LoadOptions options) throws IOException {
+        this.medianMillis = options.standInMedianMillis;
+        this.workers = Executors.newFixedThreadPool(options.standInThreads);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", options.standInPort), 1024);
+        server.setExecutor(workers);
+        server.createContext("/api/v1/", this::handle);
+        server.start();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream request = exchange.getRequestBody()) {
+            request.transferTo(OutputStream.nullOutputStream());
+            simulateWork();
+            
+            String path = exchange.getRequestURI().getPath();
+            String last = path.substring(path.lastIndexOf('/') + 1);
+            int status = 200;
+            String body;
+            if ("POST".equals(exchange.getRequestMethod())) {
+                status = path.endsWith("/pay") ? 200 : 201;
+                body = "{\"id\":" + ids.incrementAndGet() + ",\"status\":\"OK\"}";
+            } else if (!last.isEmpty() && last.chars().allMatch(Character::isDigit)) {
+                body = "{\"id\":" + last + ",\"status\":\"ACTIVE\"}";
+            } else {
+                body = "[]";
+            }
+            
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+    
+    private void simulateWork() {
+        long micros = (long) (medianMillis * 1000 * Math.exp(SIGMA * ThreadLocalRandom.current().nextGaussian()));
+        try {
+            Thread.sleep(micros / 1000, (int) (micros % 1000) * 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,119 @@
+package com.hms.benchmarks.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.common.logging.LogShipper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost on the logging thread of one framework DEBUG line and one INFO line, the per-request
+ * pattern of the services, under each logging setup.
+ *
+ * The shipping setup runs a real {@link LogShipper}, whose thread serializes every batch, with a
+ * KafkaTemplate that completes each send without a broker.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LogShippingBenchmark {
+    
+    /**
+     * debug-console: web DEBUG on, console only (before); info-console: web at INFO, console only;
+     * info-shipping: web at INFO, console plus shipping (after)
+     */
+    @Param({"debug-console", "info-console", "info-shipping"})
+    String setup;
+    
+    private LoggerContext context;
+    private LogShipper shipper;
+    private Logger webLogger;
+    private Logger serviceLogger;
+    
+    @Setup
+    public void setUp() {
+        // The context SLF4J is bound to, as in the services; a bare LoggerContext has no MDC adapter
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        webLogger = context.getLogger("org.springframework.web.servlet.DispatcherServlet");
+        webLogger.setLevel(setup.startsWith("debug") ? Level.DEBUG : Level.INFO);
+        serviceLogger = context.getLogger("com.hms.patient.service.impl.PatientServiceImpl");
+        
+        // The console pattern and encoder, writing to nowhere so only the logging cost is measured
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+        root.addAppender(console);
+        
+        if (setup.endsWith("shipping")) {
+            // The hms-defaults.yml shipping settings; start() attaches the appender to this context
+            shipper = new LogShipper(new DiscardingKafkaTemplate(), new ObjectMapper().findAndRegisterModules(),
+                    new SimpleMeterRegistry(), "INFO", 0.01, 100, 8192, 500, 524288, 200, "benchmark");
+            shipper.start();
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (shipper != null) {
+            shipper.destroy();
+        }
+        context.reset();
+    }
+    
+    @Benchmark
+    public void request() {
+        webLogger.debug("GET \"/api/v1/patients/{}\", parameters={}", 42L, "masked");
+        serviceLogger.info("Fetching patient with ID: {}", 42L);
+    }
+    
+    private static final class DiscardingKafkaTemplate extends KafkaTemplate<String, String> {
+        
+        DiscardingKafkaTemplate() {
+            super(() -> {
+                throw new UnsupportedOperationException("No broker in the benchmark");
+            });
+        }
+        
+        @Override
+        public CompletableFuture<SendResult<String, String>> send(String topic, String key, String data) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.hms.benchmarks.patient;
+
+import com.hms.benchmarks.data.SyntheticData;
+import com.hms.patient.dto.PatientDto;
+import com.hms.patient.dto.PatientSummaryDto;
+import com.hms.patient.model.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion as done on every patient read and write
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatientMappingBenchmark {
+    
+    @Param({"1000"})
+    int patients;
+    
+    private List<Patient> entities;
+    private List<PatientDto> dtos;
+    
+    @Setup
+    public void setUp() {
+        entities = new SyntheticData(42L).patients(patients);
+        dtos = entities.stream().map(PatientDto::new).toList();
+    }
+    
+    @Benchmark
+    public void entityToDto(Blackhole blackhole) {
+        for (Patient patient : entities) {
+            blackhole.consume(new PatientDto(patient));
+        }
+    }
+    
+    @Benchmark
+    public void dtoToEntity(Blackhole blackhole) {
+        for (PatientDto dto : dtos) {
+            blackhole.consume(dto.toEntity());
+        }
+    }
+    
+    @Benchmark
+    public void entityToSummary(Blackhole blackhole) {
+        for (Patient patient : entities) {
+            blackhole.consume(new PatientSummaryDto(patient.getId(), patient.getUserId(), patient.getFirstName(),
+                    patient.getLastName(), patient.getDateOfBirth(), patient.getGender(), patient.getPhone(),
+                    patient.getBloodGroup(), patient.getInsuranceProvider()));
+        }
+    }
+}
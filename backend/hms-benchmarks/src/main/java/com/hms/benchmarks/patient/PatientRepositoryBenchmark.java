@@ -0,0 +1,355 @@
+package com.hms.benchmarks.patient;
+
+import com.hms.benchmarks.data.SyntheticData;
+import com.hms.patient.dto.PatientDto;
+import com.hms.patient.dto.PatientSummaryDto;
+import com.hms.patient.model.Patient;
+import com.hms.patient.repository.PatientRepository;
+import com.hms.patient.repository.PatientRepositoryCustom;
+import com.hms.patient.repository.PatientSortField;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.MountableFile;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Patient reads against MySQL 8 in a container, seeded with synthetic patients through the real
+ * schema (database/mysql/schema.sql), so index choices match production.
+ *
+ * Needs Docker. Run with {@code -prof gc} to compare allocation per operation, e.g. entity reads
+ * against DTO projections. Benchmarks taking {@link ServerBytes} also print how many bytes MySQL
+ * sent per operation at the end of each iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatientRepositoryBenchmark {
+    
+    private static final int LIST_PAGE_SIZE = 100;
+    // Largest batch-get request
+    private static final int BATCH_SIZE = 500;
+    private static final String[] BLOOD_GROUPS = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
+    
+    @Param({"10000"})
+    int rows;
+    
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private PatientRepository patientRepository;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private final SplittableRandom random = new SplittableRandom(7L);
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        String schema = System.getProperty("hms.bench.schema", "../../database/mysql/schema.sql");
+        mysql = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("hms_db")
+                .withCopyFileToContainer(MountableFile.forHostPath(schema), "/docker-entrypoint-initdb.d/schema.sql");
+        mysql.start();
+        
+        context = new SpringApplicationBuilder(RepositoryBenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + mysql.getJdbcUrl() + "?rewriteBatchedStatements=true&useServerPrepStmts=true&cachePrepStmts=true",
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.jpa.open-in-view=false",
+                        "spring.cloud.discovery.enabled=false",
+                        "spring.cloud.config.enabled=false",
+                        "eureka.client.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        patientRepository = context.getBean(PatientRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        readOnly = new TransactionTemplate(context.getBean(org.springframework.transaction.PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        
+        seed(jdbcTemplate);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+    
+    /**
+     * The entity path: load the managed entity (and its lazy TEXT group) and map it
+     */
+    @Benchmark
+    public PatientDto findByIdAsEntity() {
+        return readOnly.execute(status -> patientRepository.findById(randomId()).map(PatientDto::new).orElseThrow());
+    }
+    
+    /**
+     * The projection path used by the single-patient reads
+     */
+    @Benchmark
+    public PatientDto findByIdAsProjection() {
+        return readOnly.execute(status -> patientRepository.findDetailsById(randomId()).orElseThrow());
+    }
+    
+    /**
+     * An offset page deep into the listing
+     */
+    @Benchmark
+    public List<PatientSummaryDto> offsetPage() {
+        int page = random.nextInt(rows / 20);
+        return readOnly.execute(status -> patientRepository.findAllSummaries(
+                PageRequest.of(page, 20, Sort.by("lastName", "id"))).getContent());
+    }
+    
+    /**
+     * The keyset page that replaces it
+     */
+    @Benchmark
+    public List<PatientRepositoryCustom.KeysetRow> keysetPage() {
+        long afterId = randomId();
+        return readOnly.execute(status -> patientRepository.findSummariesAfter(
+                PatientSortField.ID, false, afterId, afterId, 21));
+    }
+    
+    /**
+     * A listing page read as entities, the way list endpoints worked before the summary projection
+     */
+    @Benchmark
+    public List<PatientSummaryDto> listPageAsEntities(ServerBytes bytes) {
+        bytes.operation();
+        PageRequest page = PageRequest.of(random.nextInt(rows / LIST_PAGE_SIZE), LIST_PAGE_SIZE, Sort.by("lastName", "id"));
+        return readOnly.execute(status -> patientRepository.findAll(page).map(PatientRepositoryBenchmark::toSummary).getContent());
+    }
+    
+    /**
+     * The same page through SUMMARY_SELECT, which never reads the TEXT columns
+     */
+    @Benchmark
+    public List<PatientSummaryDto> listPageAsSummaries(ServerBytes bytes) {
+        bytes.operation();
+        PageRequest page = PageRequest.of(random.nextInt(rows / LIST_PAGE_SIZE), LIST_PAGE_SIZE, Sort.by("lastName", "id"));
+        return readOnly.execute(status -> patientRepository.findAllSummaries(page).getContent());
+    }
+    
+    /**
+     * An unpaged filter listing (about an eighth of the table) read as entities
+     */
+    @Benchmark
+    public List<PatientSummaryDto> bloodGroupAsEntities(ServerBytes bytes) {
+        bytes.operation();
+        String bloodGroup = BLOOD_GROUPS[random.nextInt(BLOOD_GROUPS.length)];
+        return readOnly.execute(status -> entityManager
+                .createQuery("SELECT p FROM Patient p WHERE p.bloodGroup = :bloodGroup", Patient.class)
+                .setParameter("bloodGroup", bloodGroup)
+                .getResultStream()
+                .map(PatientRepositoryBenchmark::toSummary)
+                .toList());
+    }
+    
+    /**
+     * The same listing through SUMMARY_SELECT
+     */
+    @Benchmark
+    public List<PatientSummaryDto> bloodGroupAsSummaries(ServerBytes bytes) {
+        bytes.operation();
+        String bloodGroup = BLOOD_GROUPS[random.nextInt(BLOOD_GROUPS.length)];
+        return readOnly.execute(status -> patientRepository.findSummariesByBloodGroup(bloodGroup));
+    }
+    
+    /**
+     * A batch-get read as entities: each one loads its lazy TEXT group on first access
+     */
+    @Benchmark
+    public List<PatientDto> batchDetailsAsEntities(ServerBytes bytes) {
+        bytes.operation();
+        List<Long> ids = randomIds(BATCH_SIZE);
+        return readOnly.execute(status -> patientRepository.findAllById(ids).stream().map(PatientDto::new).toList());
+    }
+    
+    /**
+     * The same batch through DETAIL_SELECT, every column in one statement
+     */
+    @Benchmark
+    public List<PatientDto> batchDetailsAsProjection(ServerBytes bytes) {
+        bytes.operation();
+        List<Long> ids = randomIds(BATCH_SIZE);
+        return readOnly.execute(status -> patientRepository.findDetailsByIdIn(ids));
+    }
+    
+    /**
+     * Every row as a managed entity, mapped to its summary
+     */
+    @Benchmark
+    public List<PatientSummaryDto> allAsEntities(ServerBytes bytes) {
+        bytes.operation();
+        return readOnly.execute(status -> entityManager.createQuery("SELECT p FROM Patient p", Patient.class)
+                .getResultStream()
+                .map(PatientRepositoryBenchmark::toSummary)
+                .toList());
+    }
+    
+    /**
+     * Every row through SUMMARY_SELECT
+     */
+    @Benchmark
+    public List<PatientSummaryDto> allAsSummaries(ServerBytes bytes) {
+        bytes.operation();
+        return readOnly.execute(status -> entityManager
+                .createQuery(PatientRepository.SUMMARY_SELECT, PatientSummaryDto.class)
+                .getResultList());
+    }
+    
+    /**
+     * Every row through DETAIL_SELECT, TEXT columns included
+     */
+    @Benchmark
+    public List<PatientDto> allAsDetails(ServerBytes bytes) {
+        bytes.operation();
+        return readOnly.execute(status -> entityManager
+                .createQuery(PatientRepository.DETAIL_SELECT, PatientDto.class)
+                .getResultList());
+    }
+    
+    /**
+     * Every patient summary through the streaming export query
+     */
+    @Benchmark
+    public void streamAll(Blackhole blackhole) {
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<PatientSummaryDto> summaries = patientRepository.streamSummaries(null, null)) {
+                summaries.forEach(blackhole::consume);
+            }
+        });
+    }
+    
+    private long randomId() {
+        return 1L + random.nextInt(rows);
+    }
+    
+    private List<Long> randomIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(randomId());
+        }
+        return ids;
+    }
+    
+    /**
+     * What a list endpoint returned from an entity: the summary fields only, so the lazy TEXT group stays unloaded
+     */
+    private static PatientSummaryDto toSummary(Patient patient) {
+        return new PatientSummaryDto(patient.getId(), patient.getUserId(), patient.getFirstName(), patient.getLastName(),
+                patient.getDateOfBirth(), patient.getGender(), patient.getPhone(), patient.getBloodGroup(),
+                patient.getInsuranceProvider());
+    }
+    
+    private void seed(JdbcTemplate jdbcTemplate) {
+        // schema.sql ships a few sample rows; benchmark data starts from an empty table
+        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
+        jdbcTemplate.execute("TRUNCATE TABLE patients");
+        jdbcTemplate.execute("TRUNCATE TABLE users");
+        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+        
+        List<Patient> patients = new SyntheticData(42L).patients(rows);
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password, role) VALUES (?, ?, ?, ?, 'PATIENT')",
+                patients, 1000, (statement, patient) -> {
+                    statement.setLong(1, patient.getUserId());
+                    statement.setString(2, "patient" + patient.getUserId());
+                    statement.setString(3, "patient" + patient.getUserId() + "@example.org");
+                    statement.setString(4, "{noop}benchmark");
+                });
+        jdbcTemplate.batchUpdate("INSERT INTO patients (id, user_id, first_name, last_name, date_of_birth, gender, phone,"
+                        + " address, emergency_contact, blood_group, allergies, medical_history, insurance_provider,"
+                        + " insurance_number, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                patients, 1000, (statement, patient) -> {
+                    statement.setLong(1, patient.getId());
+                    statement.setLong(2, patient.getUserId());
+                    statement.setString(3, patient.getFirstName());
+                    statement.setString(4, patient.getLastName());
+                    statement.setDate(5, Date.valueOf(patient.getDateOfBirth()));
+                    statement.setString(6, patient.getGender().name());
+                    statement.setString(7, patient.getPhone());
+                    statement.setString(8, patient.getAddress());
+                    statement.setString(9, patient.getEmergencyContact());
+                    statement.setString(10, patient.getBloodGroup());
+                    statement.setString(11, patient.getAllergies());
+                    statement.setString(12, patient.getMedicalHistory());
+                    statement.setString(13, patient.getInsuranceProvider());
+                    statement.setString(14, patient.getInsuranceNumber());
+                    statement.setTimestamp(15, Timestamp.valueOf(patient.getCreatedAt()));
+                    statement.setTimestamp(16, Timestamp.valueOf(patient.getUpdatedAt()));
+                });
+        jdbcTemplate.execute("ANALYZE TABLE patients");
+    }
+    
+    /**
+     * Bytes MySQL sent per operation over an iteration, from the server's global Bytes_sent counter.
+     * The benchmarks run in a single fork and thread, so nothing else is talking to the server.
+     */
+    @State(Scope.Thread)
+    public static class ServerBytes {
+        
+        private JdbcTemplate jdbcTemplate;
+        private long startBytes;
+        private long operations;
+        
+        @Setup(Level.Iteration)
+        public void start(PatientRepositoryBenchmark benchmark) {
+            jdbcTemplate = benchmark.jdbcTemplate;
+            startBytes = bytesSent();
+            operations = 0;
+        }
+        
+        void operation() {
+            operations++;
+        }
+        
+        @TearDown(Level.Iteration)
+        public void report() {
+            if (operations > 0) {
+                System.out.printf("%n  MySQL bytes sent: %,d per op%n", (bytesSent() - startBytes) / operations);
+            }
+        }
+        
+        private long bytesSent() {
+            return jdbcTemplate.query("SHOW GLOBAL STATUS LIKE 'Bytes_sent'", rs -> rs.next() ? rs.getLong(2) : 0L);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.hms.benchmarks.patient;
+
+import com.hms.patient.model.Patient;
+import com.hms.patient.repository.PatientRepository;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Just the JPA slice of patient-service: its entities and repositories on a plain datasource,
+ * without web, Kafka, Mongo or discovery
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {
+        MongoAutoConfiguration.class,
+        MongoDataAutoConfiguration.class,
+        MongoRepositoriesAutoConfiguration.class,
+        KafkaAutoConfiguration.class})
+@EntityScan(basePackageClasses = Patient.class)
+@EnableJpaRepositories(basePackageClasses = PatientRepository.class)
+class RepositoryBenchmarkApplication {
+}
@@ -0,0 +1,137 @@
+package com.hms.benchmarks.startup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request and memory footprint of a service start command, e.g. a JVM jar against a
+ * native image of the same service:
+ * {@code mvn exec:exec@startup -Dstartup.args="--label=jvm --url=http://localhost:8080/actuator/health -- java -jar app.jar"}.
+ *
+ * Each run starts the command, polls the URL until any HTTP response comes back and reads the
+ * process RSS at that moment and again after a burst of requests. Linux only (RSS comes from /proc).
+ */
+public final class StartupBenchmarkMain {
+    
+    private record Run(long firstResponseMillis, long rssAtFirstResponseKb, long rssAfterRequestsKb) {
+    }
+    
+    private StartupBenchmarkMain() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            throw new IllegalArgumentException("Usage: [--name=value ...] -- <command to start the service>");
+        }
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : Arrays.copyOfRange(args, 0, separator)) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        List<String> command = List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+        
+        String label = options.getOrDefault("label", "run");
+        URI url = URI.create(options.getOrDefault("url", "http://localhost:8080/actuator/health"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "200"));
+        Duration timeout = Duration.parse(options.getOrDefault("timeout", "PT3M"));
+        Path logDirectory = Path.of(options.getOrDefault("log-dir", "target/startup-logs"));
+        Files.createDirectories(logDirectory);
+        
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        if (respond(client, url)) {
+            throw new IllegalStateException(url + " already answers; stop whatever is running there first");
+        }
+        
+        List<Run> results = new ArrayList<>();
+        for (int i = 1; i <= runs; i++) {
+            Path log = logDirectory.resolve(label + "-" + i + ".log");
+            Run run = measure(client, url, command, requests, timeout, log);
+            results.add(run);
+            System.out.printf("%s run %d: first response %d ms, RSS %d MB, RSS after %d requests %d MB%n", label, i,
+                    run.firstResponseMillis(), run.rssAtFirstResponseKb() / 1024, requests, run.rssAfterRequestsKb() / 1024);
+        }
+        
+        System.out.printf("%n%-12s %6s %12s %12s %12s %14s %14s%n", "label", "runs", "first p50 ms", "min ms", "max ms",
+                "RSS p50 MB", "RSS warm MB");
+        System.out.printf("%-12s %6d %12d %12d %12d %14d %14d%n", label, runs,
+                median(results.stream().mapToLong(Run::firstResponseMillis).toArray()),
+                results.stream().mapToLong(Run::firstResponseMillis).min().orElse(0),
+                results.stream().mapToLong(Run::firstResponseMillis).max().orElse(0),
+                median(results.stream().mapToLong(Run::rssAtFirstResponseKb).toArray()) / 1024,
+                median(results.stream().mapToLong(Run::rssAfterRequestsKb).toArray()) / 1024);
+    }
+    
+    private static Run measure(HttpClient client, URI url, List<String> command, int requests, Duration timeout, Path log)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (!respond(client, url)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Service exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("No response from " + url + " within " + timeout + ", see " + log);
+                }
+                Thread.sleep(20);
+            }
+            long firstResponse = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long rssAtFirstResponse = rssKb(process.pid());
+            for (int i = 0; i < requests; i++) {
+                respond(client, url);
+            }
+            return new Run(firstResponse, rssAtFirstResponse, rssKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+    
+    /**
+     * Whether the URL produced any HTTP response; the status does not matter, only that requests are served
+     */
+    private static boolean respond(HttpClient client, URI url) throws InterruptedException {
+        try {
+            client.send(HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    private static long rssKb(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return 0;
+    }
+    
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted.length == 0 ? 0 : sorted[sorted.length / 2];
+    }
+}
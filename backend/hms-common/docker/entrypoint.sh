@@ -0,0 +1,55 @@
+#!/bin/sh
+# Starts an HMS service from its unpacked executable jar with the shared JVM tuning.
+#
+#   JAVA_HEAP_OPTS  heap sized from the container memory limit instead of the host's
+#   JAVA_GC_OPTS    collector choice
+#   JAVA_OPTS       anything else; comes last, so it can override both
+#   HMS_AOT         auto (default): use the Spring AOT initializers when the jar was built with -Pnative
+#                   off: evaluate the configuration at startup as usual
+#   HMS_CDS         on (default): use the AppCDS archive baked into the image when it matches
+#                   off: ignore the archive
+#                   dump: run up to the end of context refresh and write the archive (image build only)
+set -e
+cd "${APP_HOME:-/app}"
+
+# Heap proportional to the container limit; the rest is left for metaspace, thread stacks,
+# direct buffers (Kafka, Netty) and the code cache. A small initial heap keeps idle replicas lean,
+# G1 grows it on demand
+: "${JAVA_HEAP_OPTS:=-XX:InitialRAMPercentage=10 -XX:MaxRAMPercentage=70}"
+# G1 regardless of container size: with under 2 CPUs or 1792 MB the JVM would otherwise pick
+# Serial, whose full pauses show up directly in request latency
+: "${JAVA_GC_OPTS:=-XX:+UseG1GC -XX:MaxGCPauseMillis=100 -XX:+UseStringDeduplication}"
+: "${HMS_AOT:=auto}"
+: "${HMS_CDS:=on}"
+
+START_CLASS=$(sed -n 's/^Start-Class: *//p' META-INF/MANIFEST.MF | tr -d '\r')
+# Same order as the Boot launcher; an AppCDS archive only applies to the exact class path it was dumped with.
+# The service's own classes are re-jarred at image build time because CDS rejects class directories.
+CLASS_PATH="application.jar$(sed -n 's/^- "\(.*\)"$/:\1/p' BOOT-INF/classpath.idx | tr -d '\n')"
+
+# An AOT-processed jar has its bean definitions generated at build time: no condition evaluation or
+# configuration class parsing at startup. The conditions were fixed by the build, see the README
+AOT_OPTS=""
+if [ "$HMS_AOT" = auto ] && grep -q '^Spring-Boot-Native-Processed: true' META-INF/MANIFEST.MF; then
+    AOT_OPTS="-Dspring.aot.enabled=true"
+fi
+
+CDS_OPTS=""
+case "$HMS_CDS" in
+    on)
+        if [ -f app.jsa ]; then
+            CDS_OPTS="-XX:SharedArchiveFile=app.jsa -Xshare:auto"
+        fi
+        ;;
+    dump)
+        # Training run: load every class the context needs, without touching MySQL, Eureka or Config Server
+        CDS_OPTS="-XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh \
+            -Dspring.jpa.hibernate.ddl-auto=none \
+            -Dspring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false \
+            -Deureka.client.enabled=false \
+            -Dspring.cloud.config.enabled=false"
+        ;;
+esac
+
+exec java $JAVA_HEAP_OPTS $JAVA_GC_OPTS -XX:+ExitOnOutOfMemoryError $AOT_OPTS $CDS_OPTS $JAVA_OPTS \
+    -cp "$CLASS_PATH" "$START_CLASS" "$@"
@@ -0,0 +1,23 @@
+package com.hms.common.config;
+
+import com.hms.common.logging.LogRecord;
+import com.hms.common.metrics.MetricRollup;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native image hints for hms-common, registered through {@code META-INF/spring/aot.factories}
+ */
+public class HmsCommonRuntimeHints implements RuntimeHintsRegistrar {
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Read by HmsDefaultsEnvironmentPostProcessor; only application*.yml is included by default
+        hints.resources().registerPattern("hms-defaults.yml");
+        
+        // Serialized to Kafka by an ObjectMapper the AOT processing never sees
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                MetricRollup.class, LogRecord.class);
+    }
+}
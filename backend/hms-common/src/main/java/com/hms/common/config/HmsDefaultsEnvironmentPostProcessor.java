@@ -0,0 +1,51 @@
+package com.hms.common.config;
+
+import org.springframework.boot.DefaultPropertiesPropertySource;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Adds {@code hms-defaults.yml} from hms-common below every other property source.
+ *
+ * The services share their Jackson, Kafka, Hikari and JPA tuning through it and only declare what
+ * differs (pool size, consumer group, ...). Anything in a service's application.yml, profile,
+ * environment variable or command line still wins.
+ */
+public class HmsDefaultsEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+    
+    public static final String PROPERTY_SOURCE_NAME = "hmsDefaults";
+    
+    private static final String DEFAULTS_LOCATION = "hms-defaults.yml";
+    
+    private final YamlPropertySourceLoader loader = new YamlPropertySourceLoader();
+    
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Resource defaults = new ClassPathResource(DEFAULTS_LOCATION, HmsDefaultsEnvironmentPostProcessor.class.getClassLoader());
+        if (!defaults.exists() || environment.getPropertySources().contains(PROPERTY_SOURCE_NAME)) {
+            return;
+        }
+        try {
+            List<PropertySource<?>> sources = loader.load(PROPERTY_SOURCE_NAME, defaults);
+            sources.forEach(environment.getPropertySources()::addLast);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load " + DEFAULTS_LOCATION, e);
+        }
+        // SpringApplication#setDefaultProperties stays the last resort
+        DefaultPropertiesPropertySource.moveToEnd(environment);
+    }
+    
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
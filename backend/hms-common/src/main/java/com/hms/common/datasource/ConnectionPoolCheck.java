@@ -0,0 +1,68 @@
+package com.hms.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Warns at startup when the connection pool cannot be backed by the database.
+ *
+ * All services share one MySQL instance, so a pool that fits on its own can still push the
+ * total over {@code max_connections} once every service and replica is running. Registered by
+ * {@link ConnectionPoolCheckAutoConfiguration} in every service that has a Hikari pool.
+ */
+public class ConnectionPoolCheck {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolCheck.class);
+    
+    private final DataSource dataSource;
+    private final int expectedInstances;
+    
+    public ConnectionPoolCheck(DataSource dataSource, int expectedInstances) {
+        this.dataSource = dataSource;
+        this.expectedInstances = expectedInstances;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkPoolSize() {
+        try {
+            // Unwrap so the check still finds the pool behind routing or lazy proxies
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return;
+            }
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            Integer maxConnections = jdbcTemplate.queryForObject("SELECT @@max_connections", Integer.class);
+            Integer connected = jdbcTemplate.queryForObject(
+                    "SELECT VARIABLE_VALUE FROM performance_schema.global_status WHERE VARIABLE_NAME = 'Threads_connected'",
+                    Integer.class);
+            if (maxConnections == null || connected == null) {
+                return;
+            }
+            
+            int poolSize = hikari.getMaximumPoolSize();
+            int required = poolSize * expectedInstances;
+            int open = hikari.getHikariPoolMXBean() == null ? 0 : hikari.getHikariPoolMXBean().getTotalConnections();
+            int available = maxConnections - connected + open;
+            
+            if (required > maxConnections) {
+                logger.warn("Connection pool {} needs {} connections ({} x {} instances) but MySQL max_connections is {}",
+                        hikari.getPoolName(), required, poolSize, expectedInstances, maxConnections);
+            } else if (required > available) {
+                logger.warn("Connection pool {} needs {} connections but only {} of {} are free on MySQL right now",
+                        hikari.getPoolName(), required, available, maxConnections);
+            } else {
+                logger.info("Connection pool {}: {} connections x {} instances, MySQL max_connections={}, connected={}",
+                        hikari.getPoolName(), poolSize, expectedInstances, maxConnections, connected);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not verify connection pool size against the database: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.hms.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Startup pool size check for services with a Hikari pool; the gateway has none and skips it
+ */
+@AutoConfiguration(after = DataSourceAutoConfiguration.class)
+@ConditionalOnClass({HikariDataSource.class, JdbcTemplate.class})
+@ConditionalOnSingleCandidate(DataSource.class)
+public class ConnectionPoolCheckAutoConfiguration {
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public ConnectionPoolCheck connectionPoolCheck(DataSource dataSource,
+                                                   @Value("${hms.datasource.expected-instances:1}") int expectedInstances) {
+        return new ConnectionPoolCheck(dataSource, expectedInstances);
+    }
+}
@@ -0,0 +1,30 @@
+package com.hms.common.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the Blackbird module with the Spring-managed ObjectMapper when
+ * {@code hms.jackson.blackbird.enabled=true}.
+ *
+ * Blackbird replaces reflective getter, setter and constructor calls with generated lambdas.
+ * Whether that pays off depends on the payload and the JIT; JsonBenchmark measures both mappers,
+ * so enable it per service once it wins on the target hardware.
+ */
+@AutoConfiguration(before = JacksonAutoConfiguration.class)
+@ConditionalOnClass({ObjectMapper.class, BlackbirdModule.class})
+@ConditionalOnProperty(prefix = "hms.jackson.blackbird", name = "enabled", havingValue = "true")
+public class JacksonTuningAutoConfiguration {
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
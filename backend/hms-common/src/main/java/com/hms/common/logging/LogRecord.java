@@ -0,0 +1,20 @@
+package com.hms.common.logging;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Structured log event as published on system-logs, shaped like the system_logs collection.
+ * {@code requestId} is the trace id of the request the event was logged in, when there is one.
+ */
+public record LogRecord(
+        String level,
+        String message,
+        String service,
+        String className,
+        String stackTrace,
+        Long userId,
+        String requestId,
+        Instant timestamp,
+        Map<String, String> metadata) {
+}
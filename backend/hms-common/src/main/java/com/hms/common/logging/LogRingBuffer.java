@@ -0,0 +1,86 @@
+package com.hms.common.logging;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer.
+ *
+ * Each slot carries a sequence number: a producer claims the tail with a CAS when the slot's
+ * sequence says it is free, writes the item and then publishes it by advancing the sequence.
+ * A full buffer fails the offer immediately, so logging threads never wait on the shipper.
+ */
+final class LogRingBuffer<T> {
+    
+    private final Object[] items;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    
+    // Only the consumer thread moves the head; volatile so size() can be read from other threads
+    private volatile long head;
+    
+    LogRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.items = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+    
+    /**
+     * Add an item, or return false at once when the buffer is full
+     */
+    boolean offer(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items[index] = item;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+    
+    /**
+     * Move up to {@code max} published items into {@code target}; consumer thread only
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<T> target, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            target.add((T) items[index]);
+            items[index] = null;
+            sequences.set(index, head + items.length);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+    
+    int capacity() {
+        return items.length;
+    }
+    
+    int size() {
+        return (int) Math.max(0L, tail.get() - head);
+    }
+}
@@ -0,0 +1,224 @@
+package com.hms.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ships structured log events to the system_logs collection without slowing down the code that logs.
+ *
+ * A {@link LogShippingAppender} on the root logger fills a ring buffer; one daemon thread drains it
+ * in batches, turns events into {@link LogRecord}s and publishes each batch on system-logs, where
+ * the audit service bulk-inserts it. A batch is split into messages of at most max-batch-bytes of
+ * JSON so stack traces cannot push a message past the producer's max.request.size. Console logging
+ * is unaffected.
+ *
+ * Registered by {@link LogShippingAutoConfiguration} unless {@code hms.logging.shipping.enabled=false}.
+ */
+public class LogShipper implements DisposableBean {
+    
+    public static final String TOPIC = "system-logs";
+    
+    private static final String APPENDER_NAME = "SYSTEM_LOGS";
+    
+    private static final Logger logger = LoggerFactory.getLogger(LogShipper.class);
+    
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxBatchBytes;
+    private final long idleWaitNanos;
+    private final String service;
+    private final LogRingBuffer<ILoggingEvent> buffer;
+    private final LogShippingAppender appender;
+    private final Counter shipped;
+    private final Counter dropped;
+    
+    private volatile boolean running;
+    private Thread thread;
+    
+    @Autowired
+    public LogShipper(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry,
+                      @Value("${hms.logging.shipping.level:INFO}") String level,
+                      @Value("${hms.logging.shipping.debug-sample-rate:0.01}") double debugSampleRate,
+                      @Value("${hms.logging.shipping.per-logger-rate:100}") int perLoggerRate,
+                      @Value("${hms.logging.shipping.buffer-size:8192}") int bufferSize,
+                      @Value("${hms.logging.shipping.batch-size:500}") int batchSize,
+                      @Value("${hms.logging.shipping.max-batch-bytes:524288}") int maxBatchBytes,
+                      @Value("${hms.logging.shipping.idle-wait-ms:200}") long idleWaitMs,
+                      @Value("${spring.application.name}") String service) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxBatchBytes = maxBatchBytes;
+        this.idleWaitNanos = TimeUnit.MILLISECONDS.toNanos(idleWaitMs);
+        this.service = service;
+        this.buffer = new LogRingBuffer<>(bufferSize);
+        
+        this.shipped = outcome(meterRegistry, "shipped");
+        this.dropped = outcome(meterRegistry, "dropped");
+        this.appender = new LogShippingAppender(buffer, Level.toLevel(level, Level.INFO), debugSampleRate,
+                perLoggerRate,
+                // The shipping path itself must not be shipped
+                List.of("org.apache.kafka", "org.springframework.kafka", LogShipper.class.getPackageName()),
+                outcome(meterRegistry, "sampled"),
+                outcome(meterRegistry, "rate_limited"),
+                dropped);
+        Gauge.builder("hms.logging.shipping.buffer", buffer, LogRingBuffer::size)
+                .description("Log events waiting to be shipped")
+                .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "log-shipper");
+        thread.setDaemon(true);
+        appender.setShipperThread(thread);
+        thread.start();
+        
+        appender.setContext(context);
+        appender.setName(APPENDER_NAME);
+        appender.start();
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        logger.info("Shipping logs to {} through a {}-event buffer", TOPIC, buffer.capacity());
+    }
+    
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).detachAppender(APPENDER_NAME);
+        }
+        appender.stop();
+        running = false;
+        // The loop ships whatever is left in the buffer before it exits
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+    
+    private void run() {
+        List<ILoggingEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            batch.clear();
+            if (buffer.drainTo(batch, batchSize) > 0) {
+                publish(batch);
+            } else if (running) {
+                LockSupport.parkNanos(idleWaitNanos);
+            } else {
+                return;
+            }
+        }
+    }
+    
+    void publish(List<ILoggingEvent> events) {
+        // Each message is a JSON array of records, closed before it would grow past maxBatchBytes
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+        int count = 0;
+        for (ILoggingEvent event : events) {
+            byte[] record;
+            try {
+                record = objectMapper.writeValueAsBytes(toRecord(event));
+            } catch (JsonProcessingException e) {
+                dropped.increment();
+                continue;
+            }
+            if (count > 0 && message.size() + record.length + 2 > maxBatchBytes) {
+                send(message, count);
+                message.reset();
+                count = 0;
+            }
+            message.write(count == 0 ? '[' : ',');
+            message.writeBytes(record);
+            count++;
+        }
+        if (count > 0) {
+            send(message, count);
+        }
+    }
+    
+    private void send(ByteArrayOutputStream message, int count) {
+        message.write(']');
+        String json = message.toString(StandardCharsets.UTF_8);
+        try {
+            kafkaTemplate.send(TOPIC, service, json).whenComplete((result, e) -> {
+                if (e == null) {
+                    shipped.increment(count);
+                } else {
+                    dropped.increment(count);
+                    // Logged to the console only: this package's events are never shipped
+                    logger.warn("Could not ship {} log events: {}", count, e.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            dropped.increment(count);
+            logger.warn("Could not ship {} log events: {}", count, e.getMessage());
+        }
+    }
+    
+    private LogRecord toRecord(ILoggingEvent event) {
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        Map<String, String> metadata = new HashMap<>(mdc);
+        String requestId = metadata.remove("traceId");
+        String userId = metadata.remove("userId");
+        metadata.put("thread", event.getThreadName());
+        
+        return new LogRecord(
+                event.getLevel().toString(),
+                event.getFormattedMessage(),
+                service,
+                event.getLoggerName(),
+                event.getThrowableProxy() == null ? null : ThrowableProxyUtil.asString(event.getThrowableProxy()),
+                parseUserId(userId),
+                requestId,
+                Instant.ofEpochMilli(event.getTimeStamp()),
+                metadata);
+    }
+    
+    private static Long parseUserId(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("hms.logging.shipping.events")
+                .description("Log events offered to the shipper, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
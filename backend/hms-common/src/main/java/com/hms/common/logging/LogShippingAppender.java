@@ -0,0 +1,109 @@
+package com.hms.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands log events to the shipper through a lock-free ring buffer.
+ *
+ * On the logging thread an event is only filtered, prepared for deferred processing and offered to
+ * the buffer. DEBUG and TRACE events are sampled, each logger gets a per-second budget below ERROR,
+ * and an event that finds the buffer full is dropped and counted instead of waiting.
+ */
+final class LogShippingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    
+    private final LogRingBuffer<ILoggingEvent> buffer;
+    private final Level threshold;
+    private final double debugSampleRate;
+    private final int perLoggerRate;
+    private final List<String> excludedLoggers;
+    private final Counter sampledOut;
+    private final Counter rateLimited;
+    private final Counter dropped;
+    private final Map<String, LoggerBudget> budgets = new ConcurrentHashMap<>();
+    
+    private volatile Thread shipperThread;
+    
+    LogShippingAppender(LogRingBuffer<ILoggingEvent> buffer, Level threshold, double debugSampleRate,
+                        int perLoggerRate, List<String> excludedLoggers,
+                        Counter sampledOut, Counter rateLimited, Counter dropped) {
+        this.buffer = buffer;
+        this.threshold = threshold;
+        this.debugSampleRate = debugSampleRate;
+        this.perLoggerRate = perLoggerRate;
+        this.excludedLoggers = excludedLoggers;
+        this.sampledOut = sampledOut;
+        this.rateLimited = rateLimited;
+        this.dropped = dropped;
+    }
+    
+    void setShipperThread(Thread shipperThread) {
+        this.shipperThread = shipperThread;
+    }
+    
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Events logged while shipping (the Kafka client's own) would feed back into the buffer
+        if (Thread.currentThread() == shipperThread) {
+            return;
+        }
+        Level level = event.getLevel();
+        if (!level.isGreaterOrEqual(threshold) || isExcluded(event.getLoggerName())) {
+            return;
+        }
+        if (level.toInt() < Level.INFO_INT && ThreadLocalRandom.current().nextDouble() >= debugSampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        if (level.toInt() < Level.ERROR_INT && !withinBudget(event.getLoggerName())) {
+            rateLimited.increment();
+            return;
+        }
+        
+        // Formats the message and copies the MDC and thread name now, while they are still current
+        event.prepareForDeferredProcessing();
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+    
+    private boolean isExcluded(String loggerName) {
+        for (String prefix : excludedLoggers) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean withinBudget(String loggerName) {
+        LoggerBudget budget = budgets.get(loggerName);
+        if (budget == null) {
+            budget = budgets.computeIfAbsent(loggerName, name -> new LoggerBudget());
+        }
+        long second = System.currentTimeMillis() / 1000L;
+        long window = budget.window.get();
+        if (window != second && budget.window.compareAndSet(window, second)) {
+            budget.used.set(0);
+        }
+        return budget.used.incrementAndGet() <= perLoggerRate;
+    }
+    
+    /**
+     * Events a logger has used in the current one-second window
+     */
+    private static final class LoggerBudget {
+        
+        private final AtomicLong window = new AtomicLong();
+        private final AtomicInteger used = new AtomicInteger();
+    }
+}
@@ -0,0 +1,26 @@
+package com.hms.common.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Log shipping for every service that logs through Logback and has a Kafka template
+ */
+@AutoConfiguration(after = {CompositeMeterRegistryAutoConfiguration.class, KafkaAutoConfiguration.class,
+        JacksonAutoConfiguration.class})
+@ConditionalOnClass({LoggerContext.class, KafkaTemplate.class})
+@ConditionalOnBean({MeterRegistry.class, KafkaTemplate.class, ObjectMapper.class})
+@ConditionalOnProperty(prefix = "hms.logging.shipping", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Import(LogShipper.class)
+public class LogShippingAutoConfiguration {
+}
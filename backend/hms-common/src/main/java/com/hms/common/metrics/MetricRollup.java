@@ -0,0 +1,33 @@
+package com.hms.common.metrics;
+
+import java.util.Map;
+
+/**
+ * One meter series summarised over one minute or one hour, as published on metric-rollups.
+ *
+ * Timers are in milliseconds. {@code value} is the mean for timers, summaries and gauges and the
+ * increase for counters. Histogram buckets are sent sparsely, as the upper bounds and counts of
+ * the non-empty buckets, so rollups of several instances or tag values can be merged exactly.
+ * {@code max} is the upper bound of the highest non-empty bucket; for distributions without a
+ * histogram it is Micrometer's rolling max, which can include events from before the interval.
+ */
+public record MetricRollup(
+        String service,
+        String instance,
+        String metric,
+        String kind,
+        String unit,
+        Map<String, String> tags,
+        String resolution,
+        long timestamp,
+        long count,
+        double sum,
+        double max,
+        double value,
+        Double p50,
+        Double p90,
+        Double p95,
+        Double p99,
+        double[] bucketBounds,
+        long[] bucketCounts) {
+}
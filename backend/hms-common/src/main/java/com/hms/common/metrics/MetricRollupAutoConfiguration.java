@@ -0,0 +1,25 @@
+package com.hms.common.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Metric rollups for every service with a meter registry and a Kafka template
+ */
+@AutoConfiguration(after = {CompositeMeterRegistryAutoConfiguration.class, KafkaAutoConfiguration.class,
+        JacksonAutoConfiguration.class})
+@ConditionalOnClass({MeterRegistry.class, KafkaTemplate.class})
+@ConditionalOnBean({MeterRegistry.class, KafkaTemplate.class, ObjectMapper.class})
+@ConditionalOnProperty(prefix = "hms.metrics.rollup", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Import(MetricRollupSink.class)
+public class MetricRollupAutoConfiguration {
+}
@@ -0,0 +1,165 @@
+package com.hms.common.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Downsamples selected Micrometer meters in process and publishes only the rollups.
+ *
+ * Every second the configured meters are sampled into per-series ring buffers; at each minute
+ * boundary the last minute is rolled up, and at each hour boundary the last hour. Rollups are
+ * published in batches on metric-rollups, where the audit service bulk-writes them to the
+ * performance_metrics time-series collections. Nothing is kept beyond the last hour in memory.
+ *
+ * Registered by {@link MetricRollupAutoConfiguration} unless {@code hms.metrics.rollup.enabled=false}.
+ */
+public class MetricRollupSink implements DisposableBean {
+    
+    public static final String TOPIC = "metric-rollups";
+    
+    private static final Logger logger = LoggerFactory.getLogger(MetricRollupSink.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String[] meterNames;
+    private final int maxSeries;
+    private final int messageBatchSize;
+    private final String service;
+    private final String instance;
+    
+    // Only touched from the sampler thread
+    private final Map<Meter.Id, RollupSeries> series = new HashMap<>();
+    private long currentMinute = -1L;
+    private boolean seriesLimitLogged;
+    
+    // Own thread so a slow scheduled job elsewhere cannot delay the one-second samples
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metric-rollup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @Autowired
+    public MetricRollupSink(MeterRegistry meterRegistry, KafkaTemplate<String, String> kafkaTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${hms.metrics.rollup.meters:http.server.requests}") String[] meterNames,
+                            @Value("${hms.metrics.rollup.max-series:2000}") int maxSeries,
+                            @Value("${hms.metrics.rollup.message-batch-size:200}") int messageBatchSize,
+                            @Value("${spring.application.name}") String service,
+                            @Value("${server.port:8080}") int port) {
+        this.meterRegistry = meterRegistry;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.meterNames = meterNames;
+        this.maxSeries = maxSeries;
+        this.messageBatchSize = messageBatchSize;
+        this.service = service;
+        this.instance = hostName() + ":" + port;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::discover);
+        long untilNextSecond = 1000L - System.currentTimeMillis() % 1000L;
+        executor.scheduleAtFixedRate(this::tick, untilNextSecond, 1000L, TimeUnit.MILLISECONDS);
+        logger.info("Rolling up {} meter names for {} as {}", meterNames.length, service, instance);
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+    
+    private void tick() {
+        // An exception escaping here would cancel the fixed-rate schedule
+        try {
+            long second = System.currentTimeMillis() / 1000L - 1L;
+            long minute = second / 60L;
+            if (currentMinute >= 0 && minute != currentMinute) {
+                List<MetricRollup> rollups = new ArrayList<>();
+                for (RollupSeries entry : series.values()) {
+                    entry.closeMinute(currentMinute, service, instance, rollups);
+                }
+                if (minute / 60L != currentMinute / 60L) {
+                    for (RollupSeries entry : series.values()) {
+                        entry.closeHour(currentMinute / 60L, service, instance, rollups);
+                    }
+                }
+                publish(rollups);
+                discover();
+            }
+            currentMinute = minute;
+            
+            for (RollupSeries entry : series.values()) {
+                entry.sample(second);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Metric rollup tick failed: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Pick up series created since the last minute, e.g. the first request to a new URI
+     */
+    private void discover() {
+        for (String name : meterNames) {
+            for (Meter meter : meterRegistry.find(name).meters()) {
+                if (series.containsKey(meter.getId())) {
+                    continue;
+                }
+                if (series.size() >= maxSeries) {
+                    if (!seriesLimitLogged) {
+                        logger.warn("Metric rollup limited to {} series, further series are not recorded", maxSeries);
+                        seriesLimitLogged = true;
+                    }
+                    return;
+                }
+                RollupSeries created = RollupSeries.of(meter);
+                if (created != null) {
+                    series.put(meter.getId(), created);
+                }
+            }
+        }
+    }
+    
+    private void publish(List<MetricRollup> rollups) {
+        for (int from = 0; from < rollups.size(); from += messageBatchSize) {
+            List<MetricRollup> batch = rollups.subList(from, Math.min(from + messageBatchSize, rollups.size()));
+            try {
+                kafkaTemplate.send(TOPIC, service, objectMapper.writeValueAsString(batch));
+            } catch (JsonProcessingException e) {
+                logger.warn("Could not serialize {} metric rollups: {}", batch.size(), e.getMessage());
+            }
+        }
+        logger.debug("Published {} metric rollups", rollups.size());
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
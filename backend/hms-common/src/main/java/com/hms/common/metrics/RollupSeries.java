@@ -0,0 +1,321 @@
+package com.hms.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-second and per-minute history of one meter series, kept in fixed primitive ring buffers.
+ *
+ * Slot {@code i} of the second ring holds the second whose epoch second is {@code i} modulo 60, and
+ * likewise for the minute ring. Stamps record which second or minute a slot holds, so slots left
+ * over from an earlier period are skipped rather than cleared. Histogram buckets are stored as
+ * per-bucket counts, which add up exactly from seconds to minutes to hours.
+ *
+ * Micrometer's own max decays over a window of minutes, so it can report a value from before the
+ * interval. When the meter publishes a histogram, the max of an interval is instead the upper
+ * bound of its highest non-empty bucket. The decaying max is only used for events above the last
+ * bucket and for meters without a histogram, where the rollup's max is a rolling max.
+ *
+ * Not thread safe: the sink samples and rolls up every series from a single thread.
+ */
+final class RollupSeries {
+    
+    enum Kind { TIMER, SUMMARY, COUNTER, GAUGE }
+    
+    private static final int SLOTS = 60;
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99};
+    
+    private final Meter meter;
+    private final Kind kind;
+    private final String unit;
+    private final Map<String, String> tags;
+    
+    // Upper bounds of the histogram buckets, empty when the meter publishes no histogram
+    private final double[] bounds;
+    
+    private boolean primed;
+    private long lastCount;
+    private double lastTotal;
+    private final double[] lastCumulative;
+    
+    private final long[] secondStamp = new long[SLOTS];
+    private final long[] secondCount = new long[SLOTS];
+    private final double[] secondSum = new double[SLOTS];
+    private final double[] secondMax = new double[SLOTS];
+    private final long[] secondBuckets;
+    
+    private final long[] minuteStamp = new long[SLOTS];
+    private final long[] minuteCount = new long[SLOTS];
+    private final double[] minuteSum = new double[SLOTS];
+    private final double[] minuteMax = new double[SLOTS];
+    private final long[] minuteBuckets;
+    
+    // Reused while rolling up, so a rollup allocates only the published record
+    private final long[] scratch;
+    
+    private RollupSeries(Meter meter, Kind kind, String unit, double[] bounds) {
+        this.meter = meter;
+        this.kind = kind;
+        this.unit = unit;
+        this.bounds = bounds;
+        this.lastCumulative = new double[bounds.length];
+        this.secondBuckets = new long[SLOTS * bounds.length];
+        this.minuteBuckets = new long[SLOTS * bounds.length];
+        this.scratch = new long[bounds.length];
+        Arrays.fill(secondStamp, -1L);
+        Arrays.fill(minuteStamp, -1L);
+        
+        Map<String, String> tagMap = new LinkedHashMap<>();
+        for (Tag tag : meter.getId().getTagsAsIterable()) {
+            tagMap.put(tag.getKey(), tag.getValue());
+        }
+        this.tags = Map.copyOf(tagMap);
+    }
+    
+    /**
+     * Series for a meter, or null for meter types that are not rolled up
+     */
+    static RollupSeries of(Meter meter) {
+        if (meter instanceof Timer timer) {
+            return new RollupSeries(meter, Kind.TIMER, "milliseconds", bucketBounds(timer.takeSnapshot(), true));
+        }
+        if (meter instanceof DistributionSummary summary) {
+            return new RollupSeries(meter, Kind.SUMMARY, meter.getId().getBaseUnit(),
+                    bucketBounds(summary.takeSnapshot(), false));
+        }
+        if (meter instanceof Counter || meter instanceof FunctionCounter) {
+            return new RollupSeries(meter, Kind.COUNTER, meter.getId().getBaseUnit(), new double[0]);
+        }
+        if (meter instanceof TimeGauge) {
+            return new RollupSeries(meter, Kind.GAUGE, "milliseconds", new double[0]);
+        }
+        if (meter instanceof Gauge) {
+            return new RollupSeries(meter, Kind.GAUGE, meter.getId().getBaseUnit(), new double[0]);
+        }
+        return null;
+    }
+    
+    /**
+     * Record the activity of the given epoch second
+     */
+    void sample(long second) {
+        int slot = (int) (second % SLOTS);
+        switch (kind) {
+            case TIMER -> sampleDistribution(slot, second, ((Timer) meter).takeSnapshot(), true);
+            case SUMMARY -> sampleDistribution(slot, second, ((DistributionSummary) meter).takeSnapshot(), false);
+            case COUNTER -> {
+                double total = meter instanceof Counter counter ? counter.count() : ((FunctionCounter) meter).count();
+                if (primed && total >= lastTotal) {
+                    put(slot, second, 1L, total - lastTotal, total - lastTotal);
+                }
+                primed = true;
+                lastTotal = total;
+            }
+            case GAUGE -> {
+                double value = meter instanceof TimeGauge gauge ? gauge.value(TimeUnit.MILLISECONDS) : ((Gauge) meter).value();
+                if (!Double.isNaN(value)) {
+                    put(slot, second, 1L, value, value);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Fold the seconds of the given epoch minute into the minute ring and add its rollup to {@code out}
+     */
+    void closeMinute(long minute, String service, String instance, List<MetricRollup> out) {
+        long count = 0L;
+        double sum = 0.0;
+        double max = 0.0;
+        boolean any = false;
+        Arrays.fill(scratch, 0L);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (secondStamp[slot] < 0 || secondStamp[slot] / SLOTS != minute) {
+                continue;
+            }
+            any = true;
+            count += secondCount[slot];
+            sum += secondSum[slot];
+            max = Math.max(max, secondMax[slot]);
+            addBuckets(secondBuckets, slot);
+        }
+        if (!any) {
+            return;
+        }
+        
+        int slot = (int) (minute % SLOTS);
+        minuteStamp[slot] = minute;
+        minuteCount[slot] = count;
+        minuteSum[slot] = sum;
+        minuteMax[slot] = max;
+        System.arraycopy(scratch, 0, minuteBuckets, slot * bounds.length, bounds.length);
+        out.add(rollup(service, instance, "1m", minute * 60_000L, count, sum, max));
+    }
+    
+    /**
+     * Fold the minutes of the given epoch hour into one rollup added to {@code out}
+     */
+    void closeHour(long hour, String service, String instance, List<MetricRollup> out) {
+        long count = 0L;
+        double sum = 0.0;
+        double max = 0.0;
+        boolean any = false;
+        Arrays.fill(scratch, 0L);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (minuteStamp[slot] < 0 || minuteStamp[slot] / SLOTS != hour) {
+                continue;
+            }
+            any = true;
+            count += minuteCount[slot];
+            sum += minuteSum[slot];
+            max = Math.max(max, minuteMax[slot]);
+            addBuckets(minuteBuckets, slot);
+        }
+        if (any) {
+            out.add(rollup(service, instance, "1h", hour * 3_600_000L, count, sum, max));
+        }
+    }
+    
+    private void sampleDistribution(int slot, long second, HistogramSnapshot snapshot, boolean millis) {
+        long count = snapshot.count();
+        double total = millis ? snapshot.total(TimeUnit.MILLISECONDS) : snapshot.total();
+        double rollingMax = millis ? snapshot.max(TimeUnit.MILLISECONDS) : snapshot.max();
+        CountAtBucket[] counts = snapshot.histogramCounts();
+        
+        // A drop in the count means the meter was reset: start over from this reading
+        if (primed && count >= lastCount) {
+            long events = count - lastCount;
+            
+            // Bucket counts are cumulative (le) and since start, as published for Prometheus;
+            // the slot keeps the per-bucket increase
+            int offset = slot * bounds.length;
+            boolean consistent = counts.length == bounds.length;
+            double previous = 0.0;
+            int highest = -1;
+            for (int i = 0; consistent && i < bounds.length; i++) {
+                double increase = counts[i].count() - lastCumulative[i];
+                long inBucket = Math.round(increase - previous);
+                if (inBucket < 0) {
+                    consistent = false;
+                    break;
+                }
+                secondBuckets[offset + i] = inBucket;
+                if (inBucket > 0) {
+                    highest = i;
+                }
+                previous = increase;
+            }
+            if (!consistent) {
+                Arrays.fill(secondBuckets, offset, offset + bounds.length, 0L);
+            }
+            
+            double max = 0.0;
+            if (events > 0) {
+                if (!consistent || bounds.length == 0) {
+                    max = rollingMax;
+                } else if (Math.round(previous) < events) {
+                    // Some events are above the last bucket: only the rolling max says how far
+                    max = Math.max(bounds[bounds.length - 1], rollingMax);
+                } else {
+                    max = bounds[highest];
+                }
+            }
+            put(slot, second, events, total - lastTotal, max);
+        }
+        
+        primed = true;
+        lastCount = count;
+        lastTotal = total;
+        for (int i = 0; i < Math.min(counts.length, lastCumulative.length); i++) {
+            lastCumulative[i] = counts[i].count();
+        }
+    }
+    
+    private void put(int slot, long second, long count, double sum, double max) {
+        secondStamp[slot] = second;
+        secondCount[slot] = count;
+        secondSum[slot] = sum;
+        secondMax[slot] = max;
+    }
+    
+    private void addBuckets(long[] ring, int slot) {
+        int offset = slot * bounds.length;
+        for (int i = 0; i < bounds.length; i++) {
+            scratch[i] += ring[offset + i];
+        }
+    }
+    
+    private MetricRollup rollup(String service, String instance, String resolution, long timestamp,
+                                long count, double sum, double max) {
+        double value = switch (kind) {
+            case COUNTER -> sum;
+            default -> count == 0 ? 0.0 : sum / count;
+        };
+        
+        int nonEmpty = 0;
+        for (long bucket : scratch) {
+            if (bucket > 0) {
+                nonEmpty++;
+            }
+        }
+        double[] bucketBounds = new double[nonEmpty];
+        long[] bucketCounts = new long[nonEmpty];
+        for (int i = 0, j = 0; i < bounds.length; i++) {
+            if (scratch[i] > 0) {
+                bucketBounds[j] = bounds[i];
+                bucketCounts[j++] = scratch[i];
+            }
+        }
+        
+        Double[] percentiles = new Double[PERCENTILES.length];
+        if (bounds.length > 0 && count > 0) {
+            for (int p = 0; p < PERCENTILES.length; p++) {
+                percentiles[p] = percentile(PERCENTILES[p], count, max);
+            }
+        }
+        
+        return new MetricRollup(service, instance, meter.getId().getName(), kind.name(), unit, tags, resolution,
+                timestamp, kind == Kind.COUNTER ? 0L : count, sum, max, value,
+                percentiles[0], percentiles[1], percentiles[2], percentiles[3], bucketBounds, bucketCounts);
+    }
+    
+    /**
+     * Upper bound of the bucket holding the requested rank; events above the last bucket report the max.
+     *
+     * The max is never below the highest non-empty bucket, so the bucket bound needs no capping.
+     */
+    private double percentile(double quantile, long count, double max) {
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0L;
+        for (int i = 0; i < bounds.length; i++) {
+            seen += scratch[i];
+            if (seen >= rank) {
+                return bounds[i];
+            }
+        }
+        return max;
+    }
+    
+    private static double[] bucketBounds(HistogramSnapshot snapshot, boolean millis) {
+        CountAtBucket[] counts = snapshot.histogramCounts();
+        double[] bounds = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            bounds[i] = millis ? counts[i].bucket(TimeUnit.MILLISECONDS) : counts[i].bucket();
+        }
+        return bounds;
+    }
+}
@@ -0,0 +1,117 @@
+package com.hms.common.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LogRingBufferTest {
+    
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThatThrownBy(() -> new LogRingBuffer<String>(100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void fullBufferDropsNewItemsAndKeepsTheOldest() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.offer(5)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+        
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+        assertThat(drained).containsExactly(0, 1, 2, 3);
+    }
+    
+    @Test
+    void drainingFreesSlotsForReuse() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+            assertThat(buffer.offer(100 + i)).isTrue();
+            buffer.drainTo(drained, 2);
+        }
+        
+        assertThat(buffer.size()).isZero();
+        assertThat(drained).hasSize(20).startsWith(0, 100, 1, 101);
+    }
+    
+    @Test
+    void drainStopsAtTheRequestedMaximum() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(drained).containsExactly(0, 1, 2);
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+    
+    @Test
+    void concurrentProducersKeepTheirOwnOrderAndLoseNothingAccepted() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        LogRingBuffer<long[]> buffer = new LogRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<Integer>> accepted = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                accepted.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (long i = 0; i < perProducer; i++) {
+                        if (buffer.offer(new long[] {producer, i})) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            
+            start.countDown();
+            long[] lastSeen = {-1L, -1L, -1L, -1L};
+            long[] received = new long[producers];
+            List<long[]> batch = new ArrayList<>();
+            while (!allDone(accepted) || buffer.size() > 0) {
+                batch.clear();
+                buffer.drainTo(batch, 256);
+                for (long[] item : batch) {
+                    int producer = (int) item[0];
+                    // Drops leave gaps, but one producer's items never come out of order
+                    assertThat(item[1]).isGreaterThan(lastSeen[producer]);
+                    lastSeen[producer] = item[1];
+                    received[producer]++;
+                }
+            }
+            
+            for (int p = 0; p < producers; p++) {
+                assertThat(received[p]).isEqualTo(accepted.get(p).get(10, TimeUnit.SECONDS).longValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private static boolean allDone(List<? extends Future<?>> futures) {
+        return futures.stream().allMatch(Future::isDone);
+    }
+}
@@ -0,0 +1,81 @@
+package com.hms.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogShipperTest {
+    
+    private static final int MAX_BATCH_BYTES = 4096;
+    
+    // KafkaTemplate closes a producer after each send unless its factory caches it
+    private final MockProducer<String, String> producer =
+            new MockProducer<>(false, new StringSerializer(), new StringSerializer()) {
+                @Override
+                public void close(Duration timeout) {
+                }
+            };
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final LogShipper shipper = new LogShipper(new KafkaTemplate<>(() -> producer), objectMapper,
+            meterRegistry, "INFO", 0.0, 100, 1024, 500, MAX_BATCH_BYTES, 200, "test-service");
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LogShipperTest.class);
+    
+    @Test
+    void splitsBatchesByJsonSize() throws Exception {
+        List<ILoggingEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(event("x".repeat(900)));
+        }
+        
+        shipper.publish(events);
+        
+        List<ProducerRecord<String, String>> sent = producer.history();
+        assertThat(sent).hasSizeGreaterThan(1);
+        int records = 0;
+        for (ProducerRecord<String, String> record : sent) {
+            assertThat(record.value().getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(MAX_BATCH_BYTES);
+            records += objectMapper.readTree(record.value()).size();
+        }
+        assertThat(records).isEqualTo(20);
+    }
+    
+    @Test
+    void countsEventsWhenTheSendCompletes() {
+        shipper.publish(List.of(event("first"), event("second")));
+        shipper.publish(List.of(event("x".repeat(2 * MAX_BATCH_BYTES))));
+        assertThat(outcome("shipped")).isZero();
+        
+        producer.completeNext();
+        producer.errorNext(new RecordTooLargeException("too large"));
+        
+        assertThat(outcome("shipped")).isEqualTo(2);
+        assertThat(outcome("dropped")).isEqualTo(1);
+    }
+    
+    private ILoggingEvent event(String message) {
+        return new LoggingEvent(LogShipperTest.class.getName(), logger, Level.INFO, message, null, null);
+    }
+    
+    private double outcome(String outcome) {
+        return meterRegistry.get("hms.logging.shipping.events").tag("outcome", outcome).counter().count();
+    }
+}
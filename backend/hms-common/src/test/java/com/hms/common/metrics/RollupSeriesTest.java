@@ -0,0 +1,76 @@
+package com.hms.common.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollupSeriesTest {
+    
+    private static final long SECOND = 60L * 1_000_000L;
+    
+    private final Timer timer = Timer.builder("test.timer")
+            .serviceLevelObjectives(Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100))
+            .register(new SimpleMeterRegistry());
+    
+    @Test
+    void maxIsTheHighestNonEmptyBucketOfTheMinute() {
+        RollupSeries series = RollupSeries.of(timer);
+        series.sample(SECOND);
+        
+        // Still within the rolling max window when the next minute is sampled
+        timer.record(Duration.ofMillis(90));
+        series.sample(SECOND + 1);
+        MetricRollup first = closeMinute(series, SECOND / 60L);
+        
+        timer.record(Duration.ofMillis(5));
+        timer.record(Duration.ofMillis(30));
+        series.sample(SECOND + 60);
+        MetricRollup second = closeMinute(series, SECOND / 60L + 1);
+        
+        assertThat(first.max()).isEqualTo(100.0);
+        assertThat(second.max()).isEqualTo(50.0);
+        assertThat(second.p99()).isEqualTo(50.0);
+        assertThat(second.p50()).isEqualTo(10.0);
+    }
+    
+    @Test
+    void eventsAboveTheLastBucketFallBackToTheRollingMax() {
+        RollupSeries series = RollupSeries.of(timer);
+        series.sample(SECOND);
+        
+        timer.record(Duration.ofMillis(5));
+        timer.record(Duration.ofMillis(250));
+        series.sample(SECOND + 1);
+        MetricRollup rollup = closeMinute(series, SECOND / 60L);
+        
+        assertThat(rollup.max()).isEqualTo(250.0);
+        assertThat(rollup.p99()).isEqualTo(250.0);
+        assertThat(rollup.p50()).isEqualTo(10.0);
+    }
+    
+    @Test
+    void emptySecondsReportNoMax() {
+        RollupSeries series = RollupSeries.of(timer);
+        timer.record(Duration.ofMillis(90));
+        series.sample(SECOND);
+        series.sample(SECOND + 1);
+        
+        MetricRollup rollup = closeMinute(series, SECOND / 60L);
+        
+        assertThat(rollup.count()).isZero();
+        assertThat(rollup.max()).isZero();
+    }
+    
+    private static MetricRollup closeMinute(RollupSeries series, long minute) {
+        List<MetricRollup> out = new ArrayList<>();
+        series.closeMinute(minute, "test", "local", out);
+        assertThat(out).hasSize(1);
+        return out.get(0);
+    }
+}
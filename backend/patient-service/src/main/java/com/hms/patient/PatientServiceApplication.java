@@ -1,13 +1,18 @@
 package com.hms.patient;
 
+import com.hms.patient.config.PatientRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients
+@EnableScheduling
+@ImportRuntimeHints(PatientRuntimeHints.class)
 public class PatientServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,32 @@
+package com.hms.patient.aggregate;
+
+import com.hms.patient.dto.PrescriptionDto;
+import com.hms.patient.service.PrescriptionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Prescriptions the patient is currently taking
+ */
+@Component
+public class ActivePrescriptionsSection implements PatientOverviewSection {
+    
+    private final PrescriptionService prescriptionService;
+    
+    @Autowired
+    public ActivePrescriptionsSection(PrescriptionService prescriptionService) {
+        this.prescriptionService = prescriptionService;
+    }
+    
+    @Override
+    public String getName() {
+        return "activePrescriptions";
+    }
+    
+    @Override
+    public List<PrescriptionDto> load(Long patientId) {
+        return prescriptionService.getActivePrescriptions(patientId);
+    }
+}
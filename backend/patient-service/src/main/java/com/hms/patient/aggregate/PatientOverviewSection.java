@@ -0,0 +1,19 @@
+package com.hms.patient.aggregate;
+
+/**
+ * One part of the patient overview, usually owned by another service. Every section bean is
+ * loaded concurrently; a section that fails or times out is reported as unavailable rather than
+ * failing the whole overview.
+ */
+public interface PatientOverviewSection {
+    
+    /**
+     * Key of this section in the overview response
+     */
+    String getName();
+    
+    /**
+     * Load this section for the given patient. Called on a worker thread.
+     */
+    Object load(Long patientId);
+}
@@ -0,0 +1,234 @@
+package com.hms.patient.aggregate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hms.patient.dto.PatientDto;
+import com.hms.patient.dto.PatientOverviewDto;
+import com.hms.patient.service.PatientService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assembles the patient-360 view. Demographics are read locally while every
+ * {@link PatientOverviewSection} is loaded in parallel on a bounded pool, each under its own timeout.
+ *
+ * Complete views are cached for a few seconds so a dashboard refresh storm costs one fan-out, and
+ * dropped early when the patient or one of their prescriptions, medical records or appointments
+ * changes. Partial views are returned but not cached, so the next request retries the missing sections.
+ */
+@Service
+public class PatientOverviewService implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PatientOverviewService.class);
+    
+    private final PatientService patientService;
+    private final List<PatientOverviewSection> sections;
+    private final MeterRegistry meterRegistry;
+    private final Duration sectionTimeout;
+    private final ThreadPoolExecutor executor;
+    private final Cache<Long, PatientOverviewDto> cache;
+    
+    @Autowired
+    public PatientOverviewService(PatientService patientService,
+                                  List<PatientOverviewSection> sections,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${hms.patient.overview.section-timeout:800ms}") Duration sectionTimeout,
+                                  @Value("${hms.patient.overview.cache-ttl:15s}") Duration cacheTtl,
+                                  @Value("${hms.patient.overview.cache-max-entries:10000}") long cacheMaxEntries,
+                                  @Value("${hms.patient.overview.fan-out-threads:32}") int fanOutThreads) {
+        this.patientService = patientService;
+        this.sections = sections;
+        this.meterRegistry = meterRegistry;
+        this.sectionTimeout = sectionTimeout;
+        
+        // No queue: when every thread is busy sections are reported unavailable instead of waiting for one
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(fanOutThreads, fanOutThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "patient-overview-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMaxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "patient.overview");
+    }
+    
+    /**
+     * Get the overview of a patient, or empty if the patient does not exist
+     */
+    public Optional<PatientOverviewDto> getOverview(Long patientId) {
+        PatientOverviewDto cached = cache.getIfPresent(patientId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
+        // Start the remote calls first so they overlap with the local lookup
+        Map<String, CompletableFuture<Object>> pending = new LinkedHashMap<>();
+        for (PatientOverviewSection section : sections) {
+            pending.put(section.getName(), load(section, patientId));
+        }
+        
+        Optional<PatientDto> patient = patientService.getPatientById(patientId);
+        if (patient.isEmpty()) {
+            pending.values().forEach(future -> future.cancel(true));
+            return Optional.empty();
+        }
+        
+        Map<String, Object> loaded = new LinkedHashMap<>();
+        Map<String, String> unavailable = new LinkedHashMap<>();
+        pending.forEach((name, future) -> {
+            try {
+                loaded.put(name, future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unavailable.put(name, "interrupted");
+            } catch (ExecutionException e) {
+                unavailable.put(name, describe(e.getCause()));
+            }
+        });
+        
+        PatientOverviewDto overview = new PatientOverviewDto(patient.get(), loaded, unavailable, LocalDateTime.now());
+        if (overview.isPartial()) {
+            logger.warn("Patient overview {} is partial, unavailable sections: {}", patientId, unavailable);
+        } else {
+            cache.put(patientId, overview);
+        }
+        return Optional.of(overview);
+    }
+    
+    /**
+     * Drop the cached overview of a patient changed on any replica ({@code PATIENT_<ACTION>:<id>})
+     */
+    @KafkaListener(topics = "patient-events",
+            groupId = "patient-overview-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onPatientEvent(String event) {
+        int separator = event.lastIndexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        invalidate(event.substring(separator + 1), event);
+    }
+    
+    /**
+     * Drop the cached overview of a patient whose section data changed on any replica or service.
+     * Prescription and medical record events are keyed by patient; appointment events are keyed by
+     * doctor and carry the patient in a header.
+     */
+    @KafkaListener(topics = {"prescription-events", "medical-record-events", "appointment-events"},
+            groupId = "patient-overview-sections-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onSectionEvent(ConsumerRecord<String, String> event) {
+        String patientId;
+        if ("appointment-events".equals(event.topic())) {
+            Header header = event.headers().lastHeader("patientId");
+            patientId = header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+        } else {
+            patientId = event.key();
+        }
+        if (patientId != null) {
+            invalidate(patientId, event.value());
+        }
+    }
+    
+    private void invalidate(String patientId, String event) {
+        try {
+            cache.invalidate(Long.parseLong(patientId.trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed patient event: {}", event);
+        }
+    }
+    
+    /**
+     * Load a section on the pool. A section that times out or is no longer wanted has its task
+     * cancelled and its thread interrupted, so the thread is not held past the caller's wait.
+     */
+    private CompletableFuture<Object> load(PatientOverviewSection section, Long patientId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    future.complete(section.load(patientId));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+            task = null;
+        }
+        Future<?> submitted = task;
+        return future
+                .orTimeout(sectionTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> {
+                    if (error != null && submitted != null) {
+                        submitted.cancel(true);
+                    }
+                    sample.stop(Timer.builder("hms.patient.overview.section")
+                            .description("Time to load one section of the patient overview")
+                            .tag("section", section.getName())
+                            .tag("outcome", error == null ? "success" : outcome(error))
+                            .register(meterRegistry));
+                });
+    }
+    
+    private static String outcome(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return "rejected";
+        }
+        return "error";
+    }
+    
+    private static String describe(Throwable error) {
+        return switch (outcome(error)) {
+            case "timeout" -> "timed out";
+            case "rejected" -> "overloaded";
+            default -> "failed";
+        };
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,39 @@
+package com.hms.patient.aggregate;
+
+import com.hms.patient.dto.MedicalRecordSummaryDto;
+import com.hms.patient.service.MedicalRecordService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Newest medical records, read from the cached first timeline page
+ */
+@Component
+public class RecentMedicalRecordsSection implements PatientOverviewSection {
+    
+    private static final int LIMIT = 5;
+    
+    private final MedicalRecordService medicalRecordService;
+    private final int recentPageSize;
+    
+    @Autowired
+    public RecentMedicalRecordsSection(MedicalRecordService medicalRecordService,
+                                       @Value("${hms.patient.medical-records.recent-page-size:20}") int recentPageSize) {
+        this.medicalRecordService = medicalRecordService;
+        this.recentPageSize = recentPageSize;
+    }
+    
+    @Override
+    public String getName() {
+        return "recentMedicalRecords";
+    }
+    
+    @Override
+    public List<MedicalRecordSummaryDto> load(Long patientId) {
+        List<MedicalRecordSummaryDto> entries = medicalRecordService.getTimeline(patientId, null, recentPageSize).getEntries();
+        return entries.subList(0, Math.min(LIMIT, entries.size()));
+    }
+}
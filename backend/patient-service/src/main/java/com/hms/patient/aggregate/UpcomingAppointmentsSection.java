@@ -0,0 +1,47 @@
+package com.hms.patient.aggregate;
+
+import com.hms.patient.client.AppointmentClient;
+import com.hms.patient.dto.AppointmentView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scheduled and confirmed appointments from today on, soonest first
+ */
+@Component
+public class UpcomingAppointmentsSection implements PatientOverviewSection {
+    
+    private static final Set<String> UPCOMING_STATUSES = Set.of("SCHEDULED", "CONFIRMED");
+    private static final int LIMIT = 10;
+    
+    private final AppointmentClient appointmentClient;
+    
+    @Autowired
+    public UpcomingAppointmentsSection(AppointmentClient appointmentClient) {
+        this.appointmentClient = appointmentClient;
+    }
+    
+    @Override
+    public String getName() {
+        return "upcomingAppointments";
+    }
+    
+    @Override
+    public List<AppointmentView> load(Long patientId) {
+        LocalDate today = LocalDate.now();
+        return appointmentClient.getAppointmentsByPatient(patientId).stream()
+                .filter(appointment -> UPCOMING_STATUSES.contains(appointment.getStatus()))
+                .filter(appointment -> appointment.getAppointmentDate() != null
+                        && !appointment.getAppointmentDate().isBefore(today))
+                .sorted(Comparator.comparing(AppointmentView::getAppointmentDate)
+                        .thenComparing(AppointmentView::getAppointmentTime,
+                                Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(LIMIT)
+                .toList();
+    }
+}
@@ -0,0 +1,18 @@
+package com.hms.patient.client;
+
+import com.hms.patient.dto.AppointmentView;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.List;
+
+@FeignClient(name = "appointment-service", path = "/api/v1/appointments")
+public interface AppointmentClient {
+    
+    /**
+     * Get appointments by patient
+     */
+    @GetMapping("/patient/{patientId}")
+    List<AppointmentView> getAppointmentsByPatient(@PathVariable("patientId") Long patientId);
+}
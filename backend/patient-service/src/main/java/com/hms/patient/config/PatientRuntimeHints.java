@@ -0,0 +1,46 @@
+package com.hms.patient.config;
+
+import com.hms.patient.dto.AppointmentView;
+import com.hms.patient.dto.DocumentUploadSession;
+import com.hms.patient.model.MedicalRecord;
+import com.hms.patient.model.Patient;
+import com.hms.patient.model.PatientDocument;
+import com.hms.patient.model.Prescription;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Native image hints for what the AOT processing cannot infer from controllers and repositories.
+ *
+ * Imported from {@link com.hms.patient.PatientServiceApplication} through {@link ImportRuntimeHints};
+ * ignored on the JVM.
+ */
+public class PatientRuntimeHints implements RuntimeHintsRegistrar {
+    
+    private static final List<Class<?>> ENTITIES = List.of(
+            Patient.class, MedicalRecord.class, PatientDocument.class, Prescription.class);
+    
+    /** (De)serialized by an ObjectMapper the AOT processing never sees: upload session files, Feign responses */
+    private static final Class<?>[] JSON_TYPES = {DocumentUploadSession.class, AppointmentView.class};
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Hibernate's enhanced entities and Mongo's mapping read fields and call setters reflectively
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES);
+        
+        // Default interaction table, loaded through a Resource at startup
+        hints.resources().registerPattern("interactions/*.csv");
+    }
+}
@@ -0,0 +1,113 @@
+package com.hms.patient.controller;
+
+import com.hms.patient.dto.MedicalRecordDto;
+import com.hms.patient.dto.MedicalRecordTimelinePage;
+import com.hms.patient.dto.MedicalRecordYearSummary;
+import com.hms.patient.service.MedicalRecordService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/medical-records")
+@CrossOrigin(origins = "*")
+public class MedicalRecordController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MedicalRecordController.class);
+    
+    private final MedicalRecordService medicalRecordService;
+    
+    @Autowired
+    public MedicalRecordController(MedicalRecordService medicalRecordService) {
+        this.medicalRecordService = medicalRecordService;
+    }
+    
+    /**
+     * Create a new medical record
+     */
+    @PostMapping
+    public ResponseEntity<MedicalRecordDto> createMedicalRecord(@Valid @RequestBody MedicalRecordDto medicalRecordDto) {
+        logger.info("Creating medical record for patient ID: {}", medicalRecordDto.getPatientId());
+        
+        try {
+            MedicalRecordDto createdRecord = medicalRecordService.createMedicalRecord(medicalRecordDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdRecord);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error creating medical record: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get a full medical record by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<MedicalRecordDto> getMedicalRecordById(@PathVariable Long id) {
+        logger.debug("Fetching medical record by ID: {}", id);
+        
+        return medicalRecordService.getMedicalRecordById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Update medical record
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<MedicalRecordDto> updateMedicalRecord(@PathVariable Long id,
+                                                                @Valid @RequestBody MedicalRecordDto medicalRecordDto) {
+        logger.info("Updating medical record with ID: {}", id);
+        
+        return medicalRecordService.updateMedicalRecord(id, medicalRecordDto)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Delete medical record
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteMedicalRecord(@PathVariable Long id) {
+        logger.info("Deleting medical record with ID: {}", id);
+        
+        boolean deleted = medicalRecordService.deleteMedicalRecord(id);
+        return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+    
+    /**
+     * Get a patient's records newest first, a page at a time. Pass the returned nextCursor to read further back.
+     */
+    @GetMapping("/patient/{patientId}/timeline")
+    public ResponseEntity<MedicalRecordTimelinePage> getTimeline(@PathVariable Long patientId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        logger.debug("Fetching medical record timeline of patient {}", patientId);
+        
+        try {
+            return ResponseEntity.ok(medicalRecordService.getTimeline(patientId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid timeline request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get per-year counts of a patient's records older than the given date, for the collapsed part of the timeline
+     */
+    @GetMapping("/patient/{patientId}/timeline/summary")
+    public ResponseEntity<List<MedicalRecordYearSummary>> getTimelineSummary(
+            @PathVariable Long patientId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        logger.debug("Summarizing medical records of patient {} before {}", patientId, before);
+        
+        return ResponseEntity.ok(medicalRecordService.summarizeRecordsBefore(patientId, before));
+    }
+}
@@ -1,7 +1,14 @@
 package com.hms.patient.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.patient.dto.PatientBatchRequest;
+import com.hms.patient.dto.PatientCursorPage;
 import com.hms.patient.dto.PatientDto;
+import com.hms.patient.dto.PatientSummaryDto;
+import com.hms.patient.index.ClinicalTermIndex;
 import com.hms.patient.model.Patient;
+import com.hms.patient.repository.PatientSortField;
 import com.hms.patient.service.PatientService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -12,14 +19,22 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/patients")
@@ -29,10 +44,12 @@ public class PatientController {
     private static final Logger logger = LoggerFactory.getLogger(PatientController.class);
     
     private final PatientService patientService;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public PatientController(PatientService patientService) {
+    public PatientController(PatientService patientService, ObjectMapper objectMapper) {
         this.patientService = patientService;
+        this.objectMapper = objectMapper;
     }
     
     /**
@@ -78,11 +95,26 @@ public class PatientController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Get several patients by ID, returning only the requested fields
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<List<Map<String, Object>>> batchGetPatients(@Valid @RequestBody PatientBatchRequest request) {
+        logger.debug("Batch fetching {} patients", request.getIds().size());
+        
+        try {
+            return ResponseEntity.ok(patientService.batchGetPatients(request));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error batch fetching patients: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Get all patients with pagination
      */
     @GetMapping
-    public ResponseEntity<Page<PatientDto>> getAllPatients(
+    public ResponseEntity<Page<PatientSummaryDto>> getAllPatients(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
@@ -91,12 +123,88 @@ public class PatientController {
         logger.debug("Fetching all patients with pagination: page={}, size={}, sortBy={}, sortDir={}", 
                     page, size, sortBy, sortDir);
         
-        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        try {
+            // Only indexed columns, so ORDER BY never falls back to a filesort over the whole table
+            PatientSortField sortField = PatientSortField.fromProperty(sortBy);
+            Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Sort sort = Sort.by(direction, sortField.getProperty());
+            if (sortField != PatientSortField.ID) {
+                // ID breaks ties so rows with equal sort values keep a stable order across pages
+                sort = sort.and(Sort.by(direction, "id"));
+            }
+            Pageable pageable = PageRequest.of(page, size, sort);
+            
+            Page<PatientSummaryDto> patients = patientService.getAllPatients(pageable);
+            return ResponseEntity.ok(patients);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid patient page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get patients a page at a time by cursor. Unlike OFFSET paging, the cost of a page does not grow
+     * with its depth and no COUNT(*) runs unless includeTotal is set.
+     */
+    @GetMapping("/keyset")
+    public ResponseEntity<PatientCursorPage> getPatientsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
-        Page<PatientDto> patients = patientService.getAllPatients(pageable);
-        return ResponseEntity.ok(patients);
+        logger.debug("Fetching patients by cursor: size={}, sortBy={}, sortDir={}", size, sortBy, sortDir);
+        
+        try {
+            PatientCursorPage patients = patientService.getPatientsAfter(PatientSortField.fromProperty(sortBy),
+                    sortDir.equalsIgnoreCase("desc"), cursor, size, includeTotal);
+            return ResponseEntity.ok(patients);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid patient cursor request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Stream all matching patients as one JSON array. Rows are serialized as they are read from a
+     * streaming result set, so neither the first byte nor heap use waits on the size of the result.
+     * The body is gzip-compressed on the fly when the client accepts it.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamPatients(
+            @RequestParam(required = false) String bloodGroup,
+            @RequestParam(required = false) Patient.Gender gender,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        logger.debug("Streaming patients: bloodGroup={}, gender={}", bloodGroup, gender);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+                generator.writeStartArray();
+                patientService.streamPatients(bloodGroup, gender, patient -> {
+                    try {
+                        generator.writeObject(patient);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; the read-only transaction has already been rolled back
+                throw e.getCause();
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
     
     /**
@@ -127,10 +235,10 @@ public class PatientController {
      * Search patients by name
      */
     @GetMapping("/search")
-    public ResponseEntity<List<PatientDto>> searchPatientsByName(@RequestParam String name) {
+    public ResponseEntity<List<PatientSummaryDto>> searchPatientsByName(@RequestParam String name) {
         logger.debug("Searching patients by name: {}", name);
         
-        List<PatientDto> patients = patientService.searchPatientsByName(name);
+        List<PatientSummaryDto> patients = patientService.searchPatientsByName(name);
         return ResponseEntity.ok(patients);
     }
     
@@ -150,10 +258,10 @@ public class PatientController {
      * Get patients by blood group
      */
     @GetMapping("/blood-group/{bloodGroup}")
-    public ResponseEntity<List<PatientDto>> getPatientsByBloodGroup(@PathVariable String bloodGroup) {
+    public ResponseEntity<List<PatientSummaryDto>> getPatientsByBloodGroup(@PathVariable String bloodGroup) {
         logger.debug("Fetching patients by blood group: {}", bloodGroup);
         
-        List<PatientDto> patients = patientService.getPatientsByBloodGroup(bloodGroup);
+        List<PatientSummaryDto> patients = patientService.getPatientsByBloodGroup(bloodGroup);
         return ResponseEntity.ok(patients);
     }
     
@@ -161,10 +269,10 @@ public class PatientController {
      * Get patients by gender
      */
     @GetMapping("/gender/{gender}")
-    public ResponseEntity<List<PatientDto>> getPatientsByGender(@PathVariable Patient.Gender gender) {
+    public ResponseEntity<List<PatientSummaryDto>> getPatientsByGender(@PathVariable Patient.Gender gender) {
         logger.debug("Fetching patients by gender: {}", gender);
         
-        List<PatientDto> patients = patientService.getPatientsByGender(gender);
+        List<PatientSummaryDto> patients = patientService.getPatientsByGender(gender);
         return ResponseEntity.ok(patients);
     }
     
@@ -172,10 +280,10 @@ public class PatientController {
      * Get patients by insurance provider
      */
     @GetMapping("/insurance-provider/{provider}")
-    public ResponseEntity<List<PatientDto>> getPatientsByInsuranceProvider(@PathVariable String provider) {
+    public ResponseEntity<List<PatientSummaryDto>> getPatientsByInsuranceProvider(@PathVariable String provider) {
         logger.debug("Fetching patients by insurance provider: {}", provider);
         
-        List<PatientDto> patients = patientService.getPatientsByInsuranceProvider(provider);
+        List<PatientSummaryDto> patients = patientService.getPatientsByInsuranceProvider(provider);
         return ResponseEntity.ok(patients);
     }
     
@@ -192,7 +300,8 @@ public class PatientController {
     }
     
     /**
-     * Get patients with allergies containing specific text
+     * Get patients with allergies containing specific text.
+     * Once the clinical term index is built, words are matched by prefix rather than as substrings.
      */
     @GetMapping("/allergies")
     public ResponseEntity<List<PatientDto>> getPatientsByAllergies(@RequestParam String allergy) {
@@ -203,7 +312,8 @@ public class PatientController {
     }
     
     /**
-     * Get patients with medical history containing specific text
+     * Get patients with medical history containing specific text.
+     * Once the clinical term index is built, words are matched by prefix rather than as substrings.
      */
     @GetMapping("/medical-history")
     public ResponseEntity<List<PatientDto>> getPatientsByMedicalHistory(@RequestParam String condition) {
@@ -213,17 +323,40 @@ public class PatientController {
         return ResponseEntity.ok(patients);
     }
     
+    /**
+     * Find patients by allergy and condition terms, e.g. for drug-recall queries
+     */
+    @GetMapping("/clinical-search")
+    public ResponseEntity<List<PatientSummaryDto>> searchClinicalTerms(
+            @RequestParam(required = false, defaultValue = "") List<String> allergies,
+            @RequestParam(required = false, defaultValue = "") List<String> conditions,
+            @RequestParam(defaultValue = "ALL") ClinicalTermIndex.Match match) {
+        
+        logger.debug("Clinical term search: allergies={}, conditions={}, match={}", allergies, conditions, match);
+        
+        try {
+            List<PatientSummaryDto> patients = patientService.searchClinicalTerms(allergies, conditions, match);
+            return ResponseEntity.ok(patients);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid clinical search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            logger.warn("Clinical search unavailable: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
     /**
      * Get patients created in a date range
      */
     @GetMapping("/created-date-range")
-    public ResponseEntity<List<PatientDto>> getPatientsByCreatedDateRange(
+    public ResponseEntity<List<PatientSummaryDto>> getPatientsByCreatedDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
         
         logger.debug("Fetching patients created between {} and {}", startDate, endDate);
         
-        List<PatientDto> patients = patientService.getPatientsByCreatedDateRange(startDate, endDate);
+        List<PatientSummaryDto> patients = patientService.getPatientsByCreatedDateRange(startDate, endDate);
         return ResponseEntity.ok(patients);
     }
     
@@ -231,10 +364,10 @@ public class PatientController {
      * Get patients born in a specific year
      */
     @GetMapping("/birth-year/{year}")
-    public ResponseEntity<List<PatientDto>> getPatientsByBirthYear(@PathVariable int year) {
+    public ResponseEntity<List<PatientSummaryDto>> getPatientsByBirthYear(@PathVariable int year) {
         logger.debug("Fetching patients born in year: {}", year);
         
-        List<PatientDto> patients = patientService.getPatientsByBirthYear(year);
+        List<PatientSummaryDto> patients = patientService.getPatientsByBirthYear(year);
         return ResponseEntity.ok(patients);
     }
     
@@ -242,13 +375,13 @@ public class PatientController {
      * Get patients born in a date range
      */
     @GetMapping("/birth-date-range")
-    public ResponseEntity<List<PatientDto>> getPatientsByBirthDateRange(
+    public ResponseEntity<List<PatientSummaryDto>> getPatientsByBirthDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         
         logger.debug("Fetching patients born between {} and {}", startDate, endDate);
         
-        List<PatientDto> patients = patientService.getPatientsByBirthDateRange(startDate, endDate);
+        List<PatientSummaryDto> patients = patientService.getPatientsByBirthDateRange(startDate, endDate);
         return ResponseEntity.ok(patients);
     }
     
@@ -0,0 +1,249 @@
+package com.hms.patient.controller;
+
+import com.hms.patient.dto.DocumentUploadSession;
+import com.hms.patient.dto.PatientDocumentDto;
+import com.hms.patient.model.PatientDocument;
+import com.hms.patient.service.PatientDocumentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Patient documents: resumable chunked uploads and range-capable downloads.
+ *
+ * Upload: POST /uploads with the metadata, then PUT /uploads/{uploadId} raw chunks with
+ * {@code Upload-Offset} set to the bytes received so far (GET /uploads/{uploadId} reports it after
+ * an interruption), then POST /uploads/{uploadId}/complete, which is safe to repeat.
+ */
+@RestController
+@RequestMapping("/api/v1/documents")
+@CrossOrigin(origins = "*")
+public class PatientDocumentController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PatientDocumentController.class);
+    
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    
+    // Tomcat sends the file itself with sendfile(2) when these request attributes are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    private final PatientDocumentService documentService;
+    
+    @Autowired
+    public PatientDocumentController(PatientDocumentService documentService) {
+        this.documentService = documentService;
+    }
+    
+    /**
+     * Start a resumable upload
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<DocumentUploadSession> startUpload(@Valid @RequestBody DocumentUploadSession session) {
+        logger.info("Starting document upload for patient ID: {}", session.getPatientId());
+        
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(documentService.startUpload(session));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error starting upload: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get an upload in progress; {@code Upload-Offset} is where the next chunk must start
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<DocumentUploadSession> getUpload(@PathVariable String uploadId) {
+        try {
+            return documentService.getUpload(uploadId)
+                    .map(session -> ResponseEntity.ok()
+                            .header(UPLOAD_OFFSET, String.valueOf(session.getReceivedBytes()))
+                            .body(session))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Append a raw chunk. A mismatched offset is answered with 409 and the expected offset.
+     */
+    @PutMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<DocumentUploadSession> appendChunk(@PathVariable String uploadId,
+                                                             @RequestHeader(UPLOAD_OFFSET) long offset,
+                                                             HttpServletRequest request) throws IOException {
+        try {
+            DocumentUploadSession session = documentService.appendChunk(uploadId, offset, request.getInputStream());
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET, String.valueOf(session.getReceivedBytes()))
+                    .body(session);
+        } catch (IllegalStateException e) {
+            logger.warn("Rejected chunk of upload {}: {}", uploadId, e.getMessage());
+            Optional<DocumentUploadSession> session = documentService.getUpload(uploadId);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET, String.valueOf(session.map(DocumentUploadSession::getReceivedBytes).orElse(0L)))
+                    .body(session.orElse(null));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error appending chunk to upload {}: {}", uploadId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Finish an upload once every byte has arrived
+     */
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<PatientDocumentDto> completeUpload(@PathVariable String uploadId) {
+        logger.info("Completing upload {}", uploadId);
+        
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(documentService.completeUpload(uploadId));
+        } catch (IllegalStateException e) {
+            logger.warn("Cannot complete upload {}: {}", uploadId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Abandon an upload
+     */
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String uploadId) {
+        try {
+            return documentService.abortUpload(uploadId)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Get document metadata by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PatientDocumentDto> getDocument(@PathVariable String id) {
+        return documentService.getDocument(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Get the active documents of a patient, optionally of one type
+     */
+    @GetMapping("/patient/{patientId}")
+    public ResponseEntity<List<PatientDocumentDto>> getDocuments(
+            @PathVariable Long patientId,
+            @RequestParam(required = false) PatientDocument.DocumentType documentType) {
+        return ResponseEntity.ok(documentService.getDocuments(patientId, documentType));
+    }
+    
+    /**
+     * Deactivate document
+     */
+    @PutMapping("/{id}/deactivate")
+    public ResponseEntity<Void> deactivateDocument(@PathVariable String id) {
+        logger.info("Deactivating document with ID: {}", id);
+        
+        return documentService.deactivateDocument(id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+    
+    /**
+     * Download document bytes, honouring a single HTTP range. The file goes to the socket with
+     * sendfile when the connector supports it, and with FileChannel.transferTo otherwise.
+     */
+    @GetMapping("/{id}/content")
+    public void downloadDocument(@PathVariable String id, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        Optional<PatientDocumentService.DocumentContent> content = documentService.getContent(id);
+        if (content.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        PatientDocumentDto document = content.get().document();
+        long size = document.getFileSize();
+        String etag = "\"" + document.getContentHash() + "\"";
+        
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        
+        long start = 0L;
+        long end = size - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && size > 0) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multi-range requests are answered with the whole file, which RFC 9110 allows
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+        
+        long length = end - start + 1;
+        response.setContentType(document.getMimeType() != null ? document.getMimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(document.getOriginalFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, content.get().path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        
+        try (FileChannel file = FileChannel.open(content.get().path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.hms.patient.controller;
+
+import com.hms.patient.aggregate.PatientOverviewService;
+import com.hms.patient.dto.PatientOverviewDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/patients")
+@CrossOrigin(origins = "*")
+public class PatientOverviewController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PatientOverviewController.class);
+    
+    private final PatientOverviewService patientOverviewService;
+    
+    @Autowired
+    public PatientOverviewController(PatientOverviewService patientOverviewService) {
+        this.patientOverviewService = patientOverviewService;
+    }
+    
+    /**
+     * Get demographics, upcoming appointments, recent medical records and active prescriptions of a patient in one call.
+     * Sections whose owning service is slow or down are listed as unavailable instead of failing the request.
+     */
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<PatientOverviewDto> getPatientOverview(@PathVariable Long id) {
+        logger.debug("Fetching overview of patient with ID: {}", id);
+        
+        return patientOverviewService.getOverview(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,128 @@
+package com.hms.patient.controller;
+
+import com.hms.patient.dto.InteractionFinding;
+import com.hms.patient.dto.PrescriptionDto;
+import com.hms.patient.dto.RescreenReport;
+import com.hms.patient.interaction.DrugInteractionChecker;
+import com.hms.patient.interaction.PrescriptionRescreenJob;
+import com.hms.patient.service.PrescriptionService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/prescriptions")
+@CrossOrigin(origins = "*")
+public class PrescriptionController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionController.class);
+    
+    private final PrescriptionService prescriptionService;
+    private final DrugInteractionChecker interactionChecker;
+    private final PrescriptionRescreenJob rescreenJob;
+    
+    @Autowired
+    public PrescriptionController(PrescriptionService prescriptionService, DrugInteractionChecker interactionChecker,
+                                  PrescriptionRescreenJob rescreenJob) {
+        this.prescriptionService = prescriptionService;
+        this.interactionChecker = interactionChecker;
+        this.rescreenJob = rescreenJob;
+    }
+    
+    /**
+     * Create a prescription after screening it. Blocking findings are answered with 409 and the
+     * findings unless override is set.
+     */
+    @PostMapping
+    public ResponseEntity<PrescriptionDto> createPrescription(@Valid @RequestBody PrescriptionDto prescriptionDto,
+                                                              @RequestParam(defaultValue = "false") boolean override) {
+        logger.info("Creating prescription for patient ID: {}", prescriptionDto.getPatientId());
+        
+        try {
+            PrescriptionDto result = prescriptionService.createPrescription(prescriptionDto, override);
+            return result.getId() == null
+                    ? ResponseEntity.status(HttpStatus.CONFLICT).body(result)
+                    : ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error creating prescription: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Screen a prescription without saving it
+     */
+    @PostMapping("/check")
+    public ResponseEntity<List<InteractionFinding>> checkPrescription(@Valid @RequestBody PrescriptionDto prescriptionDto) {
+        logger.debug("Screening prescription for patient ID: {}", prescriptionDto.getPatientId());
+        
+        try {
+            return ResponseEntity.ok(prescriptionService.checkPrescription(prescriptionDto));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error screening prescription: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get prescription by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PrescriptionDto> getPrescriptionById(@PathVariable String id) {
+        logger.debug("Fetching prescription by ID: {}", id);
+        
+        return prescriptionService.getPrescriptionById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Get the active prescriptions of a patient
+     */
+    @GetMapping("/patient/{patientId}/active")
+    public ResponseEntity<List<PrescriptionDto>> getActivePrescriptions(@PathVariable Long patientId) {
+        logger.debug("Fetching active prescriptions of patient {}", patientId);
+        
+        return ResponseEntity.ok(prescriptionService.getActivePrescriptions(patientId));
+    }
+    
+    /**
+     * Mark a prescription as no longer active
+     */
+    @PutMapping("/{id}/deactivate")
+    public ResponseEntity<PrescriptionDto> deactivatePrescription(@PathVariable String id) {
+        logger.info("Deactivating prescription with ID: {}", id);
+        
+        return prescriptionService.deactivatePrescription(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Reload the interaction table now; active prescriptions are re-screened in the background
+     */
+    @PostMapping("/interactions/reload")
+    public ResponseEntity<Void> reloadInteractionTable() {
+        logger.info("Reloading interaction table");
+        
+        return interactionChecker.reload()
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+    }
+    
+    /**
+     * Get the outcome of the last re-screen of active prescriptions
+     */
+    @GetMapping("/interactions/rescreen")
+    public ResponseEntity<RescreenReport> getLastRescreen() {
+        return rescreenJob.getLastReport()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,83 @@
+package com.hms.patient.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "hms.datasource.read-replicas")
+public class ReadReplicaProperties {
+    
+    private boolean enabled = false;
+    
+    // Replicas further behind the primary than this are skipped until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+    
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    
+    private List<Replica> replicas = new ArrayList<>();
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+    
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+    
+    public Duration getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+    
+    public void setHealthCheckInterval(Duration healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+    
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+    
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+    
+    public static class Replica {
+        
+        private String url;
+        private String username;
+        private String password;
+        
+        public String getUrl() {
+            return url;
+        }
+        
+        public void setUrl(String url) {
+            this.url = url;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public void setUsername(String username) {
+            this.username = username;
+        }
+        
+        public String getPassword() {
+            return password;
+        }
+        
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.hms.patient.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy read replica (round robin) and everything else to the primary.
+ *
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * read-only flag of a transaction is only known once the transaction has begun, after the
+ * transaction manager has asked for a connection.
+ *
+ * Replica health is checked in the background. A replica that lags more than the configured
+ * tolerance, has stopped replicating, or fails to hand out a connection is skipped until the next
+ * successful check. With no healthy replica, reads go to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    
+    static final String PRIMARY = "primary";
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    private final DataSource primary;
+    private final List<ReplicaState> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Duration maxLag;
+    private final ScheduledExecutorService healthChecker;
+    private final Counter primaryWrites;
+    private final Counter primaryReads;
+    private final Counter replicaFallbacks;
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, Duration maxLag,
+                                    Duration healthCheckInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            ReplicaState replica = new ReplicaState("replica-" + i, replicaDataSources.get(i), meterRegistry);
+            replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        
+        this.primaryWrites = routingCounter(meterRegistry, PRIMARY, false);
+        this.primaryReads = routingCounter(meterRegistry, PRIMARY, true);
+        this.replicaFallbacks = Counter.builder("hms.datasource.replica.fallbacks")
+                .description("Read-only connections sent to the primary because no replica was usable")
+                .register(meterRegistry);
+        
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0,
+                healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryWrites.increment();
+            return PRIMARY;
+        }
+        ReplicaState replica = pickReplica();
+        if (replica == null) {
+            if (!replicas.isEmpty()) {
+                replicaFallbacks.increment();
+            }
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        replica.connections.increment();
+        return replica.key;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = key == PRIMARY ? primary : resolvedTarget(key);
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            if (key == PRIMARY) {
+                throw e;
+            }
+            markUnhealthy(key, e);
+            replicaFallbacks.increment();
+            return primary.getConnection();
+        }
+    }
+    
+    @Override
+    public void destroy() throws Exception {
+        healthChecker.shutdownNow();
+        for (ReplicaState replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+    
+    public DataSource getPrimary() {
+        return primary;
+    }
+    
+    private DataSource resolvedTarget(Object key) {
+        for (ReplicaState replica : replicas) {
+            if (replica.key.equals(key)) {
+                return replica.dataSource;
+            }
+        }
+        return primary;
+    }
+    
+    private ReplicaState pickReplica() {
+        int size = replicas.size();
+        for (int attempt = 0; attempt < size; attempt++) {
+            ReplicaState candidate = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), size));
+            if (candidate.healthy) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+    
+    private void markUnhealthy(Object key, SQLException e) {
+        for (ReplicaState replica : replicas) {
+            if (replica.key.equals(key)) {
+                replica.healthy = false;
+                logger.warn("Read replica {} failed, routing reads to the primary until it recovers: {}",
+                        key, e.getMessage());
+            }
+        }
+    }
+    
+    private void checkReplicas() {
+        for (ReplicaState replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                
+                // A server that is not replicating (e.g. a local stand-in) reports no rows and counts as current
+                long lagSeconds = 0L;
+                if (rs.next()) {
+                    long lag = rs.getLong("Seconds_Behind_Source");
+                    lagSeconds = rs.wasNull() ? Long.MAX_VALUE : lag;
+                }
+                replica.lagSeconds = lagSeconds;
+                boolean healthy = lagSeconds <= maxLag.toSeconds();
+                if (healthy != replica.healthy) {
+                    logger.info("Read replica {} is now {} (lag {}s)", replica.key,
+                            healthy ? "in rotation" : "out of rotation", lagSeconds == Long.MAX_VALUE ? "unknown" : lagSeconds);
+                }
+                replica.healthy = healthy;
+            } catch (SQLException e) {
+                if (replica.healthy) {
+                    logger.warn("Read replica {} health check failed: {}", replica.key, e.getMessage());
+                }
+                replica.healthy = false;
+                replica.lagSeconds = Long.MAX_VALUE;
+            }
+        }
+    }
+    
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, boolean readOnly) {
+        return Counter.builder("hms.datasource.routing.connections")
+                .description("Connections handed out by the routing data source")
+                .tag("target", target)
+                .tag("read-only", String.valueOf(readOnly))
+                .register(meterRegistry);
+    }
+    
+    private static final class ReplicaState {
+        
+        private final String key;
+        private final DataSource dataSource;
+        private final Counter connections;
+        private volatile boolean healthy;
+        private volatile long lagSeconds = Long.MAX_VALUE;
+        
+        ReplicaState(String key, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.key = key;
+            this.dataSource = dataSource;
+            this.connections = routingCounter(meterRegistry, key, true);
+            Gauge.builder("hms.datasource.replica.lag", this,
+                            state -> state.lagSeconds == Long.MAX_VALUE ? Double.NaN : state.lagSeconds)
+                    .description("Replication lag behind the primary")
+                    .baseUnit("seconds")
+                    .tag("target", key)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.hms.patient.document;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.patient.dto.DocumentUploadSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * Local content-addressed store for patient document bytes.
+ *
+ * Uploads are written to {@code uploads/<id>.part} with their session kept next to them as JSON,
+ * so an interrupted upload resumes from the last byte on disk, also across restarts. Completed
+ * files move to {@code objects/<aa>/<bb>/<sha256>}; a file whose hash is already stored is
+ * dropped and the existing object is reused.
+ *
+ * Bytes are moved with FileChannel transfers and never pass through a heap array as a whole.
+ */
+@Component
+public class DocumentStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DocumentStore.class);
+    
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+    
+    private final Path uploads;
+    private final Path objects;
+    private final long maxFileSize;
+    private final Duration abandonedAfter;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ReentrantLock> uploadLocks = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public DocumentStore(@Value("${hms.patient.documents.storage-root:./data/documents}") Path root,
+                         @Value("${hms.patient.documents.max-file-size:2147483648}") long maxFileSize,
+                         @Value("${hms.patient.documents.abandoned-upload-after:24h}") Duration abandonedAfter,
+                         ObjectMapper objectMapper) throws IOException {
+        this.uploads = Files.createDirectories(root.resolve("uploads"));
+        this.objects = Files.createDirectories(root.resolve("objects"));
+        this.maxFileSize = maxFileSize;
+        this.abandonedAfter = abandonedAfter;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Open a new upload session and its empty part file
+     */
+    public DocumentUploadSession start(DocumentUploadSession session) {
+        if (session.getFileSize() > maxFileSize) {
+            throw new IllegalArgumentException("File size exceeds the limit of " + maxFileSize + " bytes");
+        }
+        session.setUploadId(UUID.randomUUID().toString());
+        session.setReceivedBytes(0L);
+        session.setStartedAt(LocalDateTime.now());
+        session.setLastChunkAt(session.getStartedAt());
+        try {
+            Files.createFile(partFile(session.getUploadId()));
+            save(session);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return session;
+    }
+    
+    public Optional<DocumentUploadSession> find(String uploadId) {
+        Path file = sessionFile(uploadId);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), DocumentUploadSession.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Append a chunk starting at {@code offset}, which must equal the bytes received so far.
+     * Whatever arrives before the body ends or breaks off is kept, so the client can resume from there.
+     */
+    public DocumentUploadSession appendChunk(String uploadId, long offset, InputStream body) {
+        ReentrantLock lock = uploadLocks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new IllegalStateException("Another chunk of upload " + uploadId + " is being written");
+        }
+        try {
+            DocumentUploadSession session = find(uploadId)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown upload " + uploadId));
+            if (offset != session.getReceivedBytes()) {
+                throw new IllegalStateException("Upload " + uploadId + " expects offset " + session.getReceivedBytes());
+            }
+            
+            long limit = session.getFileSize() - offset;
+            long written = 0L;
+            IOException failure = null;
+            try (FileChannel part = FileChannel.open(partFile(uploadId), StandardOpenOption.WRITE);
+                 ReadableByteChannel source = Channels.newChannel(body)) {
+                try {
+                    long transferred;
+                    while ((transferred = part.transferFrom(source, offset + written,
+                            Math.min(TRANSFER_CHUNK, limit - written + 1))) > 0) {
+                        written += transferred;
+                        if (written > limit) {
+                            part.truncate(offset + limit);
+                            written = limit;
+                            throw new IllegalArgumentException("Chunk runs past the declared file size");
+                        }
+                    }
+                } catch (IOException e) {
+                    // Client went away mid-chunk: keep what arrived
+                    failure = e;
+                }
+                part.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                session.setReceivedBytes(offset + written);
+                session.setLastChunkAt(LocalDateTime.now());
+                save(session);
+            }
+            if (failure != null) {
+                logger.debug("Upload {} chunk broke off after {} bytes: {}", uploadId, written, failure.getMessage());
+            }
+            return session;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Hash a fully received upload, move it into the object store and hand it to {@code record},
+     * all under the upload's lock. The session is only removed once {@code record} has returned, so
+     * a completion that failed part way can be retried.
+     *
+     * @return what {@code record} returned, or empty if the upload was already completed or aborted
+     */
+    public <T> Optional<T> complete(String uploadId, BiFunction<DocumentUploadSession, String, T> record) {
+        ReentrantLock lock = uploadLocks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+        // Waits for a chunk still being written or for a concurrent completion of the same upload
+        lock.lock();
+        try {
+            Optional<DocumentUploadSession> found = find(uploadId);
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+            DocumentUploadSession session = found.get();
+            if (session.getContentHash() == null) {
+                if (session.getReceivedBytes() != session.getFileSize()) {
+                    throw new IllegalStateException("Upload " + uploadId + " has " + session.getReceivedBytes()
+                            + " of " + session.getFileSize() + " bytes");
+                }
+                session.setContentHash(store(uploadId));
+                save(session);
+            }
+            
+            T result = record.apply(session, session.getContentHash());
+            Files.deleteIfExists(sessionFile(uploadId));
+            uploadLocks.remove(uploadId);
+            return Optional.of(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Drop an upload and whatever it received
+     */
+    public boolean abort(String uploadId) {
+        try {
+            boolean existed = Files.deleteIfExists(sessionFile(uploadId));
+            Files.deleteIfExists(partFile(uploadId));
+            uploadLocks.remove(uploadId);
+            return existed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Path of a stored object, relative to the object directory, as recorded in the document metadata
+     */
+    public String relativePath(String hash) {
+        return objects.relativize(objectPath(hash)).toString();
+    }
+    
+    public Path resolve(String relativePath) {
+        Path path = objects.resolve(relativePath).normalize();
+        if (!path.startsWith(objects)) {
+            throw new IllegalArgumentException("Document path escapes the object store");
+        }
+        return path;
+    }
+    
+    /**
+     * Remove uploads that have not received a chunk within the abandonment window
+     */
+    @Scheduled(fixedDelayString = "${hms.patient.documents.cleanup-interval-ms:3600000}")
+    public void removeAbandonedUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(abandonedAfter);
+        try (DirectoryStream<Path> sessions = Files.newDirectoryStream(uploads, "*.json")) {
+            for (Path file : sessions) {
+                String uploadId = file.getFileName().toString().replace(".json", "");
+                find(uploadId)
+                        .filter(session -> session.getLastChunkAt().isBefore(cutoff))
+                        .ifPresent(session -> {
+                            logger.info("Removing abandoned upload {} of patient {}", uploadId, session.getPatientId());
+                            abort(uploadId);
+                        });
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Failed to clean up abandoned uploads: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Move the part file of an upload to its content address
+     *
+     * @return the SHA-256 of the content, hex encoded
+     */
+    private String store(String uploadId) throws IOException {
+        Path part = partFile(uploadId);
+        String hash = sha256(part);
+        Path target = objectPath(hash);
+        Files.createDirectories(target.getParent());
+        if (Files.exists(target)) {
+            // Same content already stored
+            Files.delete(part);
+            logger.debug("Upload {} duplicates stored object {}", uploadId, hash);
+        } else {
+            // A concurrent completion of identical content may win the rename; both files are the same bytes
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return hash;
+    }
+    
+    private void save(DocumentUploadSession session) {
+        Path file = sessionFile(session.getUploadId());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), session);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private Path partFile(String uploadId) {
+        return uploads.resolve(checkedId(uploadId) + ".part");
+    }
+    
+    private Path sessionFile(String uploadId) {
+        return uploads.resolve(checkedId(uploadId) + ".json");
+    }
+    
+    private Path objectPath(String hash) {
+        return objects.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+    
+    private static String checkedId(String uploadId) {
+        try {
+            return UUID.fromString(uploadId).toString();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown upload " + uploadId);
+        }
+    }
+    
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,151 @@
+package com.hms.patient.dto;
+
+import com.hms.patient.model.PatientDocument.DocumentType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A resumable upload: the metadata of the document being uploaded plus how many bytes have
+ * arrived so far. Clients start one, send chunks from {@code receivedBytes} on and complete it.
+ */
+public class DocumentUploadSession {
+    
+    // Assigned when the upload is started
+    private String uploadId;
+    
+    @NotNull(message = "Patient ID is required")
+    private Long patientId;
+    
+    @NotNull(message = "Document type is required")
+    private DocumentType documentType;
+    
+    @NotBlank(message = "File name is required")
+    private String originalFileName;
+    
+    private String mimeType;
+    
+    @NotNull(message = "File size is required")
+    @Positive(message = "File size must be positive")
+    private Long fileSize;
+    
+    private Long uploadedBy;
+    private String description;
+    private List<String> tags;
+    private long receivedBytes;
+    private LocalDateTime startedAt;
+    private LocalDateTime lastChunkAt;
+    
+    // SHA-256 of the content, set once it has moved into the object store
+    private String contentHash;
+    
+    // Default constructor
+    public DocumentUploadSession() {}
+    
+    // Getters and Setters
+    public String getUploadId() {
+        return uploadId;
+    }
+    
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public DocumentType getDocumentType() {
+        return documentType;
+    }
+    
+    public void setDocumentType(DocumentType documentType) {
+        this.documentType = documentType;
+    }
+    
+    public String getOriginalFileName() {
+        return originalFileName;
+    }
+    
+    public void setOriginalFileName(String originalFileName) {
+        this.originalFileName = originalFileName;
+    }
+    
+    public String getMimeType() {
+        return mimeType;
+    }
+    
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+    
+    public Long getFileSize() {
+        return fileSize;
+    }
+    
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+    
+    public Long getUploadedBy() {
+        return uploadedBy;
+    }
+    
+    public void setUploadedBy(Long uploadedBy) {
+        this.uploadedBy = uploadedBy;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public List<String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+    
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+    
+    public void setReceivedBytes(long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getLastChunkAt() {
+        return lastChunkAt;
+    }
+    
+    public void setLastChunkAt(LocalDateTime lastChunkAt) {
+        this.lastChunkAt = lastChunkAt;
+    }
+    
+    public String getContentHash() {
+        return contentHash;
+    }
+    
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+}
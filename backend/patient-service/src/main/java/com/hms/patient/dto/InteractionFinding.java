@@ -0,0 +1,71 @@
+package com.hms.patient.dto;
+
+import com.hms.patient.interaction.InteractionSeverity;
+
+/**
+ * One problem found when screening a prescription: a drug-drug interaction or an allergy
+ */
+public class InteractionFinding {
+    
+    public static final String DRUG_INTERACTION = "DRUG_INTERACTION";
+    public static final String ALLERGY = "ALLERGY";
+    
+    private String type;
+    private String drug;
+    private String conflictsWith;
+    private InteractionSeverity severity;
+    private String description;
+    
+    // Default constructor
+    public InteractionFinding() {}
+    
+    public InteractionFinding(String type, String drug, String conflictsWith, InteractionSeverity severity,
+                              String description) {
+        this.type = type;
+        this.drug = drug;
+        this.conflictsWith = conflictsWith;
+        this.severity = severity;
+        this.description = description;
+    }
+    
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public String getDrug() {
+        return drug;
+    }
+    
+    public void setDrug(String drug) {
+        this.drug = drug;
+    }
+    
+    public String getConflictsWith() {
+        return conflictsWith;
+    }
+    
+    public void setConflictsWith(String conflictsWith) {
+        this.conflictsWith = conflictsWith;
+    }
+    
+    public InteractionSeverity getSeverity() {
+        return severity;
+    }
+    
+    public void setSeverity(InteractionSeverity severity) {
+        this.severity = severity;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
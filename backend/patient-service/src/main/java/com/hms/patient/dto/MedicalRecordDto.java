@@ -0,0 +1,166 @@
+package com.hms.patient.dto;
+
+import com.hms.patient.model.MedicalRecord;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public class MedicalRecordDto {
+    
+    private Long id;
+    
+    @NotNull(message = "Patient ID is required")
+    private Long patientId;
+    
+    @NotNull(message = "Doctor ID is required")
+    private Long doctorId;
+    
+    private Long appointmentId;
+    private String diagnosis;
+    private String symptoms;
+    private String treatmentPlan;
+    private String prescription;
+    private String notes;
+    private LocalDateTime recordDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Default constructor
+    public MedicalRecordDto() {}
+    
+    // Constructor used by JPQL projections
+    public MedicalRecordDto(Long id, Long patientId, Long doctorId, Long appointmentId, String diagnosis,
+                            String symptoms, String treatmentPlan, String prescription, String notes,
+                            LocalDateTime recordDate, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.appointmentId = appointmentId;
+        this.diagnosis = diagnosis;
+        this.symptoms = symptoms;
+        this.treatmentPlan = treatmentPlan;
+        this.prescription = prescription;
+        this.notes = notes;
+        this.recordDate = recordDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Constructor from MedicalRecord entity
+    public MedicalRecordDto(MedicalRecord record) {
+        this(record.getId(), record.getPatientId(), record.getDoctorId(), record.getAppointmentId(),
+                record.getDiagnosis(), record.getSymptoms(), record.getTreatmentPlan(), record.getPrescription(),
+                record.getNotes(), record.getRecordDate(), record.getCreatedAt(), record.getUpdatedAt());
+    }
+    
+    // Convert to entity
+    public MedicalRecord toEntity() {
+        MedicalRecord record = new MedicalRecord();
+        record.setPatientId(this.patientId);
+        record.setDoctorId(this.doctorId);
+        record.setAppointmentId(this.appointmentId);
+        record.setDiagnosis(this.diagnosis);
+        record.setSymptoms(this.symptoms);
+        record.setTreatmentPlan(this.treatmentPlan);
+        record.setPrescription(this.prescription);
+        record.setNotes(this.notes);
+        record.setRecordDate(this.recordDate);
+        return record;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+    
+    public String getDiagnosis() {
+        return diagnosis;
+    }
+    
+    public void setDiagnosis(String diagnosis) {
+        this.diagnosis = diagnosis;
+    }
+    
+    public String getSymptoms() {
+        return symptoms;
+    }
+    
+    public void setSymptoms(String symptoms) {
+        this.symptoms = symptoms;
+    }
+    
+    public String getTreatmentPlan() {
+        return treatmentPlan;
+    }
+    
+    public void setTreatmentPlan(String treatmentPlan) {
+        this.treatmentPlan = treatmentPlan;
+    }
+    
+    public String getPrescription() {
+        return prescription;
+    }
+    
+    public void setPrescription(String prescription) {
+        this.prescription = prescription;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public LocalDateTime getRecordDate() {
+        return recordDate;
+    }
+    
+    public void setRecordDate(LocalDateTime recordDate) {
+        this.recordDate = recordDate;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
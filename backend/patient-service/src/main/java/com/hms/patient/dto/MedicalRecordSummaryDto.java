@@ -0,0 +1,70 @@
+package com.hms.patient.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Timeline entry: when, by whom and the start of the diagnosis. The full record, including the
+ * clinical narrative, is loaded separately when the entry is opened.
+ */
+public class MedicalRecordSummaryDto {
+    
+    private Long id;
+    private Long doctorId;
+    private Long appointmentId;
+    private String diagnosisExcerpt;
+    private LocalDateTime recordDate;
+    
+    // Default constructor
+    public MedicalRecordSummaryDto() {}
+    
+    // Constructor used by JPQL projections
+    public MedicalRecordSummaryDto(Long id, Long doctorId, Long appointmentId, String diagnosisExcerpt,
+                                   LocalDateTime recordDate) {
+        this.id = id;
+        this.doctorId = doctorId;
+        this.appointmentId = appointmentId;
+        this.diagnosisExcerpt = diagnosisExcerpt;
+        this.recordDate = recordDate;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+    
+    public String getDiagnosisExcerpt() {
+        return diagnosisExcerpt;
+    }
+    
+    public void setDiagnosisExcerpt(String diagnosisExcerpt) {
+        this.diagnosisExcerpt = diagnosisExcerpt;
+    }
+    
+    public LocalDateTime getRecordDate() {
+        return recordDate;
+    }
+    
+    public void setRecordDate(LocalDateTime recordDate) {
+        this.recordDate = recordDate;
+    }
+}
@@ -0,0 +1,39 @@
+package com.hms.patient.dto;
+
+import java.util.List;
+
+/**
+ * One page of a patient's medical record timeline, newest first
+ */
+public class MedicalRecordTimelinePage {
+    
+    private List<MedicalRecordSummaryDto> entries;
+    
+    // Absent on the last page
+    private String nextCursor;
+    
+    // Default constructor
+    public MedicalRecordTimelinePage() {}
+    
+    public MedicalRecordTimelinePage(List<MedicalRecordSummaryDto> entries, String nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<MedicalRecordSummaryDto> getEntries() {
+        return entries;
+    }
+    
+    public void setEntries(List<MedicalRecordSummaryDto> entries) {
+        this.entries = entries;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,59 @@
+package com.hms.patient.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-year roll-up of a patient's older medical records
+ */
+public class MedicalRecordYearSummary {
+    
+    private int year;
+    private long recordCount;
+    private LocalDateTime firstRecordDate;
+    private LocalDateTime lastRecordDate;
+    
+    // Default constructor
+    public MedicalRecordYearSummary() {}
+    
+    // Constructor used by JPQL projections
+    public MedicalRecordYearSummary(Integer year, Long recordCount, LocalDateTime firstRecordDate,
+                                    LocalDateTime lastRecordDate) {
+        this.year = year;
+        this.recordCount = recordCount;
+        this.firstRecordDate = firstRecordDate;
+        this.lastRecordDate = lastRecordDate;
+    }
+    
+    // Getters and Setters
+    public int getYear() {
+        return year;
+    }
+    
+    public void setYear(int year) {
+        this.year = year;
+    }
+    
+    public long getRecordCount() {
+        return recordCount;
+    }
+    
+    public void setRecordCount(long recordCount) {
+        this.recordCount = recordCount;
+    }
+    
+    public LocalDateTime getFirstRecordDate() {
+        return firstRecordDate;
+    }
+    
+    public void setFirstRecordDate(LocalDateTime firstRecordDate) {
+        this.firstRecordDate = firstRecordDate;
+    }
+    
+    public LocalDateTime getLastRecordDate() {
+        return lastRecordDate;
+    }
+    
+    public void setLastRecordDate(LocalDateTime lastRecordDate) {
+        this.lastRecordDate = lastRecordDate;
+    }
+}
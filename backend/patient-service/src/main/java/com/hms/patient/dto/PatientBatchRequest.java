@@ -0,0 +1,50 @@
+package com.hms.patient.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PatientBatchRequest {
+    
+    @NotEmpty(message = "At least one patient ID is required")
+    @Size(max = 500, message = "At most 500 patient IDs can be fetched per call")
+    private List<@NotNull Long> ids = new ArrayList<>();
+    
+    // Empty means the default summary fields; large TEXT fields must be requested explicitly
+    private List<String> fields = new ArrayList<>();
+    
+    // Default constructor
+    public PatientBatchRequest() {}
+    
+    public PatientBatchRequest(List<Long> ids, List<String> fields) {
+        this.ids = ids;
+        this.fields = fields;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public List<String> getFields() {
+        return fields;
+    }
+    
+    public void setFields(List<String> fields) {
+        this.fields = fields;
+    }
+    
+    @Override
+    public String toString() {
+        return "PatientBatchRequest{" +
+                "ids=" + ids +
+                ", fields=" + fields +
+                '}';
+    }
+}
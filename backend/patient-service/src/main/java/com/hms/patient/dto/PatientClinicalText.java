@@ -0,0 +1,13 @@
+package com.hms.patient.dto;
+
+/**
+ * Interface projection of the free-text clinical columns, used to build the clinical term index
+ */
+public interface PatientClinicalText {
+    
+    Long getId();
+    
+    String getAllergies();
+    
+    String getMedicalHistory();
+}
@@ -0,0 +1,63 @@
+package com.hms.patient.dto;
+
+import com.hms.patient.repository.PatientSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated patient listing: the sort order plus the sort value and ID of
+ * the last row returned. Encoded as an opaque URL-safe token for clients.
+ */
+public class PatientCursor {
+    
+    private final PatientSortField sortField;
+    private final boolean descending;
+    private final Object lastValue;
+    private final Long lastId;
+    
+    public PatientCursor(PatientSortField sortField, boolean descending, Object lastValue, Long lastId) {
+        if (lastValue == null) {
+            // Would encode as "null" and fail to parse; the sort columns are NOT NULL
+            throw new IllegalStateException("Patient " + lastId + " has no " + sortField.getProperty());
+        }
+        this.sortField = sortField;
+        this.descending = descending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+    
+    public PatientSortField getSortField() {
+        return sortField;
+    }
+    
+    public boolean isDescending() {
+        return descending;
+    }
+    
+    public Object getLastValue() {
+        return lastValue;
+    }
+    
+    public Long getLastId() {
+        return lastId;
+    }
+    
+    public String encode() {
+        String raw = sortField.name() + '|' + (descending ? "desc" : "asc") + '|' + lastId + '|' + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static PatientCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The sort value goes last so it may itself contain the separator
+            String[] parts = raw.split("\\|", 4);
+            PatientSortField sortField = PatientSortField.valueOf(parts[0]);
+            return new PatientCursor(sortField, "desc".equals(parts[1]), sortField.parseValue(parts[3]),
+                    Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.hms.patient.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of patient summaries
+ */
+public class PatientCursorPage {
+    
+    private List<PatientSummaryDto> content;
+    
+    // Absent on the last page
+    private String nextCursor;
+    
+    // Cached estimate, only filled when requested
+    private Long approximateTotal;
+    
+    // Default constructor
+    public PatientCursorPage() {}
+    
+    public PatientCursorPage(List<PatientSummaryDto> content, String nextCursor, Long approximateTotal) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.approximateTotal = approximateTotal;
+    }
+    
+    // Getters and Setters
+    public List<PatientSummaryDto> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<PatientSummaryDto> content) {
+        this.content = content;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public Long getApproximateTotal() {
+        return approximateTotal;
+    }
+    
+    public void setApproximateTotal(Long approximateTotal) {
+        this.approximateTotal = approximateTotal;
+    }
+}
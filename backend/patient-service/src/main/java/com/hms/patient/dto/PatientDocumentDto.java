@@ -0,0 +1,158 @@
+package com.hms.patient.dto;
+
+import com.hms.patient.model.PatientDocument;
+import com.hms.patient.model.PatientDocument.DocumentType;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class PatientDocumentDto {
+    
+    private String id;
+    private Long patientId;
+    private DocumentType documentType;
+    private String fileName;
+    private String originalFileName;
+    private Long fileSize;
+    private String mimeType;
+    private String contentHash;
+    private Long uploadedBy;
+    private String description;
+    private List<String> tags;
+    private Boolean active;
+    private LocalDateTime uploadedAt;
+    private LocalDateTime createdAt;
+    
+    // Default constructor
+    public PatientDocumentDto() {}
+    
+    // Constructor from PatientDocument document
+    public PatientDocumentDto(PatientDocument document) {
+        this.id = document.getId();
+        this.patientId = document.getPatientId();
+        this.documentType = document.getDocumentType();
+        this.fileName = document.getFileName();
+        this.originalFileName = document.getOriginalFileName();
+        this.fileSize = document.getFileSize();
+        this.mimeType = document.getMimeType();
+        this.contentHash = document.getContentHash();
+        this.uploadedBy = document.getUploadedBy();
+        this.description = document.getDescription();
+        this.tags = document.getTags();
+        this.active = document.getActive();
+        this.uploadedAt = document.getUploadedAt();
+        this.createdAt = document.getCreatedAt();
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public DocumentType getDocumentType() {
+        return documentType;
+    }
+    
+    public void setDocumentType(DocumentType documentType) {
+        this.documentType = documentType;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    
+    public String getOriginalFileName() {
+        return originalFileName;
+    }
+    
+    public void setOriginalFileName(String originalFileName) {
+        this.originalFileName = originalFileName;
+    }
+    
+    public Long getFileSize() {
+        return fileSize;
+    }
+    
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+    
+    public String getMimeType() {
+        return mimeType;
+    }
+    
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+    
+    public String getContentHash() {
+        return contentHash;
+    }
+    
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+    
+    public Long getUploadedBy() {
+        return uploadedBy;
+    }
+    
+    public void setUploadedBy(Long uploadedBy) {
+        this.uploadedBy = uploadedBy;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public List<String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+    
+    public Boolean getActive() {
+        return active;
+    }
+    
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+    
+    public LocalDateTime getUploadedAt() {
+        return uploadedAt;
+    }
+    
+    public void setUploadedAt(LocalDateTime uploadedAt) {
+        this.uploadedAt = uploadedAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -54,6 +54,29 @@ public class PatientDto {
     // Default constructor
     public PatientDto() {}
     
+    // Constructor used by JPQL projections
+    public PatientDto(Long id, Long userId, String firstName, String lastName, LocalDate dateOfBirth,
+                      Patient.Gender gender, String phone, String address, String emergencyContact,
+                      String bloodGroup, String allergies, String medicalHistory, String insuranceProvider,
+                      String insuranceNumber, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.dateOfBirth = dateOfBirth;
+        this.gender = gender;
+        this.phone = phone;
+        this.address = address;
+        this.emergencyContact = emergencyContact;
+        this.bloodGroup = bloodGroup;
+        this.allergies = allergies;
+        this.medicalHistory = medicalHistory;
+        this.insuranceProvider = insuranceProvider;
+        this.insuranceNumber = insuranceNumber;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
     // Constructor from Patient entity
     public PatientDto(Patient patient) {
         this.id = patient.getId();
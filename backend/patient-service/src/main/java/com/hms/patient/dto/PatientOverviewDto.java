@@ -0,0 +1,72 @@
+package com.hms.patient.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Patient-360 view: demographics plus one entry per overview section.
+ *
+ * Sections that could not be loaded in time are left out of {@code sections} and listed in
+ * {@code unavailable} with the reason, and {@code partial} is set.
+ */
+public class PatientOverviewDto {
+    
+    private PatientDto patient;
+    private Map<String, Object> sections;
+    private Map<String, String> unavailable;
+    private boolean partial;
+    private LocalDateTime assembledAt;
+    
+    // Default constructor
+    public PatientOverviewDto() {}
+    
+    public PatientOverviewDto(PatientDto patient, Map<String, Object> sections, Map<String, String> unavailable,
+                              LocalDateTime assembledAt) {
+        this.patient = patient;
+        this.sections = sections;
+        this.unavailable = unavailable;
+        this.partial = !unavailable.isEmpty();
+        this.assembledAt = assembledAt;
+    }
+    
+    // Getters and Setters
+    public PatientDto getPatient() {
+        return patient;
+    }
+    
+    public void setPatient(PatientDto patient) {
+        this.patient = patient;
+    }
+    
+    public Map<String, Object> getSections() {
+        return sections;
+    }
+    
+    public void setSections(Map<String, Object> sections) {
+        this.sections = sections;
+    }
+    
+    public Map<String, String> getUnavailable() {
+        return unavailable;
+    }
+    
+    public void setUnavailable(Map<String, String> unavailable) {
+        this.unavailable = unavailable;
+    }
+    
+    public boolean isPartial() {
+        return partial;
+    }
+    
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+    
+    public LocalDateTime getAssembledAt() {
+        return assembledAt;
+    }
+    
+    public void setAssembledAt(LocalDateTime assembledAt) {
+        this.assembledAt = assembledAt;
+    }
+}
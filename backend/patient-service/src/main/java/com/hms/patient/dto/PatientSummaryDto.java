@@ -0,0 +1,128 @@
+package com.hms.patient.dto;
+
+import com.hms.patient.model.Patient;
+import java.time.LocalDate;
+
+/**
+ * Lightweight patient view for list endpoints.
+ *
+ * Built directly by JPQL constructor expressions, so list queries never read the
+ * address, allergies or medical history TEXT columns.
+ */
+public class PatientSummaryDto {
+    
+    private Long id;
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private LocalDate dateOfBirth;
+    private Patient.Gender gender;
+    private String phone;
+    private String bloodGroup;
+    private String insuranceProvider;
+    
+    // Default constructor
+    public PatientSummaryDto() {}
+    
+    // Constructor used by JPQL projections
+    public PatientSummaryDto(Long id, Long userId, String firstName, String lastName, LocalDate dateOfBirth,
+                             Patient.Gender gender, String phone, String bloodGroup, String insuranceProvider) {
+        this.id = id;
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.dateOfBirth = dateOfBirth;
+        this.gender = gender;
+        this.phone = phone;
+        this.bloodGroup = bloodGroup;
+        this.insuranceProvider = insuranceProvider;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+    
+    public void setDateOfBirth(LocalDate dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+    
+    public Patient.Gender getGender() {
+        return gender;
+    }
+    
+    public void setGender(Patient.Gender gender) {
+        this.gender = gender;
+    }
+    
+    public String getPhone() {
+        return phone;
+    }
+    
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+    
+    public String getBloodGroup() {
+        return bloodGroup;
+    }
+    
+    public void setBloodGroup(String bloodGroup) {
+        this.bloodGroup = bloodGroup;
+    }
+    
+    public String getInsuranceProvider() {
+        return insuranceProvider;
+    }
+    
+    public void setInsuranceProvider(String insuranceProvider) {
+        this.insuranceProvider = insuranceProvider;
+    }
+    
+    @Override
+    public String toString() {
+        return "PatientSummaryDto{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", firstName='" + firstName + '\'' +
+                ", lastName='" + lastName + '\'' +
+                ", dateOfBirth=" + dateOfBirth +
+                ", gender=" + gender +
+                ", phone='" + phone + '\'' +
+                ", bloodGroup='" + bloodGroup + '\'' +
+                ", insuranceProvider='" + insuranceProvider + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,195 @@
+package com.hms.patient.dto;
+
+import com.hms.patient.model.Prescription;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class PrescriptionDto {
+    
+    private String id;
+    
+    @NotNull(message = "Patient ID is required")
+    private Long patientId;
+    
+    @NotNull(message = "Doctor ID is required")
+    private Long doctorId;
+    
+    private Long appointmentId;
+    private LocalDateTime prescriptionDate;
+    
+    @NotEmpty(message = "At least one medication is required")
+    private List<String> medications;
+    
+    private Map<String, String> dosage;
+    private String frequency;
+    private String duration;
+    private String instructions;
+    private List<String> sideEffects;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Screening result, filled by the service
+    private List<InteractionFinding> findings;
+    
+    // Default constructor
+    public PrescriptionDto() {}
+    
+    // Constructor from Prescription document
+    public PrescriptionDto(Prescription prescription) {
+        this.id = prescription.getId();
+        this.patientId = prescription.getPatientId();
+        this.doctorId = prescription.getDoctorId();
+        this.appointmentId = prescription.getAppointmentId();
+        this.prescriptionDate = prescription.getPrescriptionDate();
+        this.medications = prescription.getMedications();
+        this.dosage = prescription.getDosage();
+        this.frequency = prescription.getFrequency();
+        this.duration = prescription.getDuration();
+        this.instructions = prescription.getInstructions();
+        this.sideEffects = prescription.getSideEffects();
+        this.active = prescription.getActive();
+        this.createdAt = prescription.getCreatedAt();
+        this.updatedAt = prescription.getUpdatedAt();
+    }
+    
+    // Convert to document
+    public Prescription toDocument() {
+        Prescription prescription = new Prescription();
+        prescription.setPatientId(this.patientId);
+        prescription.setDoctorId(this.doctorId);
+        prescription.setAppointmentId(this.appointmentId);
+        prescription.setPrescriptionDate(this.prescriptionDate);
+        prescription.setMedications(this.medications);
+        prescription.setDosage(this.dosage);
+        prescription.setFrequency(this.frequency);
+        prescription.setDuration(this.duration);
+        prescription.setInstructions(this.instructions);
+        prescription.setSideEffects(this.sideEffects);
+        return prescription;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+    
+    public LocalDateTime getPrescriptionDate() {
+        return prescriptionDate;
+    }
+    
+    public void setPrescriptionDate(LocalDateTime prescriptionDate) {
+        this.prescriptionDate = prescriptionDate;
+    }
+    
+    public List<String> getMedications() {
+        return medications;
+    }
+    
+    public void setMedications(List<String> medications) {
+        this.medications = medications;
+    }
+    
+    public Map<String, String> getDosage() {
+        return dosage;
+    }
+    
+    public void setDosage(Map<String, String> dosage) {
+        this.dosage = dosage;
+    }
+    
+    public String getFrequency() {
+        return frequency;
+    }
+    
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+    
+    public String getDuration() {
+        return duration;
+    }
+    
+    public void setDuration(String duration) {
+        this.duration = duration;
+    }
+    
+    public String getInstructions() {
+        return instructions;
+    }
+    
+    public void setInstructions(String instructions) {
+        this.instructions = instructions;
+    }
+    
+    public List<String> getSideEffects() {
+        return sideEffects;
+    }
+    
+    public void setSideEffects(List<String> sideEffects) {
+        this.sideEffects = sideEffects;
+    }
+    
+    public Boolean getActive() {
+        return active;
+    }
+    
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public List<InteractionFinding> getFindings() {
+        return findings;
+    }
+    
+    public void setFindings(List<InteractionFinding> findings) {
+        this.findings = findings;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hms.patient.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of re-screening every active prescription against the interaction table
+ */
+public class RescreenReport {
+    
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long patientsScreened;
+    private long prescriptionsScreened;
+    private long prescriptionsFlagged;
+    private int tableRules;
+    
+    // Default constructor
+    public RescreenReport() {}
+    
+    // Getters and Setters
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public long getPatientsScreened() {
+        return patientsScreened;
+    }
+    
+    public void setPatientsScreened(long patientsScreened) {
+        this.patientsScreened = patientsScreened;
+    }
+    
+    public long getPrescriptionsScreened() {
+        return prescriptionsScreened;
+    }
+    
+    public void setPrescriptionsScreened(long prescriptionsScreened) {
+        this.prescriptionsScreened = prescriptionsScreened;
+    }
+    
+    public long getPrescriptionsFlagged() {
+        return prescriptionsFlagged;
+    }
+    
+    public void setPrescriptionsFlagged(long prescriptionsFlagged) {
+        this.prescriptionsFlagged = prescriptionsFlagged;
+    }
+    
+    public int getTableRules() {
+        return tableRules;
+    }
+    
+    public void setTableRules(int tableRules) {
+        this.tableRules = tableRules;
+    }
+}
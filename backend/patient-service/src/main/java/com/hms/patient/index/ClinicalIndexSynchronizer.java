@@ -0,0 +1,105 @@
+package com.hms.patient.index;
+
+import com.hms.patient.dto.PatientClinicalText;
+import com.hms.patient.repository.PatientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the {@link ClinicalTermIndex} in step with the patients table.
+ *
+ * The index is built once in the background at startup by walking the table in ID order,
+ * then maintained from patient-events so that every replica sees changes made on the others.
+ * Local writes are also applied directly by the service after commit. A row read by the build
+ * is skipped when the patient changed after its batch was read, so the build never undoes a change.
+ */
+@Component
+public class ClinicalIndexSynchronizer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ClinicalIndexSynchronizer.class);
+    
+    private final PatientRepository patientRepository;
+    private final ClinicalTermIndex index;
+    private final int batchSize;
+    
+    @Autowired
+    public ClinicalIndexSynchronizer(PatientRepository patientRepository, ClinicalTermIndex index,
+                                     @Value("${hms.patient.clinical-index.build-batch-size:1000}") int batchSize) {
+        this.patientRepository = patientRepository;
+        this.index = index;
+        this.batchSize = batchSize;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(this::rebuild, "clinical-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+    
+    /**
+     * Re-index every patient, reading only the ID and the two clinical columns
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long lastId = 0L;
+        long indexed = 0L;
+        try {
+            List<PatientClinicalText> batch;
+            do {
+                // Read before the rows: a live change applied after this point wins over the row
+                long loadedAtSequence = index.changeSequence();
+                batch = patientRepository.findClinicalTextAfter(lastId, PageRequest.of(0, batchSize));
+                for (PatientClinicalText row : batch) {
+                    index.indexLoaded(row.getId(), row.getAllergies(), row.getMedicalHistory(), loadedAtSequence);
+                    lastId = row.getId();
+                }
+                indexed += batch.size();
+            } while (batch.size() == batchSize);
+            
+            index.markReady();
+            logger.info("Clinical term index built for {} patients in {} ms ({} allergy terms, {} condition terms)",
+                    indexed, System.currentTimeMillis() - started,
+                    index.termCount(ClinicalTermIndex.Field.ALLERGY), index.termCount(ClinicalTermIndex.Field.CONDITION));
+        } catch (Exception e) {
+            logger.error("Failed to build clinical term index, searches will keep using the database", e);
+        }
+    }
+    
+    /**
+     * Apply patient changes published by any replica ({@code PATIENT_<ACTION>:<id>})
+     */
+    @KafkaListener(topics = "patient-events",
+            groupId = "patient-clinical-index-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onPatientEvent(String event) {
+        int separator = event.lastIndexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        long patientId;
+        try {
+            patientId = Long.parseLong(event.substring(separator + 1).trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed patient event: {}", event);
+            return;
+        }
+        
+        if (event.startsWith("PATIENT_DELETED")) {
+            index.remove(patientId);
+        } else {
+            patientRepository.findClinicalTextById(patientId).ifPresentOrElse(
+                    row -> index.index(row.getId(), row.getAllergies(), row.getMedicalHistory()),
+                    () -> index.remove(patientId));
+        }
+    }
+}
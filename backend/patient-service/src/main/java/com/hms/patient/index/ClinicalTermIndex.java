@@ -0,0 +1,188 @@
+package com.hms.patient.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory inverted index of allergy and medical history terms to patient IDs.
+ *
+ * Queries are answered by intersecting (AND) or merging (OR) sorted posting lists instead of
+ * scanning the TEXT columns. A query term matches every indexed term it is a prefix of,
+ * which keeps the "containing" feel of the old LIKE search for partial words such as "penicil".
+ *
+ * Unlike {@code LIKE '%term%'} a term no longer matches inside a word ("cillin" does not find
+ * "amoxicillin"), and one-character words and stop words are neither indexed nor searched.
+ */
+@Component
+public class ClinicalTermIndex {
+    
+    public enum Field {
+        ALLERGY, CONDITION
+    }
+    
+    public enum Match {
+        ALL, ANY
+    }
+    
+    private final Map<Field, NavigableMap<String, PostingList>> postings = new EnumMap<>(Field.class);
+    private final Map<Field, Map<Long, Set<String>>> termsByPatient = new EnumMap<>(Field.class);
+    // Sequence number of the last live change per patient, checked before applying a row read by a rebuild
+    private final Map<Long, Long> lastChangeByPatient = new ConcurrentHashMap<>();
+    private final AtomicLong changeSequence = new AtomicLong();
+    private volatile boolean ready;
+    
+    public ClinicalTermIndex() {
+        for (Field field : Field.values()) {
+            postings.put(field, new ConcurrentSkipListMap<>());
+            termsByPatient.put(field, new ConcurrentHashMap<>());
+        }
+    }
+    
+    /**
+     * Whether the initial build has completed; until then callers should fall back to the database
+     */
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public synchronized void markReady() {
+        this.ready = true;
+        // Rows read from here on are never older than the index
+        lastChangeByPatient.clear();
+    }
+    
+    /**
+     * Sequence number of the latest live change; a rebuild reads it before each batch of rows
+     */
+    public long changeSequence() {
+        return changeSequence.get();
+    }
+    
+    /**
+     * Index (or re-index) a patient's allergy and medical history text after a change
+     */
+    public synchronized void index(long patientId, String allergies, String medicalHistory) {
+        recordChange(patientId);
+        tokenizeAndUpdate(patientId, allergies, medicalHistory);
+    }
+    
+    /**
+     * Index a row read by a rebuild, unless the patient changed after the row's batch was read
+     */
+    public synchronized void indexLoaded(long patientId, String allergies, String medicalHistory,
+                                         long loadedAtSequence) {
+        if (lastChangeByPatient.getOrDefault(patientId, 0L) > loadedAtSequence) {
+            return;
+        }
+        tokenizeAndUpdate(patientId, allergies, medicalHistory);
+    }
+    
+    public synchronized void remove(long patientId) {
+        recordChange(patientId);
+        update(Field.ALLERGY, patientId, Set.of());
+        update(Field.CONDITION, patientId, Set.of());
+    }
+    
+    private void recordChange(long patientId) {
+        long sequence = changeSequence.incrementAndGet();
+        // Only a running build reads the map; markReady clears it
+        if (!ready) {
+            lastChangeByPatient.put(patientId, sequence);
+        }
+    }
+    
+    private void tokenizeAndUpdate(long patientId, String allergies, String medicalHistory) {
+        update(Field.ALLERGY, patientId, ClinicalTermTokenizer.tokenize(allergies));
+        update(Field.CONDITION, patientId, ClinicalTermTokenizer.tokenize(medicalHistory));
+    }
+    
+    /**
+     * Patient IDs, ascending, whose field matches all or any of the query terms
+     */
+    public long[] search(Field field, Collection<String> queryTerms, Match match) {
+        List<long[]> perTerm = new ArrayList<>();
+        for (String queryTerm : queryTerms) {
+            Set<String> tokens = ClinicalTermTokenizer.tokenize(queryTerm);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            // A multi-word query term ("peanut oil") needs every word present
+            List<long[]> perToken = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                perToken.add(prefixMatches(field, token));
+            }
+            perTerm.add(PostingList.intersect(perToken.toArray(long[][]::new)));
+        }
+        if (perTerm.isEmpty()) {
+            return new long[0];
+        }
+        long[][] lists = perTerm.toArray(long[][]::new);
+        return match == Match.ALL ? PostingList.intersect(lists) : PostingList.union(lists);
+    }
+    
+    /**
+     * Patient IDs, ascending, matching allergy and condition terms together; fields without terms are ignored
+     */
+    public long[] search(Collection<String> allergyTerms, Collection<String> conditionTerms, Match match) {
+        List<long[]> perField = new ArrayList<>(2);
+        if (!allergyTerms.isEmpty()) {
+            perField.add(search(Field.ALLERGY, allergyTerms, match));
+        }
+        if (!conditionTerms.isEmpty()) {
+            perField.add(search(Field.CONDITION, conditionTerms, match));
+        }
+        long[][] lists = perField.toArray(long[][]::new);
+        return match == Match.ALL ? PostingList.intersect(lists) : PostingList.union(lists);
+    }
+    
+    /**
+     * Number of distinct terms indexed for a field
+     */
+    public int termCount(Field field) {
+        return postings.get(field).size();
+    }
+    
+    private long[] prefixMatches(Field field, String prefix) {
+        Collection<PostingList> matches = postings.get(field)
+                .subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .values();
+        if (matches.size() == 1) {
+            return matches.iterator().next().ids();
+        }
+        return PostingList.union(matches.stream().map(PostingList::ids).toArray(long[][]::new));
+    }
+    
+    private void update(Field field, long patientId, Set<String> terms) {
+        NavigableMap<String, PostingList> dictionary = postings.get(field);
+        Set<String> previous = terms.isEmpty()
+                ? termsByPatient.get(field).remove(patientId)
+                : termsByPatient.get(field).put(patientId, Set.copyOf(terms));
+        
+        if (previous != null) {
+            for (String term : previous) {
+                if (!terms.contains(term)) {
+                    PostingList list = dictionary.get(term);
+                    if (list != null) {
+                        list.remove(patientId);
+                        if (list.size() == 0) {
+                            dictionary.remove(term);
+                        }
+                    }
+                }
+            }
+        }
+        for (String term : terms) {
+            dictionary.computeIfAbsent(term, t -> new PostingList()).add(patientId);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.hms.patient.index;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free-text allergy and medical history entries into normalized index terms
+ */
+public final class ClinicalTermTokenizer {
+    
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "or", "of", "the", "to", "in", "on", "with", "without", "for", "by",
+            "is", "was", "has", "had", "no", "not", "since", "at", "as");
+    
+    private ClinicalTermTokenizer() {}
+    
+    /**
+     * Lowercase, strip accents and collapse anything that is not a letter or digit into single spaces,
+     * so that multi-word names such as drug names compare equal however they were typed
+     */
+    public static String normalizePhrase(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(normalized.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+    
+    /**
+     * Lowercase, strip accents, split on anything that is not a letter or digit and drop stop words
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
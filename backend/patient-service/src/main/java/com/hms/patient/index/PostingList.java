@@ -0,0 +1,140 @@
+package com.hms.patient.index;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, copy-on-write list of patient IDs for one term.
+ *
+ * Reads work on the current array without locking or copying; the rare writes
+ * (patient create/update) publish a new array.
+ */
+final class PostingList {
+    
+    private static final long[] EMPTY = new long[0];
+    
+    private volatile long[] ids = EMPTY;
+    
+    long[] ids() {
+        return ids;
+    }
+    
+    int size() {
+        return ids.length;
+    }
+    
+    synchronized void add(long id) {
+        long[] current = ids;
+        int pos = Arrays.binarySearch(current, id);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        long[] next = new long[current.length + 1];
+        System.arraycopy(current, 0, next, 0, insertAt);
+        next[insertAt] = id;
+        System.arraycopy(current, insertAt, next, insertAt + 1, current.length - insertAt);
+        ids = next;
+    }
+    
+    synchronized void remove(long id) {
+        long[] current = ids;
+        int pos = Arrays.binarySearch(current, id);
+        if (pos < 0) {
+            return;
+        }
+        long[] next = new long[current.length - 1];
+        System.arraycopy(current, 0, next, 0, pos);
+        System.arraycopy(current, pos + 1, next, pos, current.length - pos - 1);
+        ids = next;
+    }
+    
+    /**
+     * Intersect sorted ID arrays, smallest first, galloping through the larger ones
+     */
+    static long[] intersect(long[]... lists) {
+        if (lists.length == 0) {
+            return EMPTY;
+        }
+        long[][] sorted = lists.clone();
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.length, b.length));
+        
+        long[] result = sorted[0];
+        for (int i = 1; i < sorted.length && result.length > 0; i++) {
+            result = intersect(result, sorted[i]);
+        }
+        return result;
+    }
+    
+    /**
+     * Merge sorted ID arrays without duplicates
+     */
+    static long[] union(long[]... lists) {
+        long[] result = EMPTY;
+        for (long[] list : lists) {
+            result = union(result, list);
+        }
+        return result;
+    }
+    
+    private static long[] intersect(long[] small, long[] large) {
+        long[] out = new long[small.length];
+        int count = 0;
+        int from = 0;
+        for (long id : small) {
+            from = gallop(large, from, id);
+            if (from >= large.length) {
+                break;
+            }
+            if (large[from] == id) {
+                out[count++] = id;
+                from++;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+    
+    /**
+     * First index at or after {@code from} whose value is >= target
+     */
+    private static int gallop(long[] values, int from, long target) {
+        int step = 1;
+        int hi = from;
+        while (hi < values.length && values[hi] < target) {
+            from = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+        int pos = Arrays.binarySearch(values, from, Math.min(hi + 1, values.length), target);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+    
+    private static long[] union(long[] a, long[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        long[] out = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                out[count++] = a[i++];
+            } else if (a[i] > b[j]) {
+                out[count++] = b[j++];
+            } else {
+                out[count++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            out[count++] = a[i++];
+        }
+        while (j < b.length) {
+            out[count++] = b[j++];
+        }
+        return Arrays.copyOf(out, count);
+    }
+}
@@ -0,0 +1,197 @@
+package com.hms.patient.interaction;
+
+import com.hms.patient.dto.InteractionFinding;
+import com.hms.patient.index.ClinicalTermTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Screens medications against each other and against a patient's allergies using the
+ * {@link DrugInteractionTable} loaded from {@code hms.patient.interactions.table}.
+ *
+ * The table is swapped atomically when the source file changes, so checks never wait on a reload.
+ * The service does not start without a table: screening against an empty one would pass every prescription.
+ */
+@Component
+public class DrugInteractionChecker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DrugInteractionChecker.class);
+    
+    private static final Pattern ALLERGY_SEPARATORS = Pattern.compile("[,;\\n]");
+    
+    private final Resource source;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private volatile DrugInteractionTable table = DrugInteractionTable.empty();
+    private volatile long loadedModified = -1L;
+    
+    @Autowired
+    public DrugInteractionChecker(@Value("${hms.patient.interactions.table:classpath:interactions/drug-interactions.csv}") Resource source,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.source = source;
+        this.eventPublisher = eventPublisher;
+        if (!load()) {
+            throw new IllegalStateException("Interaction table " + source + " could not be loaded");
+        }
+    }
+    
+    /**
+     * Re-read the table if its file has changed since it was last loaded
+     */
+    @Scheduled(fixedDelayString = "${hms.patient.interactions.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        if (!source.isFile()) {
+            return;
+        }
+        try {
+            if (source.lastModified() != loadedModified) {
+                reload();
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot check interaction table {} for changes: {}", source, e.getMessage());
+        }
+    }
+    
+    /**
+     * Re-read the table now and, if it loads, announce it so active prescriptions are re-screened
+     */
+    public boolean reload() {
+        if (load()) {
+            eventPublisher.publishEvent(new InteractionTableReloadedEvent(table.size()));
+            return true;
+        }
+        return false;
+    }
+    
+    public int ruleCount() {
+        return table.size();
+    }
+    
+    /**
+     * Screen new medications against each other, the patient's active medications and allergies
+     */
+    public List<InteractionFinding> check(Collection<String> newDrugs, Collection<String> activeDrugs, String allergies) {
+        DrugInteractionTable current = table;
+        List<String> newNames = normalize(newDrugs);
+        List<String> activeNames = normalize(activeDrugs);
+        Set<String> allergens = allergens(allergies);
+        
+        int[] newIds = idsOf(current, newNames);
+        int[] activeIds = idsOf(current, activeNames);
+        int[] allergenIds = idsOf(current, new ArrayList<>(allergens));
+        List<String> allergenNames = new ArrayList<>(allergens);
+        
+        List<InteractionFinding> findings = new ArrayList<>();
+        for (int i = 0; i < newIds.length; i++) {
+            String drug = newNames.get(i);
+            
+            if (allergens.contains(drug)) {
+                findings.add(new InteractionFinding(InteractionFinding.ALLERGY, drug, drug,
+                        InteractionSeverity.CONTRAINDICATED, "Patient is allergic to " + drug));
+            }
+            if (newIds[i] < 0) {
+                continue;
+            }
+            for (int j = 0; j < activeIds.length; j++) {
+                addInteraction(findings, current, newIds[i], activeIds[j], drug, activeNames.get(j));
+            }
+            for (int j = i + 1; j < newIds.length; j++) {
+                addInteraction(findings, current, newIds[i], newIds[j], drug, newNames.get(j));
+            }
+            for (int j = 0; j < allergenIds.length; j++) {
+                if (allergenIds[j] < 0 || allergenIds[j] == newIds[i]) {
+                    continue;
+                }
+                DrugInteractionTable.Rule rule = current.crossReactivity(allergenIds[j], newIds[i]);
+                if (rule != null) {
+                    findings.add(new InteractionFinding(InteractionFinding.ALLERGY, drug, allergenNames.get(j),
+                            rule.severity(), rule.description()));
+                }
+            }
+        }
+        return findings;
+    }
+    
+    private static void addInteraction(List<InteractionFinding> findings, DrugInteractionTable table,
+                                       int drugId, int otherId, String drug, String other) {
+        if (otherId < 0 || otherId == drugId) {
+            return;
+        }
+        DrugInteractionTable.Rule rule = table.interaction(drugId, otherId);
+        if (rule != null) {
+            findings.add(new InteractionFinding(InteractionFinding.DRUG_INTERACTION, drug, other,
+                    rule.severity(), rule.description()));
+        }
+    }
+    
+    private boolean load() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+            long modified = source.isFile() ? source.lastModified() : 0L;
+            DrugInteractionTable loaded = DrugInteractionTable.parse(reader);
+            table = loaded;
+            loadedModified = modified;
+            logger.info("Loaded {} interaction and cross-reactivity rules from {}", loaded.size(), source);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Failed to load interaction table from {}, keeping the previous {} rules: {}",
+                    source, table.size(), e.getMessage());
+            return false;
+        }
+    }
+    
+    private static List<String> normalize(Collection<String> names) {
+        List<String> normalized = new ArrayList<>(names == null ? 0 : names.size());
+        if (names != null) {
+            for (String name : names) {
+                String phrase = ClinicalTermTokenizer.normalizePhrase(name);
+                if (!phrase.isEmpty()) {
+                    normalized.add(phrase);
+                }
+            }
+        }
+        return normalized;
+    }
+    
+    /**
+     * Allergies are free text: take each listed phrase as written plus its individual words
+     */
+    private static Set<String> allergens(String allergies) {
+        Set<String> allergens = new LinkedHashSet<>();
+        if (allergies == null || allergies.isBlank()) {
+            return allergens;
+        }
+        for (String phrase : ALLERGY_SEPARATORS.split(allergies)) {
+            String normalized = ClinicalTermTokenizer.normalizePhrase(phrase);
+            if (!normalized.isEmpty()) {
+                allergens.add(normalized);
+            }
+        }
+        allergens.addAll(ClinicalTermTokenizer.tokenize(allergies));
+        return allergens;
+    }
+    
+    private static int[] idsOf(DrugInteractionTable table, List<String> names) {
+        int[] ids = new int[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = table.idOf(names.get(i));
+        }
+        return ids;
+    }
+}
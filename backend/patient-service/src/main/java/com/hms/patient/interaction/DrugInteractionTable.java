@@ -0,0 +1,178 @@
+package com.hms.patient.interaction;
+
+import com.hms.patient.index.ClinicalTermTokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable drug-interaction and allergy cross-reactivity table.
+ *
+ * Drug and allergen names are interned to dense int IDs at load time. Each rule is then a single
+ * long key, the two IDs packed into one value, held in a sorted long[] with parallel severity and
+ * description arrays, so a lookup is one binary search with no boxing and no per-rule objects.
+ *
+ * Source format, one rule per line ({@code #} starts a comment):
+ * <pre>
+ * INTERACTION,warfarin,aspirin,MAJOR,Increased bleeding risk
+ * ALLERGY,penicillin,amoxicillin,CONTRAINDICATED,Beta-lactam cross-reactivity
+ * </pre>
+ * Interactions are symmetric; an ALLERGY rule reads "patients allergic to the first name react to the second".
+ */
+public final class DrugInteractionTable {
+    
+    private final Map<String, Integer> ids;
+    private final Rules interactions;
+    private final Rules crossReactivity;
+    
+    private DrugInteractionTable(Map<String, Integer> ids, Rules interactions, Rules crossReactivity) {
+        this.ids = ids;
+        this.interactions = interactions;
+        this.crossReactivity = crossReactivity;
+    }
+    
+    public static DrugInteractionTable empty() {
+        return new DrugInteractionTable(Map.of(), Rules.EMPTY, Rules.EMPTY);
+    }
+    
+    public static DrugInteractionTable parse(BufferedReader reader) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        RuleBuilder interactions = new RuleBuilder();
+        RuleBuilder crossReactivity = new RuleBuilder();
+        
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (content.isEmpty()) {
+                continue;
+            }
+            
+            String[] columns = content.split(",", 5);
+            if (columns.length < 4) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected kind,name,name,severity[,description]");
+            }
+            String kind = columns[0].trim();
+            int first = intern(ids, columns[1]);
+            int second = intern(ids, columns[2]);
+            InteractionSeverity severity = InteractionSeverity.valueOf(columns[3].trim().toUpperCase());
+            String description = columns.length == 5 ? columns[4].trim() : "";
+            
+            switch (kind) {
+                case "INTERACTION" -> interactions.add(pair(Math.min(first, second), Math.max(first, second)),
+                        severity, description);
+                case "ALLERGY" -> crossReactivity.add(pair(first, second), severity, description);
+                default -> throw new IllegalArgumentException("Line " + lineNumber + ": unknown rule kind " + kind);
+            }
+        }
+        return new DrugInteractionTable(Map.copyOf(ids), interactions.build(), crossReactivity.build());
+    }
+    
+    /**
+     * Dense ID of a drug or allergen name, or -1 if the table does not mention it
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(ClinicalTermTokenizer.normalizePhrase(name));
+        return id == null ? -1 : id;
+    }
+    
+    public int size() {
+        return interactions.keys.length + crossReactivity.keys.length;
+    }
+    
+    /**
+     * Interaction between two drugs by ID, or null if none is known
+     */
+    public Rule interaction(int drug, int otherDrug) {
+        return interactions.find(pair(Math.min(drug, otherDrug), Math.max(drug, otherDrug)));
+    }
+    
+    /**
+     * Reaction to a drug expected in patients allergic to the allergen, or null if none is known
+     */
+    public Rule crossReactivity(int allergen, int drug) {
+        return crossReactivity.find(pair(allergen, drug));
+    }
+    
+    private static int intern(Map<String, Integer> ids, String name) {
+        String normalized = ClinicalTermTokenizer.normalizePhrase(name);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Empty drug or allergen name");
+        }
+        return ids.computeIfAbsent(normalized, key -> ids.size());
+    }
+    
+    private static long pair(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+    
+    public record Rule(InteractionSeverity severity, String description) {
+    }
+    
+    private static final class Rules {
+        
+        static final Rules EMPTY = new Rules(new long[0], new byte[0], new String[0]);
+        
+        final long[] keys;
+        final byte[] severities;
+        final String[] descriptions;
+        
+        Rules(long[] keys, byte[] severities, String[] descriptions) {
+            this.keys = keys;
+            this.severities = severities;
+            this.descriptions = descriptions;
+        }
+        
+        Rule find(long key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : new Rule(InteractionSeverity.values()[severities[index]], descriptions[index]);
+        }
+    }
+    
+    private static final class RuleBuilder {
+        
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private final List<Long> keys = new ArrayList<>();
+        private final List<InteractionSeverity> severities = new ArrayList<>();
+        private final List<String> descriptions = new ArrayList<>();
+        
+        void add(long key, InteractionSeverity severity, String description) {
+            Integer existing = positions.get(key);
+            if (existing == null) {
+                positions.put(key, keys.size());
+                keys.add(key);
+                severities.add(severity);
+                descriptions.add(description);
+            } else if (severity.compareTo(severities.get(existing)) > 0) {
+                // Duplicate rules keep the most severe one
+                severities.set(existing, severity);
+                descriptions.set(existing, description);
+            }
+        }
+        
+        Rules build() {
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(keys.get(a), keys.get(b)));
+            
+            long[] sortedKeys = new long[order.length];
+            byte[] sortedSeverities = new byte[order.length];
+            String[] sortedDescriptions = new String[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys.get(order[i]);
+                sortedSeverities[i] = (byte) severities.get(order[i]).ordinal();
+                sortedDescriptions[i] = descriptions.get(order[i]);
+            }
+            return new Rules(sortedKeys, sortedSeverities, sortedDescriptions);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.hms.patient.interaction;
+
+/**
+ * Severity of a drug interaction or allergy cross-reactivity, least to most severe
+ */
+public enum InteractionSeverity {
+    MINOR, MODERATE, MAJOR, CONTRAINDICATED;
+    
+    /**
+     * Whether a prescription with a finding of this severity needs an explicit override
+     */
+    public boolean isBlocking() {
+        return this.compareTo(MAJOR) >= 0;
+    }
+}
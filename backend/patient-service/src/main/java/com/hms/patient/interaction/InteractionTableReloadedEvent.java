@@ -0,0 +1,7 @@
+package com.hms.patient.interaction;
+
+/**
+ * Published after a changed interaction table has replaced the previous one
+ */
+public record InteractionTableReloadedEvent(int rules) {
+}
@@ -0,0 +1,142 @@
+package com.hms.patient.interaction;
+
+import com.hms.patient.dto.InteractionFinding;
+import com.hms.patient.dto.PatientClinicalText;
+import com.hms.patient.dto.RescreenReport;
+import com.hms.patient.model.Prescription;
+import com.hms.patient.repository.PatientRepository;
+import com.hms.patient.repository.PrescriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Re-screens every active prescription after the interaction table changes.
+ *
+ * Active prescriptions are streamed from Mongo in patient order and screened a batch of patients
+ * at a time, with one query for the allergies of the whole batch. Each prescription is checked
+ * against the patient's allergies and the prescriptions after it, so every pair is reported once.
+ * Flagged prescriptions are published as {@code PRESCRIPTION_FLAGGED:<id>} on prescription-events, keyed by patient.
+ */
+@Component
+public class PrescriptionRescreenJob implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionRescreenJob.class);
+    
+    private final PrescriptionRepository prescriptionRepository;
+    private final PatientRepository patientRepository;
+    private final DrugInteractionChecker interactionChecker;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final int batchPatients;
+    
+    // One re-screen at a time; reloads that arrive meanwhile queue behind it
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "prescription-rescreen");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private volatile RescreenReport lastReport;
+    
+    @Autowired
+    public PrescriptionRescreenJob(PrescriptionRepository prescriptionRepository, PatientRepository patientRepository,
+                                   DrugInteractionChecker interactionChecker,
+                                   KafkaTemplate<String, String> kafkaTemplate,
+                                   @Value("${hms.patient.interactions.rescreen-batch-patients:500}") int batchPatients) {
+        this.prescriptionRepository = prescriptionRepository;
+        this.patientRepository = patientRepository;
+        this.interactionChecker = interactionChecker;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchPatients = batchPatients;
+    }
+    
+    @EventListener
+    public void onTableReloaded(InteractionTableReloadedEvent event) {
+        logger.info("Interaction table reloaded with {} rules, re-screening active prescriptions", event.rules());
+        executor.execute(this::rescreen);
+    }
+    
+    public Optional<RescreenReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+    
+    /**
+     * Screen every active prescription against the current table
+     */
+    public RescreenReport rescreen() {
+        RescreenReport report = new RescreenReport();
+        report.setStartedAt(LocalDateTime.now());
+        report.setTableRules(interactionChecker.ruleCount());
+        
+        Map<Long, List<Prescription>> batch = new LinkedHashMap<>();
+        try (Stream<Prescription> active = prescriptionRepository.findByActiveTrueOrderByPatientIdAsc()) {
+            active.forEach(prescription -> {
+                if (!batch.containsKey(prescription.getPatientId()) && batch.size() == batchPatients) {
+                    screen(batch, report);
+                    batch.clear();
+                }
+                batch.computeIfAbsent(prescription.getPatientId(), id -> new ArrayList<>()).add(prescription);
+            });
+            screen(batch, report);
+        } catch (RuntimeException e) {
+            logger.error("Prescription re-screen failed after {} prescriptions", report.getPrescriptionsScreened(), e);
+        }
+        
+        report.setFinishedAt(LocalDateTime.now());
+        lastReport = report;
+        logger.info("Re-screened {} active prescriptions of {} patients, {} flagged",
+                report.getPrescriptionsScreened(), report.getPatientsScreened(), report.getPrescriptionsFlagged());
+        return report;
+    }
+    
+    private void screen(Map<Long, List<Prescription>> batch, RescreenReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Long, String> allergies = patientRepository.findClinicalTextByIdIn(batch.keySet()).stream()
+                .filter(patient -> patient.getAllergies() != null)
+                .collect(Collectors.toMap(PatientClinicalText::getId, PatientClinicalText::getAllergies));
+        
+        batch.forEach((patientId, prescriptions) -> {
+            for (int i = 0; i < prescriptions.size(); i++) {
+                Prescription prescription = prescriptions.get(i);
+                List<String> later = prescriptions.subList(i + 1, prescriptions.size()).stream()
+                        .map(Prescription::getMedications)
+                        .filter(medications -> medications != null)
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList());
+                
+                List<InteractionFinding> findings = interactionChecker.check(prescription.getMedications(), later,
+                        allergies.get(patientId));
+                if (!findings.isEmpty()) {
+                    report.setPrescriptionsFlagged(report.getPrescriptionsFlagged() + 1);
+                    kafkaTemplate.send("prescription-events", String.valueOf(patientId),
+                            "PRESCRIPTION_FLAGGED:" + prescription.getId());
+                }
+            }
+            report.setPrescriptionsScreened(report.getPrescriptionsScreened() + prescriptions.size());
+        });
+        report.setPatientsScreened(report.getPatientsScreened() + batch.size());
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,173 @@
+package com.hms.patient.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.LazyGroup;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "medical_records")
+public class MedicalRecord {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Column(name = "patient_id")
+    private Long patientId;
+    
+    @NotNull
+    @Column(name = "doctor_id")
+    private Long doctorId;
+    
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+    
+    @Column(columnDefinition = "TEXT")
+    private String diagnosis;
+    
+    // Clinical narrative is only needed when a single record is opened
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("narrative")
+    @Column(columnDefinition = "TEXT")
+    private String symptoms;
+    
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("narrative")
+    @Column(name = "treatment_plan", columnDefinition = "TEXT")
+    private String treatmentPlan;
+    
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("narrative")
+    @Column(columnDefinition = "TEXT")
+    private String prescription;
+    
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("narrative")
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+    
+    @Column(name = "record_date")
+    private LocalDateTime recordDate;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Default constructor
+    public MedicalRecord() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+    
+    public String getDiagnosis() {
+        return diagnosis;
+    }
+    
+    public void setDiagnosis(String diagnosis) {
+        this.diagnosis = diagnosis;
+    }
+    
+    public String getSymptoms() {
+        return symptoms;
+    }
+    
+    public void setSymptoms(String symptoms) {
+        this.symptoms = symptoms;
+    }
+    
+    public String getTreatmentPlan() {
+        return treatmentPlan;
+    }
+    
+    public void setTreatmentPlan(String treatmentPlan) {
+        this.treatmentPlan = treatmentPlan;
+    }
+    
+    public String getPrescription() {
+        return prescription;
+    }
+    
+    public void setPrescription(String prescription) {
+        this.prescription = prescription;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public LocalDateTime getRecordDate() {
+        return recordDate;
+    }
+    
+    public void setRecordDate(LocalDateTime recordDate) {
+        this.recordDate = recordDate;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (recordDate == null) {
+            recordDate = createdAt;
+        }
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
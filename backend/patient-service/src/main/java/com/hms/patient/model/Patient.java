@@ -2,6 +2,7 @@ package com.hms.patient.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.LazyGroup;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -38,6 +39,9 @@ public class Patient {
     @Size(max = 20)
     private String phone;
     
+    // Large TEXT columns are lazy (bytecode enhancement) and load together on first access
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("details")
     @Column(columnDefinition = "TEXT")
     private String address;
     
@@ -50,9 +54,13 @@ public class Patient {
     @Column(name = "blood_group")
     private String bloodGroup;
     
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("details")
     @Column(columnDefinition = "TEXT")
     private String allergies;
     
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("details")
     @Column(name = "medical_history", columnDefinition = "TEXT")
     private String medicalHistory;
     
@@ -64,7 +72,8 @@ public class Patient {
     @Column(name = "insurance_number")
     private String insuranceNumber;
     
-    @Column(name = "created_at")
+    // NOT NULL: a keyset sort key, see PatientSortField
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
     @Column(name = "updated_at")
@@ -225,6 +234,7 @@ public class Patient {
         updatedAt = LocalDateTime.now();
     }
     
+    // Lazy TEXT fields are left out so logging an entity never triggers a fetch
     @Override
     public String toString() {
         return "Patient{" +
@@ -235,11 +245,8 @@ public class Patient {
                 ", dateOfBirth=" + dateOfBirth +
                 ", gender=" + gender +
                 ", phone='" + phone + '\'' +
-                ", address='" + address + '\'' +
                 ", emergencyContact='" + emergencyContact + '\'' +
                 ", bloodGroup='" + bloodGroup + '\'' +
-                ", allergies='" + allergies + '\'' +
-                ", medicalHistory='" + medicalHistory + '\'' +
                 ", insuranceProvider='" + insuranceProvider + '\'' +
                 ", insuranceNumber='" + insuranceNumber + '\'' +
                 ", createdAt=" + createdAt +
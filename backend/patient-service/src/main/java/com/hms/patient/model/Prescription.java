@@ -0,0 +1,152 @@
+package com.hms.patient.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prescription stored in the Mongo prescriptions collection
+ */
+@Document(collection = "prescriptions")
+public class Prescription {
+    
+    @Id
+    private String id;
+    
+    private Long patientId;
+    private Long doctorId;
+    private Long appointmentId;
+    private LocalDateTime prescriptionDate;
+    private List<String> medications;
+    private Map<String, String> dosage;
+    private String frequency;
+    private String duration;
+    private String instructions;
+    private List<String> sideEffects;
+    
+    @Field("isActive")
+    private Boolean active;
+    
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Default constructor
+    public Prescription() {}
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+    
+    public LocalDateTime getPrescriptionDate() {
+        return prescriptionDate;
+    }
+    
+    public void setPrescriptionDate(LocalDateTime prescriptionDate) {
+        this.prescriptionDate = prescriptionDate;
+    }
+    
+    public List<String> getMedications() {
+        return medications;
+    }
+    
+    public void setMedications(List<String> medications) {
+        this.medications = medications;
+    }
+    
+    public Map<String, String> getDosage() {
+        return dosage;
+    }
+    
+    public void setDosage(Map<String, String> dosage) {
+        this.dosage = dosage;
+    }
+    
+    public String getFrequency() {
+        return frequency;
+    }
+    
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+    
+    public String getDuration() {
+        return duration;
+    }
+    
+    public void setDuration(String duration) {
+        this.duration = duration;
+    }
+    
+    public String getInstructions() {
+        return instructions;
+    }
+    
+    public void setInstructions(String instructions) {
+        this.instructions = instructions;
+    }
+    
+    public List<String> getSideEffects() {
+        return sideEffects;
+    }
+    
+    public void setSideEffects(List<String> sideEffects) {
+        this.sideEffects = sideEffects;
+    }
+    
+    public Boolean getActive() {
+        return active;
+    }
+    
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,65 @@
+package com.hms.patient.repository;
+
+import com.hms.patient.dto.MedicalRecordDto;
+import com.hms.patient.dto.MedicalRecordSummaryDto;
+import com.hms.patient.dto.MedicalRecordYearSummary;
+import com.hms.patient.model.MedicalRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Timeline queries filter on patient_id and order by record_date, id so that they are served
+ * by the idx_patient_record_date (patient_id, record_date) index without a filesort.
+ */
+@Repository
+public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
+    
+    /**
+     * Select list for timeline entries; reads the first 200 characters of the diagnosis only
+     */
+    String TIMELINE_SELECT = "SELECT new com.hms.patient.dto.MedicalRecordSummaryDto(r.id, r.doctorId, "
+            + "r.appointmentId, SUBSTRING(r.diagnosis, 1, 200), r.recordDate) FROM MedicalRecord r";
+    
+    String NEWEST_FIRST = " ORDER BY r.recordDate DESC, r.id DESC";
+    
+    /**
+     * Find the newest timeline entries of a patient
+     */
+    @Query(TIMELINE_SELECT + " WHERE r.patientId = :patientId" + NEWEST_FIRST)
+    List<MedicalRecordSummaryDto> findTimeline(@Param("patientId") Long patientId, Pageable pageable);
+    
+    /**
+     * Find the timeline entries of a patient that come after the given position, newest first
+     */
+    @Query(TIMELINE_SELECT + " WHERE r.patientId = :patientId AND (r.recordDate < :recordDate"
+            + " OR (r.recordDate = :recordDate AND r.id < :id))" + NEWEST_FIRST)
+    List<MedicalRecordSummaryDto> findTimelineBefore(@Param("patientId") Long patientId,
+                                                     @Param("recordDate") LocalDateTime recordDate,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+    
+    /**
+     * Count a patient's records older than the given date per year, newest year first
+     */
+    @Query("SELECT new com.hms.patient.dto.MedicalRecordYearSummary(YEAR(r.recordDate), COUNT(r), "
+            + "MIN(r.recordDate), MAX(r.recordDate)) FROM MedicalRecord r "
+            + "WHERE r.patientId = :patientId AND r.recordDate < :before "
+            + "GROUP BY YEAR(r.recordDate) ORDER BY YEAR(r.recordDate) DESC")
+    List<MedicalRecordYearSummary> summarizeByYearBefore(@Param("patientId") Long patientId,
+                                                         @Param("before") LocalDateTime before);
+    
+    /**
+     * Find a full medical record, narrative included, in one statement
+     */
+    @Query("SELECT new com.hms.patient.dto.MedicalRecordDto(r.id, r.patientId, r.doctorId, r.appointmentId, "
+            + "r.diagnosis, r.symptoms, r.treatmentPlan, r.prescription, r.notes, r.recordDate, r.createdAt, "
+            + "r.updatedAt) FROM MedicalRecord r WHERE r.id = :id")
+    Optional<MedicalRecordDto> findDetailsById(@Param("id") Long id);
+}
@@ -0,0 +1,24 @@
+package com.hms.patient.repository;
+
+import com.hms.patient.model.PatientDocument;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Lookups filter on patientId first so they are served by the {patientId, documentType} index
+ */
+@Repository
+public interface PatientDocumentRepository extends MongoRepository<PatientDocument, String> {
+    
+    /**
+     * Find the active documents of a patient
+     */
+    List<PatientDocument> findByPatientIdAndActiveTrue(Long patientId);
+    
+    /**
+     * Find the active documents of a patient of one type
+     */
+    List<PatientDocument> findByPatientIdAndDocumentTypeAndActiveTrue(Long patientId, PatientDocument.DocumentType documentType);
+}
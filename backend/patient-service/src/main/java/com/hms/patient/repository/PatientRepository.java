@@ -1,16 +1,42 @@
 package com.hms.patient.repository;
 
+import com.hms.patient.dto.PatientClinicalText;
+import com.hms.patient.dto.PatientDto;
+import com.hms.patient.dto.PatientSummaryDto;
 import com.hms.patient.model.Patient;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, Long> {
+public interface PatientRepository extends JpaRepository<Patient, Long>, PatientRepositoryCustom {
+    
+    /**
+     * Select list for summary projections; leaves out the TEXT columns
+     */
+    String SUMMARY_SELECT = "SELECT new com.hms.patient.dto.PatientSummaryDto(p.id, p.userId, p.firstName, "
+            + "p.lastName, p.dateOfBirth, p.gender, p.phone, p.bloodGroup, p.insuranceProvider) FROM Patient p";
+    
+    /**
+     * Select list for full DTO projections, reading every column in one statement
+     */
+    String DETAIL_SELECT = "SELECT new com.hms.patient.dto.PatientDto(p.id, p.userId, p.firstName, p.lastName, "
+            + "p.dateOfBirth, p.gender, p.phone, p.address, p.emergencyContact, p.bloodGroup, p.allergies, "
+            + "p.medicalHistory, p.insuranceProvider, p.insuranceNumber, p.createdAt, p.updatedAt) FROM Patient p";
     
     /**
      * Find patient by user ID
@@ -114,4 +140,150 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
      * Check if patient exists by insurance number
      */
     boolean existsByInsuranceNumber(String insuranceNumber);
+    
+    /**
+     * Find all patient summaries with pagination
+     */
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(p) FROM Patient p")
+    Page<PatientSummaryDto> findAllSummaries(Pageable pageable);
+    
+    /**
+     * Search patient summaries by name (first name or last name)
+     */
+    @Query(SUMMARY_SELECT + " WHERE LOWER(p.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(p.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<PatientSummaryDto> searchSummariesByName(@Param("name") String name);
+    
+    /**
+     * Find patient summaries by blood group
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.bloodGroup = :bloodGroup")
+    List<PatientSummaryDto> findSummariesByBloodGroup(@Param("bloodGroup") String bloodGroup);
+    
+    /**
+     * Find patient summaries by gender
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.gender = :gender")
+    List<PatientSummaryDto> findSummariesByGender(@Param("gender") Patient.Gender gender);
+    
+    /**
+     * Find patient summaries by insurance provider
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.insuranceProvider = :insuranceProvider")
+    List<PatientSummaryDto> findSummariesByInsuranceProvider(@Param("insuranceProvider") String insuranceProvider);
+    
+    /**
+     * Find patient summaries created in a specific date range
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.createdAt BETWEEN :startDate AND :endDate")
+    List<PatientSummaryDto> findSummariesByCreatedAtBetween(@Param("startDate") java.time.LocalDateTime startDate,
+                                                           @Param("endDate") java.time.LocalDateTime endDate);
+    
+    /**
+     * Find patient summaries born in a specific year
+     */
+    @Query(SUMMARY_SELECT + " WHERE YEAR(p.dateOfBirth) = :year")
+    List<PatientSummaryDto> findSummariesByBirthYear(@Param("year") int year);
+    
+    /**
+     * Find patient summaries born in a specific date range
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.dateOfBirth BETWEEN :startDate AND :endDate")
+    List<PatientSummaryDto> findSummariesByDateOfBirthBetween(@Param("startDate") java.time.LocalDate startDate,
+                                                             @Param("endDate") java.time.LocalDate endDate);
+    
+    /**
+     * Find full patient details for a set of IDs
+     */
+    @Query(DETAIL_SELECT + " WHERE p.id IN :ids")
+    List<PatientDto> findDetailsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Find full patient details by ID without loading the entity into the persistence context
+     */
+    @Query(DETAIL_SELECT + " WHERE p.id = :id")
+    Optional<PatientDto> findDetailsById(@Param("id") Long id);
+    
+    /**
+     * Find full patient details by user ID
+     */
+    @Query(DETAIL_SELECT + " WHERE p.userId = :userId")
+    Optional<PatientDto> findDetailsByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Find full patient details by phone number
+     */
+    @Query(DETAIL_SELECT + " WHERE p.phone = :phone")
+    Optional<PatientDto> findDetailsByPhone(@Param("phone") String phone);
+    
+    /**
+     * Find full patient details by insurance number
+     */
+    @Query(DETAIL_SELECT + " WHERE p.insuranceNumber = :insuranceNumber")
+    Optional<PatientDto> findDetailsByInsuranceNumber(@Param("insuranceNumber") String insuranceNumber);
+    
+    /**
+     * Find full details of patients with allergies containing specific text
+     */
+    @Query(DETAIL_SELECT + " WHERE p.allergies IS NOT NULL AND LOWER(p.allergies) LIKE LOWER(CONCAT('%', :allergy, '%'))")
+    List<PatientDto> findDetailsByAllergiesContaining(@Param("allergy") String allergy);
+    
+    /**
+     * Find full details of patients with medical history containing specific text
+     */
+    @Query(DETAIL_SELECT + " WHERE p.medicalHistory IS NOT NULL AND LOWER(p.medicalHistory) LIKE LOWER(CONCAT('%', :condition, '%'))")
+    List<PatientDto> findDetailsByMedicalHistoryContaining(@Param("condition") String condition);
+    
+    /**
+     * Stream patient summaries in ID order, optionally filtered by blood group and gender.
+     * A fetch size of Integer.MIN_VALUE makes MySQL Connector/J hand rows over one at a time
+     * instead of buffering the whole result set; the stream must be consumed inside a transaction.
+     */
+    @Query(SUMMARY_SELECT + " WHERE (:bloodGroup IS NULL OR p.bloodGroup = :bloodGroup)"
+            + " AND (:gender IS NULL OR p.gender = :gender) ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<PatientSummaryDto> streamSummaries(@Param("bloodGroup") String bloodGroup,
+                                              @Param("gender") Patient.Gender gender);
+    
+    /**
+     * Find patient summaries for a set of IDs
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.id IN :ids")
+    List<PatientSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Read the clinical text of the next batch of patients after the given ID, in ID order
+     */
+    @Query("SELECT p.id AS id, p.allergies AS allergies, p.medicalHistory AS medicalHistory FROM Patient p WHERE p.id > :afterId ORDER BY p.id")
+    List<PatientClinicalText> findClinicalTextAfter(@Param("afterId") long afterId, Pageable limit);
+    
+    /**
+     * Read the clinical text of one patient
+     */
+    @Query("SELECT p.id AS id, p.allergies AS allergies, p.medicalHistory AS medicalHistory FROM Patient p WHERE p.id = :id")
+    Optional<PatientClinicalText> findClinicalTextById(@Param("id") Long id);
+    
+    /**
+     * Lock a patient row until the current transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Patient p WHERE p.id = :id")
+    Optional<Patient> findByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Read the clinical text of a set of patients
+     */
+    @Query("SELECT p.id AS id, p.allergies AS allergies, p.medicalHistory AS medicalHistory FROM Patient p WHERE p.id IN :ids")
+    List<PatientClinicalText> findClinicalTextByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Count patients with a non-blank insurance provider
+     */
+    @Query("SELECT COUNT(p) FROM Patient p WHERE p.insuranceProvider IS NOT NULL AND TRIM(p.insuranceProvider) <> ''")
+    long countWithInsurance();
+    
+    /**
+     * Count patients with non-blank allergies
+     */
+    @Query("SELECT COUNT(p) FROM Patient p WHERE p.allergies IS NOT NULL AND TRIM(p.allergies) <> ''")
+    long countWithAllergies();
 }
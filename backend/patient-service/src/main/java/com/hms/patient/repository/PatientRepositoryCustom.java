@@ -0,0 +1,46 @@
+package com.hms.patient.repository;
+
+import com.hms.patient.dto.PatientSummaryDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Queries that need a dynamic select list and therefore cannot be derived by Spring Data
+ */
+public interface PatientRepositoryCustom {
+    
+    /**
+     * Patient fields that may be requested through a projection
+     */
+    Set<String> PROJECTABLE_FIELDS = Set.of(
+            "id", "userId", "firstName", "lastName", "dateOfBirth", "gender", "phone", "address",
+            "emergencyContact", "bloodGroup", "allergies", "medicalHistory", "insuranceProvider",
+            "insuranceNumber", "createdAt", "updatedAt");
+    
+    /**
+     * Fields returned when a projection does not name any
+     */
+    List<String> SUMMARY_FIELDS = List.of(
+            "id", "userId", "firstName", "lastName", "dateOfBirth", "gender", "phone", "bloodGroup");
+    
+    /**
+     * Find the given fields of the given patients with a single IN query, reading only those columns
+     */
+    List<Map<String, Object>> findFieldsByIdIn(Collection<Long> ids, Collection<String> fields);
+    
+    /**
+     * Read the next keyset page of patient summaries ordered by the given field, then ID.
+     * Pass a null {@code lastId} for the first page; {@code limit} rows at most are returned.
+     */
+    List<KeysetRow> findSummariesAfter(PatientSortField sortField, boolean descending,
+                                       Object lastValue, Long lastId, int limit);
+    
+    /**
+     * A summary together with the value it was sorted on, needed to build the next cursor
+     */
+    record KeysetRow(PatientSummaryDto summary, Object sortValue) {
+    }
+}
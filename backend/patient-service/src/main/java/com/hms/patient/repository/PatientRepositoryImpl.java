@@ -0,0 +1,136 @@
+package com.hms.patient.repository;
+
+import com.hms.patient.dto.PatientSummaryDto;
+import com.hms.patient.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Spring Data fragment implementation for {@link PatientRepositoryCustom}
+ */
+public class PatientRepositoryImpl implements PatientRepositoryCustom {
+    
+    // Columns of PatientSummaryDto, in constructor order
+    private static final List<String> KEYSET_SUMMARY_FIELDS = List.of(
+            "id", "userId", "firstName", "lastName", "dateOfBirth", "gender", "phone", "bloodGroup",
+            "insuranceProvider");
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Map<String, Object>> findFieldsByIdIn(Collection<Long> ids, Collection<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        // The ID is always selected so callers can match rows to the IDs they asked for
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        selected.addAll(fields.isEmpty() ? SUMMARY_FIELDS : fields);
+        for (String field : selected) {
+            if (!PROJECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown patient field: " + field);
+            }
+        }
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Patient> patient = query.from(Patient.class);
+        
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected) {
+            selections.add(patient.get(field).alias(field));
+        }
+        query.multiselect(selections).where(patient.get("id").in(ids));
+        
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (TupleElement<?> element : row.getElements()) {
+                values.put(element.getAlias(), row.get(element));
+            }
+            result.add(values);
+        }
+        return result;
+    }
+    
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<KeysetRow> findSummariesAfter(PatientSortField sortField, boolean descending,
+                                              Object lastValue, Long lastId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Patient> patient = query.from(Patient.class);
+        
+        Path<Long> id = patient.get("id");
+        Path<Comparable> sortPath = patient.get(sortField.getProperty());
+        
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : KEYSET_SUMMARY_FIELDS) {
+            selections.add(patient.get(field).alias(field));
+        }
+        // get() hands back the same path for the same attribute, so sorting by ID reuses the "id" selection
+        // instead of renaming it
+        String sortAlias = sortField == PatientSortField.ID ? "id" : "sortValue";
+        if (sortField != PatientSortField.ID) {
+            selections.add(sortPath.alias(sortAlias));
+        }
+        query.multiselect(selections);
+        
+        if (lastId != null) {
+            // Row-value comparison spelled out, (sort, id) > (:value, :id), so the index range scan starts at the cursor
+            Predicate afterId = descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+            if (sortField == PatientSortField.ID) {
+                query.where(afterId);
+            } else {
+                Comparable value = (Comparable) lastValue;
+                Predicate afterValue = descending ? cb.lessThan(sortPath, value) : cb.greaterThan(sortPath, value);
+                query.where(cb.or(afterValue, cb.and(cb.equal(sortPath, value), afterId)));
+            }
+        }
+        
+        List<Expression<?>> orderColumns = sortField == PatientSortField.ID ? List.of(id) : List.of(sortPath, id);
+        query.orderBy(orderColumns.stream()
+                .map(column -> descending ? cb.desc(column) : cb.asc(column))
+                .toList());
+        
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+        List<KeysetRow> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            PatientSummaryDto summary = new PatientSummaryDto(
+                    row.get("id", Long.class),
+                    row.get("userId", Long.class),
+                    row.get("firstName", String.class),
+                    row.get("lastName", String.class),
+                    row.get("dateOfBirth", LocalDate.class),
+                    row.get("gender", Patient.Gender.class),
+                    row.get("phone", String.class),
+                    row.get("bloodGroup", String.class),
+                    row.get("insuranceProvider", String.class));
+            result.add(new KeysetRow(summary, row.get(sortAlias)));
+        }
+        return result;
+    }
+}
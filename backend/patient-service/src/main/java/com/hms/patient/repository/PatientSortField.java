@@ -0,0 +1,50 @@
+package com.hms.patient.repository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Patient columns that list endpoints may sort on. Each one is backed by an index that ends in
+ * the primary key, so both OFFSET and keyset pages can be read straight off the index.
+ *
+ * Every column is NOT NULL: a keyset seek compares the last value with {@code >} or {@code <},
+ * which never matches NULL, and a cursor could not carry one.
+ */
+public enum PatientSortField {
+    
+    ID("id"),
+    LAST_NAME("lastName"),
+    CREATED_AT("createdAt");
+    
+    private final String property;
+    
+    PatientSortField(String property) {
+        this.property = property;
+    }
+    
+    public String getProperty() {
+        return property;
+    }
+    
+    /**
+     * Resolve a sort property name as used in request parameters, e.g. {@code lastName}
+     */
+    public static PatientSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Sorting by '" + property
+                        + "' is not supported, use one of id, lastName, createdAt"));
+    }
+    
+    /**
+     * Parse a sort value carried in a cursor
+     */
+    public Object parseValue(String value) {
+        return switch (this) {
+            case ID -> Long.valueOf(value);
+            case LAST_NAME -> value;
+            case CREATED_AT -> LocalDateTime.parse(value);
+        };
+    }
+}
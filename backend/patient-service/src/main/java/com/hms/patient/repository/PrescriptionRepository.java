@@ -0,0 +1,22 @@
+package com.hms.patient.repository;
+
+import com.hms.patient.model.Prescription;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface PrescriptionRepository extends MongoRepository<Prescription, String> {
+    
+    /**
+     * Find the active prescriptions of a patient
+     */
+    List<Prescription> findByPatientIdAndActiveTrue(Long patientId);
+    
+    /**
+     * Stream every active prescription grouped by patient, for batch re-screening
+     */
+    Stream<Prescription> findByActiveTrueOrderByPatientIdAsc();
+}
@@ -0,0 +1,42 @@
+package com.hms.patient.service;
+
+import com.hms.patient.dto.MedicalRecordDto;
+import com.hms.patient.dto.MedicalRecordTimelinePage;
+import com.hms.patient.dto.MedicalRecordYearSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface MedicalRecordService {
+    
+    /**
+     * Create a medical record for an existing patient
+     */
+    MedicalRecordDto createMedicalRecord(MedicalRecordDto medicalRecordDto);
+    
+    /**
+     * Get a full medical record by ID
+     */
+    Optional<MedicalRecordDto> getMedicalRecordById(Long id);
+    
+    /**
+     * Update a medical record; the patient it belongs to cannot change
+     */
+    Optional<MedicalRecordDto> updateMedicalRecord(Long id, MedicalRecordDto medicalRecordDto);
+    
+    /**
+     * Delete a medical record
+     */
+    boolean deleteMedicalRecord(Long id);
+    
+    /**
+     * Get one page of a patient's timeline, newest first. A null cursor starts at the newest record.
+     */
+    MedicalRecordTimelinePage getTimeline(Long patientId, String cursor, int size);
+    
+    /**
+     * Roll up a patient's records older than the given date by year
+     */
+    List<MedicalRecordYearSummary> summarizeRecordsBefore(Long patientId, LocalDateTime before);
+}
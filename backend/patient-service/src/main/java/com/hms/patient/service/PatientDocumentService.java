@@ -0,0 +1,62 @@
+package com.hms.patient.service;
+
+import com.hms.patient.dto.DocumentUploadSession;
+import com.hms.patient.dto.PatientDocumentDto;
+import com.hms.patient.model.PatientDocument;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+public interface PatientDocumentService {
+    
+    /**
+     * Start a resumable upload for an existing patient
+     */
+    DocumentUploadSession startUpload(DocumentUploadSession session);
+    
+    /**
+     * Get an upload in progress, including how many bytes it has received
+     */
+    Optional<DocumentUploadSession> getUpload(String uploadId);
+    
+    /**
+     * Append the bytes of {@code body} to an upload at {@code offset}
+     */
+    DocumentUploadSession appendChunk(String uploadId, long offset, InputStream body);
+    
+    /**
+     * Finish an upload whose bytes have all arrived and record the document; completing it again
+     * returns the same document
+     */
+    PatientDocumentDto completeUpload(String uploadId);
+    
+    /**
+     * Abandon an upload
+     */
+    boolean abortUpload(String uploadId);
+    
+    /**
+     * Get document metadata by ID
+     */
+    Optional<PatientDocumentDto> getDocument(String id);
+    
+    /**
+     * Get the active documents of a patient, optionally of one type only
+     */
+    List<PatientDocumentDto> getDocuments(Long patientId, PatientDocument.DocumentType documentType);
+    
+    /**
+     * Locate the stored bytes of an active document
+     */
+    Optional<DocumentContent> getContent(String id);
+    
+    /**
+     * Hide a document; its bytes stay in the store as other documents may share them
+     */
+    boolean deactivateDocument(String id);
+    
+    record DocumentContent(PatientDocumentDto document, Path path) {
+    }
+}
@@ -1,14 +1,21 @@
 package com.hms.patient.service;
 
+import com.hms.patient.dto.PatientBatchRequest;
+import com.hms.patient.dto.PatientCursorPage;
 import com.hms.patient.dto.PatientDto;
+import com.hms.patient.dto.PatientSummaryDto;
+import com.hms.patient.index.ClinicalTermIndex;
 import com.hms.patient.model.Patient;
+import com.hms.patient.repository.PatientSortField;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PatientService {
     
@@ -27,10 +34,28 @@ public interface PatientService {
      */
     Optional<PatientDto> getPatientByUserId(Long userId);
     
+    /**
+     * Get the requested fields of several patients in one call, in the order the IDs were given
+     */
+    List<Map<String, Object>> batchGetPatients(PatientBatchRequest request);
+    
     /**
      * Get all patients with pagination
      */
-    Page<PatientDto> getAllPatients(Pageable pageable);
+    Page<PatientSummaryDto> getAllPatients(Pageable pageable);
+    
+    /**
+     * Get one keyset page of patients. A non-null cursor carries its own sort order and overrides
+     * the given one; the total is an approximation refreshed periodically, and only computed on request.
+     */
+    PatientCursorPage getPatientsAfter(PatientSortField sortField, boolean descending, String cursor,
+                                       int size, boolean includeTotal);
+    
+    /**
+     * Hand every matching patient summary to the consumer as it is read from the database,
+     * without materialising the result list. Null filters match all patients.
+     */
+    void streamPatients(String bloodGroup, Patient.Gender gender, Consumer<PatientSummaryDto> consumer);
     
     /**
      * Update patient
@@ -45,7 +70,7 @@ public interface PatientService {
     /**
      * Search patients by name
      */
-    List<PatientDto> searchPatientsByName(String name);
+    List<PatientSummaryDto> searchPatientsByName(String name);
     
     /**
      * Get patients by phone number
@@ -55,17 +80,17 @@ public interface PatientService {
     /**
      * Get patients by blood group
      */
-    List<PatientDto> getPatientsByBloodGroup(String bloodGroup);
+    List<PatientSummaryDto> getPatientsByBloodGroup(String bloodGroup);
     
     /**
      * Get patients by gender
      */
-    List<PatientDto> getPatientsByGender(Patient.Gender gender);
+    List<PatientSummaryDto> getPatientsByGender(Patient.Gender gender);
     
     /**
      * Get patients by insurance provider
      */
-    List<PatientDto> getPatientsByInsuranceProvider(String insuranceProvider);
+    List<PatientSummaryDto> getPatientsByInsuranceProvider(String insuranceProvider);
     
     /**
      * Get patients by insurance number
@@ -82,20 +107,26 @@ public interface PatientService {
      */
     List<PatientDto> getPatientsByMedicalHistory(String condition);
     
+    /**
+     * Find patients by allergy and/or condition terms using the clinical term index
+     */
+    List<PatientSummaryDto> searchClinicalTerms(List<String> allergies, List<String> conditions,
+                                                ClinicalTermIndex.Match match);
+    
     /**
      * Get patients created in a date range
      */
-    List<PatientDto> getPatientsByCreatedDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    List<PatientSummaryDto> getPatientsByCreatedDateRange(LocalDateTime startDate, LocalDateTime endDate);
     
     /**
      * Get patients born in a specific year
      */
-    List<PatientDto> getPatientsByBirthYear(int year);
+    List<PatientSummaryDto> getPatientsByBirthYear(int year);
     
     /**
      * Get patients born in a date range
      */
-    List<PatientDto> getPatientsByBirthDateRange(LocalDate startDate, LocalDate endDate);
+    List<PatientSummaryDto> getPatientsByBirthDateRange(LocalDate startDate, LocalDate endDate);
     
     /**
      * Get patient statistics
@@ -0,0 +1,36 @@
+package com.hms.patient.service;
+
+import com.hms.patient.dto.InteractionFinding;
+import com.hms.patient.dto.PrescriptionDto;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PrescriptionService {
+    
+    /**
+     * Screen and save a prescription. If screening finds a blocking interaction or allergy and
+     * {@code override} is not set, nothing is saved and the returned DTO has no ID.
+     */
+    PrescriptionDto createPrescription(PrescriptionDto prescriptionDto, boolean override);
+    
+    /**
+     * Screen a prescription against the patient's active medications and allergies without saving it
+     */
+    List<InteractionFinding> checkPrescription(PrescriptionDto prescriptionDto);
+    
+    /**
+     * Get prescription by ID
+     */
+    Optional<PrescriptionDto> getPrescriptionById(String id);
+    
+    /**
+     * Get the active prescriptions of a patient
+     */
+    List<PrescriptionDto> getActivePrescriptions(Long patientId);
+    
+    /**
+     * Mark a prescription as no longer active
+     */
+    Optional<PrescriptionDto> deactivatePrescription(String id);
+}
@@ -0,0 +1,256 @@
+package com.hms.patient.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hms.patient.dto.MedicalRecordDto;
+import com.hms.patient.dto.MedicalRecordSummaryDto;
+import com.hms.patient.dto.MedicalRecordTimelinePage;
+import com.hms.patient.dto.MedicalRecordYearSummary;
+import com.hms.patient.repository.MedicalRecordRepository;
+import com.hms.patient.repository.PatientRepository;
+import com.hms.patient.service.MedicalRecordService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Medical records with a newest-first timeline per patient.
+ *
+ * Timeline pages are keyset seeks on (patient_id, record_date, id) and carry summaries only.
+ * The first page of each patient, the one every chart opens with, is cached and invalidated after
+ * commit on local writes and from medical-record-events for writes made on other replicas.
+ * Cached pages are read from the primary, as a lagging read replica could return the page a write
+ * has just invalidated and keep it cached for the whole TTL.
+ */
+@Service
+@Transactional
+public class MedicalRecordServiceImpl implements MedicalRecordService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MedicalRecordServiceImpl.class);
+    
+    private static final String EVENTS_TOPIC = "medical-record-events";
+    
+    // Largest timeline page a client may ask for
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final PatientRepository patientRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final int recentPageSize;
+    private final Cache<Long, MedicalRecordTimelinePage> recentPages;
+    private final TransactionTemplate primaryRead;
+    
+    @Autowired
+    public MedicalRecordServiceImpl(MedicalRecordRepository medicalRecordRepository,
+                                    PatientRepository patientRepository,
+                                    KafkaTemplate<String, String> kafkaTemplate,
+                                    MeterRegistry meterRegistry,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${hms.patient.medical-records.recent-page-size:20}") int recentPageSize,
+                                    @Value("${hms.patient.medical-records.recent-page-ttl:10m}") Duration recentPageTtl,
+                                    @Value("${hms.patient.medical-records.recent-page-max-patients:20000}") long maxPatients) {
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.patientRepository = patientRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.recentPageSize = recentPageSize;
+        this.recentPages = Caffeine.newBuilder()
+                .expireAfterWrite(recentPageTtl)
+                .maximumSize(maxPatients)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentPages, "medical.records.recent");
+        
+        // Not read-only, so the routing data source hands out a primary connection
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    @Override
+    public MedicalRecordDto createMedicalRecord(MedicalRecordDto medicalRecordDto) {
+        logger.info("Creating medical record for patient ID: {}", medicalRecordDto.getPatientId());
+        
+        if (!patientRepository.existsById(medicalRecordDto.getPatientId())) {
+            throw new IllegalArgumentException("Patient with ID " + medicalRecordDto.getPatientId() + " does not exist");
+        }
+        
+        MedicalRecordDto saved = new MedicalRecordDto(medicalRecordRepository.save(medicalRecordDto.toEntity()));
+        publish("MEDICAL_RECORD_CREATED", saved);
+        
+        logger.info("Medical record created successfully with ID: {}", saved.getId());
+        return saved;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MedicalRecordDto> getMedicalRecordById(Long id) {
+        logger.debug("Fetching medical record by ID: {}", id);
+        return medicalRecordRepository.findDetailsById(id);
+    }
+    
+    @Override
+    public Optional<MedicalRecordDto> updateMedicalRecord(Long id, MedicalRecordDto medicalRecordDto) {
+        logger.info("Updating medical record with ID: {}", id);
+        
+        return medicalRecordRepository.findById(id).map(existingRecord -> {
+            existingRecord.setDoctorId(medicalRecordDto.getDoctorId());
+            existingRecord.setAppointmentId(medicalRecordDto.getAppointmentId());
+            existingRecord.setDiagnosis(medicalRecordDto.getDiagnosis());
+            existingRecord.setSymptoms(medicalRecordDto.getSymptoms());
+            existingRecord.setTreatmentPlan(medicalRecordDto.getTreatmentPlan());
+            existingRecord.setPrescription(medicalRecordDto.getPrescription());
+            existingRecord.setNotes(medicalRecordDto.getNotes());
+            if (medicalRecordDto.getRecordDate() != null) {
+                existingRecord.setRecordDate(medicalRecordDto.getRecordDate());
+            }
+            
+            MedicalRecordDto updated = new MedicalRecordDto(medicalRecordRepository.save(existingRecord));
+            publish("MEDICAL_RECORD_UPDATED", updated);
+            
+            logger.info("Medical record updated successfully with ID: {}", id);
+            return updated;
+        });
+    }
+    
+    @Override
+    public boolean deleteMedicalRecord(Long id) {
+        logger.info("Deleting medical record with ID: {}", id);
+        
+        return medicalRecordRepository.findById(id).map(existingRecord -> {
+            medicalRecordRepository.delete(existingRecord);
+            publish("MEDICAL_RECORD_DELETED", new MedicalRecordDto(existingRecord));
+            
+            logger.info("Medical record deleted successfully with ID: {}", id);
+            return true;
+        }).orElseGet(() -> {
+            logger.warn("Medical record with ID {} not found for deletion", id);
+            return false;
+        });
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public MedicalRecordTimelinePage getTimeline(Long patientId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        logger.debug("Fetching medical record timeline of patient {}: cursor={}, size={}", patientId, cursor, size);
+        
+        if (cursor == null && size == recentPageSize) {
+            return recentPages.get(patientId, id -> primaryRead.execute(status -> readPage(id, null, size)));
+        }
+        return readPage(patientId, cursor, size);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<MedicalRecordYearSummary> summarizeRecordsBefore(Long patientId, LocalDateTime before) {
+        logger.debug("Summarizing medical records of patient {} before {}", patientId, before);
+        return medicalRecordRepository.summarizeByYearBefore(patientId, before);
+    }
+    
+    /**
+     * Drop the cached first page of a patient whose records changed on any replica.
+     * Events are keyed by patient ID.
+     */
+    @KafkaListener(topics = EVENTS_TOPIC,
+            groupId = "patient-medical-records-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onMedicalRecordEvent(ConsumerRecord<String, String> event) {
+        try {
+            recentPages.invalidate(Long.parseLong(event.key()));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring medical record event without a patient key: {}", event.value());
+        }
+    }
+    
+    private MedicalRecordTimelinePage readPage(Long patientId, String cursor, int size) {
+        // One extra row tells whether another page exists
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<MedicalRecordSummaryDto> rows;
+        if (cursor == null) {
+            rows = medicalRecordRepository.findTimeline(patientId, limit);
+        } else {
+            TimelinePosition position = TimelinePosition.decode(cursor);
+            rows = medicalRecordRepository.findTimelineBefore(patientId, position.recordDate(), position.id(), limit);
+        }
+        
+        if (rows.size() <= size) {
+            return new MedicalRecordTimelinePage(List.copyOf(rows), null);
+        }
+        List<MedicalRecordSummaryDto> entries = List.copyOf(rows.subList(0, size));
+        MedicalRecordSummaryDto last = entries.get(entries.size() - 1);
+        return new MedicalRecordTimelinePage(entries, new TimelinePosition(last.getRecordDate(), last.getId()).encode());
+    }
+    
+    /**
+     * Drop the local cached page and publish the change keyed by patient, both after commit:
+     * other replicas reload the page when the event arrives and must not see the state before it
+     */
+    private void publish(String action, MedicalRecordDto record) {
+        Long patientId = record.getPatientId();
+        Long id = record.getId();
+        afterCommit(() -> {
+            recentPages.invalidate(patientId);
+            try {
+                kafkaTemplate.send(EVENTS_TOPIC, String.valueOf(patientId), action + ":" + id);
+            } catch (RuntimeException e) {
+                // Already committed; other replicas serve their cached page until it expires
+                logger.warn("Failed to publish {} for medical record {}: {}", action, id, e.getMessage());
+            }
+        });
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    /**
+     * Position of the last entry of a timeline page, encoded as an opaque cursor
+     */
+    private record TimelinePosition(LocalDateTime recordDate, Long id) {
+        
+        String encode() {
+            String raw = recordDate + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static TimelinePosition decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return new TimelinePosition(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.hms.patient.service.impl;
+
+import com.hms.patient.document.DocumentStore;
+import com.hms.patient.dto.DocumentUploadSession;
+import com.hms.patient.dto.PatientDocumentDto;
+import com.hms.patient.model.PatientDocument;
+import com.hms.patient.repository.PatientDocumentRepository;
+import com.hms.patient.repository.PatientRepository;
+import com.hms.patient.service.PatientDocumentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class PatientDocumentServiceImpl implements PatientDocumentService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PatientDocumentServiceImpl.class);
+    
+    private final PatientDocumentRepository documentRepository;
+    private final PatientRepository patientRepository;
+    private final DocumentStore documentStore;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    
+    @Autowired
+    public PatientDocumentServiceImpl(PatientDocumentRepository documentRepository, PatientRepository patientRepository,
+                                      DocumentStore documentStore, KafkaTemplate<String, String> kafkaTemplate) {
+        this.documentRepository = documentRepository;
+        this.patientRepository = patientRepository;
+        this.documentStore = documentStore;
+        this.kafkaTemplate = kafkaTemplate;
+    }
+    
+    @Override
+    public DocumentUploadSession startUpload(DocumentUploadSession session) {
+        logger.info("Starting upload of {} ({} bytes) for patient ID: {}",
+                session.getOriginalFileName(), session.getFileSize(), session.getPatientId());
+        
+        if (!patientRepository.existsById(session.getPatientId())) {
+            throw new IllegalArgumentException("Patient with ID " + session.getPatientId() + " does not exist");
+        }
+        return documentStore.start(session);
+    }
+    
+    @Override
+    public Optional<DocumentUploadSession> getUpload(String uploadId) {
+        return documentStore.find(uploadId);
+    }
+    
+    @Override
+    public DocumentUploadSession appendChunk(String uploadId, long offset, InputStream body) {
+        return documentStore.appendChunk(uploadId, offset, body);
+    }
+    
+    @Override
+    public PatientDocumentDto completeUpload(String uploadId) {
+        Optional<PatientDocumentDto> created = documentStore.complete(uploadId, (session, hash) -> {
+            LocalDateTime now = LocalDateTime.now();
+            PatientDocument document = new PatientDocument();
+            // Keyed by the upload so a retried completion saves the same document again
+            document.setId(uploadId);
+            document.setPatientId(session.getPatientId());
+            document.setDocumentType(session.getDocumentType());
+            document.setFileName(hash);
+            document.setOriginalFileName(session.getOriginalFileName());
+            document.setFileSize(session.getFileSize());
+            document.setMimeType(session.getMimeType());
+            document.setFilePath(documentStore.relativePath(hash));
+            document.setContentHash(hash);
+            document.setUploadedBy(session.getUploadedBy());
+            document.setDescription(session.getDescription());
+            document.setTags(session.getTags());
+            document.setActive(true);
+            document.setUploadedAt(now);
+            document.setCreatedAt(now);
+            return new PatientDocumentDto(documentRepository.save(document));
+        });
+        
+        if (created.isEmpty()) {
+            // Completed by an earlier call: answer with the same document
+            return documentRepository.findById(uploadId)
+                    .map(PatientDocumentDto::new)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown upload " + uploadId));
+        }
+        
+        PatientDocumentDto saved = created.get();
+        
+        // Send Kafka event
+        kafkaTemplate.send("document-events", "DOCUMENT_ADDED:" + saved.getId());
+        
+        logger.info("Document {} stored for patient {} as {}", saved.getId(), saved.getPatientId(), saved.getContentHash());
+        return saved;
+    }
+    
+    @Override
+    public boolean abortUpload(String uploadId) {
+        logger.info("Aborting upload {}", uploadId);
+        return documentStore.abort(uploadId);
+    }
+    
+    @Override
+    public Optional<PatientDocumentDto> getDocument(String id) {
+        return documentRepository.findById(id).map(PatientDocumentDto::new);
+    }
+    
+    @Override
+    public List<PatientDocumentDto> getDocuments(Long patientId, PatientDocument.DocumentType documentType) {
+        logger.debug("Fetching documents of patient {} of type {}", patientId, documentType);
+        List<PatientDocument> documents = documentType == null
+                ? documentRepository.findByPatientIdAndActiveTrue(patientId)
+                : documentRepository.findByPatientIdAndDocumentTypeAndActiveTrue(patientId, documentType);
+        return documents.stream()
+                .map(PatientDocumentDto::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public Optional<DocumentContent> getContent(String id) {
+        return documentRepository.findById(id)
+                .filter(document -> Boolean.TRUE.equals(document.getActive()))
+                .map(document -> new DocumentContent(new PatientDocumentDto(document),
+                        documentStore.resolve(document.getFilePath())));
+    }
+    
+    @Override
+    public boolean deactivateDocument(String id) {
+        logger.info("Deactivating document with ID: {}", id);
+        
+        return documentRepository.findById(id).map(document -> {
+            document.setActive(false);
+            documentRepository.save(document);
+            return true;
+        }).orElse(false);
+    }
+}
@@ -1,23 +1,45 @@
 package com.hms.patient.service.impl;
 
+import com.hms.patient.dto.PatientBatchRequest;
+import com.hms.patient.dto.PatientCursor;
+import com.hms.patient.dto.PatientCursorPage;
 import com.hms.patient.dto.PatientDto;
+import com.hms.patient.dto.PatientSummaryDto;
+import com.hms.patient.index.ClinicalTermIndex;
 import com.hms.patient.model.Patient;
 import com.hms.patient.repository.PatientRepository;
+import com.hms.patient.repository.PatientRepositoryCustom;
+import com.hms.patient.repository.PatientSortField;
 import com.hms.patient.service.PatientService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -27,11 +49,27 @@ public class PatientServiceImpl implements PatientService {
     
     private final PatientRepository patientRepository;
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ClinicalTermIndex clinicalTermIndex;
+    private final Duration totalCountTtl;
+    
+    // Last COUNT(*) handed out with keyset pages, and whether a request is already refreshing it
+    private final AtomicReference<CachedCount> cachedTotal = new AtomicReference<>();
+    private final AtomicBoolean refreshingTotal = new AtomicBoolean();
+    
+    // Upper bound on IDs per IN query when loading index matches
+    private static final int ID_CHUNK_SIZE = 1000;
+    
+    // Largest keyset page a client may ask for
+    private static final int MAX_PAGE_SIZE = 200;
     
     @Autowired
-    public PatientServiceImpl(PatientRepository patientRepository, KafkaTemplate<String, String> kafkaTemplate) {
+    public PatientServiceImpl(PatientRepository patientRepository, KafkaTemplate<String, String> kafkaTemplate,
+                              ClinicalTermIndex clinicalTermIndex,
+                              @Value("${hms.patient.list.total-count-ttl:60s}") Duration totalCountTtl) {
         this.patientRepository = patientRepository;
         this.kafkaTemplate = kafkaTemplate;
+        this.clinicalTermIndex = clinicalTermIndex;
+        this.totalCountTtl = totalCountTtl;
     }
     
     @Override
@@ -54,8 +92,10 @@ public class PatientServiceImpl implements PatientService {
         Patient patient = patientDto.toEntity();
         Patient savedPatient = patientRepository.save(patient);
         
-        // Send Kafka event
-        kafkaTemplate.send("patient-events", "PATIENT_CREATED:" + savedPatient.getId());
+        Long id = savedPatient.getId();
+        String allergies = savedPatient.getAllergies();
+        String medicalHistory = savedPatient.getMedicalHistory();
+        publish("PATIENT_CREATED", id, () -> clinicalTermIndex.index(id, allergies, medicalHistory));
         
         logger.info("Patient created successfully with ID: {}", savedPatient.getId());
         return new PatientDto(savedPatient);
@@ -65,21 +105,88 @@ public class PatientServiceImpl implements PatientService {
     @Transactional(readOnly = true)
     public Optional<PatientDto> getPatientById(Long id) {
         logger.debug("Fetching patient by ID: {}", id);
-        return patientRepository.findById(id).map(PatientDto::new);
+        return patientRepository.findDetailsById(id);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Optional<PatientDto> getPatientByUserId(Long userId) {
         logger.debug("Fetching patient by user ID: {}", userId);
-        return patientRepository.findByUserId(userId).map(PatientDto::new);
+        return patientRepository.findDetailsByUserId(userId);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public Page<PatientDto> getAllPatients(Pageable pageable) {
+    public List<Map<String, Object>> batchGetPatients(PatientBatchRequest request) {
+        logger.debug("Batch fetching {} patients with fields {}", request.getIds().size(), request.getFields());
+        
+        for (String field : request.getFields()) {
+            if (!PatientRepositoryCustom.PROJECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown patient field: " + field);
+            }
+        }
+        
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(request.getIds());
+        Map<Object, Map<String, Object>> byId = patientRepository.findFieldsByIdIn(ids, request.getFields())
+                .stream()
+                .collect(Collectors.toMap(row -> row.get("id"), Function.identity()));
+        
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PatientSummaryDto> getAllPatients(Pageable pageable) {
         logger.debug("Fetching all patients with pagination");
-        return patientRepository.findAll(pageable).map(PatientDto::new);
+        return patientRepository.findAllSummaries(pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PatientCursorPage getPatientsAfter(PatientSortField sortField, boolean descending, String cursor,
+                                              int size, boolean includeTotal) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        PatientCursor position = cursor != null ? PatientCursor.decode(cursor) : null;
+        if (position != null) {
+            sortField = position.getSortField();
+            descending = position.isDescending();
+        }
+        logger.debug("Fetching patients after cursor: sort={}, descending={}, size={}", sortField, descending, size);
+        
+        // One extra row tells whether another page exists without counting
+        List<PatientRepositoryCustom.KeysetRow> rows = patientRepository.findSummariesAfter(sortField, descending,
+                position != null ? position.getLastValue() : null,
+                position != null ? position.getLastId() : null,
+                size + 1);
+        
+        boolean hasNext = rows.size() > size;
+        List<PatientRepositoryCustom.KeysetRow> page = hasNext ? rows.subList(0, size) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            PatientRepositoryCustom.KeysetRow last = page.get(page.size() - 1);
+            nextCursor = new PatientCursor(sortField, descending, last.sortValue(), last.summary().getId()).encode();
+        }
+        
+        List<PatientSummaryDto> content = page.stream()
+                .map(PatientRepositoryCustom.KeysetRow::summary)
+                .collect(Collectors.toList());
+        return new PatientCursorPage(content, nextCursor, includeTotal ? approximateTotal() : null);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamPatients(String bloodGroup, Patient.Gender gender, Consumer<PatientSummaryDto> consumer) {
+        logger.debug("Streaming patients: bloodGroup={}, gender={}", bloodGroup, gender);
+        try (Stream<PatientSummaryDto> patients = patientRepository.streamSummaries(bloodGroup, gender)) {
+            patients.forEach(consumer);
+        }
     }
     
     @Override
@@ -103,8 +210,8 @@ public class PatientServiceImpl implements PatientService {
             
             Patient updatedPatient = patientRepository.save(existingPatient);
             
-            // Send Kafka event
-            kafkaTemplate.send("patient-events", "PATIENT_UPDATED:" + updatedPatient.getId());
+            publish("PATIENT_UPDATED", id, () -> clinicalTermIndex.index(id, patientDto.getAllergies(),
+                    patientDto.getMedicalHistory()));
             
             logger.info("Patient updated successfully with ID: {}", updatedPatient.getId());
             return new PatientDto(updatedPatient);
@@ -118,8 +225,7 @@ public class PatientServiceImpl implements PatientService {
         if (patientRepository.existsById(id)) {
             patientRepository.deleteById(id);
             
-            // Send Kafka event
-            kafkaTemplate.send("patient-events", "PATIENT_DELETED:" + id);
+            publish("PATIENT_DELETED", id, () -> clinicalTermIndex.remove(id));
             
             logger.info("Patient deleted successfully with ID: {}", id);
             return true;
@@ -131,106 +237,106 @@ public class PatientServiceImpl implements PatientService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDto> searchPatientsByName(String name) {
+    public List<PatientSummaryDto> searchPatientsByName(String name) {
         logger.debug("Searching patients by name: {}", name);
-        return patientRepository.searchByName(name)
-                .stream()
-                .map(PatientDto::new)
-                .collect(Collectors.toList());
+        return patientRepository.searchSummariesByName(name);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Optional<PatientDto> getPatientByPhone(String phone) {
         logger.debug("Fetching patient by phone: {}", phone);
-        return patientRepository.findByPhone(phone).map(PatientDto::new);
+        return patientRepository.findDetailsByPhone(phone);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDto> getPatientsByBloodGroup(String bloodGroup) {
+    public List<PatientSummaryDto> getPatientsByBloodGroup(String bloodGroup) {
         logger.debug("Fetching patients by blood group: {}", bloodGroup);
-        return patientRepository.findByBloodGroup(bloodGroup)
-                .stream()
-                .map(PatientDto::new)
-                .collect(Collectors.toList());
+        return patientRepository.findSummariesByBloodGroup(bloodGroup);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDto> getPatientsByGender(Patient.Gender gender) {
+    public List<PatientSummaryDto> getPatientsByGender(Patient.Gender gender) {
         logger.debug("Fetching patients by gender: {}", gender);
-        return patientRepository.findByGender(gender)
-                .stream()
-                .map(PatientDto::new)
-                .collect(Collectors.toList());
+        return patientRepository.findSummariesByGender(gender);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDto> getPatientsByInsuranceProvider(String insuranceProvider) {
+    public List<PatientSummaryDto> getPatientsByInsuranceProvider(String insuranceProvider) {
         logger.debug("Fetching patients by insurance provider: {}", insuranceProvider);
-        return patientRepository.findByInsuranceProvider(insuranceProvider)
-                .stream()
-                .map(PatientDto::new)
-                .collect(Collectors.toList());
+        return patientRepository.findSummariesByInsuranceProvider(insuranceProvider);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Optional<PatientDto> getPatientByInsuranceNumber(String insuranceNumber) {
         logger.debug("Fetching patient by insurance number: {}", insuranceNumber);
-        return patientRepository.findByInsuranceNumber(insuranceNumber).map(PatientDto::new);
+        return patientRepository.findDetailsByInsuranceNumber(insuranceNumber);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<PatientDto> getPatientsByAllergies(String allergy) {
         logger.debug("Fetching patients by allergies containing: {}", allergy);
-        return patientRepository.findByAllergiesContaining(allergy)
-                .stream()
-                .map(PatientDto::new)
-                .collect(Collectors.toList());
+        if (clinicalTermIndex.isReady()) {
+            long[] ids = clinicalTermIndex.search(ClinicalTermIndex.Field.ALLERGY, List.of(allergy), ClinicalTermIndex.Match.ALL);
+            return loadInChunks(ids, patientRepository::findDetailsByIdIn);
+        }
+        return patientRepository.findDetailsByAllergiesContaining(allergy);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<PatientDto> getPatientsByMedicalHistory(String condition) {
         logger.debug("Fetching patients by medical history containing: {}", condition);
-        return patientRepository.findByMedicalHistoryContaining(condition)
-                .stream()
-                .map(PatientDto::new)
-                .collect(Collectors.toList());
+        if (clinicalTermIndex.isReady()) {
+            long[] ids = clinicalTermIndex.search(ClinicalTermIndex.Field.CONDITION, List.of(condition), ClinicalTermIndex.Match.ALL);
+            return loadInChunks(ids, patientRepository::findDetailsByIdIn);
+        }
+        return patientRepository.findDetailsByMedicalHistoryContaining(condition);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDto> getPatientsByCreatedDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+    public List<PatientSummaryDto> searchClinicalTerms(List<String> allergies, List<String> conditions,
+                                                       ClinicalTermIndex.Match match) {
+        logger.debug("Clinical term search: allergies={}, conditions={}, match={}", allergies, conditions, match);
+        if (!clinicalTermIndex.isReady()) {
+            throw new IllegalStateException("Clinical term index is still being built");
+        }
+        
+        List<String> allergyTerms = allergies.stream().filter(t -> !t.isBlank()).collect(Collectors.toList());
+        List<String> conditionTerms = conditions.stream().filter(t -> !t.isBlank()).collect(Collectors.toList());
+        if (allergyTerms.isEmpty() && conditionTerms.isEmpty()) {
+            throw new IllegalArgumentException("At least one allergy or condition term is required");
+        }
+        
+        long[] ids = clinicalTermIndex.search(allergyTerms, conditionTerms, match);
+        return loadInChunks(ids, patientRepository::findSummariesByIdIn);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<PatientSummaryDto> getPatientsByCreatedDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         logger.debug("Fetching patients created between {} and {}", startDate, endDate);
-        return patientRepository.findByCreatedAtBetween(startDate, endDate)
-                .stream()
-                .map(PatientDto::new)
-                .collect(Collectors.toList());
+        return patientRepository.findSummariesByCreatedAtBetween(startDate, endDate);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDto> getPatientsByBirthYear(int year) {
+    public List<PatientSummaryDto> getPatientsByBirthYear(int year) {
         logger.debug("Fetching patients born in year: {}", year);
-        return patientRepository.findByBirthYear(year)
-                .stream()
-                .map(PatientDto::new)
-                .collect(Collectors.toList());
+        return patientRepository.findSummariesByBirthYear(year);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDto> getPatientsByBirthDateRange(LocalDate startDate, LocalDate endDate) {
+    public List<PatientSummaryDto> getPatientsByBirthDateRange(LocalDate startDate, LocalDate endDate) {
         logger.debug("Fetching patients born between {} and {}", startDate, endDate);
-        return patientRepository.findByDateOfBirthBetween(startDate, endDate)
-                .stream()
-                .map(PatientDto::new)
-                .collect(Collectors.toList());
+        return patientRepository.findSummariesByDateOfBirthBetween(startDate, endDate);
     }
     
     @Override
@@ -243,17 +349,9 @@ public class PatientServiceImpl implements PatientService {
         long femalePatients = patientRepository.countByGender(Patient.Gender.FEMALE);
         long otherGenderPatients = patientRepository.countByGender(Patient.Gender.OTHER);
         
-        // Count patients with insurance (non-null insurance provider)
-        long patientsWithInsurance = patientRepository.findAll()
-                .stream()
-                .filter(p -> p.getInsuranceProvider() != null && !p.getInsuranceProvider().trim().isEmpty())
-                .count();
-        
-        // Count patients with allergies (non-null allergies)
-        long patientsWithAllergies = patientRepository.findAll()
-                .stream()
-                .filter(p -> p.getAllergies() != null && !p.getAllergies().trim().isEmpty())
-                .count();
+        // Counted in the database; loading every patient would also pull the lazy TEXT columns row by row
+        long patientsWithInsurance = patientRepository.countWithInsurance();
+        long patientsWithAllergies = patientRepository.countWithAllergies();
         
         return new PatientStatistics(totalPatients, malePatients, femalePatients, 
                                    otherGenderPatients, patientsWithInsurance, patientsWithAllergies);
@@ -276,4 +374,73 @@ public class PatientServiceImpl implements PatientService {
     public boolean existsByInsuranceNumber(String insuranceNumber) {
         return patientRepository.existsByInsuranceNumber(insuranceNumber);
     }
+    
+    private <T> List<T> loadInChunks(long[] ids, Function<List<Long>, List<T>> loader) {
+        if (ids.length == 0) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>(ids.length);
+        for (int from = 0; from < ids.length; from += ID_CHUNK_SIZE) {
+            long[] chunk = Arrays.copyOfRange(ids, from, Math.min(from + ID_CHUNK_SIZE, ids.length));
+            result.addAll(loader.apply(Arrays.stream(chunk).boxed().collect(Collectors.toList())));
+        }
+        return result;
+    }
+    
+    /**
+     * Update the clinical term index and publish the patient event, both after commit: consumers
+     * re-read the patient when the event arrives and must not see the state before it
+     */
+    private void publish(String action, Long patientId, Runnable indexUpdate) {
+        afterCommit(() -> {
+            indexUpdate.run();
+            try {
+                kafkaTemplate.send("patient-events", action + ":" + patientId);
+            } catch (RuntimeException e) {
+                // Already committed; cached views of the patient expire on their own TTL
+                logger.warn("Failed to publish {} for patient {}: {}", action, patientId, e.getMessage());
+            }
+        });
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    /**
+     * Patient count reused for {@code totalCountTtl}. Once stale, one caller recounts while the
+     * others keep returning the previous value rather than piling up identical COUNT(*) queries.
+     */
+    private long approximateTotal() {
+        CachedCount current = cachedTotal.get();
+        if (current != null && (!current.isOlderThan(totalCountTtl) || !refreshingTotal.compareAndSet(false, true))) {
+            return current.value();
+        }
+        
+        try {
+            long total = patientRepository.count();
+            cachedTotal.set(new CachedCount(total, System.nanoTime()));
+            return total;
+        } finally {
+            if (current != null) {
+                refreshingTotal.set(false);
+            }
+        }
+    }
+    
+    private record CachedCount(long value, long countedAtNanos) {
+        
+        boolean isOlderThan(Duration ttl) {
+            return System.nanoTime() - countedAtNanos > ttl.toNanos();
+        }
+    }
 }
@@ -0,0 +1,140 @@
+package com.hms.patient.service.impl;
+
+import com.hms.patient.dto.InteractionFinding;
+import com.hms.patient.dto.PatientClinicalText;
+import com.hms.patient.dto.PrescriptionDto;
+import com.hms.patient.interaction.DrugInteractionChecker;
+import com.hms.patient.model.Prescription;
+import com.hms.patient.repository.PatientRepository;
+import com.hms.patient.repository.PrescriptionRepository;
+import com.hms.patient.service.PrescriptionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class PrescriptionServiceImpl implements PrescriptionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionServiceImpl.class);
+    
+    private final PrescriptionRepository prescriptionRepository;
+    private final PatientRepository patientRepository;
+    private final DrugInteractionChecker interactionChecker;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    
+    @Autowired
+    public PrescriptionServiceImpl(PrescriptionRepository prescriptionRepository, PatientRepository patientRepository,
+                                   DrugInteractionChecker interactionChecker,
+                                   KafkaTemplate<String, String> kafkaTemplate) {
+        this.prescriptionRepository = prescriptionRepository;
+        this.patientRepository = patientRepository;
+        this.interactionChecker = interactionChecker;
+        this.kafkaTemplate = kafkaTemplate;
+    }
+    
+    @Override
+    @Transactional
+    public PrescriptionDto createPrescription(PrescriptionDto prescriptionDto, boolean override) {
+        Long patientId = prescriptionDto.getPatientId();
+        logger.info("Creating prescription for patient ID: {}", patientId);
+        
+        // Screening and saving run under the patient's row lock, on every replica: a concurrent prescription
+        // for the same patient waits here and is then screened against this one
+        patientRepository.findByIdForUpdate(patientId)
+                .orElseThrow(() -> new IllegalArgumentException("Patient with ID " + patientId + " does not exist"));
+        
+        List<InteractionFinding> findings = checkPrescription(prescriptionDto);
+        boolean blocked = findings.stream().anyMatch(finding -> finding.getSeverity().isBlocking());
+        if (blocked && !override) {
+            logger.warn("Prescription for patient {} rejected by screening: {} findings",
+                    prescriptionDto.getPatientId(), findings.size());
+            prescriptionDto.setId(null);
+            prescriptionDto.setFindings(findings);
+            return prescriptionDto;
+        }
+        
+        Prescription prescription = prescriptionDto.toDocument();
+        LocalDateTime now = LocalDateTime.now();
+        if (prescription.getPrescriptionDate() == null) {
+            prescription.setPrescriptionDate(now);
+        }
+        prescription.setActive(true);
+        prescription.setCreatedAt(now);
+        prescription.setUpdatedAt(now);
+        
+        PrescriptionDto saved = new PrescriptionDto(prescriptionRepository.save(prescription));
+        saved.setFindings(findings);
+        
+        String event = (blocked ? "PRESCRIPTION_CREATED_OVERRIDE:" : "PRESCRIPTION_CREATED:") + saved.getId();
+        afterCommit(() -> kafkaTemplate.send("prescription-events", String.valueOf(saved.getPatientId()), event));
+        
+        logger.info("Prescription created successfully with ID: {}", saved.getId());
+        return saved;
+    }
+    
+    @Override
+    public List<InteractionFinding> checkPrescription(PrescriptionDto prescriptionDto) {
+        Long patientId = prescriptionDto.getPatientId();
+        PatientClinicalText patient = patientRepository.findClinicalTextById(patientId)
+                .orElseThrow(() -> new IllegalArgumentException("Patient with ID " + patientId + " does not exist"));
+        
+        List<String> activeDrugs = prescriptionRepository.findByPatientIdAndActiveTrue(patientId).stream()
+                .filter(active -> !active.getId().equals(prescriptionDto.getId()))
+                .filter(active -> active.getMedications() != null)
+                .flatMap(active -> active.getMedications().stream())
+                .collect(Collectors.toList());
+        
+        return interactionChecker.check(prescriptionDto.getMedications(), activeDrugs, patient.getAllergies());
+    }
+    
+    @Override
+    public Optional<PrescriptionDto> getPrescriptionById(String id) {
+        logger.debug("Fetching prescription by ID: {}", id);
+        return prescriptionRepository.findById(id).map(PrescriptionDto::new);
+    }
+    
+    @Override
+    public List<PrescriptionDto> getActivePrescriptions(Long patientId) {
+        logger.debug("Fetching active prescriptions of patient {}", patientId);
+        return prescriptionRepository.findByPatientIdAndActiveTrue(patientId).stream()
+                .map(PrescriptionDto::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public Optional<PrescriptionDto> deactivatePrescription(String id) {
+        logger.info("Deactivating prescription with ID: {}", id);
+        
+        return prescriptionRepository.findById(id).map(prescription -> {
+            prescription.setActive(false);
+            prescription.setUpdatedAt(LocalDateTime.now());
+            PrescriptionDto updated = new PrescriptionDto(prescriptionRepository.save(prescription));
+            kafkaTemplate.send("prescription-events", String.valueOf(prescription.getPatientId()),
+                    "PRESCRIPTION_DEACTIVATED:" + id);
+            return updated;
+        });
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
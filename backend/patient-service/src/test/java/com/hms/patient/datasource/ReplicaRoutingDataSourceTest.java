@@ -0,0 +1,128 @@
+package com.hms.patient.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class ReplicaRoutingDataSourceTest {
+    
+    private final CountingDataSource primary = new CountingDataSource();
+    private final CountingDataSource replica = new CountingDataSource();
+    private ReplicaRoutingDataSource routing;
+    
+    @AfterEach
+    void tearDown() throws Exception {
+        if (routing != null) {
+            routing.destroy();
+        }
+    }
+    
+    @Test
+    void writeAfterReadOnlyTransactionInTheSameRequestGoesToThePrimary() throws Exception {
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(10),
+                Duration.ofHours(1), new SimpleMeterRegistry());
+        awaitFirstHealthCheck();
+        int replicaConnections = replica.connections.get();
+        
+        // One request thread, as with open-in-view disabled: each transaction acquires its own connection
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        int primaryConnections = primary.connections.get();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        
+        read.executeWithoutResult(status -> query(dataSource));
+        write.executeWithoutResult(status -> query(dataSource));
+        
+        assertThat(replica.connections).hasValue(replicaConnections + 1);
+        assertThat(primary.connections).hasValue(primaryConnections + 1);
+    }
+    
+    @Test
+    void replicaRoutingRefusesToStartWithOpenInView() {
+        assertThatIllegalStateException()
+                .isThrownBy(() -> new ReadReplicaDataSourceConfig(new MockEnvironment()))
+                .withMessageContaining("spring.jpa.open-in-view");
+        assertThatIllegalStateException()
+                .isThrownBy(() -> new ReadReplicaDataSourceConfig(
+                        new MockEnvironment().withProperty("spring.jpa.open-in-view", "true")));
+        
+        new ReadReplicaDataSourceConfig(new MockEnvironment().withProperty("spring.jpa.open-in-view", "false"));
+    }
+    
+    private void awaitFirstHealthCheck() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (replica.resultSetsClosed.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(replica.resultSetsClosed).hasPositiveValue();
+    }
+    
+    private static void query(DataSource dataSource) {
+        try (Statement statement = DataSourceUtils.getConnection(dataSource).createStatement()) {
+            statement.executeQuery("SELECT 1");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * Hands out connections whose queries return no rows, which the replica health check reads as
+     * "not replicating, no lag".
+     */
+    private static final class CountingDataSource extends AbstractDataSource {
+        
+        final AtomicInteger connections = new AtomicInteger();
+        final AtomicInteger resultSetsClosed = new AtomicInteger();
+        
+        @Override
+        public Connection getConnection() {
+            connections.incrementAndGet();
+            return stub(Connection.class);
+        }
+        
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+        
+        private <T> T stub(Class<T> type) {
+            return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+                    (proxy, method, args) -> {
+                        if (type == ResultSet.class && method.getName().equals("close")) {
+                            resultSetsClosed.incrementAndGet();
+                        }
+                        return switch (method.getName()) {
+                            case "createStatement" -> stub(Statement.class);
+                            case "executeQuery" -> stub(ResultSet.class);
+                            case "getAutoCommit" -> true;
+                            case "getTransactionIsolation" -> Connection.TRANSACTION_REPEATABLE_READ;
+                            case "isReadOnly", "next", "wasNull", "isClosed" -> false;
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            default -> null;
+                        };
+                    }));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.hms.patient.document;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hms.patient.dto.DocumentUploadSession;
+import com.hms.patient.model.PatientDocument.DocumentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentStoreTest {
+    
+    private static final byte[] CONTENT = "lab report".getBytes(StandardCharsets.UTF_8);
+    
+    @TempDir
+    Path root;
+    
+    private DocumentStore store;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        store = new DocumentStore(root, 1024L, Duration.ofHours(24), objectMapper);
+    }
+    
+    @Test
+    void completingTwiceRecordsTheDocumentOnce() {
+        String uploadId = upload(CONTENT);
+        AtomicInteger recorded = new AtomicInteger();
+        
+        Optional<String> first = store.complete(uploadId, (session, hash) -> hash + "#" + recorded.incrementAndGet());
+        Optional<String> second = store.complete(uploadId, (session, hash) -> hash + "#" + recorded.incrementAndGet());
+        
+        assertThat(first).hasValueSatisfying(value -> assertThat(value).endsWith("#1"));
+        assertThat(second).isEmpty();
+        assertThat(recorded).hasValue(1);
+        assertThat(store.find(uploadId)).isEmpty();
+    }
+    
+    @Test
+    void concurrentCompletionsRecordTheDocumentOnce() throws Exception {
+        String uploadId = upload(CONTENT);
+        AtomicInteger recorded = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Optional<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    return store.complete(uploadId, (session, hash) -> recorded.incrementAndGet());
+                }));
+            }
+            ready.countDown();
+            
+            int completed = 0;
+            for (Future<Optional<Integer>> result : results) {
+                completed += result.get().isPresent() ? 1 : 0;
+            }
+            assertThat(completed).isEqualTo(1);
+            assertThat(recorded).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void failedRecordCanBeRetriedAfterTheContentMoved() {
+        String uploadId = upload(CONTENT);
+        
+        assertThatThrownBy(() -> store.complete(uploadId, (session, hash) -> {
+            throw new IllegalStateException("database down");
+        })).hasMessage("database down");
+        
+        assertThat(store.find(uploadId)).hasValueSatisfying(session -> assertThat(session.getContentHash()).isNotNull());
+        Optional<String> retried = store.complete(uploadId, (session, hash) -> hash);
+        assertThat(retried).hasValueSatisfying(hash -> assertThat(Files.exists(store.resolve(store.relativePath(hash)))).isTrue());
+    }
+    
+    @Test
+    void incompleteUploadIsRejected() {
+        DocumentUploadSession session = store.start(session(CONTENT.length));
+        store.appendChunk(session.getUploadId(), 0L, new ByteArrayInputStream(CONTENT, 0, 4));
+        
+        assertThatThrownBy(() -> store.complete(session.getUploadId(), (found, hash) -> hash))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(store.find(session.getUploadId())).isPresent();
+    }
+    
+    private String upload(byte[] content) {
+        DocumentUploadSession session = store.start(session(content.length));
+        store.appendChunk(session.getUploadId(), 0L, new ByteArrayInputStream(content));
+        return session.getUploadId();
+    }
+    
+    private static DocumentUploadSession session(long fileSize) {
+        DocumentUploadSession session = new DocumentUploadSession();
+        session.setPatientId(1L);
+        session.setDocumentType(DocumentType.LAB_REPORT);
+        session.setOriginalFileName("report.pdf");
+        session.setFileSize(fileSize);
+        return session;
+    }
+}
@@ -0,0 +1,86 @@
+package com.hms.patient.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.hms.patient.index.ClinicalTermIndex.Field.ALLERGY;
+import static com.hms.patient.index.ClinicalTermIndex.Field.CONDITION;
+import static com.hms.patient.index.ClinicalTermIndex.Match.ALL;
+import static com.hms.patient.index.ClinicalTermIndex.Match.ANY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClinicalTermIndexTest {
+    
+    private ClinicalTermIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new ClinicalTermIndex();
+        index.index(1, "Penicillin", "Asthma");
+        index.index(2, "Amoxicillin, peanut oil", "Type 2 diabetes");
+        index.index(3, "Peanuts", "Asthma, diabetes");
+    }
+    
+    @Test
+    void queryTermsMatchTheStartOfIndexedWords() {
+        assertThat(index.search(ALLERGY, List.of("penicil"), ALL)).containsExactly(1);
+        assertThat(index.search(ALLERGY, List.of("peanut"), ALL)).containsExactly(2, 3);
+    }
+    
+    @Test
+    void queryTermsNoLongerMatchInsideAWord() {
+        // The LIKE '%cillin%' search this replaced found both penicillin and amoxicillin
+        assertThat(index.search(ALLERGY, List.of("cillin"), ALL)).isEmpty();
+    }
+    
+    @Test
+    void singleCharacterAndStopWordQueriesAreIgnored() {
+        assertThat(index.search(CONDITION, List.of("2"), ANY)).isEmpty();
+        assertThat(index.search(CONDITION, List.of("type 2"), ALL)).containsExactly(2);
+    }
+    
+    @Test
+    void multiWordTermsNeedEveryWord() {
+        assertThat(index.search(ALLERGY, List.of("peanut oil"), ALL)).containsExactly(2);
+    }
+    
+    @Test
+    void allAndAnyCombineTermsAcrossFields() {
+        assertThat(index.search(List.of("peanut"), List.of("diabetes"), ALL)).containsExactly(2, 3);
+        assertThat(index.search(List.of("penicillin"), List.of("diabetes"), ANY)).containsExactly(1, 2, 3);
+        assertThat(index.search(List.of("penicillin"), List.of("diabetes"), ALL)).isEmpty();
+    }
+    
+    @Test
+    void reindexingAndRemovalDropStaleTerms() {
+        index.index(1, "Latex", "Asthma");
+        index.remove(3);
+        
+        assertThat(index.search(ALLERGY, List.of("penicillin"), ALL)).isEmpty();
+        assertThat(index.search(ALLERGY, List.of("latex"), ALL)).containsExactly(1);
+        assertThat(index.search(CONDITION, List.of("asthma"), ALL)).containsExactly(1);
+    }
+    
+    @Test
+    void rowsReadBeforeALiveChangeDoNotOverwriteIt() {
+        long loadedAtSequence = index.changeSequence();
+        index.index(1, "Latex", "Asthma");
+        index.remove(3);
+        
+        // Rows of the same batch, read before the changes above were committed
+        index.indexLoaded(1, "Penicillin", "Asthma", loadedAtSequence);
+        index.indexLoaded(3, "Peanuts", "Asthma, diabetes", loadedAtSequence);
+        index.indexLoaded(4, "Sulfa", "Migraine", loadedAtSequence);
+        
+        assertThat(index.search(ALLERGY, List.of("latex"), ALL)).containsExactly(1);
+        assertThat(index.search(ALLERGY, List.of("penicillin"), ALL)).isEmpty();
+        assertThat(index.search(ALLERGY, List.of("peanuts"), ALL)).isEmpty();
+        assertThat(index.search(ALLERGY, List.of("sulfa"), ALL)).containsExactly(4);
+        
+        index.markReady();
+        index.indexLoaded(1, "Penicillin", "Asthma", index.changeSequence());
+        assertThat(index.search(ALLERGY, List.of("penicillin"), ALL)).containsExactly(1);
+    }
+}
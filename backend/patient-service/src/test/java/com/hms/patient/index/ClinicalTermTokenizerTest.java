@@ -0,0 +1,39 @@
+package com.hms.patient.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClinicalTermTokenizerTest {
+    
+    @Test
+    void lowercasesStripsAccentsAndSplitsOnPunctuation() {
+        assertThat(ClinicalTermTokenizer.tokenize("Pénicilline; SULFA-drugs"))
+                .containsExactly("penicilline", "sulfa", "drugs");
+    }
+    
+    @Test
+    void dropsStopWordsAndSingleCharacterWords() {
+        assertThat(ClinicalTermTokenizer.tokenize("History of type 2 diabetes and a B cell lymphoma"))
+                .containsExactly("history", "type", "diabetes", "cell", "lymphoma");
+    }
+    
+    @Test
+    void keepsEachTermOnceInFirstSeenOrder() {
+        assertThat(ClinicalTermTokenizer.tokenize("peanut, tree nut, peanut oil"))
+                .containsExactly("peanut", "tree", "nut", "oil");
+    }
+    
+    @Test
+    void emptyInputHasNoTerms() {
+        assertThat(ClinicalTermTokenizer.tokenize(null)).isEmpty();
+        assertThat(ClinicalTermTokenizer.tokenize("  ")).isEmpty();
+        assertThat(ClinicalTermTokenizer.tokenize("a, of, the")).isEmpty();
+    }
+    
+    @Test
+    void normalizePhraseKeepsWordsTogether() {
+        assertThat(ClinicalTermTokenizer.normalizePhrase("  Amoxicillin/Clavulanic-Acid ")).isEqualTo("amoxicillin clavulanic acid");
+        assertThat(ClinicalTermTokenizer.normalizePhrase(null)).isEmpty();
+    }
+}
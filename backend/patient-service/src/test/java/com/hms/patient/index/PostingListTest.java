@@ -0,0 +1,124 @@
+package com.hms.patient.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+    
+    @Test
+    void addKeepsIdsSortedAndUnique() {
+        PostingList list = new PostingList();
+        list.add(5);
+        list.add(1);
+        list.add(9);
+        list.add(5);
+        
+        assertThat(list.ids()).containsExactly(1, 5, 9);
+    }
+    
+    @Test
+    void removeIgnoresMissingIds() {
+        PostingList list = new PostingList();
+        list.add(1);
+        list.add(2);
+        
+        list.remove(3);
+        list.remove(1);
+        
+        assertThat(list.ids()).containsExactly(2);
+    }
+    
+    @Test
+    void writesPublishANewArrayInsteadOfChangingTheOneBeingRead() {
+        PostingList list = new PostingList();
+        list.add(1);
+        long[] before = list.ids();
+        
+        list.add(2);
+        
+        assertThat(before).containsExactly(1);
+    }
+    
+    @Test
+    void intersectOfNothingIsEmpty() {
+        assertThat(PostingList.intersect()).isEmpty();
+        assertThat(PostingList.intersect(new long[0], new long[]{1, 2})).isEmpty();
+    }
+    
+    @Test
+    void intersectOfOneListIsThatList() {
+        assertThat(PostingList.intersect(new long[]{3, 7})).containsExactly(3, 7);
+    }
+    
+    @Test
+    void intersectFindsMatchesAtBothEndsOfTheLargerList() {
+        long[] large = LongStream.rangeClosed(1, 1000).toArray();
+        
+        assertThat(PostingList.intersect(new long[]{1, 1000}, large)).containsExactly(1, 1000);
+        assertThat(PostingList.intersect(new long[]{0, 1001}, large)).isEmpty();
+    }
+    
+    @Test
+    void intersectGallopsPastLongRunsOfNonMatches() {
+        long[] large = LongStream.rangeClosed(1, 100_000).map(id -> id * 2).toArray();
+        
+        assertThat(PostingList.intersect(new long[]{3, 64, 65, 131_072, 199_999, 200_000}, large))
+                .containsExactly(64, 131_072, 200_000);
+    }
+    
+    @Test
+    void intersectStopsOnceTheSmallerListIsExhausted() {
+        assertThat(PostingList.intersect(new long[]{2, 4}, new long[]{1, 2, 3}, new long[]{2, 3, 4}))
+                .containsExactly(2);
+        assertThat(PostingList.intersect(new long[]{1}, new long[]{2}, new long[]{1, 2})).isEmpty();
+    }
+    
+    @Test
+    void unionMergesWithoutDuplicates() {
+        assertThat(PostingList.union(new long[]{1, 4, 9}, new long[]{2, 4, 10}, new long[0], new long[]{9}))
+                .containsExactly(1, 2, 4, 9, 10);
+        assertThat(PostingList.union()).isEmpty();
+    }
+    
+    @Test
+    void unionHandlesListsThatDoNotOverlap() {
+        assertThat(PostingList.union(new long[]{7, 8}, new long[]{1, 2})).containsExactly(1, 2, 7, 8);
+    }
+    
+    @Test
+    void intersectAndUnionAgreeWithSetOperationsOnRandomLists() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            long[] a = randomSortedIds(random, random.nextInt(50));
+            long[] b = randomSortedIds(random, random.nextInt(2_000));
+            
+            TreeSet<Long> expectedIntersection = toSet(a);
+            expectedIntersection.retainAll(toSet(b));
+            TreeSet<Long> expectedUnion = toSet(a);
+            expectedUnion.addAll(toSet(b));
+            
+            assertThat(PostingList.intersect(a, b)).containsExactly(toArray(expectedIntersection));
+            assertThat(PostingList.union(a, b)).containsExactly(toArray(expectedUnion));
+        }
+    }
+    
+    private static long[] randomSortedIds(Random random, int size) {
+        return random.longs(size, 1, 5_000).distinct().sorted().toArray();
+    }
+    
+    private static TreeSet<Long> toSet(long[] ids) {
+        TreeSet<Long> set = new TreeSet<>();
+        Arrays.stream(ids).forEach(set::add);
+        return set;
+    }
+    
+    private static long[] toArray(TreeSet<Long> set) {
+        return set.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -67,6 +67,7 @@ db.prescriptions.createIndex({ "patientId": 1 });
 db.prescriptions.createIndex({ "doctorId": 1 });
 db.prescriptions.createIndex({ "prescriptionDate": -1 });
 db.prescriptions.createIndex({ "isActive": 1 });
+db.prescriptions.createIndex({ "patientId": 1, "isActive": 1 });
 
 // Audit Logs Collection (detailed audit trail)
 db.createCollection("audit_logs", {
@@ -203,29 +204,20 @@ db.patient_documents.createIndex({ "uploadedBy": 1 });
 db.patient_documents.createIndex({ "isActive": 1 });
 db.patient_documents.createIndex({ "patientId": 1, "documentType": 1 });
 
-// Performance Metrics Collection
+// Performance Metrics Collections: time-series of metric rollups published by the services.
+// Series identity (service, instance, metric, kind, resolution, tags) lives in the meta field.
 db.createCollection("performance_metrics", {
-    validator: {
-        $jsonSchema: {
-            bsonType: "object",
-            required: ["service", "metric", "value", "timestamp"],
-            properties: {
-                service: { bsonType: "string" },
-                metric: { bsonType: "string" },
-                value: { bsonType: "double" },
-                unit: { bsonType: "string" },
-                tags: { bsonType: "object" },
-                timestamp: { bsonType: "date" }
-            }
-        }
-    }
+    timeseries: { timeField: "timestamp", metaField: "meta", granularity: "minutes" },
+    expireAfterSeconds: 14 * 24 * 3600
+});
+db.createCollection("performance_metrics_hourly", {
+    timeseries: { timeField: "timestamp", metaField: "meta", granularity: "hours" },
+    expireAfterSeconds: 400 * 24 * 3600
 });
 
 // Create indexes for performance_metrics
-db.performance_metrics.createIndex({ "service": 1 });
-db.performance_metrics.createIndex({ "metric": 1 });
-db.performance_metrics.createIndex({ "timestamp": -1 });
-db.performance_metrics.createIndex({ "service": 1, "metric": 1, "timestamp": -1 });
+db.performance_metrics.createIndex({ "meta.service": 1, "meta.metric": 1, "timestamp": -1 });
+db.performance_metrics_hourly.createIndex({ "meta.service": 1, "meta.metric": 1, "timestamp": -1 });
 
 // Insert sample data for testing
 
@@ -70,11 +70,17 @@ CREATE TABLE patients (
     medical_history TEXT,
     insurance_provider VARCHAR(100),
     insurance_number VARCHAR(50),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- A sort key of the keyset listing, whose seek predicates never match NULL. Existing databases:
+    -- UPDATE patients SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+    -- ALTER TABLE patients MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     INDEX idx_user_id (user_id),
-    INDEX idx_phone (phone)
+    INDEX idx_phone (phone),
+    -- Sort keys of the paginated patient listing, each followed by the primary key for keyset seeks
+    INDEX idx_last_name_id (last_name, id),
+    INDEX idx_created_at_id (created_at, id)
 );
 
 -- Appointments table
@@ -89,14 +95,76 @@ CREATE TABLE appointments (
     notes TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    -- The slot while the appointment is active (SCHEDULED/CONFIRMED), NULL otherwise. VIRTUAL because
+    -- MySQL rejects CASCADE foreign keys on the base columns of a STORED generated column
+    active_slot VARCHAR(64) GENERATED ALWAYS AS (
+        CASE WHEN status IN ('SCHEDULED', 'CONFIRMED')
+             THEN CONCAT(doctor_id, '|', appointment_date, '|', appointment_time) END) VIRTUAL,
     FOREIGN KEY (patient_id) REFERENCES patients(id) ON DELETE CASCADE,
     FOREIGN KEY (doctor_id) REFERENCES doctors(id) ON DELETE CASCADE,
     INDEX idx_patient (patient_id),
-    INDEX idx_doctor (doctor_id),
+    -- Doctor calendar ranges; also serves the doctor_id foreign key
+    INDEX idx_doctor_date_time (doctor_id, appointment_date, appointment_time),
+    -- At most one active appointment per doctor slot, enforced at insert/update rather than by a prior read
+    UNIQUE KEY uk_active_slot (active_slot),
     INDEX idx_date_time (appointment_date, appointment_time),
     INDEX idx_status (status)
 );
 
+-- No-show counters per patient, doctor and weekday/hour slot (scope_key = ISO weekday * 100 + hour),
+-- moved by appointment-service on every status transition
+CREATE TABLE appointment_outcome_stats (
+    scope ENUM('PATIENT', 'DOCTOR', 'SLOT') NOT NULL,
+    scope_key BIGINT NOT NULL,
+    attended BIGINT NOT NULL DEFAULT 0,
+    no_show BIGINT NOT NULL DEFAULT 0,
+    cancelled BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (scope, scope_key)
+);
+
+-- Patients waiting for a freed slot with a doctor or any doctor of a specialization (appointment-service)
+CREATE TABLE waitlist_entries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    patient_id BIGINT NOT NULL,
+    doctor_id BIGINT,
+    specialization VARCHAR(100),
+    earliest_date DATE NOT NULL,
+    latest_date DATE NOT NULL,
+    priority INT NOT NULL DEFAULT 0,
+    status ENUM('WAITING', 'OFFERED', 'BOOKED', 'CANCELLED', 'EXPIRED') DEFAULT 'WAITING',
+    reason TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (patient_id) REFERENCES patients(id) ON DELETE CASCADE,
+    FOREIGN KEY (doctor_id) REFERENCES doctors(id) ON DELETE CASCADE,
+    INDEX idx_waitlist_patient (patient_id),
+    INDEX idx_waitlist_status (status)
+);
+
+-- Freed slots held for a waitlist entry; hold_key is set only while HELD, so one hold per slot at a time
+CREATE TABLE waitlist_offers (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entry_id BIGINT NOT NULL,
+    patient_id BIGINT NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    appointment_date DATE NOT NULL,
+    appointment_time TIME NOT NULL,
+    status ENUM('HELD', 'CONFIRMED', 'DECLINED', 'EXPIRED', 'WITHDRAWN') DEFAULT 'HELD',
+    hold_key VARCHAR(64),
+    expires_at DATETIME NOT NULL,
+    appointment_id BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (entry_id) REFERENCES waitlist_entries(id) ON DELETE CASCADE,
+    FOREIGN KEY (appointment_id) REFERENCES appointments(id) ON DELETE SET NULL,
+    UNIQUE KEY uk_offer_hold (hold_key),
+    INDEX idx_offer_entry_status (entry_id, status),
+    INDEX idx_offer_patient (patient_id),
+    INDEX idx_offer_slot (doctor_id, appointment_date, appointment_time),
+    INDEX idx_offer_status_expiry (status, expires_at)
+);
+
 -- Medical Records table
 CREATE TABLE medical_records (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -116,7 +184,9 @@ CREATE TABLE medical_records (
     FOREIGN KEY (appointment_id) REFERENCES appointments(id),
     INDEX idx_patient (patient_id),
     INDEX idx_doctor (doctor_id),
-    INDEX idx_appointment (appointment_id)
+    INDEX idx_appointment (appointment_id),
+    -- Patient timeline, newest first
+    INDEX idx_patient_record_date (patient_id, record_date)
 );
 
 -- Bills table